@@ -0,0 +1,102 @@
+package org.aion.harness.benchmark;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+
+/**
+ * A local stand-in for a node's RPC endpoint, so that the RPC paths can be benchmarked offline
+ * and without the cost of a real kernel muddying the numbers.
+ *
+ * Every call, whether sent alone or in a batch, is answered immediately with a fixed result for
+ * its method.
+ */
+public final class StubNode implements AutoCloseable {
+    public static final String BLOCK_NUMBER = "16";
+    public static final String RECEIPT_HASH = "abababababababababababababababababababababababababababababababab";
+
+    private final HttpServer server;
+
+    private StubNode(HttpServer server) {
+        this.server = server;
+    }
+
+    /**
+     * Starts a stub node listening on an ephemeral port of the loopback address.
+     *
+     * @return the running stub node.
+     */
+    public static StubNode start() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newFixedThreadPool(4, runnable -> {
+            Thread thread = new Thread(runnable, "stub-node");
+            thread.setDaemon(true);
+            return thread;
+        }));
+
+        server.createContext("/", exchange -> {
+            String request = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            JsonElement calls = new JsonParser().parse(request);
+
+            String response;
+            if (calls.isJsonArray()) {
+                JsonArray responses = new JsonArray();
+                for (JsonElement call : calls.getAsJsonArray()) {
+                    responses.add(respondTo(call.getAsJsonObject()));
+                }
+                response = responses.toString();
+            } else {
+                response = respondTo(calls.getAsJsonObject()).toString();
+            }
+
+            byte[] body = response.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        });
+
+        server.start();
+        return new StubNode(server);
+    }
+
+    /**
+     * Returns the port the stub node is listening on.
+     *
+     * @return the port.
+     */
+    public String getPort() {
+        return String.valueOf(this.server.getAddress().getPort());
+    }
+
+    @Override
+    public void close() {
+        this.server.stop(0);
+    }
+
+    private static JsonObject respondTo(JsonObject call) {
+        JsonObject response = new JsonObject();
+        response.addProperty("jsonrpc", "2.0");
+        response.add("id", call.get("id"));
+
+        switch (call.get("method").getAsString()) {
+            case "eth_blockNumber":
+                response.addProperty("result", BLOCK_NUMBER);
+                break;
+            case "eth_sendRawTransaction":
+                response.addProperty("result", RECEIPT_HASH);
+                break;
+            default:
+                response.add("result", null);
+        }
+        return response;
+    }
+
+}
@@ -0,0 +1,65 @@
+package org.aion.harness.kernel;
+
+import java.math.BigInteger;
+import java.security.spec.InvalidKeySpecException;
+import java.util.concurrent.TimeUnit;
+import org.aion.harness.kernel.BulkRawTransactionBuilder.TransactionType;
+import org.aion.harness.result.BulkResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The cost of building and signing a batch of transfers, serially and in parallel.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionBuildingBenchmark {
+
+    @Param({ "100", "1000" })
+    public int numberOfTransactions;
+
+    private PrivateKey sender;
+    private Address destination;
+
+    @Setup(Level.Trial)
+    public void setup() throws InvalidKeySpecException {
+        this.sender = PrivateKey.random();
+        this.destination = PrivateKey.random().getAddress();
+    }
+
+    @Benchmark
+    public BulkResult<RawTransaction> build() {
+        return newBuilder().build();
+    }
+
+    @Benchmark
+    public BulkResult<RawTransaction> buildInParallel() {
+        return newBuilder().buildInParallel();
+    }
+
+    private BulkRawTransactionBuilder newBuilder() {
+        return new BulkRawTransactionBuilder(this.numberOfTransactions)
+            .useSameSender(this.sender, BigInteger.ZERO)
+            .useSameDestination(this.destination)
+            .useSameTransferValue(BigInteger.ONE)
+            .useSameTransactionData(new byte[0])
+            .useSameEnergyLimit(21_000)
+            .useSameEnergyPrice(10_000_000_000L)
+            .useSameTransactionType(TransactionType.FVM);
+    }
+
+}
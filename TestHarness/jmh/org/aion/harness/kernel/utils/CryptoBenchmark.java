@@ -0,0 +1,62 @@
+package org.aion.harness.kernel.utils;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The cost of deriving an address from a private key, and of the Blake2b-256 hash behind it, both
+ * through a fresh digest per hash and through the reused per-thread digest of {@link Blake256}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CryptoBenchmark {
+
+    @Param({ "32", "1024" })
+    public int inputSize;
+
+    private byte[] privateKey;
+    private byte[] input;
+    private final byte[] output = new byte[Blake256.DIGEST_LENGTH];
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.privateKey = CryptoUtils.generatePrivateKey();
+        this.input = new byte[this.inputSize];
+        new Random(17).nextBytes(this.input);
+    }
+
+    @Benchmark
+    public byte[] deriveAddress() {
+        return CryptoUtils.deriveAddress(this.privateKey);
+    }
+
+    @Benchmark
+    public byte[] blake2bFreshDigest() {
+        Blake2b digest = Blake2b.Digest.newInstance(32);
+        digest.update(this.input);
+        return digest.digest();
+    }
+
+    @Benchmark
+    public byte[] blake256ThreadLocal() {
+        Blake256.hash(this.input, 0, this.input.length, this.output, 0);
+        return this.output;
+    }
+
+}
@@ -0,0 +1,78 @@
+package org.aion.harness.main;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.security.spec.InvalidKeySpecException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.aion.harness.benchmark.StubNode;
+import org.aion.harness.kernel.BulkRawTransactionBuilder;
+import org.aion.harness.kernel.BulkRawTransactionBuilder.TransactionType;
+import org.aion.harness.kernel.PrivateKey;
+import org.aion.harness.kernel.RawTransaction;
+import org.aion.harness.main.types.ReceiptHash;
+import org.aion.harness.result.RpcResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The harness's own cost of calling a node over RPC, measured against a local {@link StubNode}
+ * that answers instantly, so that any regression is in the harness rather than the kernel.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RpcBenchmark {
+    private static final int NUMBER_OF_TRANSACTIONS = 1_000;
+
+    private StubNode node;
+    private RPC rpc;
+    private List<RawTransaction> transactions;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException, InvalidKeySpecException {
+        this.node = StubNode.start();
+        this.rpc = new RPC("127.0.0.1", this.node.getPort());
+
+        this.transactions = new BulkRawTransactionBuilder(NUMBER_OF_TRANSACTIONS)
+            .useSameSender(PrivateKey.random(), BigInteger.ZERO)
+            .useSameDestination(PrivateKey.random().getAddress())
+            .useSameTransferValue(BigInteger.ONE)
+            .useSameTransactionData(new byte[0])
+            .useSameEnergyLimit(21_000)
+            .useSameEnergyPrice(10_000_000_000L)
+            .useSameTransactionType(TransactionType.FVM)
+            .build()
+            .getResults();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.node.close();
+    }
+
+    @Benchmark
+    public RpcResult<Long> blockNumber() throws InterruptedException {
+        return this.rpc.blockNumber();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<RpcResult<ReceiptHash>> sendTransactions() throws InterruptedException {
+        return this.rpc.sendTransactions(this.transactions);
+    }
+
+}
@@ -0,0 +1,73 @@
+package org.aion.harness.main.event;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The cost of testing a log line against simple and compound events.
+ *
+ * Events remember what they have observed, so the missing lines are tested against the same events
+ * throughout, while the matching lines are tested against events built fresh for each invocation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventBenchmark {
+    private static final String LINE = "2019-04-10 10:01:57.152 INFO  CONS [pool-6-thread-1]: Block sealed <num=1024, hash=ab12cd, diff=16, tx=5>";
+    private static final String MISSING = "Transaction: ffffffff was sealed into block";
+
+    private IEvent event;
+    private IEvent andEvent;
+    private IEvent orEvent;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        this.event = new Event(MISSING);
+        this.andEvent = Event.and(Event.and("Block sealed", MISSING), Event.and("tx=5", "diff=16"));
+        this.orEvent = Event.or(Event.or(MISSING, "rejected"), Event.or("Peer connected", "Shutting down"));
+    }
+
+    @Benchmark
+    public boolean eventMiss() {
+        return this.event.isSatisfiedBy(LINE, 0, TimeUnit.NANOSECONDS);
+    }
+
+    @Benchmark
+    public boolean andEventMiss() {
+        return this.andEvent.isSatisfiedBy(LINE, 0, TimeUnit.NANOSECONDS);
+    }
+
+    @Benchmark
+    public boolean orEventMiss() {
+        return this.orEvent.isSatisfiedBy(LINE, 0, TimeUnit.NANOSECONDS);
+    }
+
+    @Benchmark
+    public boolean eventHit() {
+        return new Event("Block sealed").isSatisfiedBy(LINE, 0, TimeUnit.NANOSECONDS);
+    }
+
+    @Benchmark
+    public boolean andEventHit() {
+        return Event.and(Event.and("Block sealed", "num=1024"), Event.and("tx=5", "diff=16")).isSatisfiedBy(LINE, 0, TimeUnit.NANOSECONDS);
+    }
+
+    @Benchmark
+    public boolean orEventHit() {
+        return Event.or(Event.or(MISSING, "rejected"), Event.or("Peer connected", "tx=5")).isSatisfiedBy(LINE, 0, TimeUnit.NANOSECONDS);
+    }
+
+}
@@ -0,0 +1,96 @@
+package org.aion.harness.main.types.internal;
+
+import com.google.gson.stream.JsonReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.aion.harness.main.tools.JsonStringParser;
+import org.aion.harness.main.types.TransactionReceipt;
+import org.apache.commons.codec.DecoderException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * The cost of turning the json of a transaction receipt, as returned by the node, into a
+ * {@link TransactionReceipt}, both straight from the raw bytes of the response, as the RPC layer
+ * does, and from a string, along with the cost of the tree-based json parsing it replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReceiptParsingBenchmark {
+    static final String RECEIPT_JSON = "{"
+        + "\"blockHash\":\"0x" + repeat("4e", 32) + "\","
+        + "\"nrgPrice\":\"0x2540be400\","
+        + "\"logsBloom\":\"0x" + repeat("00", 256) + "\","
+        + "\"nrgUsed\":\"0x5208\","
+        + "\"contractAddress\":null,"
+        + "\"transactionIndex\":\"0x0\","
+        + "\"transactionHash\":\"0x" + repeat("9f", 32) + "\","
+        + "\"gasLimit\":\"0x1e8480\","
+        + "\"cumulativeNrgUsed\":\"0x5208\","
+        + "\"gasUsed\":\"0x5208\","
+        + "\"blockNumber\":\"0x400\","
+        + "\"root\":\"" + repeat("c1", 32) + "\","
+        + "\"cumulativeGasUsed\":\"0x5208\","
+        + "\"from\":\"0xa0" + repeat("d6", 31) + "\","
+        + "\"to\":\"0xa0" + repeat("1c", 31) + "\","
+        + "\"logs\":[],"
+        + "\"gasPrice\":\"0x2540be400\","
+        + "\"status\":\"0x1\""
+        + "}";
+    private static final byte[] RECEIPT_BYTES = RECEIPT_JSON.getBytes(StandardCharsets.UTF_8);
+
+    @Benchmark
+    public TransactionReceipt buildFromJsonString() throws DecoderException {
+        return new TransactionReceiptBuilder().buildFromJsonString(RECEIPT_JSON);
+    }
+
+    @Benchmark
+    public TransactionReceipt buildFromJson() throws IOException, DecoderException {
+        try (JsonReader reader = new JsonReader(new InputStreamReader(new ByteArrayInputStream(RECEIPT_BYTES), StandardCharsets.UTF_8))) {
+            return new TransactionReceiptBuilder().buildFromJson(reader);
+        }
+    }
+
+    @Benchmark
+    public void parseAttributes(Blackhole blackhole) {
+        JsonStringParser parser = new JsonStringParser(RECEIPT_JSON);
+        blackhole.consume(parser.attributeToString("nrgPrice"));
+        blackhole.consume(parser.attributeToString("gasLimit"));
+        blackhole.consume(parser.attributeToString("nrgUsed"));
+        blackhole.consume(parser.attributeToString("cumulativeGasUsed"));
+        blackhole.consume(parser.attributeToString("transactionIndex"));
+        blackhole.consume(parser.attributeToString("blockHash"));
+        blackhole.consume(parser.attributeToString("logsBloom"));
+        blackhole.consume(parser.attributeToString("transactionHash"));
+        blackhole.consume(parser.attributeToString("root"));
+        blackhole.consume(parser.attributeToString("blockNumber"));
+        blackhole.consume(parser.attributeToString("from"));
+        blackhole.consume(parser.attributeToString("contractAddress"));
+        blackhole.consume(parser.attributeToString("to"));
+        blackhole.consume(parser.attributeToString("status"));
+    }
+
+    private static String repeat(String string, int times) {
+        StringBuilder builder = new StringBuilder(string.length() * times);
+        for (int i = 0; i < times; i++) {
+            builder.append(string);
+        }
+        return builder.toString();
+    }
+
+}
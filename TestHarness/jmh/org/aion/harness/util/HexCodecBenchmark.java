@@ -0,0 +1,66 @@
+package org.aion.harness.util;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.codec.DecoderException;
+import org.apache.commons.codec.binary.Hex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The cost of the hex conversions on the event and RPC paths, through commons-codec and through
+ * {@link HexCodec}: building a sealed event string from a transaction hash, and decoding a
+ * '0x'-prefixed hash as it comes back from the node.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HexCodecBenchmark {
+
+    @Param({ "32", "256" })
+    public int size;
+
+    private byte[] bytes;
+    private String prefixedHex;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.bytes = new byte[this.size];
+        new Random(17).nextBytes(this.bytes);
+        this.prefixedHex = "0x" + Hex.encodeHexString(this.bytes);
+    }
+
+    @Benchmark
+    public String eventStringCommons() {
+        return "Transaction: " + Hex.encodeHexString(this.bytes) + " was sealed into block";
+    }
+
+    @Benchmark
+    public String eventStringHexCodec() {
+        return TransactionLogLines.sealedEventString(this.bytes);
+    }
+
+    @Benchmark
+    public byte[] decodeCommons() throws DecoderException {
+        return Hex.decodeHex(this.prefixedHex.substring(2));
+    }
+
+    @Benchmark
+    public byte[] decodeHexCodec() throws DecoderException {
+        return HexCodec.decode(this.prefixedHex);
+    }
+
+}
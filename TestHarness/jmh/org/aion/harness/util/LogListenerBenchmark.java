@@ -0,0 +1,100 @@
+package org.aion.harness.util;
+
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+import org.aion.harness.main.event.Event;
+import org.aion.harness.main.event.IEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The cost of handling a single log line with a given number of event requests pending.
+ *
+ * None of the lines satisfy a pending request, so the pool stays the same size throughout. One
+ * line is ordinary kernel output, and the other carries a transaction event for a transaction that
+ * nobody is waiting on, which is the common case while a load test is sealing its transactions.
+ *
+ * The pending requests are either all transaction events, which are looked up by the hash on the
+ * line, or arbitrary events and conjunctions of them, which every line is matched against.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LogListenerBenchmark {
+    private static final String PLAIN_LINE = "2019-04-10 10:01:57.152 INFO  SYNC [sync-ib]: <import-status: status=IMPORTED_BEST, block=1024>";
+
+    public enum EventKind { TRANSACTION, ARBITRARY, AND }
+
+    @Param({ "0", "100", "10000" })
+    public int pendingRequests;
+
+    @Param({ "TRANSACTION", "ARBITRARY", "AND" })
+    public EventKind eventKind;
+
+    private LogListener listener;
+    private String transactionLine;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.listener = new LogListener(Math.max(1, this.pendingRequests));
+        this.listener.startListening();
+
+        for (int i = 0; i < this.pendingRequests; i++) {
+            this.listener.submitEventToBeListenedFor(newEvent(i), 1, TimeUnit.HOURS);
+        }
+
+        this.transactionLine = "2019-04-10 10:01:57.152 DEBUG TX [pool]: " + TransactionLogLines.sealedEventString(randomHash()) + " #1024";
+
+        // Moves the submitted requests into the pool before measuring.
+        this.listener.handle(PLAIN_LINE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.listener.stopListening();
+    }
+
+    @Benchmark
+    public void handlePlainLine() {
+        this.listener.handle(PLAIN_LINE);
+    }
+
+    @Benchmark
+    public void handleUnwatchedTransactionLine() {
+        this.listener.handle(this.transactionLine);
+    }
+
+    /**
+     * Returns the i'th pending event of the benchmarked kind. The arbitrary events share long
+     * prefixes with each other and with the plain line, as the events a test listens for tend to.
+     */
+    private IEvent newEvent(int i) {
+        switch (this.eventKind) {
+            case TRANSACTION: return new Event(TransactionLogLines.sealedEventString(randomHash()));
+            case ARBITRARY: return new Event("<import-status: status=IMPORTED_BEST, block=" + (1_000_000 + i) + ">");
+            case AND: return Event.and("<import-status: status=IMPORTED_BEST, block=" + (1_000_000 + i) + ">", "sync-peer-" + i + " disconnected");
+            default: throw new IllegalStateException("Unknown event kind: " + this.eventKind);
+        }
+    }
+
+    private static byte[] randomHash() {
+        byte[] hash = new byte[32];
+        new SecureRandom().nextBytes(hash);
+        return hash;
+    }
+
+}
@@ -8,6 +8,7 @@ module aion.node.harness {
     exports org.aion.harness.statistics;
     exports org.aion.harness.result;
     exports org.aion.harness.kernel;
+    exports org.aion.harness.load;
     exports org.aion.harness.main;
     exports org.aion.harness.main.impl;
     exports org.aion.harness.main.event;
@@ -1,6 +1,6 @@
 package org.aion.harness.kernel;
 
-import org.apache.commons.codec.binary.Hex;
+import org.aion.harness.util.HexCodec;
 import java.util.Arrays;
 
 /**
@@ -48,7 +48,7 @@ public final class Address {
 
     @Override
     public String toString() {
-        return "Address { 0x" + Hex.encodeHexString(this.addressBytes) + " }";
+        return "Address { 0x" + HexCodec.toHex(this.addressBytes) + " }";
     }
 
     @Override
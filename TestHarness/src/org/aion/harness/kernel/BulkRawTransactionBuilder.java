@@ -4,6 +4,11 @@ import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.aion.harness.result.BulkResult;
 import org.aion.harness.result.TransactionResult;
 
@@ -372,7 +377,130 @@ public final class BulkRawTransactionBuilder {
      * transactions themselves.
      */
     public BulkResult<RawTransaction> build() {
-        // Ensure that if any list option was specified, that it has the expected size.
+        verifyListSizes();
+
+        // Create the transactions.
+        List<RawTransaction> transactions = new ArrayList<>();
+
+        for (int i = 0; i < this.numTransactions; i++) {
+            TransactionResult result = buildTransaction(i);
+
+            // If the transaction was made, add it to the list, otherwise fail immediately.
+            if (!result.isSuccess()) {
+                return BulkResult.unsuccessful("Failed to create transaction #" + i + " due to: " + result.getError());
+            } else {
+                transactions.add(result.getTransaction());
+            }
+        }
+
+        return BulkResult.successful(transactions);
+    }
+
+    /**
+     * Constructs the transactions exactly as {@code build()} does, except that the transactions are
+     * signed in parallel on the common {@link ForkJoinPool}.
+     *
+     * Signing dominates the cost of building transactions, and so this is far faster than
+     * {@code build()} for large batches.
+     *
+     * @return a result indicating whether or not the transactions were created, and if so, holds the
+     * transactions themselves.
+     */
+    public BulkResult<RawTransaction> buildInParallel() {
+        return buildInParallel(ForkJoinPool.commonPool(), ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    /**
+     * Constructs the transactions exactly as {@code build()} does, except that the transactions are
+     * signed in parallel by the specified executor, which is given at most {@code parallelism} tasks
+     * to run at once.
+     *
+     * The transactions are returned in the same order, and with the same nonces, as {@code build()}
+     * would return them. If any transactions fail to be created then the failure reported is that
+     * of the lowest-numbered failed transaction, which is the same failure {@code build()} would
+     * report.
+     *
+     * @param executor The executor to sign the transactions on.
+     * @param parallelism The maximum number of tasks to give to the executor.
+     * @return a result indicating whether or not the transactions were created, and if so, holds the
+     * transactions themselves.
+     */
+    public BulkResult<RawTransaction> buildInParallel(Executor executor, int parallelism) {
+        if (executor == null) {
+            throw new NullPointerException("Cannot build transactions on a null executor.");
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive, but was: " + parallelism);
+        }
+
+        verifyListSizes();
+
+        RawTransaction[] transactions = new RawTransaction[this.numTransactions];
+        TransactionResult[] failures = new TransactionResult[this.numTransactions];
+
+        // Each task claims the next unbuilt index until there are none left. Once a transaction fails,
+        // no task bothers building any transaction after it, since those results are discarded anyway.
+        AtomicInteger nextIndex = new AtomicInteger(0);
+        AtomicInteger lowestFailedIndex = new AtomicInteger(this.numTransactions);
+
+        int numTasks = Math.min(parallelism, this.numTransactions);
+        CompletableFuture<?>[] tasks = new CompletableFuture<?>[numTasks];
+        for (int task = 0; task < numTasks; task++) {
+            tasks[task] = CompletableFuture.runAsync(() -> {
+                int i;
+                while (((i = nextIndex.getAndIncrement()) < this.numTransactions) && (i < lowestFailedIndex.get())) {
+                    TransactionResult result = buildTransaction(i);
+
+                    if (result.isSuccess()) {
+                        transactions[i] = result.getTransaction();
+                    } else {
+                        failures[i] = result;
+                        lowestFailedIndex.accumulateAndGet(i, Math::min);
+                    }
+                }
+            }, executor);
+        }
+
+        try {
+            CompletableFuture.allOf(tasks).join();
+        } catch (CompletionException e) {
+            return BulkResult.unsuccessful("Failed to create transactions due to: " + e.getCause());
+        }
+
+        int failedIndex = lowestFailedIndex.get();
+        if (failedIndex < this.numTransactions) {
+            return BulkResult.unsuccessful("Failed to create transaction #" + failedIndex + " due to: " + failures[failedIndex].getError());
+        }
+
+        return BulkResult.successful(new ArrayList<>(Arrays.asList(transactions)));
+    }
+
+    /**
+     * Builds and signs the i'th transaction according to all of the options set by the various
+     * builder methods.
+     */
+    private TransactionResult buildTransaction(int i) {
+        TransactionType type = (this.type == null) ? this.types.get(i) : this.type;
+        PrivateKey key = (this.senderKey == null) ? this.senderKeys.get(i) : this.senderKey;
+        BigInteger senderNonce = (this.initialNonce == null) ? this.nonces.get(i) : this.initialNonce.add(BigInteger.valueOf(i));
+        Address destination = (this.singleDestinationSpecified) ? this.destination : this.destinations.get(i);
+        byte[] data = (this.data == null) ? this.datas.get(i) : this.data;
+        long energyLimit = (this.singleEnergyLimitSpecified) ? this.energyLimit : this.energyLimits.get(i);
+        long energyPrice = (this.singleEnergyPriceSpecified) ? this.energyPrice : this.energyPrices.get(i);
+        BigInteger value = (this.value == null) ? this.values.get(i) : this.value;
+
+        // Construct the appropriate transaction based on the type.
+        if ((type == TransactionType.AVM) && (destination == null)) {
+            return RawTransaction.buildAndSignAvmCreateTransaction(key, senderNonce, data, energyLimit, energyPrice, value);
+        } else {
+            return RawTransaction.buildAndSignGeneralTransaction(key, senderNonce, destination, data, energyLimit, energyPrice, value);
+        }
+    }
+
+    /**
+     * Ensures that if any list option was specified, that it has the expected size.
+     */
+    private void verifyListSizes() {
         if ((this.senderKeys != null) && (this.senderKeys.size() != this.numTransactions)) {
             throw new IllegalStateException("Specified incorrect number of sender keys: " + this.senderKeys.size()
                 + ", but there are " + this.numTransactions + " transactions to be made!");
@@ -405,44 +533,6 @@ public final class BulkRawTransactionBuilder {
             throw new IllegalStateException("Specified incorrect number of transaction types: " + this.types.size()
                 + ", but there are " + this.numTransactions + " transactions to be made!");
         }
-
-        // Create the transactions.
-        List<RawTransaction> transactions = new ArrayList<>();
-
-        TransactionResult result;
-        BigInteger nonce = this.initialNonce;
-        for (int i = 0; i < this.numTransactions; i++) {
-
-            TransactionType type = (this.type == null) ? this.types.get(i) : this.type;
-            PrivateKey key = (this.senderKey == null) ? this.senderKeys.get(i) : this.senderKey;
-            BigInteger senderNonce = (this.initialNonce == null) ? this.nonces.get(i) : nonce;
-            Address destination = (this.singleDestinationSpecified) ? this.destination : this.destinations.get(i);
-            byte[] data = (this.data == null) ? this.datas.get(i) : this.data;
-            long energyLimit = (this.singleEnergyLimitSpecified) ? this.energyLimit : this.energyLimits.get(i);
-            long energyPrice = (this.singleEnergyPriceSpecified) ? this.energyPrice : this.energyPrices.get(i);
-            BigInteger value = (this.value == null) ? this.values.get(i) : this.value;
-
-            // Construct the appropriate transaction based on the type.
-            if ((type == TransactionType.AVM) && (destination == null)) {
-                result = RawTransaction.buildAndSignAvmCreateTransaction(key, senderNonce, data, energyLimit, energyPrice, value);
-            } else {
-                result = RawTransaction.buildAndSignGeneralTransaction(key, senderNonce, destination, data, energyLimit, energyPrice, value);
-            }
-
-            // If the transaction was made, add it to the list, otherwise fail immediately.
-            if (!result.isSuccess()) {
-                return BulkResult.unsuccessful("Failed to create transaction #" + i + " due to: " + result.getError());
-            } else {
-                transactions.add(result.getTransaction());
-            }
-
-            // Increment our initial nonce only if this option was specified.
-            if (this.initialNonce != null) {
-                nonce = nonce.add(BigInteger.ONE);
-            }
-        }
-
-        return BulkResult.successful(transactions);
     }
 
     private List<byte[]> copyDataList(List<byte[]> datas) {
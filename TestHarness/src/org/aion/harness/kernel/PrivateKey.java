@@ -1,10 +1,13 @@
 package org.aion.harness.kernel;
 
 import org.aion.harness.kernel.utils.CryptoUtils;
-import org.apache.commons.codec.binary.Hex;
+import org.aion.harness.util.HexCodec;
 
 import java.security.spec.InvalidKeySpecException;
 import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * An Aion private key corresponding to some Aion address.
@@ -22,7 +25,7 @@ public final class PrivateKey {
      *
      * @param privateKeyBytes The bytes of the private key.
      */
-    private PrivateKey(byte[] privateKeyBytes) throws InvalidKeySpecException {
+    private PrivateKey(byte[] privateKeyBytes) {
         if (privateKeyBytes == null) {
             throw new NullPointerException("private key bytes cannot be null");
         }
@@ -41,6 +44,47 @@ public final class PrivateKey {
         return new PrivateKey(CryptoUtils.generatePrivateKey());
     }
 
+    /**
+     * Returns a list of private keys consisting of the provided bytes, such that the key at index i
+     * consists of the bytes at index i.
+     *
+     * The addresses of the keys are derived in parallel, so this is much faster than constructing
+     * many keys one at a time.
+     *
+     * @param privateKeyBytes The bytes of each of the private keys.
+     * @return the private keys.
+     */
+    public static List<PrivateKey> fromBytes(List<byte[]> privateKeyBytes) {
+        if (privateKeyBytes == null) {
+            throw new NullPointerException("list of private key bytes cannot be null");
+        }
+
+        return IntStream.range(0, privateKeyBytes.size())
+            .parallel()
+            .mapToObj(i -> new PrivateKey(privateKeyBytes.get(i)))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns a list of the specified number of random private keys.
+     *
+     * The keys are generated, and their addresses derived, in parallel, so this is much faster than
+     * generating many keys one at a time.
+     *
+     * @param numberOfKeys The number of keys to generate.
+     * @return the random private keys.
+     */
+    public static List<PrivateKey> random(int numberOfKeys) {
+        if (numberOfKeys < 0) {
+            throw new IllegalArgumentException("cannot generate a negative number of private keys");
+        }
+
+        return IntStream.range(0, numberOfKeys)
+            .parallel()
+            .mapToObj(i -> new PrivateKey(CryptoUtils.generatePrivateKey()))
+            .collect(Collectors.toList());
+    }
+
     public Address getAddress() {
         return this.address;
     }
@@ -60,7 +104,7 @@ public final class PrivateKey {
 
     @Override
     public String toString() {
-        return "PrivateKey { 0x" + Hex.encodeHexString(this.privateKeyBytes) + " }";
+        return "PrivateKey { 0x" + HexCodec.toHex(this.privateKeyBytes) + " }";
     }
 
     @Override
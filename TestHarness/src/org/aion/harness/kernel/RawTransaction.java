@@ -9,7 +9,7 @@ import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 import java.security.SignatureException;
 import java.security.spec.InvalidKeySpecException;
-import org.apache.commons.codec.binary.Hex;
+import org.aion.harness.util.HexCodec;
 
 /**
  * A signed Aion transaction.
@@ -125,7 +125,7 @@ public final class RawTransaction {
 
     @Override
     public String toString() {
-        return "Transaction { hash = " + Hex.encodeHexString(getTransactionHash()) + " }";
+        return "Transaction { hash = " + HexCodec.toHex(getTransactionHash()) + " }";
     }
 
 }
@@ -0,0 +1,323 @@
+package org.aion.harness.kernel;
+
+import java.math.BigInteger;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.IntToLongFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.aion.harness.kernel.BulkRawTransactionBuilder.TransactionType;
+import org.aion.harness.result.TransactionResult;
+
+/**
+ * A source of raw transactions that builds and signs each transaction only when it is asked for.
+ *
+ * Where a {@link BulkRawTransactionBuilder} needs a list of values for each part of the
+ * transactions and returns a list of all the signed transactions, a generator is given a function
+ * per part of the transaction, which is asked for the value of the i'th transaction only when that
+ * transaction is built. A test can therefore send millions of transactions while holding only the
+ * ones currently in flight in memory, for example by handing the generator's iterator to
+ * {@code RPC.sendTransactions()}.
+ *
+ * Every part of the transactions must be specified before any transactions are generated. If a
+ * transaction fails to be built then an {@link IllegalStateException} is thrown describing which
+ * transaction failed and why.
+ *
+ * The generator may be iterated over any number of times, and each iteration builds the
+ * transactions afresh. Its {@code stream()} may be run in parallel, in which case transactions are
+ * signed in parallel, but still in order.
+ *
+ * The functions given to a generator must be safe to call from multiple threads if the generator
+ * is used in parallel.
+ */
+public final class RawTransactionGenerator implements Iterable<RawTransaction> {
+    private final int numTransactions;
+    private IntFunction<PrivateKey> senderKeys = null;
+    private IntFunction<BigInteger> nonces = null;
+    private IntFunction<Address> destinations = null;
+    private IntFunction<byte[]> datas = null;
+    private IntToLongFunction energyLimits = null;
+    private IntToLongFunction energyPrices = null;
+    private IntFunction<BigInteger> values = null;
+    private IntFunction<TransactionType> types = null;
+
+    /**
+     * Constructs a new generator that will generate the specified number of transactions.
+     *
+     * @param numberOfTransactions The number of transactions to generate.
+     */
+    public RawTransactionGenerator(int numberOfTransactions) {
+        if (numberOfTransactions < 0) {
+            throw new IllegalArgumentException("Cannot generate a negative number of transactions.");
+        }
+
+        this.numTransactions = numberOfTransactions;
+    }
+
+    /**
+     * Causes all transactions to be sent from the same sender whose private key is the specified
+     * key, with nonces in incrementing order beginning at the initial nonce value specified.
+     *
+     * @param senderKey The key of the sender account.
+     * @param initialNonce The initial nonce.
+     * @return this generator.
+     */
+    public RawTransactionGenerator useSameSender(PrivateKey senderKey, BigInteger initialNonce) {
+        if (senderKey == null) {
+            throw new NullPointerException("Cannot set a null sender key.");
+        }
+        if (initialNonce == null) {
+            throw new NullPointerException("Cannot set a null initial nonce.");
+        }
+
+        this.senderKeys = i -> senderKey;
+        this.nonces = i -> initialNonce.add(BigInteger.valueOf(i));
+        return this;
+    }
+
+    /**
+     * Causes the i'th transaction to be signed by the private key returned by {@code senderKeys}
+     * for i, using the nonce returned by {@code nonces} for i.
+     *
+     * @param senderKeys The keys of the sender accounts.
+     * @param nonces The nonces of the sender accounts.
+     * @return this generator.
+     */
+    public RawTransactionGenerator useSenders(IntFunction<PrivateKey> senderKeys, IntFunction<BigInteger> nonces) {
+        if (senderKeys == null) {
+            throw new NullPointerException("Cannot set a null sender key function.");
+        }
+        if (nonces == null) {
+            throw new NullPointerException("Cannot set a null nonce function.");
+        }
+
+        this.senderKeys = senderKeys;
+        this.nonces = nonces;
+        return this;
+    }
+
+    /**
+     * Causes the i'th transaction to be sent to the destination returned by {@code destinations}
+     * for i. A null destination is a contract creation.
+     *
+     * @param destinations The destinations of the transactions.
+     * @return this generator.
+     */
+    public RawTransactionGenerator useDestinations(IntFunction<Address> destinations) {
+        if (destinations == null) {
+            throw new NullPointerException("Cannot set a null destination function.");
+        }
+
+        this.destinations = destinations;
+        return this;
+    }
+
+    /**
+     * Causes the i'th transaction to use the data returned by {@code datas} for i.
+     *
+     * @param datas The data of the transactions.
+     * @return this generator.
+     */
+    public RawTransactionGenerator useTransactionDatas(IntFunction<byte[]> datas) {
+        if (datas == null) {
+            throw new NullPointerException("Cannot set a null data function.");
+        }
+
+        this.datas = datas;
+        return this;
+    }
+
+    /**
+     * Causes the i'th transaction to use the energy limit returned by {@code energyLimits} for i.
+     *
+     * @param energyLimits The energy limits of the transactions.
+     * @return this generator.
+     */
+    public RawTransactionGenerator useEnergyLimits(IntToLongFunction energyLimits) {
+        if (energyLimits == null) {
+            throw new NullPointerException("Cannot set a null energy limit function.");
+        }
+
+        this.energyLimits = energyLimits;
+        return this;
+    }
+
+    /**
+     * Causes the i'th transaction to use the energy price returned by {@code energyPrices} for i.
+     *
+     * @param energyPrices The energy prices of the transactions.
+     * @return this generator.
+     */
+    public RawTransactionGenerator useEnergyPrices(IntToLongFunction energyPrices) {
+        if (energyPrices == null) {
+            throw new NullPointerException("Cannot set a null energy price function.");
+        }
+
+        this.energyPrices = energyPrices;
+        return this;
+    }
+
+    /**
+     * Causes the i'th transaction to transfer the value returned by {@code values} for i.
+     *
+     * @param values The values to transfer in the transactions.
+     * @return this generator.
+     */
+    public RawTransactionGenerator useTransferValues(IntFunction<BigInteger> values) {
+        if (values == null) {
+            throw new NullPointerException("Cannot set a null value function.");
+        }
+
+        this.values = values;
+        return this;
+    }
+
+    /**
+     * Causes the i'th transaction to be of the type returned by {@code types} for i.
+     *
+     * @param types The types of the transactions.
+     * @return this generator.
+     */
+    public RawTransactionGenerator useTransactionTypes(IntFunction<TransactionType> types) {
+        if (types == null) {
+            throw new NullPointerException("Cannot set a null transaction type function.");
+        }
+
+        this.types = types;
+        return this;
+    }
+
+    /**
+     * Returns the number of transactions this generator generates.
+     *
+     * @return the number of transactions.
+     */
+    public int size() {
+        return this.numTransactions;
+    }
+
+    /**
+     * Returns an iterator that builds and signs each transaction as it is asked for.
+     *
+     * @return the transactions.
+     */
+    @Override
+    public Iterator<RawTransaction> iterator() {
+        return Spliterators.iterator(spliterator());
+    }
+
+    /**
+     * Returns a spliterator that builds and signs each transaction as it is asked for, and which can
+     * be split so that the transactions can be signed in parallel.
+     *
+     * @return the transactions.
+     */
+    @Override
+    public Spliterator<RawTransaction> spliterator() {
+        verifyAllPartsSpecified();
+        return new TransactionSpliterator(0, this.numTransactions);
+    }
+
+    /**
+     * Returns a stream that builds and signs each transaction as it is asked for.
+     *
+     * @return the transactions.
+     */
+    public Stream<RawTransaction> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Builds and signs the i'th transaction.
+     */
+    private RawTransaction buildTransaction(int i) {
+        Address destination = this.destinations.apply(i);
+
+        TransactionResult result;
+        if ((this.types.apply(i) == TransactionType.AVM) && (destination == null)) {
+            result = RawTransaction.buildAndSignAvmCreateTransaction(this.senderKeys.apply(i), this.nonces.apply(i), this.datas.apply(i),
+                this.energyLimits.applyAsLong(i), this.energyPrices.applyAsLong(i), this.values.apply(i));
+        } else {
+            result = RawTransaction.buildAndSignGeneralTransaction(this.senderKeys.apply(i), this.nonces.apply(i), destination,
+                this.datas.apply(i), this.energyLimits.applyAsLong(i), this.energyPrices.applyAsLong(i), this.values.apply(i));
+        }
+
+        if (!result.isSuccess()) {
+            throw new IllegalStateException("Failed to create transaction #" + i + " due to: " + result.getError());
+        }
+        return result.getTransaction();
+    }
+
+    private void verifyAllPartsSpecified() {
+        if ((this.senderKeys == null) || (this.nonces == null)) {
+            throw new IllegalStateException("No senders have been specified.");
+        }
+        if (this.destinations == null) {
+            throw new IllegalStateException("No destinations have been specified.");
+        }
+        if (this.datas == null) {
+            throw new IllegalStateException("No transaction data has been specified.");
+        }
+        if (this.energyLimits == null) {
+            throw new IllegalStateException("No energy limits have been specified.");
+        }
+        if (this.energyPrices == null) {
+            throw new IllegalStateException("No energy prices have been specified.");
+        }
+        if (this.values == null) {
+            throw new IllegalStateException("No transfer values have been specified.");
+        }
+        if (this.types == null) {
+            throw new IllegalStateException("No transaction types have been specified.");
+        }
+    }
+
+    /**
+     * Builds the transactions numbered from {@code next} up to but excluding {@code end}.
+     */
+    private final class TransactionSpliterator implements Spliterator<RawTransaction> {
+        private int next;
+        private final int end;
+
+        private TransactionSpliterator(int start, int end) {
+            this.next = start;
+            this.end = end;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super RawTransaction> action) {
+            if (this.next >= this.end) {
+                return false;
+            }
+
+            action.accept(buildTransaction(this.next++));
+            return true;
+        }
+
+        @Override
+        public Spliterator<RawTransaction> trySplit() {
+            int middle = (this.next + this.end) >>> 1;
+            if (middle <= this.next) {
+                return null;
+            }
+
+            Spliterator<RawTransaction> prefix = new TransactionSpliterator(this.next, middle);
+            this.next = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return this.end - this.next;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+        }
+    }
+
+}
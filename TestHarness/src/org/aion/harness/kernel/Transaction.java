@@ -1,7 +1,7 @@
 package org.aion.harness.kernel;
 
 import org.aion.harness.main.types.TransactionReceipt;
-import org.apache.commons.codec.binary.Hex;
+import org.aion.harness.util.HexCodec;
 
 /**
  * An Aion transaction.
@@ -39,12 +39,9 @@ public class Transaction {
      * that instead.
      */
     public String jsonString() {
-        return String.format("{"
-                + "\"to\" : \"%s\","
-                + "\"data\" : \"%s\""
-                + "}",
-            Hex.encodeHexString(getTo().getAddressBytes()),
-            getData() != null? Hex.encodeHexString(getData()) : "null"
-        );
+        return "{"
+            + "\"to\" : \"" + HexCodec.toHex(getTo().getAddressBytes()) + "\","
+            + "\"data\" : \"" + ((getData() != null) ? HexCodec.toHex(getData()) : "null") + "\""
+            + "}";
     }
 }
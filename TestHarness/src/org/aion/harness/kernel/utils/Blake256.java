@@ -0,0 +1,82 @@
+package org.aion.harness.kernel.utils;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Blake2b-256 hashing through a digest that is kept per thread and reset after every hash, so that
+ * hashing never allocates once a thread has hashed for the first time.
+ *
+ * Each hash is written into a caller-provided output, which must have room for
+ * {@link #DIGEST_LENGTH} bytes.
+ */
+public final class Blake256 {
+    public static final int DIGEST_LENGTH = 32;
+
+    private static final ThreadLocal<Blake2b> digest = ThreadLocal.withInitial(() -> Blake2b.Digest.newInstance(DIGEST_LENGTH));
+
+    private Blake256() {}
+
+    /**
+     * Hashes the specified slice of the input into the output, beginning at the output offset.
+     */
+    public static void hash(byte[] input, int inputOffset, int inputLength, byte[] output, int outputOffset) {
+        if (input == null) {
+            throw new NullPointerException("input cannot be null");
+        }
+        if ((inputOffset < 0) || (inputLength < 0) || (input.length - inputOffset < inputLength)) {
+            throw new IllegalArgumentException("input slice of " + inputLength + " bytes at offset " + inputOffset + " is out of bounds");
+        }
+        if (output == null) {
+            throw new NullPointerException("output cannot be null");
+        }
+        if ((outputOffset < 0) || (output.length - outputOffset < DIGEST_LENGTH)) {
+            throw new IllegalArgumentException("output must have room for " + DIGEST_LENGTH + " bytes at offset " + outputOffset);
+        }
+
+        Blake2b blake = digest.get();
+        try {
+            blake.update(input, inputOffset, inputLength);
+            blake.digest(output, outputOffset, DIGEST_LENGTH);
+        } catch (Throwable e) {
+            // Whatever the digest has absorbed of this input would otherwise leak into the next hash.
+            blake.reset();
+            throw e;
+        }
+    }
+
+    /**
+     * Hashes the remaining bytes of the input into the output, advancing the positions of both.
+     */
+    public static void hash(ByteBuffer input, ByteBuffer output) {
+        if (input == null) {
+            throw new NullPointerException("input cannot be null");
+        }
+        if (output == null) {
+            throw new NullPointerException("output cannot be null");
+        }
+        if (output.remaining() < DIGEST_LENGTH) {
+            throw new IllegalArgumentException("output must have room for " + DIGEST_LENGTH + " bytes");
+        }
+        if (output.isReadOnly()) {
+            throw new IllegalArgumentException("output cannot be read-only");
+        }
+
+        Blake2b blake = digest.get();
+        try {
+            blake.update(input);
+            blake.digest(output);
+        } catch (Throwable e) {
+            blake.reset();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the hash of the input.
+     */
+    public static byte[] hash(byte[] input) {
+        byte[] output = new byte[DIGEST_LENGTH];
+        hash(input, 0, input.length, output, 0);
+        return output;
+    }
+}
@@ -45,6 +45,8 @@ import static org.aion.harness.kernel.utils.Blake2b.Engine.LittleEndian.writeInt
 import static org.aion.harness.kernel.utils.Blake2b.Engine.LittleEndian.writeLong;
 
 import java.io.PrintStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.security.Key;
@@ -130,10 +132,12 @@ public interface Blake2b {
     // ---------------------------------------------------------------------
     // API
     // ---------------------------------------------------------------------
-    // TODO add ByteBuffer variants
     /** */
     void update(byte[] input);
 
+    /** consumes the remaining bytes of the input buffer */
+    void update(ByteBuffer input);
+
     /** */
     void update(byte input);
 
@@ -149,6 +153,9 @@ public interface Blake2b {
     /** */
     void digest(byte[] output, int offset, int len);
 
+    /** writes the full digest into the output buffer, advancing its position */
+    void digest(ByteBuffer output);
+
     /** */
     void reset();
 
@@ -389,6 +396,8 @@ public interface Blake2b {
         private final int outlen;
         /** to support update(byte) */
         private byte[] oneByte;
+        /** to support digest(ByteBuffer) */
+        private final byte[] outBytes;
 
         /** read only */
         private static byte[] zeropad = new byte[Spec.BLOCK_BYTES];
@@ -415,6 +424,7 @@ public interface Blake2b {
             this.buffer = new byte[Spec.BLOCK_BYTES];
             this.oneByte = new byte[1];
             this.outlen = param.getDigestLength();
+            this.outBytes = new byte[this.outlen];
 
             if (param.getDepth() > Param.Default.depth) {
                 final int ndepth = param.getNodeDepth();
@@ -457,9 +467,7 @@ public interface Blake2b {
         public final void reset() {
             // reset cache
             this.buflen = 0;
-            for (int i = 0; i < buffer.length; i++) {
-                buffer[i] = (byte) 0;
-            }
+            Arrays.fill(buffer, (byte) 0);
 
             // reset flags
             this.f[0] = 0L;
@@ -529,6 +537,43 @@ public interface Blake2b {
             update(input, 0, input.length);
         }
 
+        /** {@inheritDoc} */
+        @Override
+        public final void update(ByteBuffer input) {
+            if (input == null) {
+                throw new IllegalArgumentException("input buffer is null");
+            }
+
+            if (input.hasArray()) {
+                final int len = input.remaining();
+                update(input.array(), input.arrayOffset() + input.position(), len);
+                input.position(input.position() + len);
+                return;
+            }
+
+            /* a direct buffer can only be copied out, so it always goes through the cache buffer */
+            while (input.hasRemaining()) {
+                if (buflen == Spec.BLOCK_BYTES) {
+                    /* flush */
+                    this.t[0] += Spec.BLOCK_BYTES;
+                    this.t[1] += this.t[0] == 0 ? 1 : 0;
+                    compress(buffer, 0);
+                    buflen = 0;
+                }
+
+                final int fill = Math.min(Spec.BLOCK_BYTES - buflen, input.remaining());
+                input.get(buffer, buflen, fill);
+                buflen += fill;
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public final void digest(ByteBuffer output) {
+            digest(outBytes, 0, outlen);
+            output.put(outBytes, 0, outlen);
+        }
+
         /** {@inheritDoc} */
         @Override
         public final void digest(byte[] output, int off, int len) {
@@ -611,6 +656,9 @@ public interface Blake2b {
 
         public static boolean USE_BB_BS2LONG_CONVERT = true;
 
+        /** reads little endian longs straight out of a byte array, without wrapping it */
+        private static final VarHandle LONG_LE = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
         ////////////////////////////////////////////////////////////////////////
         /// Compression Kernel /////////////////////////////////////////// BEGIN
         ////////////////////////////////////////////////////////////////////////
@@ -621,10 +669,7 @@ public interface Blake2b {
             // REVU: some small gains still possible here.
 
             if (USE_BB_BS2LONG_CONVERT) {
-                ByteBuffer bb = ByteBuffer.wrap(b, offset, 16 * 8);
-                bb.order(ByteOrder.LITTLE_ENDIAN);
-
-                for (int i = 0; i < 16; i++) m[i] = bb.getLong();
+                for (int i = 0; i < 16; i++) m[i] = (long) LONG_LE.get(b, offset + (i << 3));
 
             } else {
                 m[0] = ((long) b[offset] & 0xFF);
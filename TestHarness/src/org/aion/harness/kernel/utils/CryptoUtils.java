@@ -1,73 +1,72 @@
 package org.aion.harness.kernel.utils;
 
-import net.i2p.crypto.eddsa.EdDSAPrivateKey;
-import net.i2p.crypto.eddsa.KeyPairGenerator;
-import net.i2p.crypto.eddsa.Utils;
 import net.i2p.crypto.eddsa.spec.EdDSANamedCurveTable;
 import net.i2p.crypto.eddsa.spec.EdDSAParameterSpec;
+import net.i2p.crypto.eddsa.spec.EdDSAPrivateKeySpec;
 
-import java.nio.ByteBuffer;
-import java.security.KeyPair;
-import java.security.spec.InvalidKeySpecException;
-import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
 
+/**
+ * Key generation and address derivation, working directly on byte arrays.
+ *
+ * Every digest and random number generator used here is kept per thread, so that keys can be
+ * generated and their addresses derived from many threads at once without contending on, or
+ * allocating, any of them.
+ */
 public class CryptoUtils {
-    private static final String skEncodedPrefix = "302e020100300506032b657004220420";
-    private static final String pkEncodedPrefix = "302a300506032b6570032100";
+    private static final int KEY_SIZE = 32;
+    private static final byte A0_IDENTIFIER = (byte) 0xa0;
     private static final EdDSAParameterSpec spec = EdDSANamedCurveTable.getByName(EdDSANamedCurveTable.ED_25519);
 
+    private static final ThreadLocal<SecureRandom> random = ThreadLocal.withInitial(SecureRandom::new);
+    private static final ThreadLocal<MessageDigest> seedDigest = ThreadLocal.withInitial(CryptoUtils::newSeedDigest);
+    private static final ThreadLocal<byte[]> blake256Output = ThreadLocal.withInitial(() -> new byte[Blake256.DIGEST_LENGTH]);
+
+    /**
+     * Returns a new random private key. An ed25519 private key is just its 32-byte seed.
+     */
     public static byte[] generatePrivateKey() {
-        KeyPairGenerator keyPairGenerator = new KeyPairGenerator();
-        KeyPair pair = keyPairGenerator.generateKeyPair();
-        EdDSAPrivateKey privateKey = (EdDSAPrivateKey) pair.getPrivate();
-        return Utils.hexToBytes(Utils.bytesToHex(privateKey.getEncoded()).substring(32, 96));
+        byte[] privateKey = new byte[KEY_SIZE];
+        random.get().nextBytes(privateKey);
+        return privateKey;
     }
 
     /**
      * Derive the corresponding aion address, given the private key bytes.
      */
-    public static byte[] deriveAddress(byte[] privateKeyBytes) throws InvalidKeySpecException {
+    public static byte[] deriveAddress(byte[] privateKeyBytes) {
         if (privateKeyBytes == null) {
             throw new NullPointerException("private key cannot be null");
         }
 
-        if (privateKeyBytes.length != 32){
+        if (privateKeyBytes.length != KEY_SIZE){
             throw new IllegalArgumentException("private key mute be 32 bytes");
         }
 
-        EdDSAPrivateKey privateKey = new EdDSAPrivateKey(new PKCS8EncodedKeySpec(addSkPrefix(Utils.bytesToHex(privateKeyBytes))));
-        byte[] publicKeyBytes = privateKey.getAbyte();
+        // Expanding the seed ourselves spares the key spec from looking up a new digest every time.
+        byte[] expandedSeed = seedDigest.get().digest(privateKeyBytes);
+        byte[] publicKeyBytes = new EdDSAPrivateKeySpec(spec, expandedSeed).getA().toByteArray();
 
         return computeA0Address(publicKeyBytes);
     }
 
-    /**
-     * Add encoding prefix for importing public key
-     */
-    private static byte[] addPkPrefix(String pkString){
-        String pkEncoded = pkEncodedPrefix + pkString;
-        return Utils.hexToBytes(pkEncoded);
-    }
-
-    /**
-     * Add encoding prefix for importing private key
-     */
-    private static byte[] addSkPrefix(String skString){
-        String skEncoded = skEncodedPrefix + skString;
-        return Utils.hexToBytes(skEncoded);
-    }
-
     private static byte[] computeA0Address(byte[] publicKey) {
-        byte A0_IDENTIFIER = (byte) 0xa0;
-        ByteBuffer buf = ByteBuffer.allocate(32);
-        buf.put(A0_IDENTIFIER);
-        buf.put(blake256(publicKey), 1, 31);
-        return buf.array();
+        byte[] hash = blake256Output.get();
+        Blake256.hash(publicKey, 0, publicKey.length, hash, 0);
+
+        byte[] address = new byte[KEY_SIZE];
+        address[0] = A0_IDENTIFIER;
+        System.arraycopy(hash, 1, address, 1, KEY_SIZE - 1);
+        return address;
     }
 
-    private static byte[] blake256(byte[] input) {
-        Blake2b digest = Blake2b.Digest.newInstance(32);
-        digest.update(input);
-        return digest.digest();
+    private static MessageDigest newSeedDigest() {
+        try {
+            return MessageDigest.getInstance(spec.getHashAlgorithm());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("The " + spec.getHashAlgorithm() + " digest used by ed25519 is unavailable.", e);
+        }
     }
 }
@@ -0,0 +1,324 @@
+package org.aion.harness.load;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.spec.InvalidKeySpecException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.aion.harness.kernel.Address;
+import org.aion.harness.kernel.BulkRawTransactionBuilder.TransactionType;
+import org.aion.harness.kernel.PrivateKey;
+import org.aion.harness.kernel.RawTransaction;
+import org.aion.harness.kernel.RawTransactionGenerator;
+import org.aion.harness.main.Node;
+import org.aion.harness.main.RPC;
+import org.aion.harness.main.types.ReceiptHash;
+import org.aion.harness.main.util.TestHarnessHelper;
+import org.aion.harness.result.BulkResult;
+import org.aion.harness.result.FutureResult;
+import org.aion.harness.result.LogEventResult;
+import org.aion.harness.result.Result;
+import org.aion.harness.result.RpcResult;
+import org.aion.harness.util.HexCodec;
+import org.aion.harness.util.TransactionLogLines;
+import org.apache.commons.codec.DecoderException;
+
+/**
+ * Funds a large number of accounts from a single funding account, such as the premined account, so
+ * that a load test can send transactions from all of them.
+ *
+ * Funding the accounts one transfer at a time from the funding account serializes every transfer
+ * behind a single sender's nonce. Instead, the accounts are funded as a tree that fans out
+ * geometrically: the funding account funds the first {@code fanOut} accounts, each of those funds
+ * {@code fanOut} more, and so on. Every account is sent enough to cover its own amount, along with
+ * the amounts and transfer costs of every account below it in the tree.
+ *
+ * The transfers of each level of the tree are built in parallel, sent in batches, and then waited
+ * on together. So funding n accounts takes on the order of {@code log(n) / log(fanOut)} rounds of
+ * sealing, rather than n.
+ *
+ * A funder may be used any number of times, but only by one thread at a time.
+ */
+public final class AccountFunder {
+    public static final long TRANSFER_ENERGY_LIMIT = 21_000;
+    public static final long TRANSFER_ENERGY_PRICE = 10_000_000_000L;
+
+    private static final BigInteger TRANSFER_COST = BigInteger.valueOf(TRANSFER_ENERGY_LIMIT).multiply(BigInteger.valueOf(TRANSFER_ENERGY_PRICE));
+
+    private final FundingRpc rpc;
+    private final ProcessedEventListener listener;
+    private final int fanOut;
+
+    /**
+     * Constructs a new account funder that sends transfers to the specified node through the
+     * specified rpc, where each funded account funds at most {@code fanOut} further accounts.
+     *
+     * @param node The node whose log is listened to for the transfers to be sealed.
+     * @param rpc The rpc to send the transfers through.
+     * @param fanOut The number of accounts each account funds.
+     */
+    public AccountFunder(Node node, RPC rpc, int fanOut) {
+        this(rpcOf(rpc), ProcessedEventListener.of(node), fanOut);
+    }
+
+    AccountFunder(FundingRpc rpc, ProcessedEventListener listener, int fanOut) {
+        if (fanOut < 1) {
+            throw new IllegalArgumentException("Fan out must be positive, but was: " + fanOut);
+        }
+
+        this.rpc = rpc;
+        this.listener = listener;
+        this.fanOut = fanOut;
+    }
+
+    /**
+     * Funds each of the specified accounts with the specified amount, drawn from the funding
+     * account.
+     *
+     * The funding account must hold enough to cover the total amount, plus the cost of every
+     * transfer in the tree. Each level of the tree is given the specified timeout to be sealed, and
+     * if any of its transfers fails to be sealed the funding stops there.
+     *
+     * @param funder The funding account.
+     * @param accounts The accounts to fund.
+     * @param amount The amount to fund each account with.
+     * @param levelTimeout The maximum time to wait for each level of transfers to be sealed.
+     * @param unit The time unit of the timeout.
+     * @return the result of funding the accounts.
+     */
+    public Result fundAccounts(PrivateKey funder, List<PrivateKey> accounts, BigInteger amount, long levelTimeout, TimeUnit unit) throws InterruptedException {
+        if (funder == null) {
+            throw new NullPointerException("Cannot fund accounts from a null funder.");
+        }
+        if (accounts == null) {
+            throw new NullPointerException("Cannot fund a null list of accounts.");
+        }
+        if (amount == null) {
+            throw new NullPointerException("Cannot fund accounts with a null amount.");
+        }
+        if (amount.signum() < 0) {
+            throw new IllegalArgumentException("Cannot fund accounts with a negative amount: " + amount);
+        }
+        if (unit == null) {
+            throw new NullPointerException("Cannot fund accounts with a null time unit.");
+        }
+
+        // Index 0 of the tree is the funder, and index i is accounts[i - 1]. The children of index
+        // p are the indices p * fanOut + 1 through p * fanOut + fanOut, so each level is a range.
+        int treeSize = accounts.size() + 1;
+        PrivateKey[] keys = new PrivateKey[treeSize];
+        keys[0] = funder;
+        for (int i = 1; i < treeSize; i++) {
+            keys[i] = accounts.get(i - 1);
+            if (keys[i] == null) {
+                throw new NullPointerException("Cannot fund a null account.");
+            }
+        }
+
+        long[] subtreeSizes = new long[treeSize];
+        for (int i = treeSize - 1; i > 0; i--) {
+            subtreeSizes[i]++;
+            subtreeSizes[parentOf(i)] += subtreeSizes[i];
+        }
+
+        int levelStart = 1;
+        while (levelStart < treeSize) {
+            int levelEnd = (int) Math.min(treeSize, ((long) levelStart * this.fanOut) + 1);
+
+            Result result = fundLevel(keys, subtreeSizes, levelStart, levelEnd, amount, levelTimeout, unit);
+            if (!result.isSuccess()) {
+                return result;
+            }
+
+            levelStart = levelEnd;
+        }
+
+        return Result.successful();
+    }
+
+    /**
+     * Returns the specified number of funded accounts, reusing the accounts whose keys are stored
+     * in the specified key file where possible.
+     *
+     * Any account in the key file whose balance has fallen below the specified amount is topped up
+     * by funding it with the amount again. If the key file holds too few accounts, new accounts are
+     * created and added to the key file before they are funded, and the file is created if it does
+     * not exist.
+     *
+     * @param keyFile The file that caches the keys of funded accounts.
+     * @param funder The funding account.
+     * @param numberOfAccounts The number of funded accounts to return.
+     * @param amount The minimum balance of each account.
+     * @param levelTimeout The maximum time to wait for each level of transfers to be sealed.
+     * @param unit The time unit of the timeout.
+     * @return the keys of the funded accounts, if successful.
+     */
+    public BulkResult<PrivateKey> fundCachedAccounts(File keyFile, PrivateKey funder, int numberOfAccounts, BigInteger amount, long levelTimeout, TimeUnit unit) throws InterruptedException {
+        if (keyFile == null) {
+            throw new NullPointerException("Cannot cache accounts in a null key file.");
+        }
+        if (numberOfAccounts < 0) {
+            throw new IllegalArgumentException("Cannot fund a negative number of accounts: " + numberOfAccounts);
+        }
+        if (amount == null) {
+            throw new NullPointerException("Cannot fund accounts with a null amount.");
+        }
+
+        List<PrivateKey> keys;
+        try {
+            keys = readKeys(keyFile);
+            if (keys.size() < numberOfAccounts) {
+                keys.addAll(TestHarnessHelper.randomPrivateKeys(numberOfAccounts - keys.size()));
+                writeKeys(keyFile, keys);
+            }
+        } catch (IOException | DecoderException | InvalidKeySpecException e) {
+            return BulkResult.unsuccessful("Failed to load the cached accounts from " + keyFile + " due to: " + e.toString());
+        }
+
+        keys = keys.subList(0, numberOfAccounts);
+
+        BulkResult<BigInteger> balances = TestHarnessHelper.extractRpcResults(this.rpc.getBalances(TestHarnessHelper.extractAddresses(keys)));
+        if (!balances.isSuccess()) {
+            return BulkResult.unsuccessful("Failed to read the balances of the cached accounts due to: " + balances.getError());
+        }
+
+        List<PrivateKey> underfunded = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            if (balances.getResults().get(i).compareTo(amount) < 0) {
+                underfunded.add(keys.get(i));
+            }
+        }
+
+        Result result = fundAccounts(funder, underfunded, amount, levelTimeout, unit);
+        return result.isSuccess() ? BulkResult.successful(new ArrayList<>(keys)) : BulkResult.unsuccessful(result.getError());
+    }
+
+    /**
+     * Sends and waits on the transfers to every account in the range [levelStart, levelEnd) of the
+     * tree, from their parents.
+     */
+    private Result fundLevel(PrivateKey[] keys, long[] subtreeSizes, int levelStart, int levelEnd, BigInteger amount,
+        long levelTimeout, TimeUnit unit) throws InterruptedException {
+
+        int firstParent = parentOf(levelStart);
+        int lastParent = parentOf(levelEnd - 1);
+
+        List<Address> parents = new ArrayList<>(lastParent - firstParent + 1);
+        for (int parent = firstParent; parent <= lastParent; parent++) {
+            parents.add(keys[parent].getAddress());
+        }
+
+        BulkResult<BigInteger> parentNonces = TestHarnessHelper.extractRpcResults(this.rpc.getNonces(parents));
+        if (!parentNonces.isSuccess()) {
+            return Result.unsuccessfulDueTo("Failed to read the nonces of the funding accounts due to: " + parentNonces.getError());
+        }
+
+        // Each account's transfer comes from its parent, whose nonce increases with each sibling.
+        List<RawTransaction> transfers = new RawTransactionGenerator(levelEnd - levelStart)
+            .useSenders(i -> keys[parentOf(levelStart + i)],
+                i -> parentNonces.getResults().get(parentOf(levelStart + i) - firstParent).add(BigInteger.valueOf((levelStart + i - 1) % this.fanOut)))
+            .useDestinations(i -> keys[levelStart + i].getAddress())
+            .useTransactionDatas(i -> new byte[0])
+            .useEnergyLimits(i -> TRANSFER_ENERGY_LIMIT)
+            .useEnergyPrices(i -> TRANSFER_ENERGY_PRICE)
+            .useTransferValues(i -> fundingValueOf(subtreeSizes[levelStart + i], amount))
+            .useTransactionTypes(i -> TransactionType.FVM)
+            .stream()
+            .parallel()
+            .collect(Collectors.toList());
+
+        List<FutureResult<LogEventResult>> processed = new ArrayList<>(transfers.size());
+        for (RawTransaction transfer : transfers) {
+            processed.add(this.listener.listenForTransactionToBeProcessed(transfer, levelTimeout, unit));
+        }
+
+        BulkResult<ReceiptHash> sent = TestHarnessHelper.extractRpcResults(this.rpc.sendTransactions(transfers));
+        if (!sent.isSuccess()) {
+            return Result.unsuccessfulDueTo("Failed to send the transfers to accounts " + (levelStart - 1) + " through "
+                + (levelEnd - 2) + " due to: " + sent.getError());
+        }
+
+        for (int i = 0; i < transfers.size(); i++) {
+            LogEventResult result = processed.get(i).get();
+            String sealed = TransactionLogLines.sealedEventString(transfers.get(i).getTransactionHash());
+
+            if (!result.eventWasObserved() || !result.getAllObservedEvents().contains(sealed)) {
+                return Result.unsuccessfulDueTo("The transfer to account " + (levelStart + i - 1) + " was not sealed: "
+                    + (result.eventWasObserved() ? "it was rejected by the node." : result));
+            }
+        }
+
+        return Result.successful();
+    }
+
+    private int parentOf(int index) {
+        return (index - 1) / this.fanOut;
+    }
+
+    /**
+     * Returns the value an account must be sent to cover its own amount and every transfer made
+     * below it in the tree.
+     */
+    private static BigInteger fundingValueOf(long subtreeSize, BigInteger amount) {
+        return amount.multiply(BigInteger.valueOf(subtreeSize)).add(TRANSFER_COST.multiply(BigInteger.valueOf(subtreeSize - 1)));
+    }
+
+    private static List<PrivateKey> readKeys(File keyFile) throws IOException, DecoderException, InvalidKeySpecException {
+        List<PrivateKey> keys = new ArrayList<>();
+        if (!keyFile.exists()) {
+            return keys;
+        }
+
+        for (String line : Files.readAllLines(keyFile.toPath(), StandardCharsets.UTF_8)) {
+            if (!line.trim().isEmpty()) {
+                keys.add(PrivateKey.fromBytes(HexCodec.decode(line.trim())));
+            }
+        }
+        return keys;
+    }
+
+    private static void writeKeys(File keyFile, List<PrivateKey> keys) throws IOException {
+        List<String> lines = new ArrayList<>(keys.size());
+        for (PrivateKey key : keys) {
+            lines.add(HexCodec.toHex(key.getPrivateKeyBytes()));
+        }
+        Files.write(keyFile.toPath(), lines, StandardCharsets.UTF_8);
+    }
+
+    private static FundingRpc rpcOf(RPC rpc) {
+        if (rpc == null) {
+            throw new NullPointerException("Cannot fund accounts through a null rpc.");
+        }
+
+        return new FundingRpc() {
+            @Override
+            public List<RpcResult<BigInteger>> getNonces(List<Address> addresses) throws InterruptedException {
+                return rpc.getNonces(addresses);
+            }
+
+            @Override
+            public List<RpcResult<BigInteger>> getBalances(List<Address> addresses) throws InterruptedException {
+                return rpc.getBalances(addresses);
+            }
+
+            @Override
+            public List<RpcResult<ReceiptHash>> sendTransactions(List<RawTransaction> transactions) throws InterruptedException {
+                return rpc.sendTransactions(transactions);
+            }
+        };
+    }
+
+    interface FundingRpc {
+        List<RpcResult<BigInteger>> getNonces(List<Address> addresses) throws InterruptedException;
+
+        List<RpcResult<BigInteger>> getBalances(List<Address> addresses) throws InterruptedException;
+
+        List<RpcResult<ReceiptHash>> sendTransactions(List<RawTransaction> transactions) throws InterruptedException;
+    }
+
+}
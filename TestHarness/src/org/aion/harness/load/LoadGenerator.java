@@ -0,0 +1,238 @@
+package org.aion.harness.load;
+
+import java.util.Iterator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.aion.harness.kernel.RawTransaction;
+import org.aion.harness.main.AsyncRPC;
+import org.aion.harness.main.Node;
+import org.aion.harness.main.types.ReceiptHash;
+import org.aion.harness.result.FutureResult;
+import org.aion.harness.result.LogEventResult;
+import org.aion.harness.result.RpcResult;
+import org.aion.harness.statistics.LatencyHistogram;
+import org.aion.harness.util.TransactionLogLines;
+
+/**
+ * Drives a node with transactions sent at the rates laid out by a {@link LoadProfile}, and reports
+ * how quickly the node sealed them.
+ *
+ * The load is open-loop: each transaction is sent at the time the profile intends it to be sent,
+ * regardless of whether the node has dealt with the previous ones, and its latency is measured from
+ * that intended time to the time it is observed being sealed. A node that falls behind therefore
+ * shows up as growing latencies, rather than being hidden by the load generator slowing down to
+ * match it (which is known as coordinated omission).
+ *
+ * Transactions are sent without blocking on their responses, and the outcome of each transaction
+ * is collected on a separate thread, so that neither slow responses nor slow seals delay the
+ * sending of later transactions.
+ *
+ * A load generator may be run any number of times, but only by one thread at a time.
+ */
+public final class LoadGenerator {
+    private final TransactionSender sender;
+    private final ProcessedEventListener listener;
+    private final LoadProfile profile;
+
+    /**
+     * Constructs a new load generator that sends transactions to the specified node through the
+     * specified rpc, at the rates given by the profile.
+     *
+     * The number of transactions in flight at once is bounded by the window of the rpc.
+     *
+     * @param node The node whose log is listened to for the transactions to be sealed.
+     * @param rpc The rpc to send the transactions through.
+     * @param profile The rates to send transactions at.
+     */
+    public LoadGenerator(Node node, AsyncRPC rpc, LoadProfile profile) {
+        this(senderOf(rpc), ProcessedEventListener.of(node), profile);
+    }
+
+    LoadGenerator(TransactionSender sender, ProcessedEventListener listener, LoadProfile profile) {
+        if (profile == null) {
+            throw new NullPointerException("Cannot generate load with a null profile.");
+        }
+
+        this.sender = sender;
+        this.listener = listener;
+        this.profile = profile;
+    }
+
+    /**
+     * Sends transactions drawn from the specified iterator at the rates given by the profile until
+     * either the profile ends or the iterator runs out of transactions. Then waits until each
+     * transaction sent has been sealed, rejected, or has gone unobserved for the seal timeout,
+     * and reports the results.
+     *
+     * Transactions are drawn from the iterator just ahead of the time they are intended to be sent,
+     * so that a lazy source, such as a {@link org.aion.harness.kernel.RawTransactionGenerator}, does
+     * not have its signing time charged to the node.
+     *
+     * @param transactions The transactions to send.
+     * @param sealTimeout The maximum time to wait for each transaction to be sealed.
+     * @param unit The time unit of the seal timeout.
+     * @return the report of the load test.
+     */
+    public LoadReport run(Iterator<RawTransaction> transactions, long sealTimeout, TimeUnit unit) throws InterruptedException {
+        if (transactions == null) {
+            throw new NullPointerException("Cannot generate load from null transactions.");
+        }
+        if (sealTimeout < 0) {
+            throw new IllegalArgumentException("Seal timeout cannot be negative: " + sealTimeout);
+        }
+        if (unit == null) {
+            throw new NullPointerException("Cannot generate load with a null time unit.");
+        }
+
+        Collector collector = new Collector();
+        Thread collectorThread = new Thread(collector, "load-generator-collector");
+        collectorThread.setDaemon(true);
+        collectorThread.start();
+
+        long startTimeInNanos = System.nanoTime();
+        long numberSent = 0;
+        boolean finishedSending = false;
+
+        try {
+            long intendedOffsetInNanos = 0;
+            while ((intendedOffsetInNanos >= 0) && transactions.hasNext()) {
+                RawTransaction transaction = transactions.next();
+                long intendedTimeInNanos = startTimeInNanos + intendedOffsetInNanos;
+
+                parkUntil(intendedTimeInNanos);
+
+                FutureResult<LogEventResult> processed = this.listener.listenForTransactionToBeProcessed(transaction, sealTimeout, unit);
+                CompletableFuture<RpcResult<ReceiptHash>> sent = this.sender.sendTransaction(transaction);
+                collector.pending.add(new PendingTransaction(transaction, intendedTimeInNanos, sent, processed));
+                numberSent++;
+
+                intendedOffsetInNanos = this.profile.nextIntendedTime(intendedOffsetInNanos);
+            }
+
+            finishedSending = true;
+        } finally {
+            collector.pending.add(PendingTransaction.END_OF_TRANSACTIONS);
+            if (!finishedSending) {
+                collectorThread.interrupt();
+            }
+        }
+
+        long sendingDurationInNanos = System.nanoTime() - startTimeInNanos;
+        collectorThread.join();
+
+        long lastSealTime = collector.latestSealTimeInNanos;
+        long sealingDurationInNanos = (collector.numberSealed == 0) ? 0 : lastSealTime - startTimeInNanos;
+
+        return new LoadReport(numberSent, collector.numberSealed, collector.numberRejected, collector.numberFailedToSend,
+            collector.numberUnobserved, sendingDurationInNanos, sealingDurationInNanos, collector.latencies);
+    }
+
+    private static TransactionSender senderOf(AsyncRPC rpc) {
+        if (rpc == null) {
+            throw new NullPointerException("Cannot generate load with a null rpc.");
+        }
+        return rpc::sendTransaction;
+    }
+
+    /**
+     * Waits until the specified time. Spins for the final stretch, since parking is not precise
+     * enough to hit high rates.
+     */
+    private static void parkUntil(long timeInNanos) throws InterruptedException {
+        long remaining;
+        while ((remaining = timeInNanos - System.nanoTime()) > 0) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            if (remaining > TimeUnit.MICROSECONDS.toNanos(100)) {
+                LockSupport.parkNanos(remaining - TimeUnit.MICROSECONDS.toNanos(50));
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    /**
+     * Collects the outcome of each sent transaction, in the order they were sent.
+     *
+     * Each outcome carries the time it was observed at, so waiting on the transactions in order
+     * does not skew their latencies, no matter the order they are actually sealed in.
+     */
+    private static final class Collector implements Runnable {
+        private final BlockingQueue<PendingTransaction> pending = new LinkedBlockingQueue<>();
+        private final LatencyHistogram latencies = new LatencyHistogram();
+
+        // Only written by the collector thread, and only read after it has been joined.
+        private long numberSealed = 0;
+        private long numberRejected = 0;
+        private long numberFailedToSend = 0;
+        private long numberUnobserved = 0;
+        private long latestSealTimeInNanos = 0;
+
+        @Override
+        public void run() {
+            try {
+                PendingTransaction transaction;
+                while ((transaction = this.pending.take()) != PendingTransaction.END_OF_TRANSACTIONS) {
+                    collect(transaction);
+                }
+            } catch (InterruptedException e) {
+                // The run was interrupted, so there is nothing more to report.
+            }
+        }
+
+        private void collect(PendingTransaction transaction) throws InterruptedException {
+            RpcResult<ReceiptHash> sendResult;
+            try {
+                sendResult = transaction.sent.get();
+            } catch (ExecutionException e) {
+                sendResult = RpcResult.unsuccessful(e.getCause().toString());
+            }
+
+            // The event request will expire on its own, so there is no need to wait on it.
+            if (!sendResult.isSuccess()) {
+                this.numberFailedToSend++;
+                return;
+            }
+
+            LogEventResult processed = transaction.processed.get();
+            if (!processed.eventWasObserved()) {
+                this.numberUnobserved++;
+            } else if (processed.getAllObservedEvents().contains(TransactionLogLines.sealedEventString(transaction.transaction.getTransactionHash()))) {
+                long sealTime = processed.timeOfObservation(TimeUnit.NANOSECONDS);
+                this.latencies.recordLatency(Math.max(0, sealTime - transaction.intendedTimeInNanos), TimeUnit.NANOSECONDS);
+                this.latestSealTimeInNanos = Math.max(this.latestSealTimeInNanos, sealTime);
+                this.numberSealed++;
+            } else {
+                this.numberRejected++;
+            }
+        }
+    }
+
+    private static final class PendingTransaction {
+        private static final PendingTransaction END_OF_TRANSACTIONS = new PendingTransaction(null, 0, null, null);
+
+        private final RawTransaction transaction;
+        private final long intendedTimeInNanos;
+        private final CompletableFuture<RpcResult<ReceiptHash>> sent;
+        private final FutureResult<LogEventResult> processed;
+
+        private PendingTransaction(RawTransaction transaction, long intendedTimeInNanos,
+            CompletableFuture<RpcResult<ReceiptHash>> sent, FutureResult<LogEventResult> processed) {
+
+            this.transaction = transaction;
+            this.intendedTimeInNanos = intendedTimeInNanos;
+            this.sent = sent;
+            this.processed = processed;
+        }
+    }
+
+    interface TransactionSender {
+        CompletableFuture<RpcResult<ReceiptHash>> sendTransaction(RawTransaction transaction) throws InterruptedException;
+    }
+
+}
@@ -0,0 +1,197 @@
+package org.aion.harness.load;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A schedule of the rate, in transactions per second, at which a {@link LoadGenerator} sends
+ * transactions over the course of a load test.
+ *
+ * A profile is made up of consecutive phases. Over the course of each phase the rate changes
+ * linearly from the phase's starting rate to its ending rate, so a phase whose two rates are equal
+ * holds a steady rate, and a phase whose rates differ ramps the rate up or down.
+ *
+ * The profile fixes the time at which every transaction is intended to be sent, independently of
+ * how long the node takes to respond to any of them. This is what makes a load test open-loop.
+ *
+ * This class is immutable.
+ */
+public final class LoadProfile {
+    private final List<Phase> phases;
+    private final long totalDurationInNanos;
+
+    private LoadProfile(List<Phase> phases) {
+        if (phases.isEmpty()) {
+            throw new IllegalArgumentException("Cannot construct a load profile with no phases.");
+        }
+
+        long totalDuration = 0;
+        for (Phase phase : phases) {
+            totalDuration += phase.durationInNanos;
+        }
+
+        this.phases = Collections.unmodifiableList(new ArrayList<>(phases));
+        this.totalDurationInNanos = totalDuration;
+    }
+
+    /**
+     * Returns a profile that sends at a steady rate for the specified duration.
+     *
+     * @param transactionsPerSecond The rate.
+     * @param duration The duration of the profile.
+     * @param unit The time unit of the duration.
+     * @return the profile.
+     */
+    public static LoadProfile constant(double transactionsPerSecond, long duration, TimeUnit unit) {
+        return new LoadProfile(Collections.singletonList(new Phase(transactionsPerSecond, transactionsPerSecond, duration, unit)));
+    }
+
+    /**
+     * Returns a profile that ramps the rate up linearly from {@code initialTransactionsPerSecond}
+     * to {@code targetTransactionsPerSecond} over the ramp duration, and then holds the target rate
+     * steady for the steady-state duration.
+     *
+     * @param initialTransactionsPerSecond The rate at the start of the ramp.
+     * @param targetTransactionsPerSecond The rate at the end of the ramp and during steady state.
+     * @param rampDuration The duration of the ramp.
+     * @param steadyStateDuration The duration of the steady state.
+     * @param unit The time unit of the durations.
+     * @return the profile.
+     */
+    public static LoadProfile rampUp(double initialTransactionsPerSecond, double targetTransactionsPerSecond, long rampDuration, long steadyStateDuration, TimeUnit unit) {
+        List<Phase> phases = new ArrayList<>();
+        phases.add(new Phase(initialTransactionsPerSecond, targetTransactionsPerSecond, rampDuration, unit));
+        phases.add(new Phase(targetTransactionsPerSecond, targetTransactionsPerSecond, steadyStateDuration, unit));
+        return new LoadProfile(phases);
+    }
+
+    /**
+     * Returns a profile that holds a steady rate for each step, beginning at
+     * {@code initialTransactionsPerSecond} and increasing the rate by
+     * {@code stepTransactionsPerSecond} from one step to the next.
+     *
+     * @param initialTransactionsPerSecond The rate of the first step.
+     * @param stepTransactionsPerSecond The increase in rate from one step to the next.
+     * @param numberOfSteps The number of steps.
+     * @param stepDuration The duration of each step.
+     * @param unit The time unit of the step duration.
+     * @return the profile.
+     */
+    public static LoadProfile steps(double initialTransactionsPerSecond, double stepTransactionsPerSecond, int numberOfSteps, long stepDuration, TimeUnit unit) {
+        if (numberOfSteps < 1) {
+            throw new IllegalArgumentException("A step profile must have at least one step, but had: " + numberOfSteps);
+        }
+
+        List<Phase> phases = new ArrayList<>();
+        for (int step = 0; step < numberOfSteps; step++) {
+            double rate = initialTransactionsPerSecond + (step * stepTransactionsPerSecond);
+            phases.add(new Phase(rate, rate, stepDuration, unit));
+        }
+        return new LoadProfile(phases);
+    }
+
+    /**
+     * Returns a profile that runs this profile followed by the specified profile.
+     *
+     * @param next The profile to run after this one.
+     * @return the combined profile.
+     */
+    public LoadProfile followedBy(LoadProfile next) {
+        if (next == null) {
+            throw new NullPointerException("Cannot follow a profile with a null profile.");
+        }
+
+        List<Phase> phases = new ArrayList<>(this.phases);
+        phases.addAll(next.phases);
+        return new LoadProfile(phases);
+    }
+
+    /**
+     * Returns the total duration of this profile.
+     *
+     * @param unit The time unit to return the duration in.
+     * @return the duration.
+     */
+    public long getDuration(TimeUnit unit) {
+        return unit.convert(this.totalDurationInNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the rate, in transactions per second, that this profile calls for at the specified
+     * time since the start of the profile, or zero if the profile is over by then.
+     *
+     * @param elapsedTimeInNanos The time since the start of the profile, in nanoseconds.
+     * @return the rate.
+     */
+    public double getRateAt(long elapsedTimeInNanos) {
+        if (elapsedTimeInNanos < 0) {
+            throw new IllegalArgumentException("Elapsed time cannot be negative: " + elapsedTimeInNanos);
+        }
+
+        long phaseStart = 0;
+        for (Phase phase : this.phases) {
+            if (elapsedTimeInNanos < phaseStart + phase.durationInNanos) {
+                return phase.rateAt(elapsedTimeInNanos - phaseStart);
+            }
+            phaseStart += phase.durationInNanos;
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the time, since the start of the profile, at which the transaction following a
+     * transaction intended to be sent at the specified time is intended to be sent. Returns a
+     * negative number if that time falls after the end of the profile.
+     *
+     * @param previousTimeInNanos The time the previous transaction was intended to be sent at.
+     * @return the time the next transaction is intended to be sent at, in nanoseconds.
+     */
+    public long nextIntendedTime(long previousTimeInNanos) {
+        double rate = getRateAt(previousTimeInNanos);
+        if (rate <= 0) {
+            return -1;
+        }
+
+        long next = previousTimeInNanos + Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / rate));
+        return (next < this.totalDurationInNanos) ? next : -1;
+    }
+
+    @Override
+    public String toString() {
+        return "LoadProfile { phases = " + this.phases + " }";
+    }
+
+    private static final class Phase {
+        private final double startRate;
+        private final double endRate;
+        private final long durationInNanos;
+
+        private Phase(double startRate, double endRate, long duration, TimeUnit unit) {
+            if ((startRate <= 0) || (endRate <= 0)) {
+                throw new IllegalArgumentException("Transactions per second must be positive, but was: " + Math.min(startRate, endRate));
+            }
+            if (duration <= 0) {
+                throw new IllegalArgumentException("Duration must be positive, but was: " + duration);
+            }
+            if (unit == null) {
+                throw new NullPointerException("Cannot construct a load profile with null time units.");
+            }
+
+            this.startRate = startRate;
+            this.endRate = endRate;
+            this.durationInNanos = unit.toNanos(duration);
+        }
+
+        private double rateAt(long elapsedTimeInNanos) {
+            return this.startRate + ((this.endRate - this.startRate) * elapsedTimeInNanos / this.durationInNanos);
+        }
+
+        @Override
+        public String toString() {
+            return "{ " + this.startRate + " -> " + this.endRate + " tps over " + this.durationInNanos + " ns }";
+        }
+    }
+
+}
@@ -0,0 +1,162 @@
+package org.aion.harness.load;
+
+import java.util.concurrent.TimeUnit;
+import org.aion.harness.statistics.LatencyHistogram;
+
+/**
+ * The outcome of a load test run by a {@link LoadGenerator}.
+ *
+ * Every latency in the report is measured from the time the transaction was intended to be sent,
+ * according to the {@link LoadProfile}, to the time it was observed being sealed into a block. A
+ * transaction that was sent late because the harness or the node fell behind is therefore charged
+ * for the time it spent waiting to be sent.
+ *
+ * This class is immutable once constructed.
+ */
+public final class LoadReport {
+    private final long numberOfTransactionsSent;
+    private final long numberOfTransactionsSealed;
+    private final long numberOfTransactionsRejected;
+    private final long numberOfTransactionsFailedToSend;
+    private final long numberOfTransactionsUnobserved;
+    private final long sendingDurationInNanos;
+    private final long sealingDurationInNanos;
+    private final LatencyHistogram submitToSealLatencies;
+
+    LoadReport(long sent, long sealed, long rejected, long failedToSend, long unobserved,
+        long sendingDurationInNanos, long sealingDurationInNanos, LatencyHistogram submitToSealLatencies) {
+
+        this.numberOfTransactionsSent = sent;
+        this.numberOfTransactionsSealed = sealed;
+        this.numberOfTransactionsRejected = rejected;
+        this.numberOfTransactionsFailedToSend = failedToSend;
+        this.numberOfTransactionsUnobserved = unobserved;
+        this.sendingDurationInNanos = sendingDurationInNanos;
+        this.sealingDurationInNanos = sealingDurationInNanos;
+        this.submitToSealLatencies = submitToSealLatencies;
+    }
+
+    /**
+     * Returns the number of transactions that were sent, whether or not sending them succeeded.
+     *
+     * @return the number of transactions sent.
+     */
+    public long getNumberOfTransactionsSent() {
+        return this.numberOfTransactionsSent;
+    }
+
+    /**
+     * Returns the number of transactions that were observed being sealed into a block.
+     *
+     * @return the number of transactions sealed.
+     */
+    public long getNumberOfTransactionsSealed() {
+        return this.numberOfTransactionsSealed;
+    }
+
+    /**
+     * Returns the number of transactions that were observed being rejected by the node.
+     *
+     * @return the number of transactions rejected.
+     */
+    public long getNumberOfTransactionsRejected() {
+        return this.numberOfTransactionsRejected;
+    }
+
+    /**
+     * Returns the number of transactions that the node could not be reached to send.
+     *
+     * @return the number of transactions that failed to send.
+     */
+    public long getNumberOfTransactionsFailedToSend() {
+        return this.numberOfTransactionsFailedToSend;
+    }
+
+    /**
+     * Returns the number of transactions that were sent but were neither sealed nor rejected
+     * before the seal timeout elapsed or the node stopped.
+     *
+     * @return the number of transactions unobserved.
+     */
+    public long getNumberOfTransactionsUnobserved() {
+        return this.numberOfTransactionsUnobserved;
+    }
+
+    /**
+     * Returns the rate at which transactions were actually sent, in transactions per second.
+     *
+     * @return the achieved send rate.
+     */
+    public double getSendRate() {
+        return perSecond(this.numberOfTransactionsSent, this.sendingDurationInNanos);
+    }
+
+    /**
+     * Returns the rate at which transactions were sealed, in transactions per second, measured from
+     * the time the first transaction was intended to be sent to the time the last transaction was
+     * sealed.
+     *
+     * @return the sustained sealing rate.
+     */
+    public double getSustainedTransactionsPerSecond() {
+        return perSecond(this.numberOfTransactionsSealed, this.sealingDurationInNanos);
+    }
+
+    /**
+     * Returns the submit-to-seal latency at the specified percentile.
+     *
+     * @param percentile The percentile, between 0 and 100 inclusive.
+     * @param unit The time unit to return the latency in.
+     * @return the latency at the percentile.
+     */
+    public long getSubmitToSealLatencyAtPercentile(double percentile, TimeUnit unit) {
+        return this.submitToSealLatencies.getLatencyAtPercentile(percentile, unit);
+    }
+
+    /**
+     * Returns the histogram of the submit-to-seal latencies of all sealed transactions.
+     *
+     * @return the latency histogram.
+     */
+    public LatencyHistogram getSubmitToSealLatencies() {
+        return this.submitToSealLatencies;
+    }
+
+    /**
+     * Prints the report to console.
+     */
+    public void printReport() {
+        System.out.println("---------------------------------------------------------------------");
+        System.out.println("Transactions sent: " + this.numberOfTransactionsSent
+            + " (failed to send: " + this.numberOfTransactionsFailedToSend + ")");
+        System.out.println("Transactions sealed: " + this.numberOfTransactionsSealed
+            + ", rejected: " + this.numberOfTransactionsRejected
+            + ", unobserved: " + this.numberOfTransactionsUnobserved);
+        System.out.println(String.format("Send rate: %.2f tps", getSendRate()));
+        System.out.println(String.format("Sustained sealing rate: %.2f tps", getSustainedTransactionsPerSecond()));
+        System.out.println("Submit-to-seal latency p50: " + latencyInMillis(50) + " ms");
+        System.out.println("Submit-to-seal latency p99: " + latencyInMillis(99) + " ms");
+        System.out.println("Submit-to-seal latency p99.9: " + latencyInMillis(99.9) + " ms");
+        System.out.println("Submit-to-seal latency max: " + this.submitToSealLatencies.getMaximumLatency(TimeUnit.MILLISECONDS) + " ms");
+        System.out.println("---------------------------------------------------------------------");
+    }
+
+    @Override
+    public String toString() {
+        return "LoadReport { sent = " + this.numberOfTransactionsSent
+            + ", sealed = " + this.numberOfTransactionsSealed
+            + ", sustained tps = " + getSustainedTransactionsPerSecond()
+            + ", p50 = " + latencyInMillis(50) + " ms"
+            + ", p99 = " + latencyInMillis(99) + " ms"
+            + ", p99.9 = " + latencyInMillis(99.9) + " ms }";
+    }
+
+    private long latencyInMillis(double percentile) {
+        return this.submitToSealLatencies.getLatencyAtPercentile(percentile, TimeUnit.MILLISECONDS);
+    }
+
+    private static double perSecond(long count, long durationInNanos) {
+        return (durationInNanos <= 0) ? 0 : ((double) count * TimeUnit.SECONDS.toNanos(1)) / durationInNanos;
+    }
+
+}
@@ -0,0 +1,277 @@
+package org.aion.harness.load;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.aion.harness.kernel.Address;
+import org.aion.harness.kernel.PrivateKey;
+import org.aion.harness.kernel.RawTransaction;
+import org.aion.harness.main.Node;
+import org.aion.harness.main.RPC;
+import org.aion.harness.result.FutureResult;
+import org.aion.harness.result.LogEventResult;
+import org.aion.harness.result.Result;
+import org.aion.harness.result.RpcResult;
+import org.aion.harness.util.TransactionLogLines;
+
+/**
+ * Hands out senders, and the nonces their next transactions must use, from a pool of sender
+ * accounts, so that many threads can produce transactions from many independent senders at once.
+ *
+ * A node processes the transactions of any one sender strictly in nonce order, so sending all of a
+ * load test's transactions from a single sender serializes the node's work. Spreading them over
+ * thousands of senders lets the node work on them in parallel.
+ *
+ * Senders are handed out in round-robin order. Each sender's nonces are handed out in increasing
+ * order with no gaps, and no nonce of any sender is ever handed out twice, unless a transaction
+ * that used it has since been rejected.
+ *
+ * If a transaction is rejected by the node, every later nonce handed out for its sender is stuck
+ * behind the gap it leaves. A sender with a rejected transaction is therefore rewound to the nonce
+ * of that transaction, so that the gap is filled by the sender's next transaction. The nonce is
+ * not reread from the node, since the nonce the node reports lags behind the transactions that are
+ * still pending, and rewinding to it would hand those nonces out again. A rejection can be
+ * reported directly, or the manager can watch the node for the rejection of a transaction itself.
+ *
+ * The nonces must be seeded from the node before any are handed out.
+ *
+ * This class is thread-safe.
+ */
+public final class NonceManager {
+    private final NonceReader nonceReader;
+    private final ProcessedEventListener listener;
+    private final List<Sender> senders;
+    private final AtomicInteger nextSender = new AtomicInteger(0);
+
+    private final BlockingQueue<WatchedTransaction> watchedTransactions = new LinkedBlockingQueue<>();
+    private final AtomicBoolean isWatching = new AtomicBoolean(false);
+
+    private volatile boolean isSeeded = false;
+
+    /**
+     * Constructs a new nonce manager for the specified senders, which reads their nonces through
+     * the specified rpc and watches the specified node for rejected transactions.
+     *
+     * @param node The node the transactions are sent to.
+     * @param rpc The rpc to read the nonces through.
+     * @param senderKeys The private keys of the senders.
+     */
+    public NonceManager(Node node, RPC rpc, List<PrivateKey> senderKeys) {
+        this(readerOf(rpc), ProcessedEventListener.of(node), senderKeys);
+    }
+
+    NonceManager(NonceReader nonceReader, ProcessedEventListener listener, List<PrivateKey> senderKeys) {
+        if (senderKeys == null) {
+            throw new NullPointerException("Cannot manage the nonces of null sender keys.");
+        }
+        if (senderKeys.isEmpty()) {
+            throw new IllegalArgumentException("Cannot manage the nonces of an empty list of senders.");
+        }
+
+        List<Sender> senders = new ArrayList<>(senderKeys.size());
+        for (PrivateKey senderKey : senderKeys) {
+            if (senderKey == null) {
+                throw new NullPointerException("Cannot manage the nonce of a null sender key.");
+            }
+            senders.add(new Sender(senderKey));
+        }
+
+        this.nonceReader = nonceReader;
+        this.listener = listener;
+        this.senders = Collections.unmodifiableList(senders);
+    }
+
+    /**
+     * Reads the current nonce of every sender from the node, in batches.
+     *
+     * This must be called, and must succeed, before any nonces are handed out. It may be called
+     * again at any time to resynchronize every sender with the node.
+     *
+     * @return the result of seeding the nonces.
+     */
+    public Result seedNonces() throws InterruptedException {
+        List<Address> addresses = new ArrayList<>(this.senders.size());
+        for (Sender sender : this.senders) {
+            addresses.add(sender.address);
+        }
+
+        List<RpcResult<BigInteger>> nonces = this.nonceReader.getNonces(addresses);
+        for (int i = 0; i < nonces.size(); i++) {
+            if (!nonces.get(i).isSuccess()) {
+                return Result.unsuccessfulDueTo("Failed to read the nonce of " + addresses.get(i) + " due to: " + nonces.get(i).getError());
+            }
+        }
+
+        for (int i = 0; i < nonces.size(); i++) {
+            this.senders.get(i).reset(nonces.get(i).getResult());
+        }
+
+        this.isSeeded = true;
+        return Result.successful();
+    }
+
+    /**
+     * Returns the next sender in round-robin order, along with the nonce its next transaction must
+     * use, and advances that sender's nonce.
+     *
+     * @return the sender and its nonce.
+     * @throws IllegalStateException if the nonces have not been seeded.
+     */
+    public SenderNonce next() {
+        if (!this.isSeeded) {
+            throw new IllegalStateException("The nonces must be seeded before any are handed out.");
+        }
+
+        int index = Math.floorMod(this.nextSender.getAndIncrement(), this.senders.size());
+        return this.senders.get(index).next(index);
+    }
+
+    /**
+     * Reports that the transaction which used the specified sender and nonce was rejected, so that
+     * the sender is rewound to that nonce, unless it has already been rewound further.
+     *
+     * @param senderNonce The sender and nonce of the rejected transaction.
+     * @throws IllegalArgumentException if the sender nonce was not handed out by this manager.
+     */
+    public void reportRejected(SenderNonce senderNonce) {
+        if (senderNonce == null) {
+            throw new NullPointerException("Cannot report a null sender nonce as rejected.");
+        }
+        if (senderNonce.issuer != this) {
+            throw new IllegalArgumentException("Cannot report a sender nonce that was handed out by another manager: " + senderNonce);
+        }
+
+        this.senders.get(senderNonce.senderIndex).rewindTo(senderNonce.getNonce());
+    }
+
+    /**
+     * Watches the node for the specified transaction, which used the specified sender and nonce,
+     * to be processed, and reports it as rejected if it is rejected.
+     *
+     * This method is non-blocking. The transaction is watched for at most the specified timeout.
+     *
+     * @param transaction The transaction to watch.
+     * @param senderNonce The sender and nonce the transaction used.
+     * @param timeout The maximum time to watch the transaction for.
+     * @param unit The time unit of the timeout.
+     */
+    public void watchForRejection(RawTransaction transaction, SenderNonce senderNonce, long timeout, TimeUnit unit) {
+        if (transaction == null) {
+            throw new NullPointerException("Cannot watch a null transaction.");
+        }
+        if (senderNonce == null) {
+            throw new NullPointerException("Cannot watch a transaction with a null sender nonce.");
+        }
+        if (senderNonce.issuer != this) {
+            throw new IllegalArgumentException("Cannot watch a sender nonce that was handed out by another manager: " + senderNonce);
+        }
+
+        FutureResult<LogEventResult> processed = this.listener.listenForTransactionToBeProcessed(transaction, timeout, unit);
+        this.watchedTransactions.add(new WatchedTransaction(transaction, senderNonce, processed));
+
+        if (this.isWatching.compareAndSet(false, true)) {
+            startWatcher();
+        }
+    }
+
+    /**
+     * Returns the number of senders.
+     *
+     * @return the number of senders.
+     */
+    public int numberOfSenders() {
+        return this.senders.size();
+    }
+
+    /**
+     * Starts a thread that waits on each watched transaction in turn, and stops once there has been
+     * nothing to watch for a second.
+     */
+    private void startWatcher() {
+        Thread watcher = new Thread(() -> {
+            try {
+                while (true) {
+                    WatchedTransaction watched = this.watchedTransactions.poll(1, TimeUnit.SECONDS);
+
+                    if (watched == null) {
+                        this.isWatching.set(false);
+
+                        // Something may have been added just before we stopped watching.
+                        if (this.watchedTransactions.isEmpty() || !this.isWatching.compareAndSet(false, true)) {
+                            return;
+                        }
+                    } else {
+                        LogEventResult result = watched.processed.get();
+                        if (result.eventWasObserved() && result.getAllObservedEvents().contains(
+                            TransactionLogLines.rejectedEventString(watched.transaction.getTransactionHash()))) {
+                            reportRejected(watched.senderNonce);
+                        }
+                    }
+                }
+            } catch (InterruptedException e) {
+                this.isWatching.set(false);
+            }
+        }, "nonce-manager-watcher");
+
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    private static NonceReader readerOf(RPC rpc) {
+        if (rpc == null) {
+            throw new NullPointerException("Cannot read nonces through a null rpc.");
+        }
+        return rpc::getNonces;
+    }
+
+    /**
+     * A single sender account and the next nonce to hand out for it.
+     */
+    private final class Sender {
+        private final PrivateKey key;
+        private final Address address;
+        private BigInteger nextNonce = BigInteger.ZERO;
+
+        private Sender(PrivateKey key) {
+            this.key = key;
+            this.address = key.getAddress();
+        }
+
+        private synchronized SenderNonce next(int index) {
+            SenderNonce senderNonce = new SenderNonce(this.key, this.nextNonce, NonceManager.this, index);
+            this.nextNonce = this.nextNonce.add(BigInteger.ONE);
+            return senderNonce;
+        }
+
+        private synchronized void rewindTo(BigInteger rejectedNonce) {
+            this.nextNonce = this.nextNonce.min(rejectedNonce);
+        }
+
+        private synchronized void reset(BigInteger nonce) {
+            this.nextNonce = nonce;
+        }
+    }
+
+    private static final class WatchedTransaction {
+        private final RawTransaction transaction;
+        private final SenderNonce senderNonce;
+        private final FutureResult<LogEventResult> processed;
+
+        private WatchedTransaction(RawTransaction transaction, SenderNonce senderNonce, FutureResult<LogEventResult> processed) {
+            this.transaction = transaction;
+            this.senderNonce = senderNonce;
+            this.processed = processed;
+        }
+    }
+
+    interface NonceReader {
+        List<RpcResult<BigInteger>> getNonces(List<Address> addresses) throws InterruptedException;
+    }
+
+}
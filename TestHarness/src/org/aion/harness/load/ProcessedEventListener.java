@@ -0,0 +1,32 @@
+package org.aion.harness.load;
+
+import java.util.concurrent.TimeUnit;
+import org.aion.harness.kernel.RawTransaction;
+import org.aion.harness.main.Node;
+import org.aion.harness.main.NodeListener;
+import org.aion.harness.result.FutureResult;
+import org.aion.harness.result.LogEventResult;
+
+/**
+ * Listens for a transaction to be processed, that is, to be either sealed into a block or rejected.
+ *
+ * This is the one piece of a {@link org.aion.harness.main.NodeListener} that the load classes use,
+ * pulled out so that they can be exercised without a running node.
+ */
+interface ProcessedEventListener {
+
+    FutureResult<LogEventResult> listenForTransactionToBeProcessed(RawTransaction transaction, long timeout, TimeUnit unit);
+
+    /**
+     * Returns a listener that listens to the specified node.
+     */
+    static ProcessedEventListener of(Node node) {
+        if (node == null) {
+            throw new NullPointerException("Cannot listen to a null node.");
+        }
+
+        // The node's listener is looked up afresh each time, since it is replaced if the node restarts.
+        return (transaction, timeout, unit) -> NodeListener.listenTo(node).listenForTransactionToBeProcessed(transaction, timeout, unit);
+    }
+
+}
@@ -0,0 +1,48 @@
+package org.aion.harness.load;
+
+import java.math.BigInteger;
+import org.aion.harness.kernel.PrivateKey;
+
+/**
+ * A sender, along with the nonce that sender's next transaction must use, as handed out by a
+ * {@link NonceManager}.
+ *
+ * This class is immutable.
+ */
+public final class SenderNonce {
+    private final PrivateKey senderKey;
+    private final BigInteger nonce;
+    final NonceManager issuer;
+    final int senderIndex;
+
+    SenderNonce(PrivateKey senderKey, BigInteger nonce, NonceManager issuer, int senderIndex) {
+        this.senderKey = senderKey;
+        this.nonce = nonce;
+        this.issuer = issuer;
+        this.senderIndex = senderIndex;
+    }
+
+    /**
+     * Returns the private key of the sender.
+     *
+     * @return the sender key.
+     */
+    public PrivateKey getSenderKey() {
+        return this.senderKey;
+    }
+
+    /**
+     * Returns the nonce the sender's transaction must use.
+     *
+     * @return the nonce.
+     */
+    public BigInteger getNonce() {
+        return this.nonce;
+    }
+
+    @Override
+    public String toString() {
+        return "SenderNonce { sender = " + this.senderKey.getAddress() + ", nonce = " + this.nonce + " }";
+    }
+
+}
@@ -0,0 +1,239 @@
+package org.aion.harness.main;
+
+import java.math.BigInteger;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.aion.harness.kernel.Address;
+import org.aion.harness.kernel.RawTransaction;
+import org.aion.harness.kernel.Transaction;
+import org.aion.harness.main.types.Block;
+import org.aion.harness.main.types.ReceiptHash;
+import org.aion.harness.main.types.TransactionReceipt;
+import org.aion.harness.result.RpcResult;
+
+/**
+ * An asynchronous counterpart to {@link RPC}, whose methods return immediately with a future that
+ * completes once the node has responded.
+ *
+ * At most {@code maxInFlight} requests are ever outstanding at once. Once this window is full,
+ * submitting another request blocks the submitting thread until an earlier request completes. This
+ * allows a single thread to keep the node saturated without queueing up an unbounded number of
+ * requests.
+ *
+ * A future returned by this class completes exceptionally only if the underlying {@link RPC} call
+ * threw an exception. An unsuccessful RPC call completes the future normally with an unsuccessful
+ * {@link RpcResult}.
+ *
+ * Futures are completed on one of this class's internal threads, so any dependent stages added to
+ * them without an explicit executor should be short and non-blocking.
+ *
+ * This class is thread-safe.
+ */
+public final class AsyncRPC {
+    public static final int DEFAULT_MAX_IN_FLIGHT = 64;
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger(0);
+
+    private final RPC rpc;
+    private final int maxInFlight;
+    private final Semaphore window;
+    private final ExecutorService executor;
+
+    public AsyncRPC(String ip, String port) {
+        this(ip, port, DEFAULT_MAX_IN_FLIGHT);
+    }
+
+    /**
+     * Constructs a new asynchronous RPC object that will allow at most {@code maxInFlight}
+     * requests to be outstanding at any one time.
+     *
+     * @param ip The IP address of the node's RPC server.
+     * @param port The port of the node's RPC server.
+     * @param maxInFlight The maximum number of outstanding requests.
+     */
+    public AsyncRPC(String ip, String port, int maxInFlight) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("Must allow at least 1 request in flight, but was: " + maxInFlight);
+        }
+
+        this.rpc = new RPC(ip, port, maxInFlight);
+        this.maxInFlight = maxInFlight;
+        this.window = new Semaphore(maxInFlight, true);
+        this.executor = Executors.newFixedThreadPool(maxInFlight, runnable -> {
+            Thread thread = new Thread(runnable, "async-rpc-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Sends the specified transaction to the node.
+     *
+     * Blocks only if the maximum number of requests are already in flight.
+     *
+     * @param transaction The transaction to send.
+     * @return a future result of this attempt to send the transaction.
+     */
+    public CompletableFuture<RpcResult<ReceiptHash>> sendTransaction(RawTransaction transaction) throws InterruptedException {
+        if (transaction == null) {
+            throw new IllegalArgumentException("Cannot send a null transaction.");
+        }
+        return submit(() -> this.rpc.sendTransaction(transaction));
+    }
+
+    /**
+     * Returns the transaction receipt whose hash is the specified receipt hash.
+     *
+     * Blocks only if the maximum number of requests are already in flight.
+     *
+     * @param receiptHash The receipt hash of the receipt to get.
+     * @return a future result of this attempt to get the transaction receipt.
+     */
+    public CompletableFuture<RpcResult<TransactionReceipt>> getTransactionReceipt(ReceiptHash receiptHash) throws InterruptedException {
+        if (receiptHash == null) {
+            throw new NullPointerException("Cannot get a receipt from a null receipt hash.");
+        }
+        return submit(() -> this.rpc.getTransactionReceipt(receiptHash));
+    }
+
+    /**
+     * Returns the balance of the specified address.
+     *
+     * Blocks only if the maximum number of requests are already in flight.
+     *
+     * @param address The address whose balance is to be queried.
+     * @return a future result of the call.
+     */
+    public CompletableFuture<RpcResult<BigInteger>> getBalance(Address address) throws InterruptedException {
+        if (address == null) {
+            throw new NullPointerException("Cannot get balance of a null address.");
+        }
+        return submit(() -> this.rpc.getBalance(address));
+    }
+
+    /**
+     * Returns the nonce of the specified address.
+     *
+     * Blocks only if the maximum number of requests are already in flight.
+     *
+     * @param address The address whose nonce is to be queried.
+     * @return a future result of the call.
+     */
+    public CompletableFuture<RpcResult<BigInteger>> getNonce(Address address) throws InterruptedException {
+        if (address == null) {
+            throw new NullPointerException("Cannot get nonce of a null address.");
+        }
+        return submit(() -> this.rpc.getNonce(address));
+    }
+
+    /**
+     * Returns the block whose number is the specified number, if such a block exists.
+     *
+     * Blocks only if the maximum number of requests are already in flight.
+     *
+     * @param number The block number.
+     * @return a future result of the attempt to get the block.
+     */
+    public CompletableFuture<RpcResult<Block>> getBlockByNumber(BigInteger number) throws InterruptedException {
+        if (number == null) {
+            throw new NullPointerException("Cannot call getBlockByNumber using null number.");
+        }
+        return submit(() -> this.rpc.getBlockByNumber(number));
+    }
+
+    /**
+     * Returns the number of the latest block.
+     *
+     * Blocks only if the maximum number of requests are already in flight.
+     *
+     * @return a future result of the call.
+     */
+    public CompletableFuture<RpcResult<Long>> blockNumber() throws InterruptedException {
+        return submit(this.rpc::blockNumber);
+    }
+
+    /**
+     * Performs the <code>eth_call</code> RPC method.
+     *
+     * Blocks only if the maximum number of requests are already in flight.
+     *
+     * @param tx transaction to call
+     * @return a future holding the bytes returned by the <code>eth_call</code>
+     */
+    public CompletableFuture<byte[]> call(Transaction tx) throws InterruptedException {
+        if (tx == null) {
+            throw new NullPointerException("Cannot call a null transaction.");
+        }
+        return submit(() -> this.rpc.call(tx));
+    }
+
+    /**
+     * Returns the number of requests that are currently in flight.
+     *
+     * @return the number of outstanding requests.
+     */
+    public int getNumberOfRequestsInFlight() {
+        return this.maxInFlight - this.window.availablePermits();
+    }
+
+    /**
+     * Stops accepting new requests and waits for the requests already in flight to complete, or
+     * for the specified timeout to elapse, whichever comes first.
+     *
+     * Any request submitted after this method is invoked is rejected with an exception.
+     *
+     * @param timeout The maximum amount of time to wait.
+     * @param unit The time units of the timeout quantity.
+     * @return whether or not all of the in-flight requests completed before the timeout.
+     */
+    public boolean shutdown(long timeout, TimeUnit unit) throws InterruptedException {
+        if (unit == null) {
+            throw new NullPointerException("Cannot specify a null time unit.");
+        }
+
+        this.executor.shutdown();
+        return this.executor.awaitTermination(timeout, unit);
+    }
+
+    private <T> CompletableFuture<T> submit(Callable<T> request) throws InterruptedException {
+        if (this.executor.isShutdown()) {
+            throw new IllegalStateException("Cannot submit a request after the AsyncRPC has been shut down.");
+        }
+
+        this.window.acquire();
+
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            this.executor.execute(() -> {
+                T result = null;
+                Throwable error = null;
+                try {
+                    result = request.call();
+                } catch (Throwable e) {
+                    error = e;
+                }
+
+                // Free our slot in the window before completing the future, so that any dependent
+                // stage that submits a new request cannot block on its own slot.
+                this.window.release();
+
+                if (error == null) {
+                    future.complete(result);
+                } else {
+                    future.completeExceptionally(error);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            this.window.release();
+            throw new IllegalStateException("Cannot submit a request after the AsyncRPC has been shut down.");
+        }
+
+        return future;
+    }
+}
@@ -16,15 +16,23 @@ public final class NodeConfigurations {
     private final DatabaseOption databaseNodeOption;
     private final BuildOption buildOption;
     private final String buildDirectory;
+    private final OutputOption outputOption;
 
     private enum BuildOption { ALWAYS_FROM_SOURCE, USE_BUILD }
 
     public enum DatabaseOption { PRESERVE_DATABASE, DO_NOT_PRESERVE_DATABASE }
 
+    /**
+     * How the node's output reaches its listeners. Either the node writes its output to a log file
+     * which is then followed, or its output is read straight from the node's process, handed to
+     * its listeners, and teed into the log file.
+     */
+    public enum OutputOption { FOLLOW_LOG_FILE, PIPE_TO_LISTENER }
+
     /**
      * Constructs an instance of this class using the specified parameters.
      */
-    private NodeConfigurations(Network network, String kernelSourceDirectory, String builtKernelDirectory, DatabaseOption databaseOption, BuildOption buildOption) {
+    private NodeConfigurations(Network network, String kernelSourceDirectory, String builtKernelDirectory, DatabaseOption databaseOption, BuildOption buildOption, OutputOption outputOption) {
         if (network == null) {
             throw new NullPointerException("Cannot construct NodeConfigurations with null network.");
         }
@@ -34,12 +42,16 @@ public final class NodeConfigurations {
         if (buildOption == null) {
             throw new NullPointerException("Cannot construct NodeConfigurations with null build option specified.");
         }
+        if (outputOption == null) {
+            throw new NullPointerException("Cannot construct NodeConfigurations with null output option specified.");
+        }
 
         this.network = network;
         this.kernelSourceDirectory = kernelSourceDirectory;
         this.builtKernelDir = builtKernelDirectory;
         this.databaseNodeOption = databaseOption;
         this.buildOption = buildOption;
+        this.outputOption = outputOption;
 
         this.buildDirectory = (kernelSourceDirectory == null) ? builtKernelDirectory : NodeFileManager.getSandboxPath();
     }
@@ -49,7 +61,7 @@ public final class NodeConfigurations {
             throw new NullPointerException("Cannot construct NodeConfigurations with null kernelSourceDirectory.");
         }
 
-        return new NodeConfigurations(network, kernelSourceDirectory, null, DatabaseOption.DO_NOT_PRESERVE_DATABASE, BuildOption.ALWAYS_FROM_SOURCE);
+        return new NodeConfigurations(network, kernelSourceDirectory, null, DatabaseOption.DO_NOT_PRESERVE_DATABASE, BuildOption.ALWAYS_FROM_SOURCE, OutputOption.FOLLOW_LOG_FILE);
     }
 
     public static NodeConfigurations alwaysUseBuiltKernel(Network network, String builtKernelDirectory, DatabaseOption databaseOption) {
@@ -57,7 +69,18 @@ public final class NodeConfigurations {
             throw new NullPointerException("Cannot construct NodeConfigurations with null builtKernelDirectory.");
         }
 
-        return new NodeConfigurations(network, null, builtKernelDirectory, databaseOption, BuildOption.USE_BUILD);
+        return new NodeConfigurations(network, null, builtKernelDirectory, databaseOption, BuildOption.USE_BUILD, OutputOption.FOLLOW_LOG_FILE);
+    }
+
+    /**
+     * Returns a copy of these configurations that uses the specified output option. By default a
+     * node's output is written to its log file and then followed.
+     *
+     * @param outputOption How the node's output reaches its listeners.
+     * @return the new configurations.
+     */
+    public NodeConfigurations withOutputOption(OutputOption outputOption) {
+        return new NodeConfigurations(this.network, this.kernelSourceDirectory, this.builtKernelDir, this.databaseNodeOption, this.buildOption, outputOption);
     }
 
     /**
@@ -97,6 +120,16 @@ public final class NodeConfigurations {
         return this.databaseNodeOption == DatabaseOption.PRESERVE_DATABASE;
     }
 
+    /**
+     * Returns {@code true} only if the node's output is to be read straight from its process and
+     * handed to its listeners, rather than followed in its log file.
+     *
+     * @return whether or not to pipe the node's output to its listeners.
+     */
+    public boolean pipeOutputToListener() {
+        return this.outputOption == OutputOption.PIPE_TO_LISTENER;
+    }
+
     public boolean alwaysBuildFromSource() {
         return this.buildOption == BuildOption.ALWAYS_FROM_SOURCE;
     }
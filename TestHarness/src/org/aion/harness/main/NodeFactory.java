@@ -5,6 +5,7 @@ import org.aion.harness.main.impl.JavaNode;
 import org.aion.harness.main.impl.GenericRemoteNode;
 import org.aion.harness.main.impl.KubernetesNode;
 import org.aion.harness.main.impl.KubernetesNodeType;
+import org.aion.harness.util.LogListener;
 
 /**
  * A factory for producing {@link Node} implementations.
@@ -15,18 +16,40 @@ public final class NodeFactory {
 
     public enum NodeType { JAVA_NODE }
 
+    /**
+     * The number of pending event requests a node's log listener holds at most, unless a capacity
+     * is specified when the node is created.
+     */
+    public static final int DEFAULT_LISTENER_CAPACITY = LogListener.DEFAULT_CAPACITY;
+
     public static LocalNode getNewLocalNodeInstance(NodeType node) {
+        return getNewLocalNodeInstance(node, DEFAULT_LISTENER_CAPACITY);
+    }
+
+    /**
+     * Returns a new local node whose log listener will hold at most {@code listenerCapacity}
+     * pending event requests at once.
+     */
+    public static LocalNode getNewLocalNodeInstance(NodeType node, int listenerCapacity) {
         if (node == null) {
             throw new NullPointerException("Cannot get null node.");
         }
 
         switch (node) {
-            case JAVA_NODE: return new JavaNode();
+            case JAVA_NODE: return new JavaNode(listenerCapacity);
             default: throw new NoSuchElementException("The provided node type is not yet supported: " + node);
         }
     }
 
     public static GenericRemoteNode getNewGenericRemoteNodeInstance(NodeType node) {
+        return getNewGenericRemoteNodeInstance(node, DEFAULT_LISTENER_CAPACITY);
+    }
+
+    /**
+     * Returns a new generic remote node whose log listener will hold at most
+     * {@code listenerCapacity} pending event requests at once.
+     */
+    public static GenericRemoteNode getNewGenericRemoteNodeInstance(NodeType node, int listenerCapacity) {
         // We don't do anything with the input node yet, but this will become a difference once we begin supporting
         // the rust kernel.
 
@@ -35,18 +58,26 @@ public final class NodeFactory {
         }
 
         switch (node) {
-            case JAVA_NODE: return new GenericRemoteNode();
+            case JAVA_NODE: return new GenericRemoteNode(listenerCapacity);
             default: throw new NoSuchElementException("The provided node type is not yet supported: " + node);
         }
     }
 
     public static KubernetesNode GenerateKubernetesNodeInstance(NodeType node, KubernetesNodeType kubernetesNodeType) {
+        return GenerateKubernetesNodeInstance(node, kubernetesNodeType, DEFAULT_LISTENER_CAPACITY);
+    }
+
+    /**
+     * Returns a new kubernetes node whose log listener will hold at most {@code listenerCapacity}
+     * pending event requests at once.
+     */
+    public static KubernetesNode GenerateKubernetesNodeInstance(NodeType node, KubernetesNodeType kubernetesNodeType, int listenerCapacity) {
         if (kubernetesNodeType == null) {
             throw new NullPointerException("Cannot get null kubernetes node.");
         }
 
         switch (node) {
-            case JAVA_NODE: return new KubernetesNode(kubernetesNodeType);
+            case JAVA_NODE: return new KubernetesNode(kubernetesNodeType, listenerCapacity);
             default: throw new NoSuchElementException("The provided node type is not yet supported: " + node);
         }
     }
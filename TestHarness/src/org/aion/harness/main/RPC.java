@@ -1,21 +1,42 @@
 package org.aion.harness.main;
 
-import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.text.NumberFormat;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 import org.aion.harness.kernel.Address;
 import org.aion.harness.kernel.RawTransaction;
 import org.aion.harness.kernel.Transaction;
+import org.aion.harness.main.tools.ChainObjectCache;
 import org.aion.harness.main.tools.InternalRpcResult;
 import org.aion.harness.main.tools.RpcCaller;
 import org.aion.harness.main.tools.RpcMethod;
-import org.aion.harness.main.tools.JsonStringParser;
 import org.aion.harness.main.tools.RpcPayload;
 import org.aion.harness.main.tools.RpcPayloadBuilder;
+import org.aion.harness.main.tools.RpcResultDecoder;
 import org.aion.harness.main.types.Block;
+import org.aion.harness.main.types.PackedBlock;
 import org.aion.harness.main.types.ReceiptHash;
 import org.aion.harness.main.types.SyncStatus;
 import org.aion.harness.main.types.TransactionReceipt;
@@ -24,9 +45,8 @@ import org.aion.harness.main.types.internal.TransactionReceiptBuilder;
 import org.aion.harness.misc.Assumptions;
 import org.aion.harness.result.Result;
 import org.aion.harness.result.RpcResult;
+import org.aion.harness.util.HexCodec;
 import org.aion.harness.util.SimpleLog;
-import org.apache.commons.codec.DecoderException;
-import org.apache.commons.codec.binary.Hex;
 
 /**
  * A class that facilitates communication with the node via the kernel's RPC server.
@@ -34,15 +54,90 @@ import org.apache.commons.codec.binary.Hex;
  * This class interacts directly with the RPC endpoints in the kernel and does not go through the
  * Java or Web3 APIs, for example.
  *
- * This class is not thread-safe.
+ * The bulk methods of this class do not make one round trip to the node per element. Instead,
+ * they pack up to {@code batchSize} calls at a time into a single JSON-RPC batch request.
+ *
+ * This class is thread-safe. See {@link AsyncRPC} for a non-blocking counterpart.
  */
 public final class RPC {
+    public static final int DEFAULT_BATCH_SIZE = 100;
+    public static final int MAX_BLOCK_FETCH_ATTEMPTS = 3;
+
+    private static final long BLOCK_FETCH_RETRY_DELAY_IN_MILLIS = 100;
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger(0);
+
+    private static final RpcResultDecoder<Block> BLOCK = reader -> new BlockBuilder().buildFromJson(reader);
+    private static final RpcResultDecoder<PackedBlock> PACKED_BLOCK = reader -> new BlockBuilder().buildPackedFromJson(reader);
+    private static final RpcResultDecoder<TransactionReceipt> TRANSACTION_RECEIPT = reader -> new TransactionReceiptBuilder().buildFromJson(reader);
+
     private final SimpleLog log;
     private final RpcCaller rpc;
+    private final int batchSize;
+
+    // Null if this object does not cache the blocks and receipts it fetches.
+    private final ChainObjectCache cache;
 
     public RPC(String ip, String port) {
+        this(ip, port, RpcCaller.DEFAULT_MAX_CONNECTIONS);
+    }
+
+    /**
+     * Constructs a new RPC object that will hold at most {@code maxConnections} persistent
+     * connections open to the node's RPC server at any one time.
+     *
+     * @param ip The IP address of the node's RPC server.
+     * @param port The port of the node's RPC server.
+     * @param maxConnections The maximum number of simultaneously open connections.
+     */
+    public RPC(String ip, String port, int maxConnections) {
+        this(ip, port, maxConnections, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Constructs a new RPC object that will hold at most {@code maxConnections} persistent
+     * connections open to the node's RPC server at any one time, and whose bulk methods will pack
+     * up to {@code batchSize} calls into a single JSON-RPC batch request.
+     *
+     * @param ip The IP address of the node's RPC server.
+     * @param port The port of the node's RPC server.
+     * @param maxConnections The maximum number of simultaneously open connections.
+     * @param batchSize The maximum number of calls sent to the node in one request.
+     */
+    public RPC(String ip, String port, int maxConnections, int batchSize) {
+        this(ip, port, maxConnections, batchSize, 0);
+    }
+
+    /**
+     * Constructs a new RPC object that will hold at most {@code maxConnections} persistent
+     * connections open to the node's RPC server at any one time, whose bulk methods will pack at
+     * most {@code batchSize} calls into each request, and which will cache up to
+     * {@code cacheCapacityInBytes} worth of the blocks and transaction receipts it fetches.
+     *
+     * A block or receipt that is cached is returned without going to the node at all, so a cached
+     * block is only found to have been reorganized out of the chain once another block or receipt
+     * at its block number is fetched. A cache should therefore only be used where the blocks being
+     * fetched are not expected to be reorganized, and should be cleared whenever the node is reset.
+     *
+     * If {@code cacheCapacityInBytes} is zero then nothing is cached.
+     *
+     * @param ip The IP address of the node's RPC server.
+     * @param port The port of the node's RPC server.
+     * @param maxConnections The maximum number of simultaneously open connections.
+     * @param batchSize The maximum number of calls sent to the node in one request.
+     * @param cacheCapacityInBytes The estimated memory the cached blocks and receipts may occupy.
+     */
+    public RPC(String ip, String port, int maxConnections, int batchSize, long cacheCapacityInBytes) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1, but was: " + batchSize);
+        }
+        if (cacheCapacityInBytes < 0) {
+            throw new IllegalArgumentException("Cache capacity cannot be negative, but was: " + cacheCapacityInBytes);
+        }
+
         this.log = new SimpleLog(getClass().getName());
-        this.rpc = new RpcCaller(ip, port);
+        this.rpc = new RpcCaller(ip, port, maxConnections);
+        this.batchSize = batchSize;
+        this.cache = (cacheCapacityInBytes == 0) ? null : new ChainObjectCache(cacheCapacityInBytes);
     }
 
     /**
@@ -58,41 +153,32 @@ public final class RPC {
         ));
 
         log.log("-->" + payload.payload);
-        InternalRpcResult response = rpc.call(payload, false);
-        log.log("<--" + response.output);
-
+        InternalRpcResult<byte[]> response = rpc.call(payload, RpcResultDecoder.DATA, false);
 
-        String rpcResult = new JsonParser().
-            parse(response.output).getAsJsonObject().get("result").getAsString();
-        try {
-            String resultHex = rpcResult.replace("0x", "");
-            return Hex.decodeHex(resultHex);
-        } catch (DecoderException dx) {
-            throw new IllegalStateException("eth_call result from kernel could not be hex decoded.  result was:" + rpcResult);
+        if (!response.success) {
+            throw new IllegalStateException("eth_call result from kernel could not be decoded: " + response.error);
         }
+
+        byte[] result = (response.result == null) ? new byte[0] : response.result;
+        log.log("<--0x" + HexCodec.toHex(result));
+        return result;
     }
 
     public RpcResult<Long> blockNumber() throws InterruptedException {
         RpcPayload payload = new RpcPayloadBuilder().method(RpcMethod.BLOCK_NUMBER).build();
 
         log.log("-->" + payload.payload);
-        InternalRpcResult internalResult = rpc.call(payload, false);
-        log.log("<--" + internalResult.output);
+        InternalRpcResult<Long> internalResult = rpc.call(payload, RpcResultDecoder.NUMBER, false);
+        log.log("<--" + internalResult);
 
         if (internalResult.success) {
-            JsonStringParser outputParser = new JsonStringParser(internalResult.output);
-            String result = outputParser.attributeToString("result");
-
             // This should never happen.
-            if (result == null) {
-                throw new IllegalStateException("No 'result' content to parse from: " + internalResult.output);
+            if (internalResult.result == null) {
+                throw new IllegalStateException("No 'result' content was returned for the block number.");
             }
 
-            String rpcResult = new JsonParser().
-                parse(internalResult.output).getAsJsonObject().get("result").getAsString();
-
             return RpcResult.successful(
-                Long.parseLong(rpcResult, 10),
+                internalResult.result,
                 internalResult.getTimeOfCall(TimeUnit.NANOSECONDS),
                 TimeUnit.NANOSECONDS);
 
@@ -122,13 +208,7 @@ public final class RPC {
             throw new NullPointerException("Cannot send null transactions.");
         }
 
-        List<RpcResult<ReceiptHash>> results = new ArrayList<>();
-
-        for (RawTransaction transaction : transactions) {
-            results.add(sendTransactionVerbose(transaction));
-        }
-
-        return results;
+        return callInBatches(transactions, this::sendTransactionPayload, RpcResultDecoder.DATA, this::toReceiptHashResult, true);
     }
 
     /**
@@ -150,13 +230,65 @@ public final class RPC {
             throw new NullPointerException("Cannot send null transactions.");
         }
 
-        List<RpcResult<ReceiptHash>> results = new ArrayList<>();
+        return callInBatches(transactions, this::sendTransactionPayload, RpcResultDecoder.DATA, this::toReceiptHashResult, false);
+    }
+
+    /**
+     * Sends the transactions produced by the specified iterator to the node, and hands each
+     * transaction, along with the result of sending it, to the specified handler in the order the
+     * transactions were produced.
+     *
+     * Transactions are drawn from the iterator only as they are sent, {@code batchSize} at a time,
+     * and are not held onto afterwards. Paired with a lazy source of transactions, such as a
+     * {@link org.aion.harness.kernel.RawTransactionGenerator}, this sends any number of
+     * transactions in flat memory.
+     *
+     * These calls are asynchronous, and, as such, the returned receipt hashes will not correspond
+     * to receipts until the corresponding transactions have been fully processed.
+     *
+     * Displays the I/O of the attempts to hit the RPC endpoint.
+     *
+     * @param transactions The transactions to send.
+     * @param resultHandler The handler of each transaction and the result of sending it.
+     * @return the number of transactions sent.
+     */
+    public long sendTransactionsVerbose(Iterator<RawTransaction> transactions, BiConsumer<RawTransaction, RpcResult<ReceiptHash>> resultHandler) throws InterruptedException {
+        if (transactions == null) {
+            throw new NullPointerException("Cannot send null transactions.");
+        }
+        if (resultHandler == null) {
+            throw new NullPointerException("Cannot send transactions with a null result handler.");
+        }
+
+        return callInBatches(transactions, this::sendTransactionPayload, RpcResultDecoder.DATA, this::toReceiptHashResult, resultHandler, true);
+    }
 
-        for (RawTransaction transaction : transactions) {
-            results.add(sendTransaction(transaction));
+    /**
+     * Sends the transactions produced by the specified iterator to the node, and hands each
+     * transaction, along with the result of sending it, to the specified handler in the order the
+     * transactions were produced.
+     *
+     * Transactions are drawn from the iterator only as they are sent, {@code batchSize} at a time,
+     * and are not held onto afterwards. Paired with a lazy source of transactions, such as a
+     * {@link org.aion.harness.kernel.RawTransactionGenerator}, this sends any number of
+     * transactions in flat memory.
+     *
+     * These calls are asynchronous, and, as such, the returned receipt hashes will not correspond
+     * to receipts until the corresponding transactions have been fully processed.
+     *
+     * @param transactions The transactions to send.
+     * @param resultHandler The handler of each transaction and the result of sending it.
+     * @return the number of transactions sent.
+     */
+    public long sendTransactions(Iterator<RawTransaction> transactions, BiConsumer<RawTransaction, RpcResult<ReceiptHash>> resultHandler) throws InterruptedException {
+        if (transactions == null) {
+            throw new NullPointerException("Cannot send null transactions.");
+        }
+        if (resultHandler == null) {
+            throw new NullPointerException("Cannot send transactions with a null result handler.");
         }
 
-        return results;
+        return callInBatches(transactions, this::sendTransactionPayload, RpcResultDecoder.DATA, this::toReceiptHashResult, resultHandler, false);
     }
 
     /**
@@ -176,13 +308,7 @@ public final class RPC {
             throw new NullPointerException("Cannot get blocks from a null list of numbers.");
         }
 
-        List<RpcResult<Block>> results = new ArrayList<>();
-
-        for (BigInteger number : numbers) {
-            results.add(getBlockByNumberVerbose(number));
-        }
-
-        return results;
+        return callInBatchesThroughCache(numbers, this::cachedBlock, this::cacheBlock, this::getBlockByNumberPayload, BLOCK, this::toBlockResult, true);
     }
 
     /**
@@ -200,13 +326,113 @@ public final class RPC {
             throw new NullPointerException("Cannot get blocks from a null list of numbers.");
         }
 
-        List<RpcResult<Block>> results = new ArrayList<>();
+        return callInBatchesThroughCache(numbers, this::cachedBlock, this::cacheBlock, this::getBlockByNumberPayload, BLOCK, this::toBlockResult, false);
+    }
+
+    /**
+     * Fetches every block whose block number is in the range [from, to], inclusive of both ends,
+     * and hands each block number, along with the result of fetching that block, to the specified
+     * handler in ascending order of block number.
+     *
+     * Up to {@code parallelism} batches of up to {@code batchSize} blocks each are fetched from the
+     * node at once, while the blocks of earlier batches are handed to the handler on the calling
+     * thread. So at most {@code parallelism * batchSize} blocks are held onto at any one time, no
+     * matter how long the range is. Since each batch occupies a connection while it is being
+     * fetched, the parallelism should not exceed the maximum number of connections this object may
+     * hold open.
+     *
+     * A call that fails, for example because the connection to the node was lost, is retried up
+     * to {@code MAX_BLOCK_FETCH_ATTEMPTS} times in all before its failure is handed to the handler.
+     * A block that does not exist is not retried.
+     *
+     * @param from The block number of the first block to fetch.
+     * @param to The block number of the last block to fetch.
+     * @param parallelism The maximum number of batches to fetch at once.
+     * @param blockHandler The handler of each block number and the result of fetching it.
+     * @return the number of blocks handed to the handler.
+     */
+    public long getBlockRange(BigInteger from, BigInteger to, int parallelism, BiConsumer<BigInteger, RpcResult<Block>> blockHandler) throws InterruptedException {
+        if (blockHandler == null) {
+            throw new NullPointerException("Cannot get a block range with a null block handler.");
+        }
+
+        return fetchBlockRange(from, to, parallelism, BLOCK, (number, result) -> {
+            blockHandler.accept(number, result);
+            return true;
+        });
+    }
 
-        for (BigInteger number : numbers) {
-            results.add(getBlockByNumber(number));
+    /**
+     * Fetches every block whose block number is in the range [from, to] exactly as
+     * {@link #getBlockRange(BigInteger, BigInteger, int, BiConsumer)} does, but decodes each block
+     * straight into a {@link PackedBlock}, which is far cheaper to hold onto when the blocks are
+     * being collected for analysis.
+     *
+     * @param from The block number of the first block to fetch.
+     * @param to The block number of the last block to fetch.
+     * @param parallelism The maximum number of batches to fetch at once.
+     * @param blockHandler The handler of each block number and the result of fetching it.
+     * @return the number of blocks handed to the handler.
+     */
+    public long getPackedBlockRange(BigInteger from, BigInteger to, int parallelism, BiConsumer<BigInteger, RpcResult<PackedBlock>> blockHandler) throws InterruptedException {
+        if (blockHandler == null) {
+            throw new NullPointerException("Cannot get a block range with a null block handler.");
         }
 
-        return results;
+        return fetchBlockRange(from, to, parallelism, PACKED_BLOCK, (number, result) -> {
+            blockHandler.accept(number, result);
+            return true;
+        });
+    }
+
+    /**
+     * Fetches every block whose block number is in the range [from, to], inclusive of both ends,
+     * exactly as {@link #getBlockRange(BigInteger, BigInteger, int, BiConsumer)} does, and writes
+     * the blocks to the specified file in ascending order of block number, one block per line.
+     *
+     * Each line is the block exactly as the node returned it from {@code eth_getBlockByNumber}, as
+     * compact json. The blocks are copied straight from the node's responses to the file, and are
+     * never decoded, so the file can later be analysed without the node.
+     *
+     * The file is created if it does not exist, and is otherwise overwritten.
+     *
+     * If a block cannot be fetched then no further blocks are written, and an unsuccessful result
+     * is returned. The file then holds every block before that one.
+     *
+     * @param from The block number of the first block to fetch.
+     * @param to The block number of the last block to fetch.
+     * @param parallelism The maximum number of batches to fetch at once.
+     * @param file The file to write the blocks to.
+     * @return the result of writing the blocks.
+     */
+    public Result writeBlockRange(BigInteger from, BigInteger to, int parallelism, Path file) throws InterruptedException {
+        if (file == null) {
+            throw new NullPointerException("Cannot write a block range to a null file.");
+        }
+
+        List<String> errors = new ArrayList<>(1);
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+
+            fetchBlockRange(from, to, parallelism, RpcResultDecoder.JSON, (number, result) -> {
+                if (!result.isSuccess()) {
+                    errors.add("Failed to fetch block " + number + ": " + result.getError());
+                    return false;
+                }
+
+                try {
+                    writer.write(result.getResult());
+                    writer.newLine();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return true;
+            });
+
+        } catch (IOException | UncheckedIOException e) {
+            return Result.unsuccessfulDueTo("Failed to write blocks to " + file + ": " + e.getMessage());
+        }
+
+        return errors.isEmpty() ? Result.successful() : Result.unsuccessfulDueTo(errors.get(0));
     }
 
     /**
@@ -229,13 +455,8 @@ public final class RPC {
             throw new NullPointerException("Cannot get transaction receipts for a null list of hashes.");
         }
 
-        List<RpcResult<TransactionReceipt>> results = new ArrayList<>();
-
-        for (ReceiptHash receiptHash : receiptHashes) {
-            results.add(getTransactionReceiptVerbose(receiptHash));
-        }
-
-        return results;
+        return callInBatchesThroughCache(receiptHashes, this::cachedTransactionReceipt, this::cacheTransactionReceipt,
+            this::getTransactionReceiptPayload, TRANSACTION_RECEIPT, this::toTransactionReceiptResult, true);
     }
 
     /**
@@ -256,13 +477,8 @@ public final class RPC {
             throw new NullPointerException("Cannot get transaction receipts for a null list of hashes.");
         }
 
-        List<RpcResult<TransactionReceipt>> results = new ArrayList<>();
-
-        for (ReceiptHash receiptHash : receiptHashes) {
-            results.add(getTransactionReceipt(receiptHash));
-        }
-
-        return results;
+        return callInBatchesThroughCache(receiptHashes, this::cachedTransactionReceipt, this::cacheTransactionReceipt,
+            this::getTransactionReceiptPayload, TRANSACTION_RECEIPT, this::toTransactionReceiptResult, false);
     }
 
     /**
@@ -283,13 +499,7 @@ public final class RPC {
             throw new NullPointerException("Cannot get the balances of a null list of addresses.");
         }
 
-        List<RpcResult<BigInteger>> results = new ArrayList<>();
-
-        for (Address address : addresses) {
-            results.add(getBalanceVerbose(address));
-        }
-
-        return results;
+        return callInBatches(addresses, this::getBalancePayload, RpcResultDecoder.QUANTITY, this::toQuantityResult, true);
     }
 
     /**
@@ -307,13 +517,7 @@ public final class RPC {
             throw new NullPointerException("Cannot get the balances of a null list of addresses.");
         }
 
-        List<RpcResult<BigInteger>> results = new ArrayList<>();
-
-        for (Address address : addresses) {
-            results.add(getBalance(address));
-        }
-
-        return results;
+        return callInBatches(addresses, this::getBalancePayload, RpcResultDecoder.QUANTITY, this::toQuantityResult, false);
     }
 
     /**
@@ -332,13 +536,7 @@ public final class RPC {
             throw new NullPointerException("Cannot get nonces from a null list of addresses.");
         }
 
-        List<RpcResult<BigInteger>> results = new ArrayList<>();
-
-        for (Address address : addresses) {
-            results.add(getNonceVerbose(address));
-        }
-
-        return results;
+        return callInBatches(addresses, this::getNoncePayload, RpcResultDecoder.QUANTITY, this::toQuantityResult, true);
     }
 
     /**
@@ -355,13 +553,7 @@ public final class RPC {
             throw new NullPointerException("Cannot get nonces from a null list of addresses.");
         }
 
-        List<RpcResult<BigInteger>> results = new ArrayList<>();
-
-        for (Address address : addresses) {
-            results.add(getNonce(address));
-        }
-
-        return results;
+        return callInBatches(addresses, this::getNoncePayload, RpcResultDecoder.QUANTITY, this::toQuantityResult, false);
     }
 
     /**
@@ -414,6 +606,58 @@ public final class RPC {
         return callGetBlockByNumber(number, false);
     }
 
+    /**
+     * Returns the block whose hash is the specified hash, if such a block exists.
+     *
+     * Displays the I/O of the attempt to hit the RPC endpoint.
+     *
+     * @param hash The block hash.
+     * @return the result of the attempt to get the block.
+     */
+    public RpcResult<Block> getBlockByHashVerbose(byte[] hash) throws InterruptedException {
+        return callGetBlockByHash(hash, true);
+    }
+
+    /**
+     * Returns the block whose hash is the specified hash, if such a block exists.
+     *
+     * @param hash The block hash.
+     * @return the result of the attempt to get the block.
+     */
+    public RpcResult<Block> getBlockByHash(byte[] hash) throws InterruptedException {
+        return callGetBlockByHash(hash, false);
+    }
+
+    /**
+     * Returns the number of blocks and transaction receipts that were returned from this object's
+     * cache rather than fetched from the node, or zero if this object does not cache them.
+     *
+     * @return the number of cache hits.
+     */
+    public long getCacheHitCount() {
+        return (this.cache == null) ? 0 : this.cache.getHitCount();
+    }
+
+    /**
+     * Returns the number of blocks and transaction receipts that were looked for in this object's
+     * cache but had to be fetched from the node, or zero if this object does not cache them.
+     *
+     * @return the number of cache misses.
+     */
+    public long getCacheMissCount() {
+        return (this.cache == null) ? 0 : this.cache.getMissCount();
+    }
+
+    /**
+     * Evicts every block and transaction receipt from this object's cache, so that each is fetched
+     * from the node afresh. This should be called whenever the node is reset.
+     */
+    public void clearCache() {
+        if (this.cache != null) {
+            this.cache.clear();
+        }
+    }
+
     /**
      * Returns the transaction receipt whose hash is the specified receipt hash.
      *
@@ -587,102 +831,362 @@ public final class RPC {
     }
 
     private RpcResult<Block> callGetBlockByNumber(BigInteger number, boolean verbose) throws InterruptedException {
-        if (number == null) {
-            throw new NullPointerException("Cannot call getBlockByNumber using null number.");
+        return callThroughCache(number, this::cachedBlock, this::cacheBlock, this::getBlockByNumberPayload, BLOCK, this::toBlockResult, verbose);
+    }
+
+    private RpcResult<Block> callGetBlockByHash(byte[] hash, boolean verbose) throws InterruptedException {
+        return callThroughCache(hash, this::cachedBlockByHash, (input, block) -> cacheBlock(block.getBlockNumber(), block),
+            this::getBlockByHashPayload, BLOCK, this::toBlockByHashResult, verbose);
+    }
+
+    private RpcResult<ReceiptHash> callSendTransaction(RawTransaction transaction, boolean verbose) throws InterruptedException {
+        return toReceiptHashResult(transaction, this.rpc.call(sendTransactionPayload(transaction), RpcResultDecoder.DATA, verbose));
+    }
+
+    private RpcResult<BigInteger> callGetBalance(Address address, boolean verbose) throws InterruptedException {
+        return toQuantityResult(address, this.rpc.call(getBalancePayload(address), RpcResultDecoder.QUANTITY, verbose));
+    }
+
+    private RpcResult<BigInteger> callGetNonce(Address address, boolean verbose) throws InterruptedException {
+        return toQuantityResult(address, this.rpc.call(getNoncePayload(address), RpcResultDecoder.QUANTITY, verbose));
+    }
+
+    private RpcResult<TransactionReceipt> callGetTransactionReceipt(ReceiptHash receiptHash, boolean verbose) throws InterruptedException {
+        return callThroughCache(receiptHash, this::cachedTransactionReceipt, this::cacheTransactionReceipt,
+            this::getTransactionReceiptPayload, TRANSACTION_RECEIPT, this::toTransactionReceiptResult, verbose);
+    }
+
+    /**
+     * Returns the cached result for the input if there is one, and otherwise makes the RPC call
+     * described by the input and caches its result if it was successful.
+     */
+    private <I, T> RpcResult<T> callThroughCache(I input, Function<I, T> lookUp, BiConsumer<I, T> store, Function<I, RpcPayload> toPayload,
+        RpcResultDecoder<T> decoder, BiFunction<I, InternalRpcResult<T>, RpcResult<T>> toResult, boolean verbose) throws InterruptedException {
+
+        T cached = ((this.cache == null) || (input == null)) ? null : lookUp.apply(input);
+        if (cached != null) {
+            return RpcResult.successful(cached, System.nanoTime(), TimeUnit.NANOSECONDS);
         }
 
-        RpcPayload payload = new RpcPayloadBuilder()
-            .method(RpcMethod.GET_BLOCK_BY_NUMBER)
-            .params(number.toString(16))
-            .useLatestBlock()
-            .build();
+        RpcResult<T> result = toResult.apply(input, this.rpc.call(toPayload.apply(input), decoder, verbose));
+        if ((this.cache != null) && result.isSuccess()) {
+            store.accept(input, result.getResult());
+        }
+        return result;
+    }
 
-        InternalRpcResult internalResult = this.rpc.call(payload, verbose);
+    /**
+     * Returns the results of the RPC calls described by the inputs such that the i'th result
+     * corresponds to the i'th input, taking each result from the cache if it is there, and making
+     * only the calls whose results are not cached, in batches, caching their successful results.
+     */
+    private <I, T> List<RpcResult<T>> callInBatchesThroughCache(List<I> inputs, Function<I, T> lookUp, BiConsumer<I, T> store,
+        Function<I, RpcPayload> toPayload, RpcResultDecoder<T> decoder, BiFunction<I, InternalRpcResult<T>, RpcResult<T>> toResult,
+        boolean verbose) throws InterruptedException {
 
-        if (internalResult.success) {
-            JsonStringParser outputParser = new JsonStringParser(internalResult.output);
-            String result = outputParser.attributeToString("result");
+        if (this.cache == null) {
+            return callInBatches(inputs, toPayload, decoder, toResult, verbose);
+        }
 
-            if (result == null) {
-                return RpcResult.unsuccessful("No block exists whose block number is: " + number);
+        List<RpcResult<T>> results = new ArrayList<>(inputs.size());
+        List<I> uncachedInputs = new ArrayList<>();
+        List<Integer> uncachedIndices = new ArrayList<>();
+
+        for (I input : inputs) {
+            T cached = (input == null) ? null : lookUp.apply(input);
+            if (cached == null) {
+                uncachedInputs.add(input);
+                uncachedIndices.add(results.size());
+                results.add(null);
+            } else {
+                results.add(RpcResult.successful(cached, System.nanoTime(), TimeUnit.NANOSECONDS));
+            }
+        }
+
+        if (!uncachedInputs.isEmpty()) {
+            List<RpcResult<T>> fetchedResults = callInBatches(uncachedInputs, toPayload, decoder, toResult, verbose);
+            for (int i = 0; i < fetchedResults.size(); i++) {
+                RpcResult<T> result = fetchedResults.get(i);
+                if (result.isSuccess()) {
+                    store.accept(uncachedInputs.get(i), result.getResult());
+                }
+                results.set(uncachedIndices.get(i), result);
             }
+        }
+
+        return results;
+    }
+
+    private Block cachedBlock(BigInteger number) {
+        return this.cache.getBlockByNumber(number);
+    }
+
+    private Block cachedBlockByHash(byte[] hash) {
+        return this.cache.getBlockByHash(hash);
+    }
+
+    private TransactionReceipt cachedTransactionReceipt(ReceiptHash receiptHash) {
+        return this.cache.getTransactionReceipt(receiptHash.getHash());
+    }
+
+    private void cacheBlock(BigInteger number, Block block) {
+        this.cache.putBlock(block);
+    }
+
+    private void cacheTransactionReceipt(ReceiptHash receiptHash, TransactionReceipt receipt) {
+        this.cache.putTransactionReceipt(receiptHash.getHash(), receipt);
+    }
+
+    /**
+     * Makes the RPC call described by each of the inputs, packing up to {@code batchSize} of these
+     * calls into each round trip to the node and decoding each of their results with the decoder,
+     * and returns the results such that the i'th result
+     * corresponds to the i'th input.
+     */
+    private <I, D, T> List<RpcResult<T>> callInBatches(List<I> inputs, Function<I, RpcPayload> toPayload, RpcResultDecoder<D> decoder,
+        BiFunction<I, InternalRpcResult<D>, RpcResult<T>> toResult, boolean verbose) throws InterruptedException {
+
+        List<RpcResult<T>> results = new ArrayList<>(inputs.size());
+        callInBatches(inputs.iterator(), toPayload, decoder, toResult, (input, result) -> results.add(result), verbose);
+        return results;
+    }
 
-            try {
-                Block block = new BlockBuilder().buildFromJsonString(result);
-                return RpcResult.successful(
-                    block,
-                    internalResult.getTimeOfCall(TimeUnit.NANOSECONDS),
-                    TimeUnit.NANOSECONDS);
-            } catch (DecoderException e) {
-                return RpcResult.unsuccessful(e.toString());
+    /**
+     * Makes the RPC call described by each of the inputs, packing up to {@code batchSize} of these
+     * calls into each round trip to the node, and hands each input and its result to the handler
+     * in order. Only one batch of inputs is held onto at a time.
+     *
+     * Returns the number of inputs.
+     */
+    private <I, D, T> long callInBatches(Iterator<I> inputs, Function<I, RpcPayload> toPayload, RpcResultDecoder<D> decoder,
+        BiFunction<I, InternalRpcResult<D>, RpcResult<T>> toResult, BiConsumer<I, RpcResult<T>> resultHandler,
+        boolean verbose) throws InterruptedException {
+
+        List<I> batchInputs = new ArrayList<>(this.batchSize);
+        List<RpcPayload> payloads = new ArrayList<>(this.batchSize);
+        long numInputs = 0;
+
+        while (inputs.hasNext()) {
+            batchInputs.clear();
+            payloads.clear();
+
+            while ((batchInputs.size() < this.batchSize) && inputs.hasNext()) {
+                I input = inputs.next();
+                batchInputs.add(input);
+                payloads.add(toPayload.apply(input));
             }
 
-        } else {
-            return RpcResult.unsuccessful(internalResult.error);
+            List<InternalRpcResult<D>> internalResults = this.rpc.callBatch(payloads, decoder, verbose);
+
+            for (int i = 0; i < batchInputs.size(); i++) {
+                resultHandler.accept(batchInputs.get(i), toResult.apply(batchInputs.get(i), internalResults.get(i)));
+            }
+            numInputs += batchInputs.size();
         }
+
+        return numInputs;
     }
 
-    private RpcResult<ReceiptHash> callSendTransaction(RawTransaction transaction, boolean verbose) throws InterruptedException {
+    /**
+     * Fetches every block in the range [from, to], keeping up to {@code parallelism} batches of
+     * blocks in flight at once, each decoded with the decoder, and hands the blocks to the handler
+     * in order on the calling thread, until either every block has been handed over or the
+     * handler returns false.
+     *
+     * Returns the number of blocks handed to the handler.
+     */
+    private <T> long fetchBlockRange(BigInteger from, BigInteger to, int parallelism, RpcResultDecoder<T> decoder,
+        BlockRangeHandler<T> handler) throws InterruptedException {
+
+        if ((from == null) || (to == null)) {
+            throw new NullPointerException("Cannot get a block range with a null end.");
+        }
+        if (from.signum() < 0) {
+            throw new IllegalArgumentException("Cannot get a block range starting from a negative block number: " + from);
+        }
+        if (from.compareTo(to) > 0) {
+            throw new IllegalArgumentException("Cannot get a block range from " + from + " to the lower block number " + to);
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Block range parallelism must be at least 1, but was: " + parallelism);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "block-range-fetcher-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // The batches in flight, in the order their blocks are to be handed over.
+        Deque<Future<List<RpcResult<T>>>> batches = new ArrayDeque<>(parallelism);
+        BigInteger batchSize = BigInteger.valueOf(this.batchSize);
+        BigInteger nextNumberToFetch = from;
+        BigInteger nextNumberToHandle = from;
+        long numBlocks = 0;
+
+        try {
+            while ((nextNumberToFetch.compareTo(to) <= 0) || (!batches.isEmpty())) {
+                while ((batches.size() < parallelism) && (nextNumberToFetch.compareTo(to) <= 0)) {
+                    BigInteger first = nextNumberToFetch;
+                    BigInteger last = first.add(batchSize).subtract(BigInteger.ONE).min(to);
+                    batches.add(executor.submit(() -> fetchBlocks(first, last, decoder)));
+                    nextNumberToFetch = last.add(BigInteger.ONE);
+                }
+
+                for (RpcResult<T> result : await(batches.poll())) {
+                    numBlocks++;
+                    if (!handler.handle(nextNumberToHandle, result)) {
+                        return numBlocks;
+                    }
+                    nextNumberToHandle = nextNumberToHandle.add(BigInteger.ONE);
+                }
+            }
+
+            return numBlocks;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Fetches the blocks [first, last] in a single batch, retrying the calls that fail, and returns
+     * their results in order.
+     */
+    private <T> List<RpcResult<T>> fetchBlocks(BigInteger first, BigInteger last, RpcResultDecoder<T> decoder) throws InterruptedException {
+        int numBlocks = last.subtract(first).intValueExact() + 1;
+        List<InternalRpcResult<T>> internalResults = new ArrayList<>(Collections.nCopies(numBlocks, null));
+
+        // The offsets, from the first block, of the blocks still to be fetched.
+        List<Integer> offsetsToFetch = new ArrayList<>(numBlocks);
+        for (int offset = 0; offset < numBlocks; offset++) {
+            offsetsToFetch.add(offset);
+        }
+
+        for (int attempt = 1; !offsetsToFetch.isEmpty(); attempt++) {
+            if (attempt > 1) {
+                Thread.sleep(BLOCK_FETCH_RETRY_DELAY_IN_MILLIS * (attempt - 1));
+            }
+
+            List<RpcPayload> payloads = new ArrayList<>(offsetsToFetch.size());
+            for (int offset : offsetsToFetch) {
+                payloads.add(getBlockByNumberPayload(first.add(BigInteger.valueOf(offset))));
+            }
+
+            List<InternalRpcResult<T>> attemptResults = this.rpc.callBatch(payloads, decoder, false);
+
+            List<Integer> failedOffsets = new ArrayList<>();
+            for (int i = 0; i < offsetsToFetch.size(); i++) {
+                internalResults.set(offsetsToFetch.get(i), attemptResults.get(i));
+                if (!attemptResults.get(i).success) {
+                    failedOffsets.add(offsetsToFetch.get(i));
+                }
+            }
+            offsetsToFetch = (attempt < MAX_BLOCK_FETCH_ATTEMPTS) ? failedOffsets : Collections.emptyList();
+        }
+
+        List<RpcResult<T>> results = new ArrayList<>(numBlocks);
+        for (int offset = 0; offset < numBlocks; offset++) {
+            results.add(toBlockResult(first.add(BigInteger.valueOf(offset)), internalResults.get(offset)));
+        }
+        return results;
+    }
+
+    private static <T> T await(Future<T> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            } else if (cause instanceof InterruptedException) {
+                throw (InterruptedException) cause;
+            }
+            throw new IllegalStateException("Failed to fetch a batch of blocks.", cause);
+        }
+    }
+
+    private RpcPayload getBlockByNumberPayload(BigInteger number) {
+        if (number == null) {
+            throw new NullPointerException("Cannot call getBlockByNumber using null number.");
+        }
+
+        return new RpcPayloadBuilder()
+            .method(RpcMethod.GET_BLOCK_BY_NUMBER)
+            .params(number.toString(16))
+            .useLatestBlock()
+            .build();
+    }
+
+    private RpcPayload getBlockByHashPayload(byte[] hash) {
+        if (hash == null) {
+            throw new NullPointerException("Cannot call getBlockByHash using null hash.");
+        }
+
+        // The second parameter asks for the block without its full transactions.
+        return new RpcPayload(RpcMethod.GET_BLOCK_BY_HASH, "\"0x" + HexCodec.toHex(hash) + "\",false", "");
+    }
+
+    private RpcPayload sendTransactionPayload(RawTransaction transaction) {
         if (transaction == null) {
             throw new IllegalArgumentException("Cannot send a null transaction.");
         }
 
         RpcPayload payload = new RpcPayloadBuilder()
             .method(RpcMethod.SEND_RAW_TRANSACTION)
-            .params(Hex.encodeHexString(transaction.getSignedTransactionBytes()))
+            .params(transaction.getSignedTransactionBytes())
             .useLatestBlock()
             .build();
 
         log.log("-->" + payload.payload);
-        InternalRpcResult internalResult = this.rpc.call(payload, verbose);
-        log.log("<--" + internalResult.output);
-
-        if (internalResult.success) {
-            JsonStringParser outputParser = new JsonStringParser(internalResult.output);
-            String result = outputParser.attributeToString("result");
-
-            if (result == null) {
-                return RpcResult.unsuccessful("No receipt hash was returned, transaction was likely rejected.");
-            }
-            
-            try {
-                return RpcResult.successful(
-                    new ReceiptHash(Hex.decodeHex(result)),
-                    internalResult.getTimeOfCall(TimeUnit.NANOSECONDS),
-                    TimeUnit.NANOSECONDS);
-
-            } catch (DecoderException e) {
-                return RpcResult.unsuccessful(e.toString());
-            }
-        } else {
-            return RpcResult.unsuccessful(internalResult.error);
-        }
+        return payload;
     }
 
-    private RpcResult<BigInteger> callGetBalance(Address address, boolean verbose) throws InterruptedException {
+    private RpcPayload getBalancePayload(Address address) {
         if (address == null) {
             throw new IllegalArgumentException("Cannot get balance of a null address.");
         }
 
-        RpcPayload payload = new RpcPayloadBuilder()
+        return new RpcPayloadBuilder()
             .method(RpcMethod.GET_BALANCE)
-            .params(Hex.encodeHexString(address.getAddressBytes()))
+            .params(address.getAddressBytes())
             .useLatestBlock()
             .build();
+    }
 
-        InternalRpcResult internalResult = this.rpc.call(payload, verbose);
+    private RpcPayload getNoncePayload(Address address) {
+        if (address == null) {
+            throw new IllegalArgumentException("Cannot get nonce of a null address.");
+        }
 
-        if (internalResult.success) {
-            JsonStringParser outputParser = new JsonStringParser(internalResult.output);
-            String result = outputParser.attributeToString("result");
+        return new RpcPayloadBuilder()
+            .method(RpcMethod.GET_NONCE)
+            .params(address.getAddressBytes())
+            .useLatestBlock()
+            .build();
+    }
 
-            // This should never happen.
-            if (result == null) {
-                throw new IllegalStateException("No 'result' content to parse from: " + internalResult.output);
+    private RpcPayload getTransactionReceiptPayload(ReceiptHash receiptHash) {
+        if (receiptHash == null) {
+            throw new NullPointerException("Cannot get a receipt from a null receipt hash.");
+        }
+
+        return new RpcPayloadBuilder()
+            .method(RpcMethod.GET_TRANSACTION_RECEIPT)
+            .params(receiptHash.getHash())
+            .useLatestBlock()
+            .build();
+    }
+
+    private <T> RpcResult<T> toBlockResult(BigInteger number, InternalRpcResult<T> internalResult) {
+        if (internalResult.success) {
+            if (internalResult.result == null) {
+                return RpcResult.unsuccessful("No block exists whose block number is: " + number);
             }
 
             return RpcResult.successful(
-                new BigInteger(result, 16),
+                internalResult.result,
                 internalResult.getTimeOfCall(TimeUnit.NANOSECONDS),
                 TimeUnit.NANOSECONDS);
 
@@ -691,30 +1195,33 @@ public final class RPC {
         }
     }
 
-    private RpcResult<BigInteger> callGetNonce(Address address, boolean verbose) throws InterruptedException {
-        if (address == null) {
-            throw new IllegalArgumentException("Cannot get nonce of a null address.");
-        }
+    private RpcResult<ReceiptHash> toReceiptHashResult(RawTransaction transaction, InternalRpcResult<byte[]> internalResult) {
+        RpcResult<ReceiptHash> result;
 
-        RpcPayload payload = new RpcPayloadBuilder()
-            .method(RpcMethod.GET_NONCE)
-            .params(Hex.encodeHexString(address.getAddressBytes()))
-            .useLatestBlock()
-            .build();
+        if (!internalResult.success) {
+            result = RpcResult.unsuccessful(internalResult.error);
+        } else if (internalResult.result == null) {
+            result = RpcResult.unsuccessful("No receipt hash was returned, transaction was likely rejected.");
+        } else {
+            result = RpcResult.successful(
+                new ReceiptHash(internalResult.result),
+                internalResult.getTimeOfCall(TimeUnit.NANOSECONDS),
+                TimeUnit.NANOSECONDS);
+        }
 
-        InternalRpcResult internalResult = this.rpc.call(payload, verbose);
+        log.log("<--" + result);
+        return result;
+    }
 
+    private RpcResult<BigInteger> toQuantityResult(Address address, InternalRpcResult<BigInteger> internalResult) {
         if (internalResult.success) {
-            JsonStringParser outputParser = new JsonStringParser(internalResult.output);
-            String result = outputParser.attributeToString("result");
-
             // This should never happen.
-            if (result == null) {
-                throw new IllegalStateException("No 'result' content to parse from: " + internalResult.output);
+            if (internalResult.result == null) {
+                throw new IllegalStateException("No 'result' content was returned for the address: " + address);
             }
 
             return RpcResult.successful(
-                new BigInteger(result, 16),
+                internalResult.result,
                 internalResult.getTimeOfCall(TimeUnit.NANOSECONDS),
                 TimeUnit.NANOSECONDS);
 
@@ -723,37 +1230,32 @@ public final class RPC {
         }
     }
 
-    private RpcResult<TransactionReceipt> callGetTransactionReceipt(ReceiptHash receiptHash, boolean verbose) throws InterruptedException {
-        if (receiptHash == null) {
-            throw new NullPointerException("Cannot get a receipt from a null receipt hash.");
-        }
+    private RpcResult<Block> toBlockByHashResult(byte[] hash, InternalRpcResult<Block> internalResult) {
+        if (internalResult.success) {
+            if (internalResult.result == null) {
+                return RpcResult.unsuccessful("No block exists whose block hash is: 0x" + HexCodec.toHex(hash));
+            }
 
-        RpcPayload payload = new RpcPayloadBuilder()
-            .method(RpcMethod.GET_TRANSACTION_RECEIPT)
-            .params(Hex.encodeHexString(receiptHash.getHash()))
-            .useLatestBlock()
-            .build();
+            return RpcResult.successful(
+                internalResult.result,
+                internalResult.getTimeOfCall(TimeUnit.NANOSECONDS),
+                TimeUnit.NANOSECONDS);
 
-        InternalRpcResult internalResult = this.rpc.call(payload, verbose);
+        } else {
+            return RpcResult.unsuccessful(internalResult.error);
+        }
+    }
 
+    private RpcResult<TransactionReceipt> toTransactionReceiptResult(ReceiptHash receiptHash, InternalRpcResult<TransactionReceipt> internalResult) {
         if (internalResult.success) {
-            JsonStringParser outputParser = new JsonStringParser(internalResult.output);
-            String result = outputParser.attributeToString("result");
-
-            if (result == null) {
+            if (internalResult.result == null) {
                 return RpcResult.unsuccessful("No transaction receipt was returned, the transaction may still be processing.");
             }
 
-            try {
-                TransactionReceipt receipt = new TransactionReceiptBuilder().buildFromJsonString(result);
-                return RpcResult.successful(
-                    receipt,
-                    internalResult.getTimeOfCall(TimeUnit.NANOSECONDS),
-                    TimeUnit.NANOSECONDS);
-
-            } catch (DecoderException e) {
-                return RpcResult.unsuccessful(e.toString());
-            }
+            return RpcResult.successful(
+                internalResult.result,
+                internalResult.getTimeOfCall(TimeUnit.NANOSECONDS),
+                TimeUnit.NANOSECONDS);
 
         } else {
             return RpcResult.unsuccessful(internalResult.error);
@@ -765,56 +1267,76 @@ public final class RPC {
             .method(RpcMethod.IS_SYNCED)
             .build();
 
-        InternalRpcResult internalResult = this.rpc.call(payload, verbose);
+        InternalRpcResult<SyncStatus> internalResult = this.rpc.call(payload, RPC::readSyncStatus, verbose);
 
         if (internalResult.success) {
-            JsonStringParser outputParser = new JsonStringParser(internalResult.output);
-            String result = outputParser.attributeToString("result");
-
             // This should never happen.
-            if (result == null) {
-                throw new IllegalStateException("No 'result' content to parse from: " + internalResult.output);
+            if (internalResult.result == null) {
+                throw new IllegalStateException("No 'result' content was returned for the syncing status.");
             }
 
-            if (result.equals("false")) {
-                return RpcResult.successful(
-                    SyncStatus.notSyncing(),
-                    internalResult.getTimeOfCall(TimeUnit.NANOSECONDS),
-                    TimeUnit.NANOSECONDS);
+            return RpcResult.successful(
+                internalResult.result,
+                internalResult.getTimeOfCall(TimeUnit.NANOSECONDS),
+                TimeUnit.NANOSECONDS);
+
+        } else {
+            return RpcResult.unsuccessful(internalResult.error);
+        }
+    }
 
-            } else {
-                JsonStringParser statusParser = new JsonStringParser(result);
-                String startBlock = statusParser.attributeToString("startingBlock");
-                String currBlock = statusParser.attributeToString("currentBlock");
-                String highBlock = statusParser.attributeToString("highestBlock");
-
-                BigInteger startingBlock = (startBlock == null) ? null : new BigInteger(startBlock, 16);
-                BigInteger currentBlock = (currBlock == null) ? null : new BigInteger(currBlock, 16);
-                BigInteger highestBlock = (highBlock == null) ? null : new BigInteger(highBlock, 16);
-
-                // We can tell that we haven't connected to the network yet if its highest block number is zero.
-                boolean waitingToConnect = (highestBlock != null) && (highestBlock.equals(BigInteger.ZERO));
-
-                // There is currently a bug in the kernel where it can report being at block N of N
-                // yet not realize it is finished syncing yet..
-                if ((currentBlock != null) && (highestBlock != null)) {
-                    if (highestBlock.subtract(currentBlock).compareTo(BigInteger.valueOf(5)) < 0) {
-                        return RpcResult.successful(
-                            SyncStatus.notSyncing(),
-                            internalResult.getTimeOfCall(TimeUnit.NANOSECONDS),
-                            TimeUnit.NANOSECONDS);
-                    }
-                }
+    /**
+     * Reads the syncing status, which is either {@code false} or an object holding the progress of
+     * the sync.
+     */
+    private static SyncStatus readSyncStatus(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.BOOLEAN) {
+            if (reader.nextBoolean()) {
+                throw new IllegalStateException("Expected the syncing status to be false or an object, but was: true");
+            }
+            return SyncStatus.notSyncing();
+        }
 
-                return RpcResult.successful(
-                    SyncStatus.syncing(waitingToConnect, startingBlock, currentBlock, highestBlock),
-                    internalResult.getTimeOfCall(TimeUnit.NANOSECONDS),
-                    TimeUnit.NANOSECONDS);
+        String startBlock = null;
+        String currBlock = null;
+        String highBlock = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "startingBlock": startBlock = RpcResultDecoder.nextHexString(reader); break;
+                case "currentBlock": currBlock = RpcResultDecoder.nextHexString(reader); break;
+                case "highestBlock": highBlock = RpcResultDecoder.nextHexString(reader); break;
+                default: reader.skipValue();
             }
+        }
+        reader.endObject();
 
-        } else {
-            return RpcResult.unsuccessful(internalResult.error);
+        BigInteger startingBlock = (startBlock == null) ? null : HexCodec.decodeBigInteger(startBlock);
+        BigInteger currentBlock = (currBlock == null) ? null : HexCodec.decodeBigInteger(currBlock);
+        BigInteger highestBlock = (highBlock == null) ? null : HexCodec.decodeBigInteger(highBlock);
+
+        // We can tell that we haven't connected to the network yet if its highest block number is zero.
+        boolean waitingToConnect = (highestBlock != null) && (highestBlock.equals(BigInteger.ZERO));
+
+        // There is currently a bug in the kernel where it can report being at block N of N
+        // yet not realize it is finished syncing yet..
+        if ((currentBlock != null) && (highestBlock != null)) {
+            if (highestBlock.subtract(currentBlock).compareTo(BigInteger.valueOf(5)) < 0) {
+                return SyncStatus.notSyncing();
+            }
         }
+
+        return SyncStatus.syncing(waitingToConnect, startingBlock, currentBlock, highestBlock);
+    }
+
+    /**
+     * A handler of each block number in a block range, along with the result of fetching that
+     * block, which returns false to stop the range from being fetched any further.
+     */
+    @FunctionalInterface
+    private interface BlockRangeHandler<T> {
+        boolean handle(BigInteger number, RpcResult<T> result);
     }
 
 }
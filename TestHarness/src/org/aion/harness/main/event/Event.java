@@ -119,6 +119,14 @@ public final class Event implements IEvent {
         return this.isSatisfied;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> getAllEventStrings() {
+        return Collections.singletonList(this.eventString);
+    }
+
     /**
      * {@inheritDoc}
      */
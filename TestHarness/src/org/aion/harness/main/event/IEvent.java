@@ -1,5 +1,6 @@
 package org.aion.harness.main.event;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
@@ -107,6 +108,23 @@ public interface IEvent {
      */
     boolean hasBeenObserved();
 
+    /**
+     * Returns a list of all the event strings in this event's conditional logic, whether or not
+     * they have been observed yet.
+     *
+     * A line that does not contain at least one of these strings cannot change the state of this
+     * event. This allows a listener to skip testing this event against such lines altogether.
+     *
+     * An empty list means that nothing is known about which lines may change the state of this
+     * event, so that it is tested against every line. This is what an event that does not override
+     * this method returns.
+     *
+     * @return all event strings.
+     */
+    default List<String> getAllEventStrings() {
+        return Collections.emptyList();
+    }
+
     /**
      * Returns a list of all the event strings that have been observed so far.
      *
@@ -1,6 +1,7 @@
 package org.aion.harness.main.event;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
@@ -89,6 +90,25 @@ public final class OrEvent implements IEvent {
         return this.event1.hasBeenObserved() || this.event2.hasBeenObserved();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> getAllEventStrings() {
+        List<String> events1 = this.event1.getAllEventStrings();
+        List<String> events2 = this.event2.getAllEventStrings();
+
+        // If either side may be affected by any line, then so may this event.
+        if (events1.isEmpty() || events2.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<String> events = new ArrayList<>();
+        events.addAll(events1);
+        events.addAll(events2);
+        return events;
+    }
+
     /**
      * {@inheritDoc}
      */
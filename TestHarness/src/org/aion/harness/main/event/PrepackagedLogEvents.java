@@ -1,7 +1,7 @@
 package org.aion.harness.main.event;
 
 import org.aion.harness.kernel.RawTransaction;
-import org.apache.commons.codec.binary.Hex;
+import org.aion.harness.util.TransactionLogLines;
 
 /**
  * A class that holds a number of prepackaged events that may be of convenience.
@@ -47,7 +47,7 @@ public final class PrepackagedLogEvents {
         if (transaction == null) {
             throw new NullPointerException("Cannot get event for null transaction hash.");
         }
-        return new Event("Transaction: " + Hex.encodeHexString(transaction.getTransactionHash()) + " was sealed into block");
+        return new Event(TransactionLogLines.sealedEventString(transaction.getTransactionHash()));
     }
 
     /**
@@ -60,7 +60,7 @@ public final class PrepackagedLogEvents {
         if (transaction == null) {
             throw new NullPointerException("Cannot get event for null transaction hash.");
         }
-        return new Event("tx " + Hex.encodeHexString(transaction.getTransactionHash()) + " is rejected");
+        return new Event(TransactionLogLines.rejectedEventString(transaction.getTransactionHash()));
     }
 
     /**
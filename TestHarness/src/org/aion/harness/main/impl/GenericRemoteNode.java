@@ -3,6 +3,7 @@ package org.aion.harness.main.impl;
 import org.aion.harness.main.RemoteNode;
 import org.aion.harness.main.global.SingletonFactory;
 import org.aion.harness.result.Result;
+import org.aion.harness.util.LogListener;
 import org.aion.harness.util.LogReader;
 
 import java.io.File;
@@ -13,7 +14,17 @@ public final class GenericRemoteNode implements RemoteNode {
     private boolean isConnected;
 
     public GenericRemoteNode() {
-        logReader = new LogReader();
+        this(LogListener.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new remote node whose log listener will hold at most {@code listenerCapacity}
+     * pending event requests at once.
+     *
+     * @param listenerCapacity The capacity of the node's log listener.
+     */
+    public GenericRemoteNode(int listenerCapacity) {
+        logReader = new LogReader(listenerCapacity);
         this.ID = SingletonFactory.singleton().nodeWatcher().addReader(this.logReader);
         this.isConnected = false;
     }
@@ -43,8 +43,18 @@ public final class JavaNode implements LocalNode {
     private Process runningKernel = null;
 
     public JavaNode() {
+        this(LogListener.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new node whose log listener will hold at most {@code listenerCapacity} pending
+     * event requests at once.
+     *
+     * @param listenerCapacity The capacity of the node's log listener.
+     */
+    public JavaNode(int listenerCapacity) {
         this.log = new SimpleLog(getClass().getName());
-        this.logReader = new LogReader();
+        this.logReader = new LogReader(listenerCapacity);
         this.logManager = new LogManager();
         this.ID = SingletonFactory.singleton().nodeWatcher().addReader(this.logReader);
     }
@@ -135,7 +145,10 @@ public final class JavaNode implements LocalNode {
             outputLog = this.logManager.getCurrentOutputLogFile();
         }
 
-        builder.redirectOutput(outputLog);
+        // When piping, the output is read straight from the process and teed into the log file.
+        if (!this.configurations.pipeOutputToListener()) {
+            builder.redirectOutput(outputLog);
+        }
         builder.redirectError(this.logManager.getCurrentErrorLogFile());
 
         new LeveldbLockAwaiter(this.configurations.getDatabase().getAbsolutePath()).await();
@@ -242,7 +255,9 @@ public final class JavaNode implements LocalNode {
             // We wait for the Rpc event or else 20 seconds, in case we come too late and never see it.
             IEvent rpcEvent = new Event("rpc-server - (UNDERTOW) started");
 
-            Result result = this.logReader.startReading(outputLog);
+            Result result = (this.configurations.pipeOutputToListener())
+                ? this.logReader.startReading(this.runningKernel.getInputStream(), outputLog)
+                : this.logReader.startReading(outputLog);
             if (!result.isSuccess()) {
                 return result;
             }
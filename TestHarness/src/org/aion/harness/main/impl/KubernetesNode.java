@@ -3,6 +3,7 @@ package org.aion.harness.main.impl;
 import org.aion.harness.main.RemoteNode;
 import org.aion.harness.main.global.SingletonFactory;
 import org.aion.harness.result.Result;
+import org.aion.harness.util.LogListener;
 import org.aion.harness.util.LogReader;
 import org.aion.harness.util.NodeFileManager;
 
@@ -29,8 +30,19 @@ public final class KubernetesNode implements RemoteNode {
     private static final String GET_PODS_COMMAND_3 = "pods";
 
     public KubernetesNode(KubernetesNodeType kubernetesNodeType) {
+        this(kubernetesNodeType, LogListener.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new kubernetes node whose log listener will hold at most
+     * {@code listenerCapacity} pending event requests at once.
+     *
+     * @param kubernetesNodeType The type of the kubernetes node.
+     * @param listenerCapacity The capacity of the node's log listener.
+     */
+    public KubernetesNode(KubernetesNodeType kubernetesNodeType, int listenerCapacity) {
         this.nodeType = kubernetesNodeType;
-        logReader = new LogReader();
+        logReader = new LogReader(listenerCapacity);
         this.ID = SingletonFactory.singleton().nodeWatcher().addReader(this.logReader);
         this.isConnected = false;
     }
@@ -0,0 +1,285 @@
+package org.aion.harness.main.tools;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.aion.harness.main.types.Block;
+import org.aion.harness.main.types.TransactionReceipt;
+
+/**
+ * A bounded cache of the blocks and transaction receipts that have been fetched from a node, so
+ * that fetching the same block or receipt again does not cost a round trip to the node, or
+ * decoding it again.
+ *
+ * Blocks can be looked up by block number or by block hash, and receipts by the hash the receipt
+ * was requested with.
+ *
+ * The cache holds at most {@code capacityInBytes} worth of blocks and receipts, going by an
+ * estimate of the memory each one occupies. Once full, the least recently used block or receipt is
+ * evicted to make room for each new one.
+ *
+ * A block or receipt never changes, but the block at a particular block number can, if the chain
+ * reorganizes. Whenever a block or receipt is put into the cache whose block hash differs from that
+ * of a cached block or receipt at the same block number, everything cached at that block number is
+ * evicted as stale. The cache has no way of finding out about a reorganization other than this.
+ *
+ * This class is thread-safe.
+ */
+public final class ChainObjectCache {
+    // A rough estimate of the memory a cached object occupies beyond its byte arrays: its header and
+    // fields, its big integers, and its key and entries in this cache's maps.
+    private static final int BLOCK_OVERHEAD_IN_BYTES = 400;
+    private static final int RECEIPT_OVERHEAD_IN_BYTES = 500;
+
+    private final long capacityInBytes;
+
+    // All guarded by this cache's monitor. The entries are in order of least to most recently used.
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<BigInteger, List<Key>> keysByBlockNumber = new HashMap<>();
+    private long sizeInBytes = 0;
+    private long hitCount = 0;
+    private long missCount = 0;
+
+    /**
+     * Constructs a new cache that will hold at most {@code capacityInBytes} worth of blocks and
+     * receipts.
+     *
+     * @param capacityInBytes The capacity of the cache.
+     */
+    public ChainObjectCache(long capacityInBytes) {
+        if (capacityInBytes < 1) {
+            throw new IllegalArgumentException("Cache capacity must be at least 1 byte, but was: " + capacityInBytes);
+        }
+
+        this.capacityInBytes = capacityInBytes;
+    }
+
+    /**
+     * Returns the cached block whose block number is the specified number, or null if no such
+     * block is cached.
+     *
+     * @param number The block number.
+     * @return the block.
+     */
+    public synchronized Block getBlockByNumber(BigInteger number) {
+        List<Key> keys = this.keysByBlockNumber.get(number);
+        if (keys != null) {
+            for (Key key : keys) {
+                if (key.isBlock) {
+                    return (Block) hit(this.entries.get(key));
+                }
+            }
+        }
+
+        this.missCount++;
+        return null;
+    }
+
+    /**
+     * Returns the cached block whose hash is the specified hash, or null if no such block is
+     * cached.
+     *
+     * @param hash The block hash.
+     * @return the block.
+     */
+    public synchronized Block getBlockByHash(byte[] hash) {
+        return (Block) lookUp(new Key(true, hash));
+    }
+
+    /**
+     * Returns the cached transaction receipt that was requested with the specified receipt hash, or
+     * null if no such receipt is cached.
+     *
+     * @param receiptHash The receipt hash.
+     * @return the receipt.
+     */
+    public synchronized TransactionReceipt getTransactionReceipt(byte[] receiptHash) {
+        return (TransactionReceipt) lookUp(new Key(false, receiptHash));
+    }
+
+    /**
+     * Caches the specified block.
+     *
+     * @param block The block to cache.
+     */
+    public synchronized void putBlock(Block block) {
+        byte[] hash = block.getBlockHash();
+        long size = BLOCK_OVERHEAD_IN_BYTES + hash.length + block.getParentBlockHash().length
+            + block.getBloomFilter().length + block.getTransactionReceiptsTrieRoot().length
+            + block.getStateRoot().length + block.getBlockNonce().length;
+
+        put(new Key(true, hash), new Entry(block, block.getBlockNumber(), hash, size));
+    }
+
+    /**
+     * Caches the specified transaction receipt under the specified receipt hash.
+     *
+     * @param receiptHash The receipt hash the receipt was requested with.
+     * @param receipt The receipt to cache.
+     */
+    public synchronized void putTransactionReceipt(byte[] receiptHash, TransactionReceipt receipt) {
+        long size = RECEIPT_OVERHEAD_IN_BYTES + receiptHash.length + receipt.getBlockHash().length
+            + receipt.getBloomFilter().length + receipt.getTransactionHash().length
+            + receipt.getStateRootHash().length;
+
+        put(new Key(false, receiptHash), new Entry(receipt, receipt.getBlockNumber(), receipt.getBlockHash(), size));
+    }
+
+    /**
+     * Evicts everything from this cache. The hit and miss counts are left as they are.
+     */
+    public synchronized void clear() {
+        this.entries.clear();
+        this.keysByBlockNumber.clear();
+        this.sizeInBytes = 0;
+    }
+
+    /**
+     * Returns the number of lookups that found what they were looking for.
+     *
+     * @return the number of hits.
+     */
+    public synchronized long getHitCount() {
+        return this.hitCount;
+    }
+
+    /**
+     * Returns the number of lookups that did not find what they were looking for.
+     *
+     * @return the number of misses.
+     */
+    public synchronized long getMissCount() {
+        return this.missCount;
+    }
+
+    /**
+     * Returns the estimated memory occupied by everything currently cached.
+     *
+     * @return the size of the cache.
+     */
+    public synchronized long getSizeInBytes() {
+        return this.sizeInBytes;
+    }
+
+    private Object lookUp(Key key) {
+        Entry entry = this.entries.get(key);
+        if (entry == null) {
+            this.missCount++;
+            return null;
+        }
+        return hit(entry);
+    }
+
+    private Object hit(Entry entry) {
+        this.hitCount++;
+        return entry.value;
+    }
+
+    private void put(Key key, Entry entry) {
+        if (entry.sizeInBytes > this.capacityInBytes) {
+            return;
+        }
+
+        evictStaleEntriesAt(entry.blockNumber, entry.blockHash);
+        remove(key);
+
+        while (this.sizeInBytes + entry.sizeInBytes > this.capacityInBytes) {
+            remove(this.entries.keySet().iterator().next());
+        }
+
+        this.entries.put(key, entry);
+        this.keysByBlockNumber.computeIfAbsent(entry.blockNumber, number -> new ArrayList<>(1)).add(key);
+        this.sizeInBytes += entry.sizeInBytes;
+    }
+
+    /**
+     * Evicts everything at the specified block number that does not belong to the block with the
+     * specified hash, since the chain must have reorganized since it was cached.
+     */
+    private void evictStaleEntriesAt(BigInteger blockNumber, ByteBuffer blockHash) {
+        List<Key> keys = this.keysByBlockNumber.get(blockNumber);
+        if (keys == null) {
+            return;
+        }
+
+        List<Key> staleKeys = new ArrayList<>();
+        for (Key key : keys) {
+            if (!this.entries.get(key).blockHash.equals(blockHash)) {
+                staleKeys.add(key);
+            }
+        }
+        for (Key key : staleKeys) {
+            remove(key);
+        }
+    }
+
+    private void remove(Key key) {
+        Entry entry = this.entries.remove(key);
+        if (entry == null) {
+            return;
+        }
+
+        this.sizeInBytes -= entry.sizeInBytes;
+
+        List<Key> keys = this.keysByBlockNumber.get(entry.blockNumber);
+        Iterator<Key> iterator = keys.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().equals(key)) {
+                iterator.remove();
+                break;
+            }
+        }
+        if (keys.isEmpty()) {
+            this.keysByBlockNumber.remove(entry.blockNumber);
+        }
+    }
+
+    /**
+     * Blocks are keyed by block hash and receipts by receipt hash. The two are kept apart, since a
+     * receipt hash is a transaction hash, not a block hash.
+     */
+    private static final class Key {
+        private final boolean isBlock;
+        private final ByteBuffer hash;
+
+        private Key(boolean isBlock, byte[] hash) {
+            this.isBlock = isBlock;
+            this.hash = ByteBuffer.wrap(hash);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key)) {
+                return false;
+            }
+
+            Key otherKey = (Key) other;
+            return (this.isBlock == otherKey.isBlock) && this.hash.equals(otherKey.hash);
+        }
+
+        @Override
+        public int hashCode() {
+            return (31 * this.hash.hashCode()) + (this.isBlock ? 1 : 0);
+        }
+    }
+
+    private static final class Entry {
+        private final Object value;
+        private final BigInteger blockNumber;
+        private final ByteBuffer blockHash;
+        private final long sizeInBytes;
+
+        private Entry(Object value, BigInteger blockNumber, byte[] blockHash, long sizeInBytes) {
+            this.value = value;
+            this.blockNumber = blockNumber;
+            this.blockHash = ByteBuffer.wrap(blockHash);
+            this.sizeInBytes = sizeInBytes;
+        }
+    }
+
+}
@@ -8,30 +8,31 @@ import org.aion.harness.result.RpcResult;
  *
  * This class is never to be exposed to the client.
  *
- * An internal rpc result still contains the particular output of the RPC call, and the purpose of
- * the {@link RpcResult} class (which is public-facing) is to hide this output entirely so that the
- * user is not dependent on its implementation details.
+ * An internal rpc result still contains the particular result of the RPC call, as it was decoded
+ * from the node's response, and the purpose of the {@link RpcResult} class (which is public-facing)
+ * is to hide this result entirely so that the user is not dependent on its implementation details.
  *
- * The class calling into this class is responsible for dealing with the raw output appropriately
- * and transforming it into a high-level concept before it hits the end user.
+ * The class calling into this class is responsible for dealing with the decoded result
+ * appropriately and transforming it into a high-level concept before it hits the end user.
  */
-public final class InternalRpcResult {
+public final class InternalRpcResult<T> {
     public final boolean success;
-    public final String output;
+    public final T result;
     public final String error;
     private final long timeOfCallInNanos;
 
-    private InternalRpcResult(boolean success, String output, String error, long timeOfCall, TimeUnit unit) {
+    private InternalRpcResult(boolean success, T result, String error, long timeOfCall, TimeUnit unit) {
         this.success = success;
-        this.output = output;
+        this.result = result;
         this.error = error;
         this.timeOfCallInNanos = (timeOfCall < 0) ? timeOfCall : unit.toNanos(timeOfCall);
     }
 
-    public static InternalRpcResult successful(String output, long timeOfCall, TimeUnit unit) {
-        if (output == null) {
-            throw new NullPointerException("Cannot construct successful internal rpc result with null output.");
-        }
+    /**
+     * Returns a successful result. The result itself may be null, if the node responded with a
+     * 'null' result.
+     */
+    public static <T> InternalRpcResult<T> successful(T result, long timeOfCall, TimeUnit unit) {
         if (timeOfCall < 0) {
             throw new IllegalArgumentException("Cannot construct successful internal rpc result with negative time.");
         }
@@ -39,15 +40,15 @@ public final class InternalRpcResult {
             throw new NullPointerException("Cannot construct successful internal rpc result with null time units.");
         }
 
-        return new InternalRpcResult(true, output, null, timeOfCall, unit);
+        return new InternalRpcResult<>(true, result, null, timeOfCall, unit);
     }
 
-    public static InternalRpcResult unsuccessful(String error) {
+    public static <T> InternalRpcResult<T> unsuccessful(String error) {
         if (error == null) {
             throw new NullPointerException("Cannot construct unsuccessful internal rpc result with null error.");
         }
 
-        return new InternalRpcResult(false, null, error, -1, null);
+        return new InternalRpcResult<>(false, null, error, -1, null);
     }
 
     public long getTimeOfCall(TimeUnit unit) {
@@ -59,7 +60,7 @@ public final class InternalRpcResult {
     @Override
     public String toString() {
         if (this.success) {
-            return "InternalRpcResult { successful | output = " + this.output
+            return "InternalRpcResult { successful | result = " + this.result
                 + " | time of call = " + this.timeOfCallInNanos + " (nanos) }";
         } else {
             return "InternalRpcResult { unsuccessful due to: " + this.error + " }";
@@ -1,5 +1,6 @@
 package org.aion.harness.main.tools;
 
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 
@@ -51,7 +52,10 @@ public final class JsonStringParser {
             return null;
         }
 
-        String element = cleanElement(this.stringAsJson.get(attribute).toString());
+        // Primitives are read as they are, rather than written back out as json and unquoted.
+        JsonElement content = this.stringAsJson.get(attribute);
+        String element = content.isJsonPrimitive() ? content.getAsString() : content.toString();
+        element = (element.startsWith("0x")) ? element.substring(2) : element;
 
         if ((element.isEmpty()) || (element.equals("null"))) {
             return null;
@@ -60,14 +64,4 @@ public final class JsonStringParser {
         return element;
     }
 
-    /**
-     * Returns rawElement with no leading or trailing quotation marks and with no '0x' hex
-     * identifier.
-     */
-    private String cleanElement(String rawElement) {
-        rawElement = (rawElement.startsWith("\"")) ? rawElement.substring(1) : rawElement;
-        rawElement = (rawElement.endsWith("\"")) ? rawElement.substring(0, rawElement.length() - 1) : rawElement;
-        return (rawElement.startsWith("0x")) ? rawElement.substring(2) : rawElement;
-    }
-
 }
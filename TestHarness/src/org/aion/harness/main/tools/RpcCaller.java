@@ -1,18 +1,67 @@
 package org.aion.harness.main.tools;
 
-import java.io.BufferedReader;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import org.aion.harness.statistics.LiveMetrics;
+import org.apache.commons.codec.DecoderException;
 
 /**
  * A class responsible for calling an RPC endpoint using the provided payload.
+ *
+ * All calls are made in-process over a pool of persistent HTTP connections to the RPC server, so
+ * that consecutive calls do not pay the cost of setting up a new connection each time.
+ *
+ * This class is thread-safe.
  */
 public final class RpcCaller {
+    public static final int DEFAULT_MAX_CONNECTIONS = 8;
+    private static final int CONNECT_TIMEOUT_IN_MILLIS = (int) TimeUnit.SECONDS.toMillis(30);
+    private static final int READ_TIMEOUT_IN_MILLIS = (int) TimeUnit.MINUTES.toMillis(2);
+
+    // The curl exit codes that we used to report back to the caller. Transport failures are still
+    // mapped onto these so that the errors callers see are unchanged.
+    private static final int CURL_URL_MALFORMED = 3;
+    private static final int CURL_COULD_NOT_CONNECT = 7;
+    private static final int CURL_WEIRD_SERVER_REPLY = 8;
+    private static final int CURL_COULD_NOT_RESOLVE_HOST = 15;
+    private static final int CURL_WRITE_ERROR = 23;
+    private static final int CURL_READ_ERROR = 26;
+    private static final int CURL_OPERATION_TIMEOUT = 28;
+
     private final String ip;
     private final String port;
+    private final RpcConnectionPool connectionPool;
 
     public RpcCaller(String ip, String port) {
+        this(ip, port, DEFAULT_MAX_CONNECTIONS);
+    }
+
+    /**
+     * Constructs a new rpc caller that will hold at most {@code maxConnections} connections open to
+     * the RPC server at any one time.
+     *
+     * @param ip The IP address of the RPC server.
+     * @param port The port of the RPC server.
+     * @param maxConnections The maximum number of simultaneously open connections.
+     */
+    public RpcCaller(String ip, String port, int maxConnections) {
         if (ip == null) {
             throw new NullPointerException("IP cannot be null");
         }
@@ -21,8 +70,15 @@ public final class RpcCaller {
             throw new NullPointerException("Port cannot be null");
         }
 
+        if (maxConnections < 1) {
+            throw new IllegalArgumentException("Must allow at least 1 connection, but got: " + maxConnections);
+        }
+
         this.ip = ip;
         this.port = port;
+        this.connectionPool = isValidPort(port)
+            ? new RpcConnectionPool(ip, Integer.parseInt(port), maxConnections, CONNECT_TIMEOUT_IN_MILLIS, READ_TIMEOUT_IN_MILLIS)
+            : null;
     }
 
     /**
@@ -37,71 +93,386 @@ public final class RpcCaller {
      * Though 'null' is usually interpreted as an error, we leave that up to the caller, since this
      * is not always the case.
      *
-     * A successful result will contain the raw response of the server. It will still need to be
-     * parsed.
+     * The response is read in a single streaming pass over its raw bytes, and the 'result' of a
+     * successful response is decoded by the specified decoder as it is read. If the decoder cannot
+     * make sense of the result then the returned result is unsuccessful.
      */
-    public InternalRpcResult call(RpcPayload payload, boolean verbose) throws InterruptedException {
-        ProcessBuilder processBuilder = new ProcessBuilder()
-            .command("curl", "-X", "POST", "--data", payload.payload, this.ip + ":" + this.port);
+    public <T> InternalRpcResult<T> call(RpcPayload payload, RpcResultDecoder<T> decoder, boolean verbose) throws InterruptedException {
+        if (decoder == null) {
+            throw new NullPointerException("Cannot call with a null result decoder.");
+        }
 
-        if (verbose) {
-            processBuilder.inheritIO();
+        if (this.connectionPool == null) {
+            return InternalRpcResult.unsuccessful(getCurlError(CURL_URL_MALFORMED));
         }
 
+        long timeOfCallInNanos = System.nanoTime();
+        InternalRpcResult<T> result = send(payload, decoder, verbose, timeOfCallInNanos);
+        LiveMetrics.global().recordRpcRequest(1, result.success ? 0 : 1, System.nanoTime() - timeOfCallInNanos, TimeUnit.NANOSECONDS);
+        return result;
+    }
+
+    private <T> InternalRpcResult<T> send(RpcPayload payload, RpcResultDecoder<T> decoder, boolean verbose, long timeOfCallInNanos) throws InterruptedException {
+        byte[] output;
         try {
-            long timeOfCallInNanos = System.nanoTime();
-            Process rpcProcess = processBuilder.start();
+            output = this.connectionPool.post(payload.payload, payload.idempotent);
+        } catch (IOException e) {
+            return InternalRpcResult.unsuccessful(getCurlError(toCurlStatus(e)));
+        }
 
-            int status = rpcProcess.waitFor();
-            StringBuilder stringBuilder = new StringBuilder();
+        if (verbose) {
+            System.out.println(new String(output, StandardCharsets.UTF_8));
+        }
 
-            try (BufferedReader reader = new BufferedReader(new InputStreamReader(rpcProcess.getInputStream()))) {
-                String line = reader.readLine();
+        if (output.length == 0) {
+            return InternalRpcResult.unsuccessful("unknown error");
+        }
 
-                while (line != null) {
-                    stringBuilder.append(line);
-                    line = reader.readLine();
-                }
+        try (JsonReader reader = newReader(output)) {
+            return readResponse(reader, decoder, timeOfCallInNanos).result;
+        } catch (IOException e) {
+            return InternalRpcResult.unsuccessful(getCurlError(CURL_WEIRD_SERVER_REPLY));
+        }
+    }
+
+    /**
+     * Sends all of the specified payloads to the RPC server in a single JSON-RPC batch request and
+     * returns the internal rpc result of each, such that the i'th result corresponds to the i'th
+     * payload.
+     *
+     * Each payload must have a known id, and no two payloads may share the same id. The server is
+     * free to respond to the payloads in any order; the responses are matched back up to their
+     * payloads using these ids.
+     *
+     * Each result is interpreted exactly as {@code call()} would interpret it, and the result of
+     * every response is decoded by the specified decoder. If the attempt to send the batch fails,
+     * or the server rejects the batch as a whole, then every result is unsuccessful. If the server
+     * does not respond to a particular payload then only that result is unsuccessful.
+     */
+    public <T> List<InternalRpcResult<T>> callBatch(List<RpcPayload> payloads, RpcResultDecoder<T> decoder, boolean verbose) throws InterruptedException {
+        if (payloads == null) {
+            throw new NullPointerException("Cannot call a null batch of payloads.");
+        }
+        if (decoder == null) {
+            throw new NullPointerException("Cannot call a batch with a null result decoder.");
+        }
+
+        Set<Long> ids = new HashSet<>();
+        boolean idempotent = true;
+        StringBuilder batch = new StringBuilder("[");
+        for (RpcPayload payload : payloads) {
+            if (payload == null) {
+                throw new NullPointerException("Cannot call a batch containing a null payload.");
+            }
+            if (payload.id == RpcPayload.UNKNOWN_ID) {
+                throw new IllegalArgumentException("Cannot call a batch containing a payload with no id: " + payload.payload);
             }
+            if (!ids.add(payload.id)) {
+                throw new IllegalArgumentException("Cannot call a batch containing duplicate payload id: " + payload.id);
+            }
+            idempotent &= payload.idempotent;
+
+            if (batch.length() > 1) {
+                batch.append(',');
+            }
+            batch.append(payload.payload);
+        }
+        batch.append(']');
+
+        if (payloads.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        if (this.connectionPool == null) {
+            return allUnsuccessful(payloads.size(), getCurlError(CURL_URL_MALFORMED));
+        }
 
-            String output = stringBuilder.toString();
+        long timeOfCallInNanos = System.nanoTime();
+        List<InternalRpcResult<T>> results = sendBatch(payloads, batch.toString(), idempotent, decoder, verbose, timeOfCallInNanos);
+        long roundTripInNanos = System.nanoTime() - timeOfCallInNanos;
 
-            if (output.isEmpty()) {
-                return InternalRpcResult.unsuccessful("unknown error");
+        int failures = 0;
+        for (InternalRpcResult<T> result : results) {
+            if (!result.success) {
+                failures++;
             }
+        }
+        LiveMetrics.global().recordRpcRequest(results.size(), failures, roundTripInNanos, TimeUnit.NANOSECONDS);
+        return results;
+    }
 
-            JsonStringParser outputParser = new JsonStringParser(output);
+    private <T> List<InternalRpcResult<T>> sendBatch(List<RpcPayload> payloads, String batch, boolean idempotent, RpcResultDecoder<T> decoder, boolean verbose, long timeOfCallInNanos) throws InterruptedException {
+        byte[] output;
+        try {
+            output = this.connectionPool.post(batch, idempotent);
+        } catch (IOException e) {
+            return allUnsuccessful(payloads.size(), getCurlError(toCurlStatus(e)));
+        }
 
-            // This is only successful if the RPC Process exited successfully, and the RPC output
-            // contained no 'error' content and it does contain 'result' content.
+        if (verbose) {
+            System.out.println(new String(output, StandardCharsets.UTF_8));
+        }
 
-            if ((status == 0) && (!outputParser.hasAttribute("error"))) {
-                return InternalRpcResult.successful(output, timeOfCallInNanos, TimeUnit.NANOSECONDS);
-            } else {
-                String error = outputParser.attributeToString("error");
+        if (output.length == 0) {
+            return allUnsuccessful(payloads.size(), "unknown error");
+        }
+
+        Map<Long, InternalRpcResult<T>> resultsById = new HashMap<>();
+        try (JsonReader reader = newReader(output)) {
+            JsonToken token = reader.peek();
+
+            // A server that could not handle the batch at all responds with a single error object.
+            if (token == JsonToken.BEGIN_OBJECT) {
+                InternalRpcResult<T> result = readResponse(reader, decoder, timeOfCallInNanos).result;
+                return allUnsuccessful(payloads.size(), result.success ? "unknown error" : result.error);
+            } else if (token != JsonToken.BEGIN_ARRAY) {
+                return allUnsuccessful(payloads.size(), getCurlError(CURL_WEIRD_SERVER_REPLY));
+            }
 
-                // We expect the content of 'error' to itself be a Json String. If it has no content
-                // then the error is unknown.
-                if (error == null) {
-                    return InternalRpcResult.unsuccessful(getCurlError(status));
+            reader.beginArray();
+            while (reader.hasNext()) {
+                if (reader.peek() == JsonToken.BEGIN_OBJECT) {
+                    Response<T> response = readResponse(reader, decoder, timeOfCallInNanos);
+
+                    // A response without one of our ids cannot be matched to any payload.
+                    if (response.id != RpcPayload.UNKNOWN_ID) {
+                        resultsById.put(response.id, response.result);
+                    }
                 } else {
-                    JsonStringParser errorParser = new JsonStringParser(error);
+                    reader.skipValue();
+                }
+            }
+            reader.endArray();
+        } catch (IOException e) {
+            return allUnsuccessful(payloads.size(), getCurlError(CURL_WEIRD_SERVER_REPLY));
+        }
+
+        List<InternalRpcResult<T>> results = new ArrayList<>(payloads.size());
+        for (RpcPayload payload : payloads) {
+            InternalRpcResult<T> result = resultsById.get(payload.id);
+            results.add((result == null)
+                ? InternalRpcResult.unsuccessful("No response was returned for the request with id: " + payload.id)
+                : result);
+        }
+        return results;
+    }
+
+    /**
+     * Closes any idle connections this caller is holding open to the RPC server. The caller
+     * remains usable afterwards, and will simply open new connections as needed.
+     */
+    public void closeIdleConnections() {
+        if (this.connectionPool != null) {
+            this.connectionPool.closeIdleConnections();
+        }
+    }
+
+    /**
+     * Reads a single JSON-RPC response object, decoding its 'result' with the specified decoder,
+     * and interprets it.
+     *
+     * The response is only successful if it contained no 'error' content.
+     */
+    private <T> Response<T> readResponse(JsonReader reader, RpcResultDecoder<T> decoder, long timeOfCallInNanos) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            throw new MalformedJsonException("Expected a JSON-RPC response object but found: " + reader.peek());
+        }
 
-                    // The 'data' attribute should capture the error.
-                    error = errorParser.attributeToString("data");
+        long id = RpcPayload.UNKNOWN_ID;
+        T result = null;
+        String decodingError = null;
+        boolean hasError = false;
+        String error = null;
 
-                    // If there was no data value then try to grab the less informative 'message'.
-                    error = (error == null) ? errorParser.attributeToString("message") : error;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "id":
+                    id = readId(reader);
+                    break;
+                case "result":
+                    if (reader.peek() == JsonToken.NULL) {
+                        reader.nextNull();
+                    } else {
+                        String resultPath = reader.getPath();
+                        try {
+                            result = decoder.decode(reader);
+                        } catch (DecoderException e) {
+                            decodingError = e.toString();
+                        } catch (RuntimeException e) {
+                            // The decoder may have given up part way through the result.
+                            decodingError = e.toString();
+                            skipRestOfValue(reader, resultPath);
+                        }
+                    }
+                    break;
+                case "error":
+                    hasError = true;
+                    error = readError(reader);
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
 
-                    // If there was no message this is probably a curl error.
-                    error = (error == null) ? getCurlError(status) : error;
+        InternalRpcResult<T> internalResult;
+        if (hasError) {
+            // If there was no data or message then we know nothing more about the error.
+            internalResult = InternalRpcResult.unsuccessful((error == null) ? getCurlError(0) : error);
+        } else if (decodingError != null) {
+            internalResult = InternalRpcResult.unsuccessful(decodingError);
+        } else {
+            internalResult = InternalRpcResult.successful(result, timeOfCallInNanos, TimeUnit.NANOSECONDS);
+        }
+        return new Response<>(id, internalResult);
+    }
 
-                    return InternalRpcResult.unsuccessful(error);
+    /**
+     * Skips over whatever is left of the value that began at the specified path, which the reader
+     * may be anywhere inside of, or may not have entered at all.
+     *
+     * The reader is back at the level of the value exactly when its path is the path it had when
+     * positioned at the value. At that point either the value has been consumed, and the next token
+     * belongs to the enclosing object, or it is still there to be skipped.
+     */
+    private static void skipRestOfValue(JsonReader reader, String valuePath) throws IOException {
+        try {
+            while (!reader.getPath().equals(valuePath)) {
+                switch (reader.peek()) {
+                    case END_OBJECT:
+                        reader.endObject();
+                        break;
+                    case END_ARRAY:
+                        reader.endArray();
+                        break;
+                    case NAME:
+                        reader.nextName();
+                        break;
+                    default:
+                        reader.skipValue();
                 }
             }
 
-        } catch (IOException e) {
-            return InternalRpcResult.unsuccessful(e.toString());
+            JsonToken next = reader.peek();
+            if ((next != JsonToken.NAME) && (next != JsonToken.END_OBJECT)) {
+                reader.skipValue();
+            }
+        } catch (IllegalStateException e) {
+            throw new MalformedJsonException("Could not skip past an undecodable result: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the content of 'error', which we expect to itself be a json object. The 'data'
+     * attribute should capture the error, but if there is no data then we fall back to the less
+     * informative 'message'.
+     *
+     * Returns null if the error has no such content.
+     */
+    private static String readError(JsonReader reader) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            return readAsString(reader);
+        }
+
+        String data = null;
+        String message = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (name.equals("data")) {
+                data = readAsString(reader);
+            } else if (name.equals("message")) {
+                message = readAsString(reader);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return (data == null) ? message : data;
+    }
+
+    /**
+     * Reads the next value as a string, returning null if it is null or empty. Objects and arrays
+     * are returned as json.
+     */
+    private static String readAsString(JsonReader reader) throws IOException {
+        String value;
+        switch (reader.peek()) {
+            case NULL:
+                reader.nextNull();
+                return null;
+            case BOOLEAN:
+                value = String.valueOf(reader.nextBoolean());
+                break;
+            case BEGIN_OBJECT:
+            case BEGIN_ARRAY:
+                value = new JsonParser().parse(reader).toString();
+                break;
+            default:
+                value = reader.nextString();
+        }
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Reads the id of a response, returning {@link RpcPayload#UNKNOWN_ID} if it is not one of ours.
+     */
+    private static long readId(JsonReader reader) throws IOException {
+        JsonToken token = reader.peek();
+        if ((token != JsonToken.NUMBER) && (token != JsonToken.STRING)) {
+            reader.skipValue();
+            return RpcPayload.UNKNOWN_ID;
+        }
+
+        try {
+            return Long.parseLong(reader.nextString());
+        } catch (NumberFormatException e) {
+            return RpcPayload.UNKNOWN_ID;
+        }
+    }
+
+    private static JsonReader newReader(byte[] output) {
+        JsonReader reader = new JsonReader(new InputStreamReader(new ByteArrayInputStream(output), StandardCharsets.UTF_8));
+        reader.setLenient(true);
+        return reader;
+    }
+
+    private static <T> List<InternalRpcResult<T>> allUnsuccessful(int count, String error) {
+        List<InternalRpcResult<T>> results = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            results.add(InternalRpcResult.unsuccessful(error));
+        }
+        return results;
+    }
+
+    /**
+     * Returns the curl exit code that corresponds to the specified transport failure.
+     */
+    private static int toCurlStatus(IOException exception) {
+        if (exception instanceof UnknownHostException) {
+            return CURL_COULD_NOT_RESOLVE_HOST;
+        } else if ((exception instanceof ConnectException) || (exception instanceof NoRouteToHostException)) {
+            return CURL_COULD_NOT_CONNECT;
+        } else if (exception instanceof SocketTimeoutException) {
+            return CURL_OPERATION_TIMEOUT;
+        } else if (exception instanceof RpcConnectionPool.MalformedResponseException) {
+            return CURL_WEIRD_SERVER_REPLY;
+        } else if (exception.getMessage() != null && exception.getMessage().contains("Broken pipe")) {
+            return CURL_WRITE_ERROR;
+        } else {
+            return CURL_READ_ERROR;
+        }
+    }
+
+    private static boolean isValidPort(String port) {
+        try {
+            int portNumber = Integer.parseInt(port);
+            return (portNumber > 0) && (portNumber <= 0xFFFF);
+        } catch (NumberFormatException e) {
+            return false;
         }
     }
 
@@ -123,4 +494,17 @@ public final class RpcCaller {
         }
     }
 
+    /**
+     * A decoded response, along with the id it was given.
+     */
+    private static final class Response<T> {
+        private final long id;
+        private final InternalRpcResult<T> result;
+
+        private Response(long id, InternalRpcResult<T> result) {
+            this.id = id;
+            this.result = result;
+        }
+    }
+
 }
@@ -0,0 +1,339 @@
+package org.aion.harness.main.tools;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+
+/**
+ * A pool of persistent (keep-alive) HTTP/1.1 connections to a single RPC server.
+ *
+ * The pool never holds more than {@code maxConnections} open connections at once. A caller that
+ * wants a connection while all of them are in use will block until one is returned to the pool.
+ *
+ * Connections are reused for as long as the server is willing to keep them open. A pooled
+ * connection that the server has since closed is detected the next time it is used, in which case
+ * the request is retried once over a brand new connection, provided that doing so cannot cause the
+ * server to act on the request twice.
+ *
+ * This class is thread-safe.
+ */
+final class RpcConnectionPool {
+    private static final byte[] CRLF = new byte[]{ '\r', '\n' };
+
+    private final String host;
+    private final int port;
+    private final int connectTimeoutInMillis;
+    private final int readTimeoutInMillis;
+    private final Semaphore connectionGate;
+    private final Deque<Connection> idleConnections = new ConcurrentLinkedDeque<>();
+
+    RpcConnectionPool(String host, int port, int maxConnections, int connectTimeoutInMillis, int readTimeoutInMillis) {
+        if (maxConnections < 1) {
+            throw new IllegalArgumentException("Connection pool must allow at least 1 connection.");
+        }
+
+        this.host = host;
+        this.port = port;
+        this.connectTimeoutInMillis = connectTimeoutInMillis;
+        this.readTimeoutInMillis = readTimeoutInMillis;
+        this.connectionGate = new Semaphore(maxConnections, true);
+    }
+
+    /**
+     * POSTs the specified body to the server and returns the raw bytes of the body of the server's
+     * response, which are left to the caller to decode.
+     *
+     * An idle pooled connection is used if one exists, otherwise a new connection is opened. If a
+     * pooled connection turns out to have been closed by the server before the request could be
+     * written, the request is sent again over a new connection. A write to a connection that the
+     * server has half-closed usually succeeds though, so that the failure only shows up once the
+     * response is read, by which time the server may already have acted on the request. In that
+     * case the request is only sent again if it is idempotent.
+     */
+    byte[] post(String body, boolean idempotent) throws IOException, InterruptedException {
+        byte[] request = toHttpRequest(body.getBytes(StandardCharsets.UTF_8));
+
+        this.connectionGate.acquire();
+        try {
+            Connection connection = this.idleConnections.pollFirst();
+
+            if (connection != null) {
+                try {
+                    return exchange(connection, request, idempotent);
+                } catch (StaleConnectionException e) {
+                    // The server closed this connection while it sat in the pool. Try a fresh one.
+                }
+            }
+
+            try {
+                return exchange(new Connection(openSocket()), request, idempotent);
+            } catch (StaleConnectionException e) {
+                throw (IOException) e.getCause();
+            }
+        } finally {
+            this.connectionGate.release();
+        }
+    }
+
+    /**
+     * Closes all of the connections that are currently idle in the pool.
+     */
+    void closeIdleConnections() {
+        Connection connection = this.idleConnections.pollFirst();
+        while (connection != null) {
+            connection.close();
+            connection = this.idleConnections.pollFirst();
+        }
+    }
+
+    /**
+     * Sends the request and reads the response, returning the connection to the pool if it can be
+     * reused afterwards and closing it otherwise.
+     */
+    private byte[] exchange(Connection connection, byte[] request, boolean idempotent) throws IOException {
+        boolean reusable = false;
+        try {
+            Response response = connection.send(request, idempotent);
+            reusable = response.keepAlive;
+            return response.body;
+        } finally {
+            if (reusable) {
+                this.idleConnections.offerFirst(connection);
+            } else {
+                connection.close();
+            }
+        }
+    }
+
+    private Socket openSocket() throws IOException {
+        Socket socket = new Socket();
+        try {
+            socket.setTcpNoDelay(true);
+            socket.setKeepAlive(true);
+            socket.setSoTimeout(this.readTimeoutInMillis);
+            socket.connect(new InetSocketAddress(this.host, this.port), this.connectTimeoutInMillis);
+            return socket;
+        } catch (IOException e) {
+            socket.close();
+            throw e;
+        }
+    }
+
+    private byte[] toHttpRequest(byte[] body) {
+        String header = "POST / HTTP/1.1\r\n"
+            + "Host: " + this.host + ":" + this.port + "\r\n"
+            + "Content-Type: application/json\r\n"
+            + "Content-Length: " + body.length + "\r\n"
+            + "Connection: keep-alive\r\n"
+            + "\r\n";
+
+        byte[] headerBytes = header.getBytes(StandardCharsets.US_ASCII);
+        byte[] request = new byte[headerBytes.length + body.length];
+        System.arraycopy(headerBytes, 0, request, 0, headerBytes.length);
+        System.arraycopy(body, 0, request, headerBytes.length, body.length);
+        return request;
+    }
+
+    /**
+     * Thrown when a connection fails in a way that shows it was closed by the server while idle,
+     * and the request can safely be sent again over another connection.
+     */
+    private static final class StaleConnectionException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        private StaleConnectionException(IOException cause) {
+            super(cause);
+        }
+    }
+
+    private static final class Response {
+        private final byte[] body;
+        private final boolean keepAlive;
+
+        private Response(byte[] body, boolean keepAlive) {
+            this.body = body;
+            this.keepAlive = keepAlive;
+        }
+    }
+
+    /**
+     * A single HTTP/1.1 connection to the server. A connection is only ever used by one thread at
+     * a time, the one that took it out of the pool.
+     */
+    private static final class Connection {
+        private final Socket socket;
+        private final InputStream input;
+        private final OutputStream output;
+
+        private Connection(Socket socket) throws IOException {
+            this.socket = socket;
+            this.input = new BufferedInputStream(socket.getInputStream());
+            this.output = socket.getOutputStream();
+        }
+
+        private Response send(byte[] request, boolean idempotent) throws IOException {
+            try {
+                this.output.write(request);
+                this.output.flush();
+            } catch (IOException e) {
+                // The server never received the whole request, so it cannot have acted on it.
+                throw new StaleConnectionException(e);
+            }
+
+            String statusLine;
+            try {
+                statusLine = readLine();
+            } catch (SocketTimeoutException e) {
+                // The server is merely slow, it may well be processing the request. Never resend.
+                throw e;
+            } catch (IOException e) {
+                // The request went out, so the server may have acted on it before closing.
+                throw idempotent ? new StaleConnectionException(e) : e;
+            }
+
+            if (!statusLine.startsWith("HTTP/1.")) {
+                throw new MalformedResponseException("Unexpected status line: " + statusLine);
+            }
+
+            boolean keepAlive = statusLine.startsWith("HTTP/1.1");
+            boolean chunked = false;
+            long contentLength = -1;
+
+            String header = readLine();
+            while (!header.isEmpty()) {
+                int colon = header.indexOf(':');
+                if (colon > 0) {
+                    String name = header.substring(0, colon).trim();
+                    String value = header.substring(colon + 1).trim();
+
+                    if (name.equalsIgnoreCase("Content-Length")) {
+                        contentLength = parseContentLength(value);
+                    } else if (name.equalsIgnoreCase("Transfer-Encoding")) {
+                        chunked = value.toLowerCase().contains("chunked");
+                    } else if (name.equalsIgnoreCase("Connection")) {
+                        keepAlive = value.equalsIgnoreCase("keep-alive")
+                            || (keepAlive && !value.equalsIgnoreCase("close"));
+                    }
+                }
+                header = readLine();
+            }
+
+            byte[] body;
+            if (chunked) {
+                body = readChunkedBody();
+            } else if (contentLength >= 0) {
+                body = readFully(contentLength);
+            } else {
+                // No framing information: the body runs until the server closes the connection.
+                body = this.input.readAllBytes();
+                keepAlive = false;
+            }
+
+            return new Response(body, keepAlive);
+        }
+
+        private byte[] readChunkedBody() throws IOException {
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+            long chunkSize = parseChunkSize(readLine());
+            while (chunkSize > 0) {
+                body.write(readFully(chunkSize));
+                readLine();
+                chunkSize = parseChunkSize(readLine());
+            }
+
+            // Consume any trailers up to the terminating empty line.
+            String trailer = readLine();
+            while (!trailer.isEmpty()) {
+                trailer = readLine();
+            }
+
+            return body.toByteArray();
+        }
+
+        private byte[] readFully(long length) throws IOException {
+            if (length > Integer.MAX_VALUE) {
+                throw new MalformedResponseException("Response body is too large: " + length + " bytes");
+            }
+
+            byte[] bytes = new byte[(int) length];
+            int offset = 0;
+            while (offset < bytes.length) {
+                int read = this.input.read(bytes, offset, bytes.length - offset);
+                if (read < 0) {
+                    throw new EOFException("Server closed the connection mid-response.");
+                }
+                offset += read;
+            }
+            return bytes;
+        }
+
+        /**
+         * Reads a single CRLF-terminated line, not including the terminator.
+         */
+        private String readLine() throws IOException {
+            ByteArrayOutputStream line = new ByteArrayOutputStream(64);
+
+            int current = this.input.read();
+            while (current != '\n') {
+                if (current < 0) {
+                    throw new EOFException("Server closed the connection mid-response.");
+                }
+                line.write(current);
+                current = this.input.read();
+            }
+
+            byte[] bytes = line.toByteArray();
+            int length = ((bytes.length > 0) && (bytes[bytes.length - 1] == CRLF[0])) ? bytes.length - 1 : bytes.length;
+            return new String(bytes, 0, length, StandardCharsets.US_ASCII);
+        }
+
+        private static long parseContentLength(String value) throws MalformedResponseException {
+            try {
+                return Long.parseLong(value);
+            } catch (NumberFormatException e) {
+                throw new MalformedResponseException("Invalid Content-Length: " + value);
+            }
+        }
+
+        private static long parseChunkSize(String line) throws MalformedResponseException {
+            int extension = line.indexOf(';');
+            String size = (extension < 0) ? line.trim() : line.substring(0, extension).trim();
+            try {
+                return Long.parseLong(size, 16);
+            } catch (NumberFormatException e) {
+                throw new MalformedResponseException("Invalid chunk size: " + line);
+            }
+        }
+
+        private void close() {
+            try {
+                this.socket.close();
+            } catch (IOException e) {
+                // Nothing to do, the connection is being discarded anyway.
+            }
+        }
+    }
+
+    /**
+     * Thrown when the server responds with something that is not a well-formed HTTP response.
+     */
+    static final class MalformedResponseException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        private MalformedResponseException(String message) {
+            super(message);
+        }
+    }
+
+}
@@ -6,24 +6,28 @@ package org.aion.harness.main.tools;
  */
 public enum RpcMethod {
 
-    SEND_RAW_TRANSACTION("eth_sendRawTransaction"),
+    SEND_RAW_TRANSACTION("eth_sendRawTransaction", false),
 
-    GET_TRANSACTION_RECEIPT("eth_getTransactionReceipt"),
+    GET_TRANSACTION_RECEIPT("eth_getTransactionReceipt", true),
 
-    GET_BLOCK_BY_NUMBER("eth_getBlockByNumber"),
+    GET_BLOCK_BY_NUMBER("eth_getBlockByNumber", true),
 
-    GET_BALANCE("eth_getBalance"),
+    GET_BLOCK_BY_HASH("eth_getBlockByHash", true),
 
-    IS_SYNCED("eth_syncing"),
+    GET_BALANCE("eth_getBalance", true),
 
-    GET_NONCE("eth_getTransactionCount"),
+    IS_SYNCED("eth_syncing", true),
 
-    BLOCK_NUMBER("eth_blockNumber");
+    GET_NONCE("eth_getTransactionCount", true),
+
+    BLOCK_NUMBER("eth_blockNumber", true);
 
     private String method;
+    private boolean idempotent;
 
-    private RpcMethod(String method) {
+    private RpcMethod(String method, boolean idempotent) {
         this.method = method;
+        this.idempotent = idempotent;
     }
 
     /**
@@ -35,6 +39,16 @@ public enum RpcMethod {
         return this.method;
     }
 
+    /**
+     * Returns true only if calling this method twice has the same effect as calling it once, so
+     * that a call that may or may not have reached the node can safely be sent again.
+     *
+     * @return whether this method is idempotent.
+     */
+    public boolean isIdempotent() {
+        return this.idempotent;
+    }
+
     @Override
     public String toString() {
         return "RpcMethod { " + this.method + " }";
@@ -1,5 +1,9 @@
 package org.aion.harness.main.tools;
 
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import org.aion.harness.util.HexCodec;
+
 /**
  * A class that holds the payload for an RPC call. The payload for an RPC call is simply the data
  * to that call (following the --data option).
@@ -7,16 +11,43 @@ package org.aion.harness.main.tools;
  * The preferred way of constructing an instance of this class is to the use the
  * {@link RpcPayloadBuilder}.
  *
+ * Every payload constructed from an {@link RpcMethod} is given its own unique id, so that its
+ * response can be told apart from the others when several payloads are sent together in a single
+ * batch. A payload constructed directly from a string has an unknown id of {@code -1}.
+ *
+ * A payload is only idempotent if it was constructed from an idempotent {@link RpcMethod}. Since
+ * nothing is known about a payload constructed directly from a string, it is never idempotent.
+ *
  * An rpc payload is immutable.
  */
 public final class RpcPayload {
+    public static final long UNKNOWN_ID = -1;
+
+    private static final AtomicLong ID_COUNTER = new AtomicLong(1);
+
     public final String payload;
+    public final long id;
+    public final boolean idempotent;
 
     public RpcPayload(String payload) {
         this.payload = payload;
+        this.id = UNKNOWN_ID;
+        this.idempotent = false;
     }
 
     public RpcPayload(RpcMethod method, String params, String defaultBlock) {
+        this(method, params, null, defaultBlock);
+    }
+
+    /**
+     * Constructs a payload whose params are the specified bytes, which are hex-encoded, with a
+     * '0x' identifier, straight into the payload.
+     */
+    public RpcPayload(RpcMethod method, byte[] params, String defaultBlock) {
+        this(method, "", Objects.requireNonNull(params, "Cannot construct rpc payload with null params."), defaultBlock);
+    }
+
+    private RpcPayload(RpcMethod method, String params, byte[] hexParams, String defaultBlock) {
         if (method == null) {
             throw new NullPointerException("Cannot construct rpc payload with null method.");
         }
@@ -27,15 +58,14 @@ public final class RpcPayload {
             throw new NullPointerException("Cannot construct rpc payload with null default block.");
         }
 
-        String parameters;
-        if ((!params.isEmpty()) && (!defaultBlock.isEmpty())) {
-            parameters = "\"" + params + "\",\"" + defaultBlock + "\"";
-        } else if ((!params.isEmpty()) && (defaultBlock.isEmpty())) {
-            parameters = params;
-        } else {
-            parameters = "";
+        this.id = ID_COUNTER.getAndIncrement();
+        this.idempotent = method.isIdempotent();
+
+        String parameters = (hexParams == null) ? params : "0x" + HexCodec.toHex(hexParams);
+        if ((!parameters.isEmpty()) && (!defaultBlock.isEmpty())) {
+            parameters = "\"" + parameters + "\",\"" + defaultBlock + "\"";
         }
 
-        this.payload = "{\"jsonrpc\":\"2.0\",\"method\":\"" + method.getMethod() + "\",\"params\":[" + parameters + "],\"id\":1}";
+        this.payload = "{\"jsonrpc\":\"2.0\",\"method\":\"" + method.getMethod() + "\",\"params\":[" + parameters + "],\"id\":" + this.id + "}";
     }
 }
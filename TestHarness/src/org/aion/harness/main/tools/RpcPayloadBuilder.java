@@ -13,6 +13,7 @@ package org.aion.harness.main.tools;
 public final class RpcPayloadBuilder {
     private RpcMethod method;
     private String params;
+    private byte[] hexParams;
     private String defaultBlock;
 
     /**
@@ -34,6 +35,20 @@ public final class RpcPayloadBuilder {
      */
     public RpcPayloadBuilder params(String params) {
         this.params = params;
+        this.hexParams = null;
+        return this;
+    }
+
+    /**
+     * The bytes to insert, hex-encoded, into the 'params' section of the RPC payload. The bytes are
+     * encoded straight into the payload when it is built.
+     *
+     * @param params The parameters.
+     * @return this builder.
+     */
+    public RpcPayloadBuilder params(byte[] params) {
+        this.hexParams = params;
+        this.params = null;
         return this;
     }
 
@@ -54,6 +69,10 @@ public final class RpcPayloadBuilder {
      * @return an rpc payload.
      */
     public RpcPayload build() {
+        if (this.hexParams != null) {
+            return new RpcPayload(this.method, this.hexParams, (this.defaultBlock == null) ? "" : this.defaultBlock);
+        }
+
         String parameters = (this.params == null) ? "" : "0x" + this.params;
         String block = (this.defaultBlock == null) ? "" : this.defaultBlock;
 
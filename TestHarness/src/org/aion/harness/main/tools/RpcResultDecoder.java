@@ -0,0 +1,131 @@
+package org.aion.harness.main.tools;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigInteger;
+import org.aion.harness.util.HexCodec;
+import org.apache.commons.codec.DecoderException;
+
+/**
+ * Decodes the 'result' of an RPC response straight out of the response as it is being read, so
+ * that the response never has to be held as a tree of json elements, or parsed a second time.
+ *
+ * A decoder is only ever handed a reader positioned at a non-null result, and must consume exactly
+ * that one value. A decoder that fails to make sense of the value should throw only after it has
+ * consumed all of it, so that the rest of the response can still be read. A decoder that fails with
+ * a runtime exception part way through the value, such as a malformed number or an unexpected
+ * token, only fails the call whose result it was decoding: whatever it left of the value is
+ * skipped over.
+ */
+@FunctionalInterface
+public interface RpcResultDecoder<T> {
+
+    /**
+     * Decodes a hex-encoded quantity, such as a balance or nonce.
+     */
+    RpcResultDecoder<BigInteger> QUANTITY = reader -> {
+        String quantity = nextHexString(reader);
+        return (quantity == null) ? null : HexCodec.decodeBigInteger(quantity);
+    };
+
+    /**
+     * Decodes hex-encoded data, such as a hash or the output of a call. Empty data is decoded as
+     * null.
+     */
+    RpcResultDecoder<byte[]> DATA = reader -> {
+        String data = nextHexString(reader);
+        return (data == null) ? null : HexCodec.decode(data);
+    };
+
+    /**
+     * Decodes a plain decimal number, given either as a json number or as a string.
+     */
+    RpcResultDecoder<Long> NUMBER = JsonReader::nextLong;
+
+    /**
+     * Decodes any value as its compact json text, without otherwise interpreting it.
+     */
+    RpcResultDecoder<String> JSON = reader -> {
+        StringWriter json = new StringWriter();
+        JsonWriter writer = new JsonWriter(json);
+        writer.setLenient(true);
+        copyValue(reader, writer);
+        writer.flush();
+        return json.toString();
+    };
+
+    /**
+     * Decodes the value the reader is positioned at.
+     *
+     * @param reader The reader positioned at the value to decode.
+     * @return the decoded value.
+     */
+    T decode(JsonReader reader) throws IOException, DecoderException;
+
+    /**
+     * Consumes the next value and returns it as a hex string. The string is returned as it is, and
+     * so may still begin with a '0x' identifier, which {@link HexCodec} skips over when decoding.
+     *
+     * If the value is null, or is the empty string or the string 'null', or has no digits beyond
+     * its identifier, then this method returns null. This mirrors
+     * {@link JsonStringParser#attributeToString(String)}.
+     *
+     * @param reader The reader positioned at the value to read.
+     * @return the value as a hex string.
+     */
+    static String nextHexString(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+
+        String value = reader.nextString();
+        return ((value.length() == HexCodec.prefixLength(value)) || value.equals("null")) ? null : value;
+    }
+
+    /**
+     * Consumes the next value and writes it, token by token, to the specified writer.
+     */
+    private static void copyValue(JsonReader reader, JsonWriter writer) throws IOException {
+        switch (reader.peek()) {
+            case BEGIN_OBJECT:
+                reader.beginObject();
+                writer.beginObject();
+                while (reader.hasNext()) {
+                    writer.name(reader.nextName());
+                    copyValue(reader, writer);
+                }
+                reader.endObject();
+                writer.endObject();
+                break;
+            case BEGIN_ARRAY:
+                reader.beginArray();
+                writer.beginArray();
+                while (reader.hasNext()) {
+                    copyValue(reader, writer);
+                }
+                reader.endArray();
+                writer.endArray();
+                break;
+            case STRING:
+                writer.value(reader.nextString());
+                break;
+            case NUMBER:
+                // Written as it was read, so that no precision is lost to a double.
+                writer.jsonValue(reader.nextString());
+                break;
+            case BOOLEAN:
+                writer.value(reader.nextBoolean());
+                break;
+            case NULL:
+                reader.nextNull();
+                writer.nullValue();
+                break;
+            default:
+                throw new IllegalStateException("Expected a json value but was " + reader.peek());
+        }
+    }
+}
@@ -2,7 +2,7 @@ package org.aion.harness.main.types;
 
 import java.math.BigInteger;
 import java.util.Arrays;
-import org.apache.commons.codec.binary.Hex;
+import org.aion.harness.util.HexCodec;
 
 public final class Block {
     private final long difficulty;
@@ -154,12 +154,12 @@ public final class Block {
             + ", block energy limit = " + this.blockEnergyLimit
             + ", block energy used = " + this.blockEnergyUsed
             + ", block size (in bytes) = " + this.blockSizeInBytes
-            + ", hash = 0x" + Hex.encodeHexString(this.hash)
-            + ", parent hash = 0x" + Hex.encodeHexString(this.parentHash)
-            + ", state root = 0x" + Hex.encodeHexString(this.stateRoot)
-            + ", receipts root = 0x" + Hex.encodeHexString(this.receiptTrieRoot)
-            + ", nonce = 0x" + Hex.encodeHexString(this.nonce)
-            + ", bloom filter = 0x" + Hex.encodeHexString(this.bloomFilter) + " }";
+            + ", hash = 0x" + HexCodec.toHex(this.hash)
+            + ", parent hash = 0x" + HexCodec.toHex(this.parentHash)
+            + ", state root = 0x" + HexCodec.toHex(this.stateRoot)
+            + ", receipts root = 0x" + HexCodec.toHex(this.receiptTrieRoot)
+            + ", nonce = 0x" + HexCodec.toHex(this.nonce)
+            + ", bloom filter = 0x" + HexCodec.toHex(this.bloomFilter) + " }";
     }
 
     /**
@@ -0,0 +1,257 @@
+package org.aion.harness.main.types;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * A compact representation of a {@link Block}, for holding large numbers of blocks in memory at
+ * once, or for scanning through them in bulk.
+ *
+ * Whereas a block holds each of its hashes in an array of its own and copies the array on every
+ * get, a packed block holds every one of its fields in a single byte array. Its hashes are exposed
+ * as read-only views into that array, and its numeric fields are read straight out of it, so that
+ * reading a packed block copies nothing.
+ *
+ * A packed block is immutable.
+ */
+public final class PackedBlock {
+    private static final int DIFFICULTY = 0;
+    private static final int SIZE = 1;
+    private static final int ENERGY_LIMIT = 2;
+    private static final int ENERGY_USED = 3;
+    private static final int NUMBER = 4;
+    private static final int NUM_PRIMITIVES = 5;
+
+    private static final int HASH = 0;
+    private static final int PARENT_HASH = 1;
+    private static final int BLOOM_FILTER = 2;
+    private static final int RECEIPT_TRIE_ROOT = 3;
+    private static final int STATE_ROOT = 4;
+    private static final int NONCE = 5;
+    private static final int TOTAL_DIFFICULTY = 6;
+
+    private final byte[] packed;
+
+    public PackedBlock(long difficulty, long blockSizeInBytes, long blockEnergyLimit, long blockEnergyUsed,
+        byte[] hash, byte[] parentHash, byte[] bloomFilter, byte[] receiptTrieRoot, byte[] stateRoot,
+        byte[] nonce, BigInteger number, BigInteger totalDifficulty) {
+
+        this.packed = PackedLayout.pack(
+            new long[]{ difficulty, blockSizeInBytes, blockEnergyLimit, blockEnergyUsed, toBlockNumber(number) },
+            hash, parentHash, bloomFilter, receiptTrieRoot, stateRoot, nonce, totalDifficulty.toByteArray());
+    }
+
+    /**
+     * Returns a packed block holding the same fields as the specified block.
+     *
+     * @param block The block to pack.
+     * @return the packed block.
+     */
+    public static PackedBlock from(Block block) {
+        if (block == null) {
+            throw new NullPointerException("Cannot pack a null block.");
+        }
+
+        return new PackedBlock(
+            block.blockDifficulty(),
+            block.blockSizeInBytes(),
+            block.getBlockEnergyLimit(),
+            block.getBlockEnergyUsed(),
+            block.getBlockHash(),
+            block.getParentBlockHash(),
+            block.getBloomFilter(),
+            block.getTransactionReceiptsTrieRoot(),
+            block.getStateRoot(),
+            block.getBlockNonce(),
+            block.getBlockNumber(),
+            block.getTotalDifficulty());
+    }
+
+    /**
+     * Returns this block as an unpacked {@link Block}.
+     *
+     * @return the unpacked block.
+     */
+    public Block toBlock() {
+        return new Block(
+            blockDifficulty(),
+            blockSizeInBytes(),
+            getBlockEnergyLimit(),
+            getBlockEnergyUsed(),
+            PackedLayout.copy(this.packed, NUM_PRIMITIVES, HASH),
+            PackedLayout.copy(this.packed, NUM_PRIMITIVES, PARENT_HASH),
+            PackedLayout.copy(this.packed, NUM_PRIMITIVES, BLOOM_FILTER),
+            PackedLayout.copy(this.packed, NUM_PRIMITIVES, RECEIPT_TRIE_ROOT),
+            PackedLayout.copy(this.packed, NUM_PRIMITIVES, STATE_ROOT),
+            PackedLayout.copy(this.packed, NUM_PRIMITIVES, NONCE),
+            BigInteger.valueOf(getBlockNumber()),
+            getTotalDifficulty());
+    }
+
+    /**
+     * Returns the difficulty for this block.
+     *
+     * @return the block difficulty.
+     */
+    public long blockDifficulty() {
+        return PackedLayout.primitiveAt(this.packed, DIFFICULTY);
+    }
+
+    /**
+     * Returns the size of this block in bytes.
+     *
+     * @return the size of the block.
+     */
+    public long blockSizeInBytes() {
+        return PackedLayout.primitiveAt(this.packed, SIZE);
+    }
+
+    /**
+     * Returns the total amount of energy that is allowed in this block.
+     *
+     * @return the block's maximum energy limit.
+     */
+    public long getBlockEnergyLimit() {
+        return PackedLayout.primitiveAt(this.packed, ENERGY_LIMIT);
+    }
+
+    /**
+     * Returns the amount of energy used by all of the transactions in this block.
+     *
+     * @return the block's total energy used.
+     */
+    public long getBlockEnergyUsed() {
+        return PackedLayout.primitiveAt(this.packed, ENERGY_USED);
+    }
+
+    /**
+     * Returns the number of this block.
+     *
+     * @return the block's number.
+     */
+    public long getBlockNumber() {
+        return PackedLayout.primitiveAt(this.packed, NUMBER);
+    }
+
+    /**
+     * Returns a read-only view of the hash of this block.
+     *
+     * @return the block's hash.
+     */
+    public ByteBuffer getBlockHash() {
+        return PackedLayout.view(this.packed, NUM_PRIMITIVES, HASH);
+    }
+
+    /**
+     * Returns {@code true} only if the hash of this block is the specified hash, without copying
+     * either of them.
+     *
+     * @param hash The hash to compare against.
+     * @return whether this block has the hash.
+     */
+    public boolean hasBlockHash(byte[] hash) {
+        return PackedLayout.fieldEquals(this.packed, NUM_PRIMITIVES, HASH, hash);
+    }
+
+    /**
+     * Returns a read-only view of the hash of the block that is the parent of this block.
+     *
+     * @return the parent block's hash.
+     */
+    public ByteBuffer getParentBlockHash() {
+        return PackedLayout.view(this.packed, NUM_PRIMITIVES, PARENT_HASH);
+    }
+
+    /**
+     * Returns a read-only view of the bloom filter for all of the logs in this block.
+     *
+     * @return the bloom filter for the logs in this block.
+     */
+    public ByteBuffer getBloomFilter() {
+        return PackedLayout.view(this.packed, NUM_PRIMITIVES, BLOOM_FILTER);
+    }
+
+    /**
+     * Returns a read-only view of the root of the final receipts trie for the block.
+     *
+     * @return the root of the receipts trie for the receipts in this block.
+     */
+    public ByteBuffer getTransactionReceiptsTrieRoot() {
+        return PackedLayout.view(this.packed, NUM_PRIMITIVES, RECEIPT_TRIE_ROOT);
+    }
+
+    /**
+     * Returns a read-only view of the root of the final state trie for the block.
+     *
+     * @return the root of the state trie for the block.
+     */
+    public ByteBuffer getStateRoot() {
+        return PackedLayout.view(this.packed, NUM_PRIMITIVES, STATE_ROOT);
+    }
+
+    /**
+     * Returns a read-only view of the block's nonce.
+     *
+     * @return the block's nonce.
+     */
+    public ByteBuffer getBlockNonce() {
+        return PackedLayout.view(this.packed, NUM_PRIMITIVES, NONCE);
+    }
+
+    /**
+     * Returns the sum of all the block difficulties up to and including this block.
+     *
+     * Unlike the other getters, this constructs a new big integer on every call.
+     *
+     * @return the total difficulty of the chain at this block.
+     */
+    public BigInteger getTotalDifficulty() {
+        return new BigInteger(PackedLayout.copy(this.packed, NUM_PRIMITIVES, TOTAL_DIFFICULTY));
+    }
+
+    @Override
+    public String toString() {
+        return "PackedBlock { number = " + getBlockNumber()
+            + ", difficulty = " + blockDifficulty()
+            + ", total difficulty = " + getTotalDifficulty()
+            + ", block energy limit = " + getBlockEnergyLimit()
+            + ", block energy used = " + getBlockEnergyUsed()
+            + ", block size (in bytes) = " + blockSizeInBytes()
+            + ", hash = 0x" + PackedLayout.toHex(this.packed, NUM_PRIMITIVES, HASH)
+            + ", parent hash = 0x" + PackedLayout.toHex(this.packed, NUM_PRIMITIVES, PARENT_HASH)
+            + ", state root = 0x" + PackedLayout.toHex(this.packed, NUM_PRIMITIVES, STATE_ROOT)
+            + ", receipts root = 0x" + PackedLayout.toHex(this.packed, NUM_PRIMITIVES, RECEIPT_TRIE_ROOT)
+            + ", nonce = 0x" + PackedLayout.toHex(this.packed, NUM_PRIMITIVES, NONCE)
+            + ", bloom filter = 0x" + PackedLayout.toHex(this.packed, NUM_PRIMITIVES, BLOOM_FILTER) + " }";
+    }
+
+    /**
+     * Returns {@code true} if, and only if, other is a packed block and all of its fields are equal
+     * to those of this block.
+     *
+     * @param other The other object whose equality is to be tested.
+     * @return true if other is a packed block with the same fields.
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof PackedBlock)) {
+            return false;
+        }
+
+        return Arrays.equals(this.packed, ((PackedBlock) other).packed);
+    }
+
+    @Override
+    public int hashCode() {
+        return PackedLayout.fieldHashCode(this.packed, NUM_PRIMITIVES, HASH);
+    }
+
+    private static long toBlockNumber(BigInteger number) {
+        if ((number.signum() < 0) || (number.bitLength() >= Long.SIZE)) {
+            throw new IllegalArgumentException("Cannot pack a block whose number does not fit in a long: " + number);
+        }
+        return number.longValue();
+    }
+
+}
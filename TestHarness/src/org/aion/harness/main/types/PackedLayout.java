@@ -0,0 +1,132 @@
+package org.aion.harness.main.types;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.aion.harness.util.HexCodec;
+
+/**
+ * The layout shared by the packed types, which hold all of their fields in a single byte array.
+ *
+ * A packed array begins with a fixed number of primitive fields, each 8 bytes wide regardless of
+ * its type. These are followed by a table of the offsets of the variable-length fields, whose
+ * i'th entry is the offset at which the i'th field begins and whose final entry is the length of
+ * the array, so that the i'th field ends where the (i+1)'th begins. The variable-length fields
+ * themselves come last, one after the other.
+ *
+ * All values are big-endian.
+ */
+final class PackedLayout {
+    private static final VarHandle LONG = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle INT = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+
+    private PackedLayout() {}
+
+    /**
+     * Returns a new array holding the specified primitive fields followed by the specified
+     * variable-length fields.
+     */
+    static byte[] pack(long[] primitives, byte[]... fields) {
+        int tableOffset = primitives.length * Long.BYTES;
+        int length = tableOffset + ((fields.length + 1) * Integer.BYTES);
+        for (byte[] field : fields) {
+            length += field.length;
+        }
+
+        byte[] packed = new byte[length];
+        for (int i = 0; i < primitives.length; i++) {
+            LONG.set(packed, i * Long.BYTES, primitives[i]);
+        }
+
+        int offset = tableOffset + ((fields.length + 1) * Integer.BYTES);
+        for (int i = 0; i < fields.length; i++) {
+            INT.set(packed, tableOffset + (i * Integer.BYTES), offset);
+            System.arraycopy(fields[i], 0, packed, offset, fields[i].length);
+            offset += fields[i].length;
+        }
+        INT.set(packed, tableOffset + (fields.length * Integer.BYTES), offset);
+
+        return packed;
+    }
+
+    /**
+     * Returns the primitive field at the specified index.
+     */
+    static long primitiveAt(byte[] packed, int index) {
+        return (long) LONG.get(packed, index * Long.BYTES);
+    }
+
+    /**
+     * Returns the offset of the variable-length field at the specified index, in an array with the
+     * specified number of primitive fields.
+     */
+    static int offsetOf(byte[] packed, int numPrimitives, int index) {
+        return (int) INT.get(packed, (numPrimitives * Long.BYTES) + (index * Integer.BYTES));
+    }
+
+    /**
+     * Returns the length of the variable-length field at the specified index, in an array with the
+     * specified number of primitive fields.
+     */
+    static int lengthOf(byte[] packed, int numPrimitives, int index) {
+        return offsetOf(packed, numPrimitives, index + 1) - offsetOf(packed, numPrimitives, index);
+    }
+
+    /**
+     * Returns a read-only view of the variable-length field at the specified index, whose position
+     * is zero and whose limit is the length of the field.
+     */
+    static ByteBuffer view(byte[] packed, int numPrimitives, int index) {
+        int offset = offsetOf(packed, numPrimitives, index);
+        return ByteBuffer.wrap(packed, offset, lengthOf(packed, numPrimitives, index)).slice().asReadOnlyBuffer();
+    }
+
+    /**
+     * Returns a copy of the variable-length field at the specified index.
+     */
+    static byte[] copy(byte[] packed, int numPrimitives, int index) {
+        int offset = offsetOf(packed, numPrimitives, index);
+        byte[] field = new byte[lengthOf(packed, numPrimitives, index)];
+        System.arraycopy(packed, offset, field, 0, field.length);
+        return field;
+    }
+
+    /**
+     * Returns {@code true} only if the variable-length field at the specified index holds exactly
+     * the specified bytes.
+     */
+    static boolean fieldEquals(byte[] packed, int numPrimitives, int index, byte[] bytes) {
+        int offset = offsetOf(packed, numPrimitives, index);
+        int end = offset + lengthOf(packed, numPrimitives, index);
+        return Arrays.equals(packed, offset, end, bytes, 0, bytes.length);
+    }
+
+    /**
+     * Returns a hash code of the variable-length field at the specified index that is equal to
+     * {@code Arrays.hashCode} of a copy of the field.
+     */
+    static int fieldHashCode(byte[] packed, int numPrimitives, int index) {
+        int offset = offsetOf(packed, numPrimitives, index);
+        int end = offset + lengthOf(packed, numPrimitives, index);
+
+        int hash = 1;
+        for (int i = offset; i < end; i++) {
+            hash = (31 * hash) + packed[i];
+        }
+        return hash;
+    }
+
+    /**
+     * Returns the variable-length field at the specified index as hex, without any '0x' identifier.
+     */
+    static String toHex(byte[] packed, int numPrimitives, int index) {
+        int length = lengthOf(packed, numPrimitives, index);
+        byte[] hex = new byte[length * 2];
+        HexCodec.encode(packed, offsetOf(packed, numPrimitives, index), length, hex, 0);
+        return new String(hex, StandardCharsets.ISO_8859_1);
+    }
+
+}
@@ -0,0 +1,302 @@
+package org.aion.harness.main.types;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Optional;
+import org.aion.harness.kernel.Address;
+
+/**
+ * A compact representation of a {@link TransactionReceipt}, for holding large numbers of receipts
+ * in memory at once, or for scanning through them in bulk.
+ *
+ * A packed receipt holds every one of its fields, addresses included, in a single byte array. Its
+ * hashes are exposed as read-only views into that array, and its numeric fields are read straight
+ * out of it, so that reading a packed receipt copies nothing. Only its addresses are constructed
+ * on demand.
+ *
+ * A packed transaction receipt is immutable.
+ */
+public final class PackedTransactionReceipt {
+    private static final int ENERGY_PRICE = 0;
+    private static final int ENERGY_LIMIT = 1;
+    private static final int ENERGY_CONSUMED = 2;
+    private static final int CUMULATIVE_ENERGY_CONSUMED = 3;
+    private static final int BLOCK_NUMBER = 4;
+    private static final int TRANSACTION_INDEX = 5;
+    private static final int STATUS = 6;
+    private static final int NUM_PRIMITIVES = 7;
+
+    private static final int BLOCK_HASH = 0;
+    private static final int BLOOM_FILTER = 1;
+    private static final int TRANSACTION_HASH = 2;
+    private static final int STATE_ROOT_HASH = 3;
+    private static final int SENDER = 4;
+    // These two are empty when absent, since an address is never empty.
+    private static final int DEPLOYED_CONTRACT_ADDRESS = 5;
+    private static final int DESTINATION = 6;
+
+    private static final byte[] ABSENT = new byte[0];
+
+    private final byte[] packed;
+
+    public PackedTransactionReceipt(long energyPrice, long energyLimit, long energyConsumed, long cumulativeEnergyConsumed,
+        int transactionIndex, byte[] blockHash, byte[] bloomFilter, byte[] transactionHash, byte[] stateRootHash,
+        BigInteger blockNumber, Address newContractAddress, Address sender, Address destination, int status) {
+
+        this.packed = PackedLayout.pack(
+            new long[]{ energyPrice, energyLimit, energyConsumed, cumulativeEnergyConsumed, toBlockNumber(blockNumber), transactionIndex, status },
+            blockHash,
+            bloomFilter,
+            transactionHash,
+            stateRootHash,
+            sender.getAddressBytes(),
+            (newContractAddress == null) ? ABSENT : newContractAddress.getAddressBytes(),
+            (destination == null) ? ABSENT : destination.getAddressBytes());
+    }
+
+    /**
+     * Returns a packed receipt holding the same fields as the specified receipt.
+     *
+     * @param receipt The receipt to pack.
+     * @return the packed receipt.
+     */
+    public static PackedTransactionReceipt from(TransactionReceipt receipt) {
+        if (receipt == null) {
+            throw new NullPointerException("Cannot pack a null transaction receipt.");
+        }
+
+        return new PackedTransactionReceipt(
+            receipt.getTransactionEnergyPrice(),
+            receipt.getTransactionEnergyLimit(),
+            receipt.getTransactionEnergyConsumed(),
+            receipt.getCumulativeEnergyConsumed(),
+            receipt.getTransactionIndex(),
+            receipt.getBlockHash(),
+            receipt.getBloomFilter(),
+            receipt.getTransactionHash(),
+            receipt.getStateRootHash(),
+            receipt.getBlockNumber(),
+            receipt.getAddressOfDeployedContract().orElse(null),
+            receipt.getTransactionSender(),
+            receipt.getTransactionDestination().orElse(null),
+            receipt.getStatus());
+    }
+
+    /**
+     * Returns this receipt as an unpacked {@link TransactionReceipt}.
+     *
+     * @return the unpacked receipt.
+     */
+    public TransactionReceipt toTransactionReceipt() {
+        return new TransactionReceipt(
+            getTransactionEnergyPrice(),
+            getTransactionEnergyLimit(),
+            getTransactionEnergyConsumed(),
+            getCumulativeEnergyConsumed(),
+            getTransactionIndex(),
+            PackedLayout.copy(this.packed, NUM_PRIMITIVES, BLOCK_HASH),
+            PackedLayout.copy(this.packed, NUM_PRIMITIVES, BLOOM_FILTER),
+            PackedLayout.copy(this.packed, NUM_PRIMITIVES, TRANSACTION_HASH),
+            PackedLayout.copy(this.packed, NUM_PRIMITIVES, STATE_ROOT_HASH),
+            BigInteger.valueOf(getBlockNumber()),
+            getAddressOfDeployedContract().orElse(null),
+            getTransactionSender(),
+            getTransactionDestination().orElse(null),
+            getStatus());
+    }
+
+    /**
+     * Returns the energy price of the transaction.
+     *
+     * @return the transaction energy price.
+     */
+    public long getTransactionEnergyPrice() {
+        return PackedLayout.primitiveAt(this.packed, ENERGY_PRICE);
+    }
+
+    /**
+     * Returns the energy limit of the transaction.
+     *
+     * @return the transaction energy limit.
+     */
+    public long getTransactionEnergyLimit() {
+        return PackedLayout.primitiveAt(this.packed, ENERGY_LIMIT);
+    }
+
+    /**
+     * Returns the amount of energy used by the transaction.
+     *
+     * @return the transaction energy consumed.
+     */
+    public long getTransactionEnergyConsumed() {
+        return PackedLayout.primitiveAt(this.packed, ENERGY_CONSUMED);
+    }
+
+    /**
+     * Returns the cumulative amount of energy used by all transactions in the block that this
+     * transaction belongs to.
+     *
+     * @return the total amount of energy used.
+     */
+    public long getCumulativeEnergyConsumed() {
+        return PackedLayout.primitiveAt(this.packed, CUMULATIVE_ENERGY_CONSUMED);
+    }
+
+    /**
+     * Returns the index in the block in which this transaction sits.
+     *
+     * @return the transaction block index.
+     */
+    public int getTransactionIndex() {
+        return (int) PackedLayout.primitiveAt(this.packed, TRANSACTION_INDEX);
+    }
+
+    /**
+     * Returns the status code of the transaction.
+     *
+     * @return the transaction status.
+     */
+    public int getStatus() {
+        return (int) PackedLayout.primitiveAt(this.packed, STATUS);
+    }
+
+    /**
+     * Returns the block number of the block that this transaction was sealed in.
+     *
+     * @return the block number.
+     */
+    public long getBlockNumber() {
+        return PackedLayout.primitiveAt(this.packed, BLOCK_NUMBER);
+    }
+
+    /**
+     * Returns a read-only view of the block hash of the block this transaction is sealed in.
+     *
+     * @return the block hash.
+     */
+    public ByteBuffer getBlockHash() {
+        return PackedLayout.view(this.packed, NUM_PRIMITIVES, BLOCK_HASH);
+    }
+
+    /**
+     * Returns a read-only view of the bloom filter corresponding to this transaction.
+     *
+     * @return the log bloom filter.
+     */
+    public ByteBuffer getBloomFilter() {
+        return PackedLayout.view(this.packed, NUM_PRIMITIVES, BLOOM_FILTER);
+    }
+
+    /**
+     * Returns a read-only view of the hash of the transaction that this receipt is describing.
+     *
+     * @return the transaction hash.
+     */
+    public ByteBuffer getTransactionHash() {
+        return PackedLayout.view(this.packed, NUM_PRIMITIVES, TRANSACTION_HASH);
+    }
+
+    /**
+     * Returns {@code true} only if the hash of the transaction that this receipt is describing is
+     * the specified hash, without copying either of them.
+     *
+     * @param hash The hash to compare against.
+     * @return whether this receipt describes the transaction with the hash.
+     */
+    public boolean hasTransactionHash(byte[] hash) {
+        return PackedLayout.fieldEquals(this.packed, NUM_PRIMITIVES, TRANSACTION_HASH, hash);
+    }
+
+    /**
+     * Returns a read-only view of the state root hash at the time directly after this transaction
+     * was executed.
+     *
+     * @return the state root hash.
+     */
+    public ByteBuffer getStateRootHash() {
+        return PackedLayout.view(this.packed, NUM_PRIMITIVES, STATE_ROOT_HASH);
+    }
+
+    /**
+     * Returns the address of the new contract, if the transaction created one.
+     *
+     * @return the new contract address, if a new contract was created.
+     */
+    public Optional<Address> getAddressOfDeployedContract() {
+        return addressAt(DEPLOYED_CONTRACT_ADDRESS);
+    }
+
+    /**
+     * Returns the address of the account that sent this transaction.
+     *
+     * @return the sender address.
+     */
+    public Address getTransactionSender() {
+        return new Address(PackedLayout.copy(this.packed, NUM_PRIMITIVES, SENDER));
+    }
+
+    /**
+     * Returns the address the transaction was sent to, if it was not a contract creation.
+     *
+     * @return the destination address, if one was specified.
+     */
+    public Optional<Address> getTransactionDestination() {
+        return addressAt(DESTINATION);
+    }
+
+    @Override
+    public String toString() {
+        return "PackedTransactionReceipt { energy limit = " + getTransactionEnergyLimit()
+            + ", energy price = " + getTransactionEnergyPrice()
+            + ", energy consumed = " + getTransactionEnergyConsumed()
+            + ", total energy consumed = " + getCumulativeEnergyConsumed()
+            + ", transaction index = " + getTransactionIndex()
+            + ", block hash = 0x" + PackedLayout.toHex(this.packed, NUM_PRIMITIVES, BLOCK_HASH)
+            + ", bloom filter = 0x" + PackedLayout.toHex(this.packed, NUM_PRIMITIVES, BLOOM_FILTER)
+            + ", transaction hash = 0x" + PackedLayout.toHex(this.packed, NUM_PRIMITIVES, TRANSACTION_HASH)
+            + ", state root hash = 0x" + PackedLayout.toHex(this.packed, NUM_PRIMITIVES, STATE_ROOT_HASH)
+            + ", block number = " + getBlockNumber()
+            + ", deployed contract address = " + getAddressOfDeployedContract().orElse(null)
+            + ", transaction sender = " + getTransactionSender()
+            + ", transaction destination = " + getTransactionDestination().orElse(null)
+            + ", status = " + getStatus()
+            + " }";
+    }
+
+    /**
+     * Returns {@code true} if, and only if, other is a packed receipt and all of its fields are
+     * equal to those of this receipt.
+     *
+     * @param other The other object whose equality is to be tested.
+     * @return true if other is a packed receipt with the same fields.
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof PackedTransactionReceipt)) {
+            return false;
+        }
+
+        return Arrays.equals(this.packed, ((PackedTransactionReceipt) other).packed);
+    }
+
+    @Override
+    public int hashCode() {
+        return PackedLayout.fieldHashCode(this.packed, NUM_PRIMITIVES, TRANSACTION_HASH);
+    }
+
+    private Optional<Address> addressAt(int index) {
+        if (PackedLayout.lengthOf(this.packed, NUM_PRIMITIVES, index) == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(new Address(PackedLayout.copy(this.packed, NUM_PRIMITIVES, index)));
+    }
+
+    private static long toBlockNumber(BigInteger number) {
+        if ((number.signum() < 0) || (number.bitLength() >= Long.SIZE)) {
+            throw new IllegalArgumentException("Cannot pack a receipt whose block number does not fit in a long: " + number);
+        }
+        return number.longValue();
+    }
+
+}
@@ -2,7 +2,7 @@ package org.aion.harness.main.types;
 
 import java.util.Arrays;
 import org.aion.harness.main.RPC;
-import org.apache.commons.codec.binary.Hex;
+import org.aion.harness.util.HexCodec;
 
 /**
  * A receipt hash is a hashed value, represented as a byte array, that identifies a transaction
@@ -41,7 +41,7 @@ public final class ReceiptHash {
 
     @Override
     public String toString() {
-        return "ReceiptHash { hash = 0x" + Hex.encodeHexString(this.hash) + " }";
+        return "ReceiptHash { hash = 0x" + HexCodec.toHex(this.hash) + " }";
     }
 
     /**
@@ -5,7 +5,7 @@ import java.util.Arrays;
 import java.util.Optional;
 import org.aion.harness.kernel.Address;
 import org.aion.harness.main.types.internal.TransactionReceiptBuilder;
-import org.apache.commons.codec.binary.Hex;
+import org.aion.harness.util.HexCodec;
 
 /**
  * A transaction receipt holds pertinent information related to a transaction that has been sealed
@@ -182,6 +182,15 @@ public final class TransactionReceipt {
         return (this.destination == null) ? Optional.empty() : Optional.of(this.destination);
     }
 
+    /**
+     * Returns the status code of the transaction.
+     *
+     * @return the transaction status.
+     */
+    public int getStatus() {
+        return this.status;
+    }
+
     @Override
     public String toString() {
         return "TransactionReceipt { energy limit = " + this.energyLimit
@@ -189,10 +198,10 @@ public final class TransactionReceipt {
             + ", energy consumed = " + this.energyConsumed
             + ", total energy consumed = " + this.cumulativeEnergyConsumed
             + ", transaction index = " + this.transactionIndex
-            + ", block hash = 0x" + Hex.encodeHexString(this.blockHash)
-            + ", bloom filter = 0x" + Hex.encodeHexString(this.bloomFilter)
-            + ", transaction hash = 0x" + Hex.encodeHexString(this.transactionHash)
-            + ", state root hash = 0x" + Hex.encodeHexString(this.stateRootHash)
+            + ", block hash = 0x" + HexCodec.toHex(this.blockHash)
+            + ", bloom filter = 0x" + HexCodec.toHex(this.bloomFilter)
+            + ", transaction hash = 0x" + HexCodec.toHex(this.transactionHash)
+            + ", state root hash = 0x" + HexCodec.toHex(this.stateRootHash)
             + ", block number = " + this.blockNumber
             + ", deployed contract address = " + this.deployedContractAddress
             + ", transaction sender = " + this.sender
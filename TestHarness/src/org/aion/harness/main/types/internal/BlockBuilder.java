@@ -1,10 +1,14 @@
 package org.aion.harness.main.types.internal;
 
+import com.google.gson.stream.JsonReader;
+import java.io.IOException;
+import java.io.StringReader;
 import java.math.BigInteger;
-import org.aion.harness.main.tools.JsonStringParser;
+import org.aion.harness.main.tools.RpcResultDecoder;
 import org.aion.harness.main.types.Block;
+import org.aion.harness.main.types.PackedBlock;
+import org.aion.harness.util.HexCodec;
 import org.apache.commons.codec.DecoderException;
-import org.apache.commons.codec.binary.Hex;
 
 public final class BlockBuilder {
     private long difficulty = -1;
@@ -81,6 +85,47 @@ public final class BlockBuilder {
     }
 
     public Block build() {
+        checkComplete();
+
+        return new Block(
+            this.difficulty,
+            this.blockSizeInBytes,
+            this.blockEnergyLimit,
+            this.blockEnergyUsed,
+            this.hash,
+            this.parentHash,
+            this.bloomFilter,
+            this.receiptTrieRoot,
+            this.stateRoot,
+            this.nonce,
+            this.number,
+            this.totalDifficulty);
+    }
+
+    /**
+     * Builds a {@link PackedBlock} from the fields set so far, without constructing a block first.
+     *
+     * @return the packed block.
+     */
+    public PackedBlock buildPacked() {
+        checkComplete();
+
+        return new PackedBlock(
+            this.difficulty,
+            this.blockSizeInBytes,
+            this.blockEnergyLimit,
+            this.blockEnergyUsed,
+            this.hash,
+            this.parentHash,
+            this.bloomFilter,
+            this.receiptTrieRoot,
+            this.stateRoot,
+            this.nonce,
+            this.number,
+            this.totalDifficulty);
+    }
+
+    private void checkComplete() {
         if (this.difficulty < 0) {
             throw new IllegalStateException("Cannot build block with no difficulty set.");
         }
@@ -117,52 +162,89 @@ public final class BlockBuilder {
         if (this.totalDifficulty == null) {
             throw new IllegalStateException("Cannot build block with no total difficulty set.");
         }
-
-        return new Block(
-            this.difficulty,
-            this.blockSizeInBytes,
-            this.blockEnergyLimit,
-            this.blockEnergyUsed,
-            this.hash,
-            this.parentHash,
-            this.bloomFilter,
-            this.receiptTrieRoot,
-            this.stateRoot,
-            this.nonce,
-            this.number,
-            this.totalDifficulty);
     }
 
     public Block buildFromJsonString(String jsonString) throws DecoderException  {
-        JsonStringParser jsonParser = new JsonStringParser(jsonString);
-
-        String difficulty = jsonParser.attributeToString("difficulty");
-        String size = jsonParser.attributeToString("size");
-        String energyLimit = jsonParser.attributeToString("gasLimit");
-        String energyUsed = jsonParser.attributeToString("gasUsed");
-        String hash = jsonParser.attributeToString("hash");
-        String parentHash = jsonParser.attributeToString("parentHash");
-        String bloom = jsonParser.attributeToString("logsBloom");
-        String receiptRoot = jsonParser.attributeToString("transactionsRoot");
-        String stateRoot = jsonParser.attributeToString("stateRoot");
-        String nonce = jsonParser.attributeToString("nonce");
-        String number = jsonParser.attributeToString("number");
-        String totalDifficulty = jsonParser.attributeToString("totalDifficulty");
+        if (jsonString == null) {
+            throw new NullPointerException("Cannot build block from null jsonString.");
+        }
+
+        try (JsonReader reader = new JsonReader(new StringReader(jsonString))) {
+            reader.setLenient(true);
+            return buildFromJson(reader);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot build block from malformed json: " + jsonString, e);
+        }
+    }
+
+    /**
+     * Builds a block from the json object that the reader is positioned at, reading the object in
+     * a single pass as it goes. The entire object is consumed before any of its attributes are
+     * decoded, so that the reader can carry on past it even if it is not a valid block.
+     */
+    public Block buildFromJson(JsonReader reader) throws IOException, DecoderException {
+        return readJson(reader).build();
+    }
+
+    /**
+     * Builds a packed block from the json object that the reader is positioned at, exactly as
+     * {@link #buildFromJson(JsonReader)} builds a block.
+     */
+    public PackedBlock buildPackedFromJson(JsonReader reader) throws IOException, DecoderException {
+        return readJson(reader).buildPacked();
+    }
+
+    /**
+     * Returns a new builder with every attribute of the json object that the reader is positioned
+     * at set on it.
+     */
+    private static BlockBuilder readJson(JsonReader reader) throws IOException, DecoderException {
+        String difficulty = null;
+        String size = null;
+        String energyLimit = null;
+        String energyUsed = null;
+        String hash = null;
+        String parentHash = null;
+        String bloom = null;
+        String receiptRoot = null;
+        String stateRoot = null;
+        String nonce = null;
+        String number = null;
+        String totalDifficulty = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "difficulty": difficulty = RpcResultDecoder.nextHexString(reader); break;
+                case "size": size = RpcResultDecoder.nextHexString(reader); break;
+                case "gasLimit": energyLimit = RpcResultDecoder.nextHexString(reader); break;
+                case "gasUsed": energyUsed = RpcResultDecoder.nextHexString(reader); break;
+                case "hash": hash = RpcResultDecoder.nextHexString(reader); break;
+                case "parentHash": parentHash = RpcResultDecoder.nextHexString(reader); break;
+                case "logsBloom": bloom = RpcResultDecoder.nextHexString(reader); break;
+                case "transactionsRoot": receiptRoot = RpcResultDecoder.nextHexString(reader); break;
+                case "stateRoot": stateRoot = RpcResultDecoder.nextHexString(reader); break;
+                case "nonce": nonce = RpcResultDecoder.nextHexString(reader); break;
+                case "number": number = RpcResultDecoder.nextHexString(reader); break;
+                case "totalDifficulty": totalDifficulty = RpcResultDecoder.nextHexString(reader); break;
+                default: reader.skipValue();
+            }
+        }
+        reader.endObject();
 
         return new BlockBuilder()
-            .difficulty((difficulty == null) ? -1 : Long.parseLong(difficulty, 16))
-            .blockSize((size == null) ? -1 : Long.parseLong(size, 16))
-            .energyLimit((energyLimit == null) ? -1 : Long.parseLong(energyLimit, 16))
-            .energyUsed((energyUsed == null) ? -1 : Long.parseLong(energyUsed, 16))
-            .hash((hash == null) ? null : Hex.decodeHex(hash))
-            .parentHash((parentHash == null) ? null : Hex.decodeHex(parentHash))
-            .bloomFilter((bloom == null) ? null : Hex.decodeHex(bloom))
-            .receiptTrieRoot((receiptRoot == null) ? null : Hex.decodeHex(receiptRoot))
-            .stateRoot((stateRoot == null) ? null : Hex.decodeHex(stateRoot))
-            .nonce((nonce == null) ? null : Hex.decodeHex(nonce))
-            .number((number == null) ? null : new BigInteger(number, 16))
-            .totalDifficulty((totalDifficulty == null) ? null : new BigInteger(totalDifficulty, 16))
-            .build();
+            .difficulty((difficulty == null) ? -1 : HexCodec.decodeLong(difficulty))
+            .blockSize((size == null) ? -1 : HexCodec.decodeLong(size))
+            .energyLimit((energyLimit == null) ? -1 : HexCodec.decodeLong(energyLimit))
+            .energyUsed((energyUsed == null) ? -1 : HexCodec.decodeLong(energyUsed))
+            .hash((hash == null) ? null : HexCodec.decode(hash))
+            .parentHash((parentHash == null) ? null : HexCodec.decode(parentHash))
+            .bloomFilter((bloom == null) ? null : HexCodec.decode(bloom))
+            .receiptTrieRoot((receiptRoot == null) ? null : HexCodec.decode(receiptRoot))
+            .stateRoot((stateRoot == null) ? null : HexCodec.decode(stateRoot))
+            .nonce((nonce == null) ? null : HexCodec.decode(nonce))
+            .number((number == null) ? null : HexCodec.decodeBigInteger(number))
+            .totalDifficulty((totalDifficulty == null) ? null : HexCodec.decodeBigInteger(totalDifficulty));
     }
 
     /**
@@ -1,11 +1,15 @@
 package org.aion.harness.main.types.internal;
 
+import com.google.gson.stream.JsonReader;
+import java.io.IOException;
+import java.io.StringReader;
 import java.math.BigInteger;
 import org.aion.harness.kernel.Address;
-import org.aion.harness.main.tools.JsonStringParser;
+import org.aion.harness.main.tools.RpcResultDecoder;
+import org.aion.harness.main.types.PackedTransactionReceipt;
 import org.aion.harness.main.types.TransactionReceipt;
+import org.aion.harness.util.HexCodec;
 import org.apache.commons.codec.DecoderException;
-import org.apache.commons.codec.binary.Hex;
 
 /**
  * A builder class used to construct instances of {@link TransactionReceipt}.
@@ -226,6 +230,54 @@ public final class TransactionReceiptBuilder {
      * @return the newly built receipt.
      */
     public TransactionReceipt build() {
+        checkComplete();
+
+        return new TransactionReceipt(
+            this.energyPrice,
+            this.energyLimit,
+            this.energyConsumed,
+            this.cumulativeEnergyConsumed,
+            this.transactionIndex,
+            this.blockHash,
+            this.bloomFilter,
+            this.transactionHash,
+            this.stateRootHash,
+            this.blockNumber,
+            this.deployedContractAddress,
+            this.sender,
+            this.destination,
+            this.status
+        );
+    }
+
+    /**
+     * Builds a {@link PackedTransactionReceipt} from the fields set so far, without constructing a
+     * receipt first.
+     *
+     * @return the packed transaction receipt.
+     */
+    public PackedTransactionReceipt buildPacked() {
+        checkComplete();
+
+        return new PackedTransactionReceipt(
+            this.energyPrice,
+            this.energyLimit,
+            this.energyConsumed,
+            this.cumulativeEnergyConsumed,
+            this.transactionIndex,
+            this.blockHash,
+            this.bloomFilter,
+            this.transactionHash,
+            this.stateRootHash,
+            this.blockNumber,
+            this.deployedContractAddress,
+            this.sender,
+            this.destination,
+            this.status
+        );
+    }
+
+    private void checkComplete() {
         if (this.energyPrice < 1) {
             throw new IllegalStateException("Cannot construct transaction receipt - no energy price set.");
         }
@@ -265,23 +317,6 @@ public final class TransactionReceiptBuilder {
         if ((this.deployedContractAddress != null) && (this.destination != null)) {
             throw new IllegalStateException("Cannot construct transaction receipt - both destination AND contract address set.");
         }
-
-        return new TransactionReceipt(
-            this.energyPrice,
-            this.energyLimit,
-            this.energyConsumed,
-            this.cumulativeEnergyConsumed,
-            this.transactionIndex,
-            this.blockHash,
-            this.bloomFilter,
-            this.transactionHash,
-            this.stateRootHash,
-            this.blockNumber,
-            this.deployedContractAddress,
-            this.sender,
-            this.destination,
-            this.status
-        );
     }
 
     /**
@@ -298,39 +333,101 @@ public final class TransactionReceiptBuilder {
      * @return the transaction receipt.
      */
     public TransactionReceipt buildFromJsonString(String jsonString) throws DecoderException {
-        JsonStringParser jsonParser = new JsonStringParser(jsonString);
+        if (jsonString == null) {
+            throw new NullPointerException("Cannot build transaction receipt from null jsonString.");
+        }
 
-        String energyPrice = jsonParser.attributeToString("nrgPrice");
-        String energyLimit = jsonParser.attributeToString("gasLimit");
-        String energyUsed = jsonParser.attributeToString("nrgUsed");
-        String totalEnergyUsed = jsonParser.attributeToString("cumulativeGasUsed");
-        String index = jsonParser.attributeToString("transactionIndex");
-        String blockHash = jsonParser.attributeToString("blockHash");
-        String bloomFilter = jsonParser.attributeToString("logsBloom");
-        String transactionHash = jsonParser.attributeToString("transactionHash");
-        String rootHash = jsonParser.attributeToString("root");
-        String blockNumber = jsonParser.attributeToString("blockNumber");
-        String sender = jsonParser.attributeToString("from");
-        String contract = jsonParser.attributeToString("contractAddress");
-        String destination = jsonParser.attributeToString("to");
-        String status = jsonParser.attributeToString("status");
+        try (JsonReader reader = new JsonReader(new StringReader(jsonString))) {
+            reader.setLenient(true);
+            return buildFromJson(reader);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot build transaction receipt from malformed json: " + jsonString, e);
+        }
+    }
+
+    /**
+     * Builds a {@link TransactionReceipt} from the Json object that the provided reader is
+     * positioned at, reading the object in a single pass as it goes, rather than first parsing it
+     * into a tree of elements.
+     *
+     * The entire object is consumed before any of its attributes are decoded, so that the reader
+     * can carry on past it even if the object turns out not to be a valid receipt.
+     *
+     * @param reader The reader positioned at the receipt.
+     * @return the transaction receipt.
+     */
+    public TransactionReceipt buildFromJson(JsonReader reader) throws IOException, DecoderException {
+        return readJson(reader).build();
+    }
+
+    /**
+     * Builds a {@link PackedTransactionReceipt} from the Json object that the provided reader is
+     * positioned at, exactly as {@link #buildFromJson(JsonReader)} builds a receipt.
+     *
+     * @param reader The reader positioned at the receipt.
+     * @return the packed transaction receipt.
+     */
+    public PackedTransactionReceipt buildPackedFromJson(JsonReader reader) throws IOException, DecoderException {
+        return readJson(reader).buildPacked();
+    }
+
+    /**
+     * Returns a new builder with every attribute of the Json object that the reader is positioned
+     * at set on it.
+     */
+    private static TransactionReceiptBuilder readJson(JsonReader reader) throws IOException, DecoderException {
+        String energyPrice = null;
+        String energyLimit = null;
+        String energyUsed = null;
+        String totalEnergyUsed = null;
+        String index = null;
+        String blockHash = null;
+        String bloomFilter = null;
+        String transactionHash = null;
+        String rootHash = null;
+        String blockNumber = null;
+        String sender = null;
+        String contract = null;
+        String destination = null;
+        String status = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "nrgPrice": energyPrice = RpcResultDecoder.nextHexString(reader); break;
+                case "gasLimit": energyLimit = RpcResultDecoder.nextHexString(reader); break;
+                case "nrgUsed": energyUsed = RpcResultDecoder.nextHexString(reader); break;
+                case "cumulativeGasUsed": totalEnergyUsed = RpcResultDecoder.nextHexString(reader); break;
+                case "transactionIndex": index = RpcResultDecoder.nextHexString(reader); break;
+                case "blockHash": blockHash = RpcResultDecoder.nextHexString(reader); break;
+                case "logsBloom": bloomFilter = RpcResultDecoder.nextHexString(reader); break;
+                case "transactionHash": transactionHash = RpcResultDecoder.nextHexString(reader); break;
+                case "root": rootHash = RpcResultDecoder.nextHexString(reader); break;
+                case "blockNumber": blockNumber = RpcResultDecoder.nextHexString(reader); break;
+                case "from": sender = RpcResultDecoder.nextHexString(reader); break;
+                case "contractAddress": contract = RpcResultDecoder.nextHexString(reader); break;
+                case "to": destination = RpcResultDecoder.nextHexString(reader); break;
+                case "status": status = RpcResultDecoder.nextHexString(reader); break;
+                default: reader.skipValue();
+            }
+        }
+        reader.endObject();
 
         return new TransactionReceiptBuilder()
-            .transactionEnergyPrice((energyPrice == null) ? -1 : Long.parseLong(energyPrice, 16))
-            .transactionEnergyLimit((energyLimit == null) ? -1 : Long.parseLong(energyLimit, 16))
-            .energyConsumedByTransaction((energyUsed == null) ? -1 : Long.parseLong(energyUsed, 16))
-            .totalEnergyConsumedByBlock((totalEnergyUsed == null) ? -1 : Long.parseLong(totalEnergyUsed, 16))
-            .indexOfTransactionInBlock((index == null) ? -1 : Integer.parseInt(index, 16))
-            .blockHash((blockHash == null) ? null : Hex.decodeHex(blockHash))
-            .bloomFilter((bloomFilter == null) ? null : Hex.decodeHex(bloomFilter))
-            .transactionHash((transactionHash == null) ? null : Hex.decodeHex(transactionHash))
-            .stateRootHash((rootHash == null) ? null : Hex.decodeHex(rootHash))
-            .blockNumber((blockNumber == null) ? null : new BigInteger(blockNumber, 16))
-            .transactionSender((sender == null) ? null : new Address(Hex.decodeHex(sender)))
-            .newlyDeployedContractAddress((contract == null) ? null : new Address(Hex.decodeHex(contract)))
-            .transactionDestination((destination == null) ? null : new Address(Hex.decodeHex(destination)))
-            .status(status == null? -1: Integer.parseInt(status, 16))
-            .build();
+            .transactionEnergyPrice((energyPrice == null) ? -1 : HexCodec.decodeLong(energyPrice))
+            .transactionEnergyLimit((energyLimit == null) ? -1 : HexCodec.decodeLong(energyLimit))
+            .energyConsumedByTransaction((energyUsed == null) ? -1 : HexCodec.decodeLong(energyUsed))
+            .totalEnergyConsumedByBlock((totalEnergyUsed == null) ? -1 : HexCodec.decodeLong(totalEnergyUsed))
+            .indexOfTransactionInBlock((index == null) ? -1 : HexCodec.decodeInt(index))
+            .blockHash((blockHash == null) ? null : HexCodec.decode(blockHash))
+            .bloomFilter((bloomFilter == null) ? null : HexCodec.decode(bloomFilter))
+            .transactionHash((transactionHash == null) ? null : HexCodec.decode(transactionHash))
+            .stateRootHash((rootHash == null) ? null : HexCodec.decode(rootHash))
+            .blockNumber((blockNumber == null) ? null : HexCodec.decodeBigInteger(blockNumber))
+            .transactionSender((sender == null) ? null : new Address(HexCodec.decode(sender)))
+            .newlyDeployedContractAddress((contract == null) ? null : new Address(HexCodec.decode(contract)))
+            .transactionDestination((destination == null) ? null : new Address(HexCodec.decode(destination)))
+            .status(status == null? -1: HexCodec.decodeInt(status));
     }
 
     /**
@@ -46,6 +46,8 @@ public final class TestHarnessHelper {
     /**
      * Returns a list of the specified number of random private keys to create.
      *
+     * The keys are generated in parallel.
+     *
      * @param numberOfKeys The number of random keys to create.
      * @return the random private keys.
      */
@@ -54,11 +56,7 @@ public final class TestHarnessHelper {
             throw new IllegalArgumentException("Cannot create a negative number of private keys!");
         }
 
-        List<PrivateKey> keys = new ArrayList<>();
-        for (int i = 0; i < numberOfKeys; i++) {
-            keys.add(PrivateKey.random());
-        }
-        return keys;
+        return PrivateKey.random(numberOfKeys);
     }
 
     /**
@@ -1,28 +1,32 @@
 package org.aion.harness.statistics;
 
 import java.math.BigDecimal;
-import java.math.MathContext;
 import java.math.RoundingMode;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import org.aion.harness.main.util.TestHarnessHelper;
 import org.aion.harness.result.LogEventResult;
 import org.aion.harness.result.RpcResult;
 
+/**
+ * Statistics over the durations between pairs of starting and ending times.
+ *
+ * The statistics are computed in a single pass over the times when this object is constructed,
+ * using primitive arithmetic, and none of the times are held on to afterwards. The percentiles are
+ * read off a {@link LatencyHistogram}, and so are accurate to within 0.1%, unless exact percentiles
+ * were asked for, in which case the durations themselves are kept, sorted, in a single array.
+ */
 public final class DurationStatistics {
-    private static final BigDecimal SECONDS_DIVISOR = BigDecimal.TEN.pow(9);
-    private final List<BigDecimal> startTimes;
-    private final List<BigDecimal> endTimes;
-
-    private boolean statsHaveBeenComputed = false;
-    private BigDecimal maximumDuration = null;
-    private BigDecimal minimumDuration = null;
-    private BigDecimal meanDuration = null;
-    private BigDecimal totalDuration = BigDecimal.ZERO;
-    private BigDecimal durationsStandardDeviation = null;
-
-    private DurationStatistics(long[] startTimes, long[] endTimes) {
+    private static final double[] PRINTED_PERCENTILES = new double[]{ 50, 90, 99, 99.9 };
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final RunningStatistics durations = new RunningStatistics();
+    private final LatencyHistogram histogram;
+    private final long[] sortedDurations;
+    private final long totalDuration;
+
+    private DurationStatistics(long[] startTimes, long[] endTimes, boolean exactPercentiles) {
         if (startTimes == null) {
             throw new NullPointerException("Cannot construct statstics for null results.");
         }
@@ -33,15 +37,33 @@ public final class DurationStatistics {
             throw new IllegalArgumentException("Cannot construct statics when results and futures differ in size.");
         }
 
-        this.startTimes = new ArrayList<>();
-        this.endTimes = new ArrayList<>();
-
         int length = startTimes.length;
+        this.histogram = exactPercentiles ? null : new LatencyHistogram();
+        this.sortedDurations = exactPercentiles ? new long[length] : null;
+
+        long earliestTime = Long.MAX_VALUE;
+        long latestTime = Long.MIN_VALUE;
         for (int i = 0; i < length; i++) {
-            this.startTimes.add(BigDecimal.valueOf(startTimes[i]));
-            this.endTimes.add(BigDecimal.valueOf(endTimes[i]));
+            earliestTime = Math.min(earliestTime, startTimes[i]);
+            latestTime = Math.max(latestTime, endTimes[i]);
+
+            long duration = endTimes[i] - startTimes[i];
+            this.durations.record(duration);
+
+            if (exactPercentiles) {
+                this.sortedDurations[i] = duration;
+            } else {
+                // An event cannot be observed before it was triggered, other than by clock skew.
+                this.histogram.recordLatency(Math.max(0, duration), TimeUnit.NANOSECONDS);
+            }
         }
 
+        if (exactPercentiles) {
+            Arrays.sort(this.sortedDurations);
+        }
+
+        // An empty list of times spans no time at all.
+        this.totalDuration = (length == 0) ? 0 : latestTime - earliestTime;
     }
 
     /**
@@ -66,93 +88,114 @@ public final class DurationStatistics {
                 + "At least one of these results was not observed and has no timestamp!");
         }
 
-        return new DurationStatistics(start, end);
+        return new DurationStatistics(start, end, false);
     }
 
     /**
-     * Prints some basic duration statistics to console.
+     * Constructs a duration statistics object exactly as {@link #from(List, List)} does, except
+     * that the percentiles of the durations are computed exactly rather than read off a histogram.
      *
-     * These statistics are just the maximum & minimum durations, the mean duration, the total
-     * amount of time elapsed between the earliest & latest timestamps, as well as the standard
-     * deviation for the durations.
+     * This holds on to every duration, and so is only worth doing when the number of results is
+     * modest, or the percentiles must be exact.
      *
-     * @param decimalPrecision The number of decimal places for the numbers to be accurate to.
+     * @param rpcResults The "starting" times, held in rpc results.
+     * @param logResults The "ending" times, held in log event results.
      */
-    public void printStatistics(int decimalPrecision) {
-        if (!this.statsHaveBeenComputed) {
-            computeStatistics(decimalPrecision);
+    public static <T> DurationStatistics exactlyFrom(List<RpcResult<T>> rpcResults, List<LogEventResult> logResults) {
+        long[] start = TestHarnessHelper.extractResultTimestamps(rpcResults, TimeUnit.NANOSECONDS);
+        long[] end = TestHarnessHelper.extractEventTimestamps(logResults, TimeUnit.NANOSECONDS);
+
+        if (end == null) {
+            throw new IllegalArgumentException("Unable to extract the log result timestamps. "
+                + "At least one of these results was not observed and has no timestamp!");
         }
 
-        System.out.println("---------------------------------------------------------------------");
-        System.out.println("Maximum duration: " + this.maximumDuration.toPlainString() + " seconds(s)");
-        System.out.println("Minimum duration: " + this.minimumDuration.toPlainString() + " seconds(s)");
-        System.out.println("Mean duration: " + this.meanDuration.toPlainString() + " second(s)");
-        System.out.println("Total duration: " + this.totalDuration.toPlainString() + " second(s)");
-        System.out.println("Standard deviation of durations: " + this.durationsStandardDeviation.toPlainString() + " second(s)");
-        System.out.println("---------------------------------------------------------------------");
+        return new DurationStatistics(start, end, true);
     }
 
-    private void computeStatistics(int precision) {
-        int size = this.startTimes.size();
-
-        BigDecimal earliestTime = null;
-        BigDecimal latestTime = null;
-
-        List<BigDecimal> durations = new ArrayList<>();
-        for (int i = 0; i < size; i++) {
-            BigDecimal currentResultTime = this.startTimes.get(i);
-            BigDecimal currentFutureTime = this.endTimes.get(i);
-
-            earliestTime = (earliestTime == null) ? currentResultTime : ((earliestTime.compareTo(currentResultTime) < 0) ? earliestTime : currentResultTime);
-            latestTime = (latestTime == null) ? currentFutureTime : ((latestTime.compareTo(currentFutureTime) > 0) ? latestTime : currentFutureTime);
+    /**
+     * Returns the number of durations.
+     *
+     * @return the number of durations.
+     */
+    public long getNumberOfDurations() {
+        return this.durations.getCount();
+    }
 
-            BigDecimal duration = currentFutureTime.subtract(currentResultTime);
+    /**
+     * Returns the mean of the durations, or zero if there are none.
+     *
+     * @param unit The time unit to return the mean in.
+     * @return the mean duration.
+     */
+    public double getMeanDuration(TimeUnit unit) {
+        return this.durations.getMean() / unit.toNanos(1);
+    }
 
-            this.maximumDuration = (this.maximumDuration == null) ? duration : ((this.maximumDuration.compareTo(duration) < 0) ? duration : this.maximumDuration);
-            this.minimumDuration = (this.minimumDuration == null) ? duration : ((this.minimumDuration.compareTo(duration) > 0) ? duration : this.minimumDuration);
+    /**
+     * Returns the standard deviation of the durations, or zero if there are none.
+     *
+     * @param unit The time unit to return the standard deviation in.
+     * @return the standard deviation of the durations.
+     */
+    public double getDurationStandardDeviation(TimeUnit unit) {
+        return this.durations.getStandardDeviation() / unit.toNanos(1);
+    }
 
-            durations.add(duration.divide(SECONDS_DIVISOR, precision, RoundingMode.HALF_UP));
+    /**
+     * Returns the duration at or below which the specified percentage of all durations fall, or
+     * zero if there are none.
+     *
+     * @param percentile The percentile, between 0 and 100 inclusive.
+     * @param unit The time unit to return the duration in.
+     * @return the duration at the percentile.
+     */
+    public long getDurationAtPercentile(double percentile, TimeUnit unit) {
+        if (this.histogram != null) {
+            return this.histogram.getLatencyAtPercentile(percentile, unit);
         }
 
-        // In this case, we must have had a size zero list.
-        if (earliestTime == null) {
-            this.totalDuration = BigDecimal.ZERO;
-            this.maximumDuration = BigDecimal.ZERO;
-            this.minimumDuration = BigDecimal.ZERO;
-            this.meanDuration = BigDecimal.ZERO;
-            this.durationsStandardDeviation = BigDecimal.ZERO;
-        } else {
-            this.totalDuration = latestTime.subtract(earliestTime).divide(SECONDS_DIVISOR, precision, RoundingMode.HALF_UP);
-            this.maximumDuration = this.maximumDuration.divide(SECONDS_DIVISOR, precision, RoundingMode.HALF_UP);
-            this.minimumDuration = this.minimumDuration.divide(SECONDS_DIVISOR, precision, RoundingMode.HALF_UP);
-
-            // The mean is calculated over the individual durations, not the length of time (totalDuration).
-            BigDecimal durationsTotal = sum(durations);
-            this.meanDuration = durationsTotal.divide(BigDecimal.valueOf(size), precision, RoundingMode.HALF_UP);
-
-            this.durationsStandardDeviation = computeStandardDeviation(durations, precision);
+        if ((percentile < 0) || (percentile > 100)) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100, but was: " + percentile);
+        }
+        if (unit == null) {
+            throw new NullPointerException("Cannot get a duration with null time units.");
+        }
+        if (this.sortedDurations.length == 0) {
+            return 0;
         }
 
-        this.statsHaveBeenComputed = true;
+        // The same nearest-rank definition the histogram uses.
+        int rank = (int) Math.max(1, Math.ceil((percentile / 100) * this.sortedDurations.length));
+        return unit.convert(this.sortedDurations[rank - 1], TimeUnit.NANOSECONDS);
     }
 
-    private BigDecimal computeStandardDeviation(List<BigDecimal> times, int precision) {
-        BigDecimal squares = BigDecimal.ZERO;
-
-        for (BigDecimal time : times) {
-            squares = squares.add((time.subtract(this.meanDuration)).pow(2));
+    /**
+     * Prints some basic duration statistics to console.
+     *
+     * These statistics are just the maximum & minimum durations, the mean duration, the total
+     * amount of time elapsed between the earliest & latest timestamps, the standard deviation for
+     * the durations, as well as the median, 90th, 99th and 99.9th percentile durations.
+     *
+     * @param decimalPrecision The number of decimal places for the numbers to be accurate to.
+     */
+    public void printStatistics(int decimalPrecision) {
+        System.out.println("---------------------------------------------------------------------");
+        System.out.println("Maximum duration: " + inSeconds(this.durations.getMaximum(), decimalPrecision) + " seconds(s)");
+        System.out.println("Minimum duration: " + inSeconds(this.durations.getMinimum(), decimalPrecision) + " seconds(s)");
+        System.out.println("Mean duration: " + inSeconds(this.durations.getMean(), decimalPrecision) + " second(s)");
+        System.out.println("Total duration: " + inSeconds(this.totalDuration, decimalPrecision) + " second(s)");
+        System.out.println("Standard deviation of durations: " + inSeconds(this.durations.getStandardDeviation(), decimalPrecision) + " second(s)");
+        for (double percentile : PRINTED_PERCENTILES) {
+            long duration = getDurationAtPercentile(percentile, TimeUnit.NANOSECONDS);
+            System.out.println(BigDecimal.valueOf(percentile).stripTrailingZeros().toPlainString()
+                + "th percentile duration: " + inSeconds(duration, decimalPrecision) + " second(s)");
         }
-
-        BigDecimal variance = squares.divide(this.meanDuration, precision, RoundingMode.HALF_UP);
-        return variance.sqrt(new MathContext(precision, RoundingMode.HALF_UP));
+        System.out.println("---------------------------------------------------------------------");
     }
 
-    private BigDecimal sum(List<BigDecimal> numbers) {
-        BigDecimal sum = BigDecimal.ZERO;
-        for (BigDecimal number : numbers) {
-            sum = sum.add(number);
-        }
-        return sum;
+    private static String inSeconds(double nanos, int precision) {
+        return BigDecimal.valueOf(nanos / NANOS_PER_SECOND).setScale(precision, RoundingMode.HALF_UP).toPlainString();
     }
 
 }
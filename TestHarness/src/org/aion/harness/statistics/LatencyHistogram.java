@@ -0,0 +1,186 @@
+package org.aion.harness.statistics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of latencies, recorded in nanoseconds, from which percentiles can be read off.
+ *
+ * The histogram follows the layout of an HdrHistogram: values are counted in buckets whose widths
+ * grow with the magnitude of the values they hold, so that any recorded value can be read back to
+ * within 0.1% of itself, while the histogram itself occupies a fixed and small amount of memory no
+ * matter how many values are recorded.
+ *
+ * Values up to {@code HIGHEST_TRACKABLE_VALUE} (one hour) are tracked. Any larger value is
+ * recorded as that highest trackable value.
+ *
+ * Recording a value never blocks and never allocates. This class is thread-safe, but a percentile
+ * read while values are being recorded may not reflect all of them.
+ */
+public final class LatencyHistogram {
+    public static final long HIGHEST_TRACKABLE_VALUE = TimeUnit.HOURS.toNanos(1);
+
+    // Each power of two is split into this many linear sub-buckets, which gives 3 significant digits.
+    private static final int SUB_BUCKET_HALF_COUNT_MAGNITUDE = 10;
+    private static final int SUB_BUCKET_HALF_COUNT = 1 << SUB_BUCKET_HALF_COUNT_MAGNITUDE;
+    private static final long SUB_BUCKET_MASK = (SUB_BUCKET_HALF_COUNT << 1) - 1;
+    private static final int LEADING_ZERO_COUNT_BASE = 64 - SUB_BUCKET_HALF_COUNT_MAGNITUDE - 1;
+
+    private final AtomicLongArray counts;
+    // Striped, since every recording thread updates these, unlike the counts which are spread out.
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder totalOfValues = new LongAdder();
+    private final AtomicLong minimumValue = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong maximumValue = new AtomicLong(0);
+
+    public LatencyHistogram() {
+        this.counts = new AtomicLongArray(countsIndexOf(HIGHEST_TRACKABLE_VALUE) + 1);
+    }
+
+    /**
+     * Records the specified latency.
+     *
+     * @param latency The latency.
+     * @param unit The time unit of the latency.
+     */
+    public void recordLatency(long latency, TimeUnit unit) {
+        if (latency < 0) {
+            throw new IllegalArgumentException("Cannot record a negative latency: " + latency);
+        }
+        if (unit == null) {
+            throw new NullPointerException("Cannot record a latency with null time units.");
+        }
+
+        long value = Math.min(unit.toNanos(latency), HIGHEST_TRACKABLE_VALUE);
+
+        this.counts.incrementAndGet(countsIndexOf(value));
+        this.totalCount.increment();
+        this.totalOfValues.add(value);
+        this.minimumValue.accumulateAndGet(value, Math::min);
+        this.maximumValue.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Adds every latency recorded in the specified histogram into this histogram, so that the
+     * percentiles of this histogram are those of the latencies recorded into either of them. The
+     * specified histogram is left unchanged.
+     *
+     * @param other The histogram to merge in.
+     */
+    public void merge(LatencyHistogram other) {
+        if (other == null) {
+            throw new NullPointerException("Cannot merge a null histogram.");
+        }
+
+        for (int index = 0; index < other.counts.length(); index++) {
+            long count = other.counts.get(index);
+            if (count > 0) {
+                this.counts.addAndGet(index, count);
+            }
+        }
+        this.totalCount.add(other.totalCount.sum());
+        this.totalOfValues.add(other.totalOfValues.sum());
+        this.minimumValue.accumulateAndGet(other.minimumValue.get(), Math::min);
+        this.maximumValue.accumulateAndGet(other.maximumValue.get(), Math::max);
+    }
+
+    /**
+     * Returns the number of latencies recorded.
+     *
+     * @return the number of latencies.
+     */
+    public long getTotalCount() {
+        return this.totalCount.sum();
+    }
+
+    /**
+     * Returns the latency at or below which the specified percentage of all recorded latencies
+     * fall, or zero if no latencies have been recorded.
+     *
+     * @param percentile The percentile, between 0 and 100 inclusive.
+     * @param unit The time unit to return the latency in.
+     * @return the latency at the percentile.
+     */
+    public long getLatencyAtPercentile(double percentile, TimeUnit unit) {
+        if ((percentile < 0) || (percentile > 100)) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100, but was: " + percentile);
+        }
+        if (unit == null) {
+            throw new NullPointerException("Cannot get a latency with null time units.");
+        }
+
+        long total = this.totalCount.sum();
+        if (total == 0) {
+            return 0;
+        }
+
+        // The number of latencies that must be at or below the returned one, and at least one.
+        long countAtPercentile = Math.max(1, (long) Math.ceil((percentile / 100) * total));
+
+        long countSoFar = 0;
+        for (int index = 0; index < this.counts.length(); index++) {
+            countSoFar += this.counts.get(index);
+            if (countSoFar >= countAtPercentile) {
+                long value = Math.min(highestEquivalentValueAt(index), this.maximumValue.get());
+                return unit.convert(value, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        return unit.convert(this.maximumValue.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the smallest recorded latency, or zero if no latencies have been recorded.
+     *
+     * @param unit The time unit to return the latency in.
+     * @return the smallest latency.
+     */
+    public long getMinimumLatency(TimeUnit unit) {
+        return (this.totalCount.sum() == 0) ? 0 : unit.convert(this.minimumValue.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the largest recorded latency, or zero if no latencies have been recorded.
+     *
+     * @param unit The time unit to return the latency in.
+     * @return the largest latency.
+     */
+    public long getMaximumLatency(TimeUnit unit) {
+        return unit.convert(this.maximumValue.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the mean of the recorded latencies, or zero if no latencies have been recorded.
+     *
+     * @param unit The time unit to return the latency in.
+     * @return the mean latency.
+     */
+    public double getMeanLatency(TimeUnit unit) {
+        long total = this.totalCount.sum();
+        return (total == 0) ? 0 : ((double) this.totalOfValues.sum() / total) / unit.toNanos(1);
+    }
+
+    private static int countsIndexOf(long value) {
+        int bucketIndex = LEADING_ZERO_COUNT_BASE - Long.numberOfLeadingZeros(value | SUB_BUCKET_MASK);
+        int subBucketIndex = (int) (value >>> bucketIndex);
+        return ((bucketIndex + 1) << SUB_BUCKET_HALF_COUNT_MAGNITUDE) + (subBucketIndex - SUB_BUCKET_HALF_COUNT);
+    }
+
+    /**
+     * Returns the largest value that is counted at the specified index.
+     */
+    private static long highestEquivalentValueAt(int index) {
+        int bucketIndex = (index >> SUB_BUCKET_HALF_COUNT_MAGNITUDE) - 1;
+        int subBucketIndex = (index & (SUB_BUCKET_HALF_COUNT - 1)) + SUB_BUCKET_HALF_COUNT;
+        if (bucketIndex < 0) {
+            subBucketIndex -= SUB_BUCKET_HALF_COUNT;
+            bucketIndex = 0;
+        }
+
+        long lowestValue = ((long) subBucketIndex) << bucketIndex;
+        return lowestValue + (1L << bucketIndex) - 1;
+    }
+
+}
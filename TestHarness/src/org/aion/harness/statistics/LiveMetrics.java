@@ -0,0 +1,310 @@
+package org.aion.harness.statistics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics that are collected while a test is running, rather than computed from its results after
+ * the fact.
+ *
+ * Every RPC call made through the harness, and every event the harness listens for, is recorded
+ * here as it completes, so that the throughput and latencies of a long-running test can be watched
+ * while it runs, and so that a test can stop as soon as a latency objective has been breached.
+ *
+ * An RPC latency is the round-trip time of the request that carried the call. An event latency is
+ * the time from when the event was submitted to be listened for to when it was observed.
+ *
+ * The harness records into the single instance returned by {@link #global()}. All of the counters
+ * are striped and the latencies are recorded into {@link LatencyHistogram}s, so recording never
+ * blocks, no matter how many threads record at once.
+ *
+ * This class is thread-safe.
+ */
+public final class LiveMetrics {
+    private static final LiveMetrics GLOBAL = new LiveMetrics();
+
+    // Replaced wholesale on reset, so that a recording thread only ever updates one set of metrics.
+    private volatile Metrics metrics = new Metrics();
+
+    /**
+     * Constructs a new set of live metrics that is independent of the global one, such that
+     * nothing the harness records ends up in it.
+     */
+    public LiveMetrics() {}
+
+    /**
+     * Returns the metrics that the harness records into.
+     *
+     * @return the global live metrics.
+     */
+    public static LiveMetrics global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Discards everything recorded so far and starts recording afresh from now.
+     */
+    public void reset() {
+        this.metrics = new Metrics();
+    }
+
+    /**
+     * Records a single request to the RPC server that carried the specified number of calls, the
+     * specified number of which were unsuccessful.
+     *
+     * @param numberOfCalls The number of calls the request carried.
+     * @param numberOfFailedCalls The number of those calls that were unsuccessful.
+     * @param latency The round-trip time of the request.
+     * @param unit The time unit of the latency.
+     */
+    public void recordRpcRequest(int numberOfCalls, int numberOfFailedCalls, long latency, TimeUnit unit) {
+        if ((numberOfFailedCalls < 0) || (numberOfFailedCalls > numberOfCalls)) {
+            throw new IllegalArgumentException("Cannot record " + numberOfFailedCalls + " failed calls out of " + numberOfCalls);
+        }
+
+        Metrics metrics = this.metrics;
+        metrics.rpcCalls.add(numberOfCalls);
+        metrics.failedRpcCalls.add(numberOfFailedCalls);
+        metrics.rpcLatencies.recordLatency(latency, unit);
+    }
+
+    /**
+     * Records that an event was observed.
+     *
+     * @param latency The time between the event being submitted and it being observed.
+     * @param unit The time unit of the latency.
+     */
+    public void recordEventObserved(long latency, TimeUnit unit) {
+        Metrics metrics = this.metrics;
+        metrics.eventsObserved.increment();
+        metrics.eventLatencies.recordLatency(latency, unit);
+    }
+
+    /**
+     * Records that an event was never observed, because it expired, was rejected, or the node went
+     * away before it could be observed.
+     */
+    public void recordEventNotObserved() {
+        this.metrics.eventsNotObserved.increment();
+    }
+
+    /**
+     * Returns {@code true} only if the RPC latency at the specified percentile is currently above
+     * the specified latency.
+     *
+     * This reads the live latencies without copying them, and so can be polled frequently by a test
+     * that should stop as soon as its latency objective is breached.
+     *
+     * @param percentile The percentile, between 0 and 100 inclusive.
+     * @param latency The latency objective.
+     * @param unit The time unit of the latency.
+     * @return whether the objective is breached.
+     */
+    public boolean isRpcLatencyAbove(double percentile, long latency, TimeUnit unit) {
+        return this.metrics.rpcLatencies.getLatencyAtPercentile(percentile, TimeUnit.NANOSECONDS) > unit.toNanos(latency);
+    }
+
+    /**
+     * Returns {@code true} only if the event latency at the specified percentile is currently above
+     * the specified latency.
+     *
+     * This reads the live latencies without copying them, and so can be polled frequently by a test
+     * that should stop as soon as its latency objective is breached.
+     *
+     * @param percentile The percentile, between 0 and 100 inclusive.
+     * @param latency The latency objective.
+     * @param unit The time unit of the latency.
+     * @return whether the objective is breached.
+     */
+    public boolean isEventLatencyAbove(double percentile, long latency, TimeUnit unit) {
+        return this.metrics.eventLatencies.getLatencyAtPercentile(percentile, TimeUnit.NANOSECONDS) > unit.toNanos(latency);
+    }
+
+    /**
+     * Returns a snapshot of everything recorded since these metrics were constructed or last reset.
+     *
+     * Recording continues while the snapshot is taken, so a snapshot may include some, but not all,
+     * of the calls and events that complete while it is being taken.
+     *
+     * @return a snapshot of the metrics.
+     */
+    public Snapshot snapshot() {
+        Metrics metrics = this.metrics;
+
+        LatencyHistogram rpcLatencies = new LatencyHistogram();
+        rpcLatencies.merge(metrics.rpcLatencies);
+        LatencyHistogram eventLatencies = new LatencyHistogram();
+        eventLatencies.merge(metrics.eventLatencies);
+
+        return new Snapshot(
+            System.nanoTime() - metrics.startTimeInNanos,
+            metrics.rpcCalls.sum(),
+            metrics.failedRpcCalls.sum(),
+            metrics.eventsObserved.sum(),
+            metrics.eventsNotObserved.sum(),
+            rpcLatencies,
+            eventLatencies);
+    }
+
+    private static final class Metrics {
+        private final long startTimeInNanos = System.nanoTime();
+        private final LongAdder rpcCalls = new LongAdder();
+        private final LongAdder failedRpcCalls = new LongAdder();
+        private final LongAdder eventsObserved = new LongAdder();
+        private final LongAdder eventsNotObserved = new LongAdder();
+        private final LatencyHistogram rpcLatencies = new LatencyHistogram();
+        private final LatencyHistogram eventLatencies = new LatencyHistogram();
+    }
+
+    /**
+     * The live metrics as they stood at a particular moment.
+     *
+     * Two snapshots of the same metrics can be compared to get the throughput over the time
+     * between them, rather than over the whole run.
+     *
+     * This class is immutable.
+     */
+    public static final class Snapshot {
+        private final long elapsedTimeInNanos;
+        private final long rpcCalls;
+        private final long failedRpcCalls;
+        private final long eventsObserved;
+        private final long eventsNotObserved;
+        private final LatencyHistogram rpcLatencies;
+        private final LatencyHistogram eventLatencies;
+
+        private Snapshot(long elapsedTimeInNanos, long rpcCalls, long failedRpcCalls, long eventsObserved,
+            long eventsNotObserved, LatencyHistogram rpcLatencies, LatencyHistogram eventLatencies) {
+
+            this.elapsedTimeInNanos = elapsedTimeInNanos;
+            this.rpcCalls = rpcCalls;
+            this.failedRpcCalls = failedRpcCalls;
+            this.eventsObserved = eventsObserved;
+            this.eventsNotObserved = eventsNotObserved;
+            this.rpcLatencies = rpcLatencies;
+            this.eventLatencies = eventLatencies;
+        }
+
+        /**
+         * Returns the time that had elapsed since recording started.
+         *
+         * @param unit The time unit to return the time in.
+         * @return the elapsed time.
+         */
+        public long getElapsedTime(TimeUnit unit) {
+            return unit.convert(this.elapsedTimeInNanos, TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * Returns the number of RPC calls made, whether or not they were successful.
+         *
+         * @return the number of calls.
+         */
+        public long getNumberOfRpcCalls() {
+            return this.rpcCalls;
+        }
+
+        /**
+         * Returns the number of RPC calls that were unsuccessful.
+         *
+         * @return the number of failed calls.
+         */
+        public long getNumberOfFailedRpcCalls() {
+            return this.failedRpcCalls;
+        }
+
+        /**
+         * Returns the number of events observed.
+         *
+         * @return the number of events observed.
+         */
+        public long getNumberOfEventsObserved() {
+            return this.eventsObserved;
+        }
+
+        /**
+         * Returns the number of events that were finished with without being observed.
+         *
+         * @return the number of events not observed.
+         */
+        public long getNumberOfEventsNotObserved() {
+            return this.eventsNotObserved;
+        }
+
+        /**
+         * Returns the number of RPC calls made per second since recording started.
+         *
+         * @return the RPC call rate.
+         */
+        public double getRpcCallsPerSecond() {
+            return perSecond(this.rpcCalls, this.elapsedTimeInNanos);
+        }
+
+        /**
+         * Returns the number of RPC calls made per second between the specified earlier snapshot
+         * and this one.
+         *
+         * @param earlier A snapshot of the same metrics taken before this one.
+         * @return the RPC call rate between the two snapshots.
+         */
+        public double getRpcCallsPerSecondSince(Snapshot earlier) {
+            return perSecond(this.rpcCalls - earlier.rpcCalls, this.elapsedTimeInNanos - earlier.elapsedTimeInNanos);
+        }
+
+        /**
+         * Returns the number of events observed per second since recording started.
+         *
+         * @return the event observation rate.
+         */
+        public double getEventsObservedPerSecond() {
+            return perSecond(this.eventsObserved, this.elapsedTimeInNanos);
+        }
+
+        /**
+         * Returns the number of events observed per second between the specified earlier snapshot
+         * and this one.
+         *
+         * @param earlier A snapshot of the same metrics taken before this one.
+         * @return the event observation rate between the two snapshots.
+         */
+        public double getEventsObservedPerSecondSince(Snapshot earlier) {
+            return perSecond(this.eventsObserved - earlier.eventsObserved, this.elapsedTimeInNanos - earlier.elapsedTimeInNanos);
+        }
+
+        /**
+         * Returns the RPC latency at the specified percentile.
+         *
+         * @param percentile The percentile, between 0 and 100 inclusive.
+         * @param unit The time unit to return the latency in.
+         * @return the latency at the percentile.
+         */
+        public long getRpcLatencyAtPercentile(double percentile, TimeUnit unit) {
+            return this.rpcLatencies.getLatencyAtPercentile(percentile, unit);
+        }
+
+        /**
+         * Returns the event latency at the specified percentile.
+         *
+         * @param percentile The percentile, between 0 and 100 inclusive.
+         * @param unit The time unit to return the latency in.
+         * @return the latency at the percentile.
+         */
+        public long getEventLatencyAtPercentile(double percentile, TimeUnit unit) {
+            return this.eventLatencies.getLatencyAtPercentile(percentile, unit);
+        }
+
+        private static double perSecond(long count, long durationInNanos) {
+            return (durationInNanos <= 0) ? 0 : ((double) count * TimeUnit.SECONDS.toNanos(1)) / durationInNanos;
+        }
+
+        @Override
+        public String toString() {
+            return "LiveMetrics.Snapshot { elapsed = " + getElapsedTime(TimeUnit.MILLISECONDS) + " (millis)"
+                + " | rpc calls = " + this.rpcCalls + " (" + this.failedRpcCalls + " failed)"
+                + " | rpc p99 = " + getRpcLatencyAtPercentile(99, TimeUnit.MICROSECONDS) + " (micros)"
+                + " | events observed = " + this.eventsObserved + " (" + this.eventsNotObserved + " not observed)"
+                + " | event p99 = " + getEventLatencyAtPercentile(99, TimeUnit.MICROSECONDS) + " (micros) }";
+        }
+    }
+
+}
@@ -0,0 +1,129 @@
+package org.aion.harness.statistics;
+
+/**
+ * The count, minimum, maximum, mean and variance of a stream of values, computed as the values are
+ * recorded, in a single pass, without holding on to any of them.
+ *
+ * The mean and variance are maintained using Welford's algorithm, which stays numerically stable
+ * even when the values are large and close together, such as nanosecond timestamps or block energy
+ * limits. Two sets of statistics can be merged, giving the same statistics as if every value had
+ * been recorded into one of them.
+ *
+ * If no values have been recorded then every statistic is zero.
+ *
+ * This class is not thread-safe.
+ */
+public final class RunningStatistics {
+    private long count = 0;
+    private double mean = 0;
+    private double sumOfSquaredDifferences = 0;
+    private double minimum = Double.POSITIVE_INFINITY;
+    private double maximum = Double.NEGATIVE_INFINITY;
+
+    public RunningStatistics() {}
+
+    /**
+     * Records the specified value.
+     *
+     * @param value The value to record.
+     */
+    public void record(double value) {
+        if (Double.isNaN(value)) {
+            throw new IllegalArgumentException("Cannot record a value that is not a number.");
+        }
+
+        this.count++;
+        double difference = value - this.mean;
+        this.mean += difference / this.count;
+        this.sumOfSquaredDifferences += difference * (value - this.mean);
+        this.minimum = Math.min(this.minimum, value);
+        this.maximum = Math.max(this.maximum, value);
+    }
+
+    /**
+     * Merges the specified statistics into these statistics, so that these statistics are as if
+     * they had also recorded every value the specified statistics recorded. The specified statistics
+     * are left unchanged.
+     *
+     * @param other The statistics to merge in.
+     */
+    public void merge(RunningStatistics other) {
+        if (other == null) {
+            throw new NullPointerException("Cannot merge null statistics.");
+        }
+        if (other.count == 0) {
+            return;
+        }
+
+        long combinedCount = this.count + other.count;
+        double difference = other.mean - this.mean;
+        this.mean += difference * other.count / combinedCount;
+        this.sumOfSquaredDifferences += other.sumOfSquaredDifferences
+            + (difference * difference * this.count * other.count / combinedCount);
+        this.count = combinedCount;
+        this.minimum = Math.min(this.minimum, other.minimum);
+        this.maximum = Math.max(this.maximum, other.maximum);
+    }
+
+    /**
+     * Returns the number of values recorded.
+     *
+     * @return the number of values.
+     */
+    public long getCount() {
+        return this.count;
+    }
+
+    /**
+     * Returns the smallest value recorded.
+     *
+     * @return the smallest value.
+     */
+    public double getMinimum() {
+        return (this.count == 0) ? 0 : this.minimum;
+    }
+
+    /**
+     * Returns the largest value recorded.
+     *
+     * @return the largest value.
+     */
+    public double getMaximum() {
+        return (this.count == 0) ? 0 : this.maximum;
+    }
+
+    /**
+     * Returns the mean of the values recorded.
+     *
+     * @return the mean.
+     */
+    public double getMean() {
+        return this.mean;
+    }
+
+    /**
+     * Returns the population variance of the values recorded.
+     *
+     * @return the variance.
+     */
+    public double getVariance() {
+        return (this.count == 0) ? 0 : this.sumOfSquaredDifferences / this.count;
+    }
+
+    /**
+     * Returns the population standard deviation of the values recorded.
+     *
+     * @return the standard deviation.
+     */
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+
+    @Override
+    public String toString() {
+        return "RunningStatistics { count = " + this.count + " | minimum = " + getMinimum()
+            + " | maximum = " + getMaximum() + " | mean = " + this.mean
+            + " | standard deviation = " + getStandardDeviation() + " }";
+    }
+
+}
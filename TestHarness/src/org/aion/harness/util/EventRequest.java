@@ -1,9 +1,13 @@
 package org.aion.harness.util;
 
+import java.util.List;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import org.aion.harness.main.event.IEvent;
 import org.aion.harness.result.FutureResult;
 import org.aion.harness.result.LogEventResult;
+import org.aion.harness.statistics.LiveMetrics;
 
 /**
  * An event request is an internal object maintained by the {@link LogListener} so that it can
@@ -18,18 +22,20 @@ import org.aion.harness.result.LogEventResult;
  * This class is partially thread-safe. Read method documentation carefully.
  */
 public final class EventRequest {
-    private static long instanceCount = 0;
+    private static final AtomicLong INSTANCE_COUNT = new AtomicLong(0);
     private final long ID;
 
     public final FutureResult<LogEventResult> future = new FutureResult<>();
     private final IEvent requestedEvent;
     private final long deadlineInNanos;
+    private final long timeOfSubmissionInNanos = System.nanoTime();
 
     private enum RequestState { PENDING, SATISFIED, UNOBSERVED, REJECTED, EXPIRED }
 
     private RequestState currentState = RequestState.PENDING;
     private String causeOfRejection;
     private long timeOfObservationInNanos = -1;
+    private Future<?> scheduledExpiry;
 
     /**
      * Constructs a new event request for the specified event.
@@ -41,7 +47,7 @@ public final class EventRequest {
     public EventRequest(IEvent eventToRequest, long deadline, TimeUnit unit) {
         this.requestedEvent = eventToRequest;
         this.deadlineInNanos = unit.toNanos(deadline);
-        this.ID = instanceCount++;
+        this.ID = INSTANCE_COUNT.getAndIncrement();
     }
 
     /**
@@ -49,14 +55,40 @@ public final class EventRequest {
      * a finalized state.
      *
      * Once this method is called, the future (which is handed off to the event submitting thread)
-     * will be consumable.
+     * will be consumable, and the outcome of this request will have been recorded in the
+     * {@link LiveMetrics}.
      *
      * Not thread-safe.
      */
     private void finishFuture() {
+        if (this.currentState == RequestState.SATISFIED) {
+            LiveMetrics.global().recordEventObserved(Math.max(0, this.timeOfObservationInNanos - this.timeOfSubmissionInNanos), TimeUnit.NANOSECONDS);
+        } else {
+            LiveMetrics.global().recordEventNotObserved();
+        }
+
+        if (this.scheduledExpiry != null) {
+            this.scheduledExpiry.cancel(false);
+            this.scheduledExpiry = null;
+        }
+
         this.future.finish(extractResultFromRequest());
     }
 
+    /**
+     * Cancels the specified scheduled expiry of this request as soon as this request is finalized,
+     * or straight away if it already is.
+     *
+     * Thread safe.
+     */
+    synchronized void cancelOnFinalization(Future<?> expiry) {
+        if (this.currentState == RequestState.PENDING) {
+            this.scheduledExpiry = expiry;
+        } else {
+            expiry.cancel(false);
+        }
+    }
+
     /**
      * Only to be used by {@link LogListener} to determine whether or not the request is satisfied
      * by a log line.
@@ -66,14 +98,14 @@ public final class EventRequest {
      * If the request is already finalized, this method will return {@code true} without doing any
      * work.
      *
-     * Not thread-safe.
+     * Thread safe.
      *
      * @param line The log line to test.
      * @param currentTime The current time.
      * @param unit The unit of time of the currentTime.
      * @return whether or not this request is satisfied.
      */
-    public boolean isSatisfiedBy(String line, long currentTime, TimeUnit unit) {
+    public synchronized boolean isSatisfiedBy(String line, long currentTime, TimeUnit unit) {
         markAsExpiredIfPastDeadline(currentTime, unit);
 
         if (this.currentState != RequestState.PENDING) {
@@ -91,6 +123,27 @@ public final class EventRequest {
         return isSatisfied;
     }
 
+    /**
+     * Returns all of the event strings of the requested event. This request can only be satisfied
+     * by a line that contains at least one of them.
+     *
+     * Thread safe.
+     *
+     * @return the event strings of the requested event.
+     */
+    public List<String> getAllEventStrings() {
+        return this.requestedEvent.getAllEventStrings();
+    }
+
+    /**
+     * Returns the time at which this request expires, in nanoseconds.
+     *
+     * Thread safe.
+     */
+    long getDeadlineInNanos() {
+        return this.deadlineInNanos;
+    }
+
     /**
      * Returns {@code true} only if this request is expired at the given time.
      *
@@ -234,7 +287,7 @@ public final class EventRequest {
 
     @Override
     public int hashCode() {
-        return (int) this.ID;
+        return Long.hashCode(this.ID);
     }
 
 }
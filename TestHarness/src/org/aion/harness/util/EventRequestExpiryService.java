@@ -0,0 +1,65 @@
+package org.aion.harness.util;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A single JVM-wide service that expires every {@link EventRequest} at its deadline.
+ *
+ * Without this service a request could only be found to have expired when its listener received a
+ * new log line, and so on a quiet node an expired request would hold onto its place in the pool,
+ * and its requester would be kept waiting, for as long as the node stayed quiet.
+ *
+ * A request that is finalized before its deadline cancels its scheduled expiry, which removes it
+ * from the service straight away, so that the service only ever holds onto pending requests.
+ *
+ * This class is thread-safe.
+ */
+final class EventRequestExpiryService {
+    private static final EventRequestExpiryService SINGLETON = new EventRequestExpiryService();
+
+    private final SimpleLog log = new SimpleLog(getClass().getName());
+    private final ScheduledThreadPoolExecutor executor;
+
+    private EventRequestExpiryService() {
+        this.executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "event-request-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.setRemoveOnCancelPolicy(true);
+    }
+
+    static EventRequestExpiryService singleton() {
+        return SINGLETON;
+    }
+
+    /**
+     * Schedules the specified request, which belongs to the specified listener, to be expired by
+     * that listener at the request's deadline. The expiry is cancelled if the request is finalized
+     * first.
+     */
+    void schedule(EventRequest request, LogListener listener) {
+        long delayInNanos = request.getDeadlineInNanos() - System.nanoTime();
+        ScheduledFuture<?> expiry = this.executor.schedule(() -> expire(request, listener), delayInNanos, TimeUnit.NANOSECONDS);
+        request.cancelOnFinalization(expiry);
+    }
+
+    /**
+     * Returns the number of requests whose expiry is currently scheduled.
+     */
+    int numberOfScheduledExpiries() {
+        return this.executor.getQueue().size();
+    }
+
+    private void expire(EventRequest request, LogListener listener) {
+        try {
+            listener.expire(request);
+        } catch (RuntimeException e) {
+            // One misbehaving request must not keep the others from expiring.
+            this.log.log("Failed to expire " + request + ": " + e);
+        }
+    }
+
+}
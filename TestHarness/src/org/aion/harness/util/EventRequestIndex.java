@@ -0,0 +1,207 @@
+package org.aion.harness.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The pool of pending event requests held by a {@link LogListener}, indexed by the event strings
+ * of each request so that a log line only needs to be tested against the requests it could
+ * possibly affect.
+ *
+ * The event strings of all requests are compiled into a {@link MultiPatternMatcher}, which finds
+ * every event string occurring in a line in a single pass over it. Since requests come and go
+ * constantly, the matcher is not recompiled on every change. Event strings added since the last
+ * compilation are instead tested individually until there are enough of them to make another
+ * compilation worthwhile, and event strings whose requests have all left the index are simply
+ * ignored when matched until the next compilation drops them.
+ *
+ * The sealed and rejected transaction event strings (see {@link TransactionLogLines}) are kept out
+ * of the matcher entirely. There are typically thousands of them, and a line contains at most one,
+ * which can be parsed out of the line and looked up directly.
+ *
+ * A request whose event strings do not narrow down the lines it could be affected by (it has none,
+ * or one of them is the empty string) is tested against every line.
+ *
+ * This class is not thread-safe.
+ */
+final class EventRequestIndex {
+    private static final int MIN_UNCOMPILED_BEFORE_RECOMPILING = 64;
+
+    private final Set<EventRequest> requests = new HashSet<>();
+
+    private final Map<String, Set<EventRequest>> requestsByEventString = new HashMap<>();
+    private final Map<String, Set<EventRequest>> requestsByTransactionEventString = new HashMap<>();
+    private final Set<EventRequest> unindexedRequests = new LinkedHashSet<>();
+
+    private MultiPatternMatcher matcher = MultiPatternMatcher.EMPTY;
+    private final Set<String> compiledEventStrings = new HashSet<>();
+    private final Set<String> uncompiledEventStrings = new HashSet<>();
+    private int numberOfDeadCompiledEventStrings = 0;
+
+    /**
+     * Adds the specified request to the index.
+     */
+    void add(EventRequest request) {
+        if (!this.requests.add(request)) {
+            return;
+        }
+
+        Set<String> eventStrings = new HashSet<>(request.getAllEventStrings());
+        if (eventStrings.isEmpty() || eventStrings.contains("")) {
+            this.unindexedRequests.add(request);
+            return;
+        }
+
+        for (String eventString : eventStrings) {
+            if (TransactionLogLines.isTransactionEventString(eventString)) {
+                this.requestsByTransactionEventString.computeIfAbsent(eventString, k -> new LinkedHashSet<>()).add(request);
+                continue;
+            }
+
+            Set<EventRequest> requestsForString = this.requestsByEventString.get(eventString);
+
+            if (requestsForString == null) {
+                requestsForString = new LinkedHashSet<>();
+                this.requestsByEventString.put(eventString, requestsForString);
+
+                if (this.compiledEventStrings.contains(eventString)) {
+                    this.numberOfDeadCompiledEventStrings--;
+                } else {
+                    this.uncompiledEventStrings.add(eventString);
+                }
+            }
+
+            requestsForString.add(request);
+        }
+    }
+
+    /**
+     * Removes the specified request from the index and returns {@code true}, or returns
+     * {@code false} if the request was not in the index.
+     */
+    boolean remove(EventRequest request) {
+        if (!this.requests.remove(request)) {
+            return false;
+        }
+
+        if (this.unindexedRequests.remove(request)) {
+            return true;
+        }
+
+        for (String eventString : new HashSet<>(request.getAllEventStrings())) {
+            if (TransactionLogLines.isTransactionEventString(eventString)) {
+                Set<EventRequest> requestsForString = this.requestsByTransactionEventString.get(eventString);
+                requestsForString.remove(request);
+                if (requestsForString.isEmpty()) {
+                    this.requestsByTransactionEventString.remove(eventString);
+                }
+                continue;
+            }
+
+            Set<EventRequest> requestsForString = this.requestsByEventString.get(eventString);
+            requestsForString.remove(request);
+
+            if (requestsForString.isEmpty()) {
+                this.requestsByEventString.remove(eventString);
+
+                if (this.compiledEventStrings.contains(eventString)) {
+                    this.numberOfDeadCompiledEventStrings++;
+                } else {
+                    this.uncompiledEventStrings.remove(eventString);
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns every request in the index that the specified line could satisfy: those having at
+     * least one event string that occurs in the line, as well as all unindexed requests.
+     *
+     * Each request is returned at most once.
+     */
+    Set<EventRequest> candidatesFor(String line) {
+        compileIfWorthwhile();
+
+        Set<EventRequest> candidates = new LinkedHashSet<>(this.unindexedRequests);
+
+        this.matcher.forEachMatch(line, eventString -> {
+            Set<EventRequest> requestsForString = this.requestsByEventString.get(eventString);
+            if (requestsForString != null) {
+                candidates.addAll(requestsForString);
+            }
+        });
+
+        for (String eventString : this.uncompiledEventStrings) {
+            if (line.contains(eventString)) {
+                candidates.addAll(this.requestsByEventString.get(eventString));
+            }
+        }
+
+        if (!this.requestsByTransactionEventString.isEmpty()) {
+            TransactionLogLines.forEachTransactionEventString(line, eventString -> {
+                Set<EventRequest> requestsForString = this.requestsByTransactionEventString.get(eventString);
+                if (requestsForString != null) {
+                    candidates.addAll(requestsForString);
+                }
+            });
+        }
+
+        return candidates;
+    }
+
+    /**
+     * Returns every request in the index.
+     */
+    List<EventRequest> all() {
+        return new ArrayList<>(this.requests);
+    }
+
+    /**
+     * Removes every request from the index.
+     */
+    void clear() {
+        this.requests.clear();
+        this.requestsByEventString.clear();
+        this.requestsByTransactionEventString.clear();
+        this.unindexedRequests.clear();
+        this.matcher = MultiPatternMatcher.EMPTY;
+        this.compiledEventStrings.clear();
+        this.uncompiledEventStrings.clear();
+        this.numberOfDeadCompiledEventStrings = 0;
+    }
+
+    int size() {
+        return this.requests.size();
+    }
+
+    /**
+     * Recompiles the matcher over the current event strings once the uncompiled event strings or
+     * the dead compiled event strings make up a large enough share of the total that the cost of
+     * compiling is repaid by cheaper matching.
+     */
+    private void compileIfWorthwhile() {
+        int numberCompiled = this.compiledEventStrings.size();
+        int uncompiledThreshold = Math.max(MIN_UNCOMPILED_BEFORE_RECOMPILING, numberCompiled / 4);
+
+        boolean tooManyUncompiled = this.uncompiledEventStrings.size() > uncompiledThreshold;
+        boolean tooManyDead = (numberCompiled > 0) && (this.numberOfDeadCompiledEventStrings > numberCompiled / 2);
+
+        if (tooManyUncompiled || tooManyDead) {
+            this.matcher = this.requestsByEventString.isEmpty()
+                ? MultiPatternMatcher.EMPTY
+                : new MultiPatternMatcher(this.requestsByEventString.keySet());
+            this.compiledEventStrings.clear();
+            this.compiledEventStrings.addAll(this.requestsByEventString.keySet());
+            this.uncompiledEventStrings.clear();
+            this.numberOfDeadCompiledEventStrings = 0;
+        }
+    }
+
+}
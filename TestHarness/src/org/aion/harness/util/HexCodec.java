@@ -0,0 +1,174 @@
+package org.aion.harness.util;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.apache.commons.codec.DecoderException;
+
+/**
+ * A hex codec for the hashes, addresses and transactions that pass through the harness on every
+ * call to the node and every event it listens for.
+ *
+ * Bytes are encoded straight into ASCII bytes, from which a string takes its characters as they
+ * are, without the intermediate character array and re-encoding that other codecs go through. Hex
+ * is decoded straight out of the character range it occupies, and a leading '0x' identifier is
+ * skipped over rather than cut off into a new string.
+ *
+ * Encoding produces lowercase hex. Decoding accepts both cases.
+ *
+ * This class is thread-safe.
+ */
+public final class HexCodec {
+    private static final byte[] DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] VALUES = new byte[128];
+
+    static {
+        Arrays.fill(VALUES, (byte) -1);
+        for (int i = 0; i < 10; i++) {
+            VALUES['0' + i] = (byte) i;
+        }
+        for (int i = 0; i < 6; i++) {
+            VALUES['a' + i] = (byte) (10 + i);
+            VALUES['A' + i] = (byte) (10 + i);
+        }
+    }
+
+    private HexCodec() {}
+
+    /**
+     * Returns the specified bytes as a lowercase hex string, without any '0x' identifier.
+     *
+     * @param bytes The bytes to encode.
+     * @return the bytes as hex.
+     */
+    public static String toHex(byte[] bytes) {
+        byte[] hex = new byte[bytes.length * 2];
+        encode(bytes, 0, bytes.length, hex, 0);
+
+        // The digits are all ASCII, so the string takes its characters directly from these bytes,
+        // and any string it is concatenated into can copy them as they are.
+        return new String(hex, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Writes the specified range of bytes into the output array as lowercase ASCII hex digits,
+     * without any '0x' identifier, starting at the specified offset of the output.
+     *
+     * @param bytes The bytes to encode.
+     * @param offset The index of the first byte to encode.
+     * @param length The number of bytes to encode.
+     * @param out The array to write the digits into.
+     * @param outOffset The index of the output to write the first digit at.
+     */
+    public static void encode(byte[] bytes, int offset, int length, byte[] out, int outOffset) {
+        if ((offset < 0) || (length < 0) || (offset + length > bytes.length)) {
+            throw new IndexOutOfBoundsException("Cannot encode " + length + " bytes from offset " + offset + " of " + bytes.length + " bytes.");
+        }
+        if ((outOffset < 0) || (outOffset + (2 * length) > out.length)) {
+            throw new IndexOutOfBoundsException("Cannot write " + (2 * length) + " digits at offset " + outOffset + " of " + out.length + " bytes.");
+        }
+
+        for (int i = 0; i < length; i++) {
+            byte value = bytes[offset + i];
+            out[outOffset + (2 * i)] = DIGITS[(value >>> 4) & 0xF];
+            out[outOffset + (2 * i) + 1] = DIGITS[value & 0xF];
+        }
+    }
+
+    /**
+     * Decodes the specified hex, which may begin with a '0x' identifier.
+     *
+     * @param hex The hex to decode.
+     * @return the decoded bytes.
+     * @throws DecoderException if the hex has an odd number of digits or a non-hex character.
+     */
+    public static byte[] decode(CharSequence hex) throws DecoderException {
+        return decode(hex, prefixLength(hex), hex.length());
+    }
+
+    /**
+     * Decodes the hex in the range [start, end) of the specified characters. The range must not
+     * include any '0x' identifier.
+     *
+     * @param chars The characters holding the hex.
+     * @param start The index of the first hex digit.
+     * @param end The index just past the last hex digit.
+     * @return the decoded bytes.
+     * @throws DecoderException if the range has an odd number of digits or a non-hex character.
+     */
+    public static byte[] decode(CharSequence chars, int start, int end) throws DecoderException {
+        if ((start < 0) || (end < start) || (end > chars.length())) {
+            throw new IndexOutOfBoundsException("Cannot decode the range [" + start + ", " + end + ") of " + chars.length() + " characters.");
+        }
+        if (((end - start) & 1) != 0) {
+            throw new DecoderException("Odd number of characters.");
+        }
+
+        byte[] bytes = new byte[(end - start) / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            int index = start + (2 * i);
+            bytes[i] = (byte) ((digitAt(chars, index) << 4) | digitAt(chars, index + 1));
+        }
+        return bytes;
+    }
+
+    /**
+     * Decodes the specified hex quantity, which may begin with a '0x' identifier, as a long.
+     *
+     * @param hex The hex to decode.
+     * @return the quantity.
+     * @throws NumberFormatException if the hex is not a valid long.
+     */
+    public static long decodeLong(CharSequence hex) {
+        return Long.parseLong(hex, prefixLength(hex), hex.length(), 16);
+    }
+
+    /**
+     * Decodes the specified hex quantity, which may begin with a '0x' identifier, as an int.
+     *
+     * @param hex The hex to decode.
+     * @return the quantity.
+     * @throws NumberFormatException if the hex is not a valid int.
+     */
+    public static int decodeInt(CharSequence hex) {
+        return Integer.parseInt(hex, prefixLength(hex), hex.length(), 16);
+    }
+
+    /**
+     * Decodes the specified hex quantity, which may begin with a '0x' identifier, as a non-negative
+     * big integer.
+     *
+     * @param hex The hex to decode.
+     * @return the quantity.
+     * @throws NumberFormatException if the hex is not a valid quantity.
+     */
+    public static BigInteger decodeBigInteger(CharSequence hex) {
+        int start = prefixLength(hex);
+
+        // Anything that fits in a long avoids the copy that BigInteger's string parsing requires.
+        if (hex.length() - start < 16) {
+            return BigInteger.valueOf(Long.parseLong(hex, start, hex.length(), 16));
+        }
+        return new BigInteger(hex.subSequence(start, hex.length()).toString(), 16);
+    }
+
+    /**
+     * Returns 2 if the specified characters begin with a '0x' identifier, and 0 otherwise.
+     *
+     * @param chars The characters to check.
+     * @return the length of the identifier.
+     */
+    public static int prefixLength(CharSequence chars) {
+        return ((chars.length() >= 2) && (chars.charAt(0) == '0') && (chars.charAt(1) == 'x')) ? 2 : 0;
+    }
+
+    private static int digitAt(CharSequence chars, int index) throws DecoderException {
+        char character = chars.charAt(index);
+        int digit = (character < VALUES.length) ? VALUES[character] : -1;
+        if (digit < 0) {
+            throw new DecoderException("Illegal hexadecimal character " + character + " at index " + index);
+        }
+        return digit;
+    }
+
+}
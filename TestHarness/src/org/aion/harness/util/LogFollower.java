@@ -0,0 +1,129 @@
+package org.aion.harness.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Follows a log file as it grows, handing each complete line to a {@link LogListener} as soon as
+ * it is written.
+ *
+ * The file is read through a {@link FileChannel} into a single reusable direct buffer, from which
+ * lines are split by a {@link LogLineDecoder}. When there is nothing new to read, the follower
+ * backs off starting from a fraction of a millisecond and doubling up to {@code MAX_BACKOFF_NANOS},
+ * and drops straight back to the shortest backoff as soon as anything new is read. A busy log is
+ * therefore followed with sub-millisecond latency, while a quiet one costs next to nothing to
+ * watch.
+ *
+ * Like the commons-io Tailer it replaces, a follower starts reading from the end of the file, only
+ * hands over complete lines, and notifies its listener if the file cannot be found or shrinks (is
+ * rotated) while being followed. A line is decoded as UTF-8 and stripped of its line terminator.
+ *
+ * A log follower is run on a single thread. Its {@code stop()} method may be called from any
+ * thread.
+ */
+final class LogFollower implements Runnable, LogLineSource {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final long MIN_BACKOFF_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long MAX_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final File file;
+    private final LogListener listener;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final LogLineDecoder decoder = new LogLineDecoder();
+
+    private volatile boolean isRunning = true;
+
+    LogFollower(File file, LogListener listener) {
+        if (file == null) {
+            throw new NullPointerException("Cannot follow a null file.");
+        }
+        if (listener == null) {
+            throw new NullPointerException("Cannot follow a file with a null listener.");
+        }
+
+        this.file = file;
+        this.listener = listener;
+    }
+
+    @Override
+    public void run() {
+        this.listener.init(this);
+
+        FileChannel channel = null;
+        try {
+            channel = open();
+            if (channel == null) {
+                return;
+            }
+            long position = channel.size();
+            long backoffNanos = MIN_BACKOFF_NANOS;
+
+            while (this.isRunning && !Thread.currentThread().isInterrupted()) {
+                this.buffer.clear();
+                int numBytesRead = channel.read(this.buffer, position);
+
+                if (numBytesRead > 0) {
+                    position += numBytesRead;
+                    this.buffer.flip();
+                    this.decoder.decode(this.buffer, this.listener::handle);
+                    backoffNanos = MIN_BACKOFF_NANOS;
+
+                } else if (channel.size() < position) {
+                    // The file was truncated underneath us, so it has been rotated.
+                    this.listener.fileRotated();
+                    channel.close();
+                    channel = open();
+                    if (channel == null) {
+                        return;
+                    }
+                    position = 0;
+                    this.decoder.reset();
+
+                } else {
+                    LockSupport.parkNanos(backoffNanos);
+                    backoffNanos = Math.min(backoffNanos * 2, MAX_BACKOFF_NANOS);
+                }
+            }
+        } catch (IOException e) {
+            if (this.isRunning) {
+                this.listener.handle(e);
+            }
+        } finally {
+            closeQuietly(channel);
+        }
+    }
+
+    @Override
+    public void stop() {
+        this.isRunning = false;
+    }
+
+    /**
+     * Opens the followed file, or notifies the listener and returns null if it does not exist.
+     */
+    private FileChannel open() throws IOException {
+        try {
+            return FileChannel.open(this.file.toPath(), StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            this.listener.fileNotFound();
+            return null;
+        }
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // Nothing to do, we are done with the file anyway.
+            }
+        }
+    }
+
+}
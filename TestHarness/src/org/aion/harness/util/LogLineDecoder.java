@@ -0,0 +1,66 @@
+package org.aion.harness.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Splits the raw bytes of a log into lines.
+ *
+ * Bytes are fed to the decoder in whatever chunks they were read in, and every complete line is
+ * decoded as UTF-8, stripped of its line terminator and handed to a consumer. A trailing partial
+ * line is held onto until the rest of it is fed in. The bytes of a line are gathered in a single
+ * reusable array, so the only allocation made per line is the line itself.
+ *
+ * This class is not thread-safe.
+ */
+final class LogLineDecoder {
+    // The bytes of the current line read so far, which may span several chunks.
+    private byte[] line = new byte[256];
+    private int lineLength = 0;
+
+    /**
+     * Hands every complete line in the remaining bytes of the buffer to the consumer, and holds
+     * onto any trailing partial line until the rest of it is fed in. The buffer is consumed.
+     */
+    void decode(ByteBuffer buffer, Consumer<String> consumer) {
+        int start = buffer.position();
+        int limit = buffer.limit();
+
+        for (int i = start; i < limit; i++) {
+            if (buffer.get(i) == '\n') {
+                appendToLine(buffer, start, i);
+                consumer.accept(decodeLine());
+                this.lineLength = 0;
+                start = i + 1;
+            }
+        }
+
+        appendToLine(buffer, start, limit);
+    }
+
+    /**
+     * Discards any partial line held onto so far.
+     */
+    void reset() {
+        this.lineLength = 0;
+    }
+
+    private void appendToLine(ByteBuffer buffer, int from, int to) {
+        int length = to - from;
+        if (this.lineLength + length > this.line.length) {
+            this.line = Arrays.copyOf(this.line, Math.max(this.line.length * 2, this.lineLength + length));
+        }
+
+        buffer.position(from);
+        buffer.get(this.line, this.lineLength, length);
+        this.lineLength += length;
+    }
+
+    private String decodeLine() {
+        int length = ((this.lineLength > 0) && (this.line[this.lineLength - 1] == '\r')) ? this.lineLength - 1 : this.lineLength;
+        return new String(this.line, 0, length, StandardCharsets.UTF_8);
+    }
+
+}
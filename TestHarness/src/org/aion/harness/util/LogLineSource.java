@@ -0,0 +1,17 @@
+package org.aion.harness.util;
+
+/**
+ * Something that reads the log lines of a node and hands each of them, in order, to a
+ * {@link LogListener}.
+ *
+ * A source announces itself to its listener by calling {@link LogListener#init(LogLineSource)}
+ * before it hands over any lines, so that the listener can stop it if the listener panics.
+ */
+interface LogLineSource {
+
+    /**
+     * Stops this source from reading any further lines. Has no effect if it is already stopped.
+     */
+    void stop();
+
+}
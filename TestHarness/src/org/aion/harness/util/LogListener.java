@@ -1,15 +1,14 @@
 package org.aion.harness.util;
 
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import org.aion.harness.main.event.IEvent;
 import org.aion.harness.result.FutureResult;
 import org.aion.harness.result.LogEventResult;
 import org.aion.harness.result.Result;
-import org.apache.commons.io.input.Tailer;
-import org.apache.commons.io.input.TailerListener;
 
-import java.util.*;
 
 /**
  * A listener that "tails" the output log of a node and processes every line in that log one by one
@@ -19,8 +18,15 @@ import java.util.*;
  * A log listener maintains a pool of pending requests. Each request is an {@link IEvent} object,
  * and is therefore a conditional request for certain substrings to be witnessed in the log file.
  *
- * Each time this listener receives a new line in the log, it checks each of the requests and
- * attempts to satisfy their logic.
+ * Each time this listener receives a new line in the log, it checks the requests that the line
+ * could affect and attempts to satisfy their logic. The requests are indexed by their event strings
+ * (see {@link EventRequestIndex}) so that a line is never tested against a request none of whose
+ * event strings it contains.
+ *
+ * Submitting threads never contend with the thread processing the log for a lock. A submitted
+ * request is placed on a concurrent queue, and the thread processing the log moves everything on
+ * that queue into the pool before it processes the next line. The pool itself is only ever touched
+ * while holding this listener's monitor, which submitting threads do not take.
  *
  * Requests can be in 1 of 5 states: pending, satisfied, unobserved, expired, rejected.
  *
@@ -31,7 +37,8 @@ import java.util.*;
  *
  * If the node shuts down then all pending requests in the pool will be marked unobserved.
  *
- * If a request times out it is marked expired.
+ * If a request times out it is marked expired. This happens at the request's deadline, whether or
+ * not any new lines arrive in the log (see {@link EventRequestExpiryService}).
  *
  * If the listener gets into a fatal state, if it is not currently listening to a log file, if it
  * stops listening to a log file, or if the requester receives an interrupt signal while the request
@@ -39,39 +46,65 @@ import java.util.*;
  *
  * This class is thread-safe.
  */
-public final class LogListener implements TailerListener {
-    private static final int CAPACITY = 32_768;
-    private static final Object STATE_MONITOR = new Object();
-    private static final Semaphore REQUEST_POOL_GATE = new Semaphore(CAPACITY, true);
+public final class LogListener {
+    public static final int DEFAULT_CAPACITY = 32_768;
+
+    // Each listener has its own capacity and lock, so that a busy node cannot starve the listeners
+    // of any other nodes running in the same JVM.
+    private final int capacity;
+    private final Object stateMonitor = new Object();
+    private final Semaphore requestPoolGate;
 
-    // The tailer is responsible for reading each line and updating us. We are its "observer".
-    private Tailer tailer;
+    // The source is responsible for reading each line and updating us. We are its "observer".
+    private LogLineSource source;
 
     private enum ListenerState { ALIVE_AND_LISTENING, ALIVE_AND_NOT_LISTENING, DEAD }
 
-    // We begin as alive but not listening to any log file.
-    private ListenerState currentState = ListenerState.ALIVE_AND_NOT_LISTENING;
+    // We begin as alive but not listening to any log file. Only written to while holding the
+    // state monitor, but read without it.
+    private volatile ListenerState currentState = ListenerState.ALIVE_AND_NOT_LISTENING;
+
+    // Requests that have been submitted but not yet moved into the pool.
+    private final Queue<EventRequest> submissions = new ConcurrentLinkedQueue<>();
+
+    // Guarded by this listener's monitor.
+    private final EventRequestIndex requestPool = new EventRequestIndex();
+
+    public LogListener() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new log listener that will hold at most {@code capacity} pending requests at
+     * once. Any further submissions block until space frees up.
+     *
+     * @param capacity The maximum number of pending requests.
+     */
+    public LogListener(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Listener capacity must be at least 1, but was: " + capacity);
+        }
 
-    private List<EventRequest> requestPool = new ArrayList<>(CAPACITY);
+        this.capacity = capacity;
+        this.requestPoolGate = new Semaphore(capacity, true);
+    }
 
     /**
      * Returns true only if the listener is not dead.
      */
     boolean isAlive() {
-        synchronized (STATE_MONITOR) {
-            return this.currentState != ListenerState.DEAD;
-        }
+        return this.currentState != ListenerState.DEAD;
     }
 
     /**
-     * Returns the number of events that are currently being listened for. These events may have
-     * been requested by separate {@link org.aion.harness.main.NodeListener} objects.
+     * Returns the number of events that are currently being listened for by this listener. These
+     * events may have been requested by separate {@link org.aion.harness.main.NodeListener} objects.
      * But these are the total number currently being processed.
      *
      * @return total number of events being listened for.
      */
     public int numberOfPendingEventRequests() {
-        return CAPACITY - REQUEST_POOL_GATE.availablePermits();
+        return this.capacity - this.requestPoolGate.availablePermits();
     }
 
     /**
@@ -116,7 +149,7 @@ public final class LogListener implements TailerListener {
      * result is returned.
      */
     Result startListening() {
-        synchronized (STATE_MONITOR) {
+        synchronized (this.stateMonitor) {
             if (this.currentState == ListenerState.DEAD) {
                 return Result.unsuccessfulDueTo("Listener is dead!");
             } else if (this.currentState == ListenerState.ALIVE_AND_LISTENING) {
@@ -137,7 +170,7 @@ public final class LogListener implements TailerListener {
      * Otherwise, if the listener is not listening when this method is invoked, nothing happens.
      */
     void stopListening() {
-        synchronized (STATE_MONITOR) {
+        synchronized (this.stateMonitor) {
             if (this.currentState == ListenerState.ALIVE_AND_LISTENING) {
                 this.currentState = ListenerState.ALIVE_AND_NOT_LISTENING;
             }
@@ -166,34 +199,79 @@ public final class LogListener implements TailerListener {
     private void addRequest(EventRequest request, long timeout, TimeUnit unit) {
         try {
             // Try to acquire a permit to add the request to the pool.
-            if (!REQUEST_POOL_GATE.tryAcquire(timeout, unit)) {
+            if (!this.requestPoolGate.tryAcquire(timeout, unit)) {
                 request.markAsExpired();
                 return;
             }
         } catch (InterruptedException e) {
             request.markAsRejected("Interrupted while waiting to submit request!");
+            return;
         }
 
         // If the request has expired, mark it as so and return the pool permit.
         if (request.isExpiredAtTime(System.nanoTime(), TimeUnit.NANOSECONDS)) {
             request.markAsExpired();
-            REQUEST_POOL_GATE.release();
+            this.requestPoolGate.release();
             return;
         }
 
-        // Otherwise, we are free to add the request since we took the permit.
+        // Otherwise, we are free to submit the request since we took the permit. From here on the
+        // permit is returned by whichever thread drains the request off the submission queue.
+        this.submissions.add(request);
+        EventRequestExpiryService.singleton().schedule(request, this);
+
+        // If the listener is no longer listening, reject the request. Nothing may be processing
+        // log lines anymore, so drain the submissions ourselves to return the permit.
+        if (this.currentState != ListenerState.ALIVE_AND_LISTENING) {
+            request.markAsRejected("Listener is not currently listening to a log file.");
+
+            synchronized (this) {
+                this.requestPoolGate.release(drainSubmissions());
+            }
+        }
+    }
+
+    /**
+     * Removes the specified request from the pool, returns its permit and expires it if it is
+     * still pending. Invoked by the {@link EventRequestExpiryService} at the request's deadline.
+     *
+     * The submissions are drained first, since the request may not have made it into the pool yet
+     * if no lines have arrived since it was submitted.
+     */
+    void expire(EventRequest request) {
         synchronized (this) {
-            this.requestPool.add(request);
+            int numRequestsRemoved = drainSubmissions();
+            if (this.requestPool.remove(request)) {
+                numRequestsRemoved++;
+            }
+            this.requestPoolGate.release(numRequestsRemoved);
         }
 
-        // If the listener is no longer listening, reject the request and return the pool permit.
-        synchronized (STATE_MONITOR) {
-            if (this.currentState != ListenerState.ALIVE_AND_LISTENING) {
-                request.markAsRejected("Listener is not currently listening to a log file.");
-                this.requestPool.remove(request);
-                REQUEST_POOL_GATE.release();
+        // Only finish the future once the permit is back, so the requester never sees a stale pool.
+        request.markAsExpired();
+    }
+
+    /**
+     * Moves every submitted request into the pool, and returns the number of requests that were
+     * not moved into the pool because they are no longer pending. These requests must have their
+     * permits returned by the caller.
+     *
+     * Must be called while holding this listener's monitor.
+     */
+    private int drainSubmissions() {
+        int numRequestsDiscarded = 0;
+
+        EventRequest request = this.submissions.poll();
+        while (request != null) {
+            if (request.isPending()) {
+                this.requestPool.add(request);
+            } else {
+                numRequestsDiscarded++;
             }
+            request = this.submissions.poll();
         }
+
+        return numRequestsDiscarded;
     }
 
     /**
@@ -206,83 +284,80 @@ public final class LogListener implements TailerListener {
      *
      * @param nextLine The next line in the log file.
      */
-    @Override
     public void handle(String nextLine) {
-        synchronized (STATE_MONITOR) {
-            if (this.currentState != ListenerState.ALIVE_AND_LISTENING) {
-                return;
-            }
+        if (this.currentState != ListenerState.ALIVE_AND_LISTENING) {
+            return;
         }
 
         synchronized (this) {
             long currentTimeInNanos = System.nanoTime();
+            int numRequestsRemoved = drainSubmissions();
 
-            // Iterate over each of the requests in the pool.
-            Iterator<EventRequest> requestIterator = this.requestPool.iterator();
-
-            int numRequestsRemoved = 0;
-            while (requestIterator.hasNext()) {
-                EventRequest request = requestIterator.next();
-
-                if (!request.isPending()) {
-                    requestIterator.remove();
-                    numRequestsRemoved++;
-                } else if (request.isSatisfiedBy(nextLine, currentTimeInNanos, TimeUnit.NANOSECONDS)) {
-                    requestIterator.remove();
+            // Test only those requests that have an event string occurring in this line.
+            for (EventRequest request : this.requestPool.candidatesFor(nextLine)) {
+                if ((!request.isPending()) || (request.isSatisfiedBy(nextLine, currentTimeInNanos, TimeUnit.NANOSECONDS))) {
+                    this.requestPool.remove(request);
                     numRequestsRemoved++;
                 }
             }
 
             // Return the same number of permits as the number of requests removed from the pool.
-            REQUEST_POOL_GATE.release(numRequestsRemoved);
+            this.requestPoolGate.release(numRequestsRemoved);
         }
     }
 
     /**
-     * Called by the {@link Tailer} when it is first initialized with this listener. This is here
+     * Called by the {@link LogLineSource} when it is first started with this listener. This is here
      * so that we can grab hold of this reference and shut it down if we panic.
      *
-     * The {@link Tailer} is the class responsible for reading the log file and for invoking our
+     * The source is the class responsible for reading the log file and for invoking our
      * {@code handle()} method (or any other exceptional method) with the next line it reads in the
      * file.
      *
-     * @param tailer The class that is currently "tailing" the log file and alerting us.
+     * @param source The class that is currently reading the log file and alerting us.
      */
-    @Override
-    public void init(Tailer tailer) {
-        if (tailer == null) {
-            throw new NullPointerException("Cannot initialize with a null tailer.");
+    void init(LogLineSource source) {
+        if (source == null) {
+            throw new NullPointerException("Cannot initialize with a null source.");
         }
 
-        this.tailer = tailer;
+        this.source = source;
     }
 
-    @Override
-    public void fileNotFound() {
+    /**
+     * Called by the source if the log file it is reading does not exist.
+     */
+    void fileNotFound() {
         panic("Log file not found!");
     }
 
-    @Override
-    public void fileRotated() {
+    /**
+     * Called by the source if the log file it is reading was rotated out from under it.
+     */
+    void fileRotated() {
         // File not found because we die immediately there is no time to tell it was rotated.
         panic("Log file not found!");
     }
 
-    @Override
-    public void handle(Exception e) {
+    /**
+     * Called by the source if it fails to read the log file.
+     */
+    void handle(Exception e) {
         panic(e.toString());
     }
 
     /**
      * Moves this listener to the dead state, rejects all events in the request pool, notifies all
-     * requesting threads that their events are now satisfied, clears the pool, and stops the tailer
-     * from "tailing" the log file.
+     * requesting threads that their events are now satisfied, clears the pool, and stops the source
+     * from reading the log file.
      *
      * @param cause The reason for the fatal panic.
      */
     private void panic(String cause) {
         killRequestPool(cause);
-        this.tailer.stop();
+        if (this.source != null) {
+            this.source.stop();
+        }
     }
 
     /**
@@ -292,7 +367,7 @@ public final class LogListener implements TailerListener {
      * @param causeOfPanic The reason for why the request pool is being killed.
      */
     private void killRequestPool(String causeOfPanic) {
-        synchronized (STATE_MONITOR) {
+        synchronized (this.stateMonitor) {
             this.currentState = ListenerState.DEAD;
         }
 
@@ -310,9 +385,9 @@ public final class LogListener implements TailerListener {
      * @param rejectionCause The cause of rejection.
      */
     private synchronized void clearPool(boolean reject, String rejectionCause) {
-        int numRequestsRemoved = this.requestPool.size();
+        int numRequestsRemoved = drainSubmissions() + this.requestPool.size();
 
-        for (EventRequest request : this.requestPool) {
+        for (EventRequest request : this.requestPool.all()) {
 
             if (reject) {
                 request.markAsRejected(rejectionCause);
@@ -323,7 +398,7 @@ public final class LogListener implements TailerListener {
 
         this.requestPool.clear();
 
-        REQUEST_POOL_GATE.release(numRequestsRemoved);
+        this.requestPoolGate.release(numRequestsRemoved);
     }
 
 }
@@ -2,9 +2,9 @@ package org.aion.harness.util;
 
 import org.aion.harness.misc.Assumptions;
 import org.aion.harness.result.Result;
-import org.apache.commons.io.input.Tailer;
 
 import java.io.File;
+import java.io.InputStream;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -14,36 +14,89 @@ import java.util.concurrent.TimeUnit;
  */
 public final class LogReader {
     private ExecutorService threadExecutor;
-    private Tailer logTailer;
+    private LogLineSource source;
+    private boolean isFollowingFile;
     private LogListener listener;
+    private final int listenerCapacity;
     private final int ID;
     private static int IDCounter = 1;
 
     public LogReader() {
-        this.listener = new LogListener();
+        this(LogListener.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new log reader whose listener will hold at most {@code listenerCapacity}
+     * pending event requests at once.
+     *
+     * @param listenerCapacity The capacity of the listener.
+     */
+    public LogReader(int listenerCapacity) {
+        this.listenerCapacity = listenerCapacity;
+        this.listener = new LogListener(listenerCapacity);
         this.ID = IDCounter;
         IDCounter++;
     }
 
+    /**
+     * Starts following the specified log file, beginning at its current end.
+     *
+     * @param log The log file to follow.
+     * @return the result of this call.
+     */
     public Result startReading(File log) {
-        // If the listener moved into a dead state then we need a new listener.
-        if (!this.listener.isAlive()) {
-            this.listener = new LogListener();
-        }
-
         if (log == null) {
             return Result.unsuccessfulDueTo("Output log file does not exist!");
         }
 
-        // Attempt to turn the listener on. If it is already on then pass this "warning/error" to the caller.
-        Result result = this.listener.startListening();
+        Result result = startListening();
         if (!result.isSuccess()) {
             return result;
         }
 
+        LogFollower follower = new LogFollower(log, this.listener);
+        this.source = follower;
+        this.isFollowingFile = true;
         this.threadExecutor = Executors.newSingleThreadExecutor();
-        this.logTailer = new Tailer(log, this.listener, TimeUnit.SECONDS.toMillis(2), true);
-        this.threadExecutor.execute(this.logTailer);
+        this.threadExecutor.execute(follower);
+
+        return Result.successful();
+    }
+
+    /**
+     * Starts reading a node's output straight from the specified stream, which is typically the
+     * output of the node's process, and tees everything read from it into the specified log file.
+     *
+     * This sees every line the moment the node writes it, rather than once it has been written to
+     * disk and read back. The stream is read until it is closed, even after this reader is stopped,
+     * so that the node never blocks on a full pipe and the log file holds all of its output.
+     *
+     * @param output The output of the node.
+     * @param teeLog The log file to write the output into.
+     * @return the result of this call.
+     */
+    public Result startReading(InputStream output, File teeLog) {
+        if (output == null) {
+            throw new NullPointerException("Cannot read from a null output stream.");
+        }
+        if (teeLog == null) {
+            return Result.unsuccessfulDueTo("Output log file does not exist!");
+        }
+
+        Result result = startListening();
+        if (!result.isSuccess()) {
+            return result;
+        }
+
+        ProcessOutputReader reader = new ProcessOutputReader(output, teeLog, this.listener);
+        this.source = reader;
+        this.isFollowingFile = false;
+        this.threadExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "node-output-reader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.threadExecutor.execute(reader);
 
         return Result.successful();
     }
@@ -52,21 +105,44 @@ public final class LogReader {
         if (this.listener.isAlive()) {
 
             this.listener.stopListening();
-            this.logTailer.stop();
-            this.threadExecutor.shutdownNow();
-
-            if (!this.threadExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
-                System.out.println(Assumptions.LOGGER_BANNER
-                    + "Failed to shut down the log reader thread - timed out!");
+            this.source.stop();
+
+            if (this.isFollowingFile) {
+                this.threadExecutor.shutdownNow();
+
+                if (!this.threadExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+                    System.out.println(Assumptions.LOGGER_BANNER
+                        + "Failed to shut down the log reader thread - timed out!");
+                }
+            } else {
+                // The output reader keeps draining the node's output until the node closes it.
+                this.threadExecutor.shutdown();
             }
         } else {
+            if (this.threadExecutor != null) {
+                this.threadExecutor.shutdown();
+            }
+
             // If the listener is dead it cannot be recovered. We need to scrap it entirely.
-            this.listener = new LogListener();
+            this.listener = new LogListener(this.listenerCapacity);
         }
 
         this.threadExecutor = null;
     }
 
+    /**
+     * Attempts to turn the listener on, first replacing it if it has moved into a dead state.
+     */
+    private Result startListening() {
+        // If the listener moved into a dead state then we need a new listener.
+        if (!this.listener.isAlive()) {
+            this.listener = new LogListener(this.listenerCapacity);
+        }
+
+        // Attempt to turn the listener on. If it is already on then pass this "warning/error" to the caller.
+        return this.listener.startListening();
+    }
+
     public LogListener getLogListener() {
         return this.listener;
     }
@@ -0,0 +1,178 @@
+package org.aion.harness.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * An Aho-Corasick automaton that finds every occurrence of any of a fixed set of patterns in a
+ * string in a single pass over that string, regardless of how many patterns there are.
+ *
+ * The patterns are fixed when the matcher is constructed. The empty string is not a permissible
+ * pattern.
+ *
+ * A multi-pattern matcher is immutable.
+ */
+final class MultiPatternMatcher {
+    static final MultiPatternMatcher EMPTY = new MultiPatternMatcher(new ArrayList<>());
+
+    private static final int ROOT = 0;
+
+    private final String[] patterns;
+
+    // The outgoing edges of node i are edgeLabels[i][j] -> edgeTargets[i][j], sorted by label.
+    private final char[][] edgeLabels;
+    private final int[][] edgeTargets;
+
+    // The node reached by following the longest proper suffix of node i's string that is in the trie.
+    private final int[] failureLinks;
+
+    // The nearest node along node i's failure links that terminates a pattern, or ROOT if none does.
+    private final int[] outputLinks;
+
+    // The index of the pattern that terminates at node i, or -1 if none does.
+    private final int[] terminatingPattern;
+
+    /**
+     * Constructs a new matcher over the specified patterns. Duplicate patterns are ignored.
+     *
+     * @param patterns The patterns to match.
+     * @throws IllegalArgumentException if any pattern is empty.
+     */
+    MultiPatternMatcher(Collection<String> patterns) {
+        if (patterns == null) {
+            throw new NullPointerException("Cannot construct matcher with null patterns.");
+        }
+
+        // Build the trie with temporary sorted maps, then flatten it into arrays for matching.
+        List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        List<Integer> terminals = new ArrayList<>();
+        List<String> distinctPatterns = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        terminals.add(-1);
+
+        for (String pattern : patterns) {
+            if (pattern.isEmpty()) {
+                throw new IllegalArgumentException("Cannot match the empty string as a pattern.");
+            }
+
+            int node = ROOT;
+            for (int i = 0; i < pattern.length(); i++) {
+                Integer next = trie.get(node).get(pattern.charAt(i));
+                if (next == null) {
+                    next = trie.size();
+                    trie.add(new TreeMap<>());
+                    terminals.add(-1);
+                    trie.get(node).put(pattern.charAt(i), next);
+                }
+                node = next;
+            }
+
+            if (terminals.get(node) < 0) {
+                terminals.set(node, distinctPatterns.size());
+                distinctPatterns.add(pattern);
+            }
+        }
+
+        int numNodes = trie.size();
+        this.patterns = distinctPatterns.toArray(new String[0]);
+        this.edgeLabels = new char[numNodes][];
+        this.edgeTargets = new int[numNodes][];
+        this.failureLinks = new int[numNodes];
+        this.outputLinks = new int[numNodes];
+        this.terminatingPattern = new int[numNodes];
+
+        for (int node = 0; node < numNodes; node++) {
+            TreeMap<Character, Integer> edges = trie.get(node);
+            this.edgeLabels[node] = new char[edges.size()];
+            this.edgeTargets[node] = new int[edges.size()];
+
+            int j = 0;
+            for (Map.Entry<Character, Integer> edge : edges.entrySet()) {
+                this.edgeLabels[node][j] = edge.getKey();
+                this.edgeTargets[node][j] = edge.getValue();
+                j++;
+            }
+
+            this.terminatingPattern[node] = terminals.get(node);
+        }
+
+        // Compute the failure and output links breadth-first, so that every node's links are known
+        // before those of its children.
+        Deque<Integer> queue = new ArrayDeque<>();
+        queue.add(ROOT);
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+
+            for (int j = 0; j < this.edgeLabels[node].length; j++) {
+                char label = this.edgeLabels[node][j];
+                int child = this.edgeTargets[node][j];
+
+                int failure = ROOT;
+                if (node != ROOT) {
+                    int candidate = this.failureLinks[node];
+                    int target = transition(candidate, label);
+                    while ((target < 0) && (candidate != ROOT)) {
+                        candidate = this.failureLinks[candidate];
+                        target = transition(candidate, label);
+                    }
+                    failure = (target < 0) ? ROOT : target;
+                }
+
+                this.failureLinks[child] = failure;
+                this.outputLinks[child] = (this.terminatingPattern[failure] >= 0) ? failure : this.outputLinks[failure];
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of distinct patterns this matcher matches.
+     */
+    int numberOfPatterns() {
+        return this.patterns.length;
+    }
+
+    /**
+     * Invokes the consumer with each pattern that occurs in the specified text. A pattern that
+     * occurs more than once in the text is passed to the consumer once per occurrence.
+     *
+     * @param text The text to search.
+     * @param consumer The consumer of the matched patterns.
+     */
+    void forEachMatch(String text, Consumer<String> consumer) {
+        if (this.patterns.length == 0) {
+            return;
+        }
+
+        int node = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            char character = text.charAt(i);
+
+            int next = transition(node, character);
+            while ((next < 0) && (node != ROOT)) {
+                node = this.failureLinks[node];
+                next = transition(node, character);
+            }
+            node = (next < 0) ? ROOT : next;
+
+            int output = (this.terminatingPattern[node] >= 0) ? node : this.outputLinks[node];
+            while (output != ROOT) {
+                consumer.accept(this.patterns[this.terminatingPattern[output]]);
+                output = this.outputLinks[output];
+            }
+        }
+    }
+
+    private int transition(int node, char label) {
+        int index = Arrays.binarySearch(this.edgeLabels[node], label);
+        return (index < 0) ? -1 : this.edgeTargets[node][index];
+    }
+
+}
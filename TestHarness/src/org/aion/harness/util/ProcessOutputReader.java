@@ -0,0 +1,159 @@
+package org.aion.harness.util;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import org.aion.harness.misc.Assumptions;
+
+/**
+ * Reads the output of a node straight from the pipe it is written to, handing each complete line
+ * to a {@link LogListener} as soon as it arrives, and tees the output into a log file.
+ *
+ * Unlike a {@link LogFollower}, which can only see a line once the node has written it to disk
+ * and the follower has read it back, a process output reader sees every line the moment the node
+ * writes it. The log file is written to by a separate thread, so that a slow disk never holds up
+ * the listener.
+ *
+ * Stopping a process output reader only stops it from handing lines to its listener. The reader
+ * keeps draining the pipe into the log file until the node closes it, so that the node can never
+ * block on a full pipe, and so that the log file still holds everything the node wrote.
+ *
+ * A process output reader is run on a single thread. Its {@code stop()} method may be called from
+ * any thread.
+ */
+final class ProcessOutputReader implements Runnable, LogLineSource {
+    private static final int CHUNK_SIZE = 64 * 1024;
+    private static final int MAX_PENDING_CHUNKS = 1024;
+
+    // Handed to the tee thread once the pipe is closed, to tell it that nothing else is coming.
+    private static final byte[] END_OF_OUTPUT = new byte[0];
+
+    private final InputStream output;
+    private final File teeLog;
+    private final LogListener listener;
+    private final LogLineDecoder decoder = new LogLineDecoder();
+    private final BlockingQueue<byte[]> pendingChunks = new ArrayBlockingQueue<>(MAX_PENDING_CHUNKS);
+
+    private volatile boolean isDispatching = true;
+
+    ProcessOutputReader(InputStream output, File teeLog, LogListener listener) {
+        if (output == null) {
+            throw new NullPointerException("Cannot read a null output stream.");
+        }
+        if (teeLog == null) {
+            throw new NullPointerException("Cannot tee output into a null log file.");
+        }
+        if (listener == null) {
+            throw new NullPointerException("Cannot read output with a null listener.");
+        }
+
+        this.output = output;
+        this.teeLog = teeLog;
+        this.listener = listener;
+    }
+
+    @Override
+    public void run() {
+        this.listener.init(this);
+
+        Thread teeThread = new Thread(this::writeChunksToLog, "node-output-tee");
+        teeThread.setDaemon(true);
+        teeThread.start();
+
+        byte[] chunk = new byte[CHUNK_SIZE];
+        try {
+            int numBytesRead;
+            while ((numBytesRead = this.output.read(chunk)) >= 0) {
+                enqueue(Arrays.copyOf(chunk, numBytesRead));
+
+                if (this.isDispatching) {
+                    this.decoder.decode(ByteBuffer.wrap(chunk, 0, numBytesRead), this.listener::handle);
+                }
+            }
+        } catch (IOException e) {
+            if (this.isDispatching) {
+                this.listener.handle(e);
+            }
+        } finally {
+            enqueue(END_OF_OUTPUT);
+        }
+    }
+
+    @Override
+    public void stop() {
+        this.isDispatching = false;
+    }
+
+    /**
+     * Hands the chunk to the tee thread, waiting for room if the tee thread has fallen behind.
+     */
+    private void enqueue(byte[] chunk) {
+        boolean wasInterrupted = false;
+        while (true) {
+            try {
+                this.pendingChunks.put(chunk);
+                break;
+            } catch (InterruptedException e) {
+                // We must not lose any output, so hold onto the interrupt until the chunk is queued.
+                wasInterrupted = true;
+            }
+        }
+
+        if (wasInterrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes every chunk handed over by the reader into the log file. If the log file cannot be
+     * written to, the remaining chunks are still taken and discarded, so that the reader is never
+     * left waiting on us.
+     */
+    private void writeChunksToLog() {
+        FileOutputStream log = null;
+        try {
+            log = new FileOutputStream(this.teeLog, true);
+        } catch (IOException e) {
+            reportTeeFailure(e);
+        }
+
+        try {
+            byte[] chunk;
+            while ((chunk = this.pendingChunks.take()) != END_OF_OUTPUT) {
+                if (log != null) {
+                    try {
+                        log.write(chunk);
+                    } catch (IOException e) {
+                        reportTeeFailure(e);
+                        closeQuietly(log);
+                        log = null;
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            reportTeeFailure(e);
+        } finally {
+            closeQuietly(log);
+        }
+    }
+
+    private void reportTeeFailure(Exception e) {
+        System.out.println(Assumptions.LOGGER_BANNER + "Failed to write node output to " + this.teeLog + ": " + e);
+    }
+
+    private static void closeQuietly(FileOutputStream log) {
+        if (log != null) {
+            try {
+                log.close();
+            } catch (IOException e) {
+                // Nothing to do, we are done with the file anyway.
+            }
+        }
+    }
+
+}
@@ -45,7 +45,11 @@ public class SimpleLog {
     }
 
     /* VisibleForTesting*/ void log(String message, Date when) {
-        String now = FMT.format(when);
+        // DateFormat is not thread-safe and FMT is shared by every logger.
+        String now;
+        synchronized (FMT) {
+            now = FMT.format(when);
+        }
         out.println(String.format("[%s %s] %s", now, name, message));
     }
 
@@ -0,0 +1,98 @@
+package org.aion.harness.util;
+
+import java.util.function.Consumer;
+
+/**
+ * The formats of the log lines the kernel emits when it seals a transaction into a block or when it
+ * rejects a transaction.
+ *
+ * Tests routinely wait on thousands of these events at once, each one differing from the others
+ * only by its transaction hash. Rather than searching every log line for every one of these event
+ * strings, a listener can parse out the at most one such event string a line contains and look it
+ * up directly.
+ */
+public final class TransactionLogLines {
+    private static final int HASH_LENGTH_IN_HEX = 64;
+
+    private static final String SEALED_PREFIX = "Transaction: ";
+    private static final String SEALED_SUFFIX = " was sealed into block";
+    private static final String REJECTED_PREFIX = "tx ";
+    private static final String REJECTED_SUFFIX = " is rejected";
+
+    private TransactionLogLines() {}
+
+    /**
+     * Returns the event string that the kernel logs when the transaction with the specified hash is
+     * sealed into a block.
+     *
+     * @param transactionHash The hash of the transaction.
+     * @return the event string.
+     */
+    public static String sealedEventString(byte[] transactionHash) {
+        return SEALED_PREFIX + HexCodec.toHex(transactionHash) + SEALED_SUFFIX;
+    }
+
+    /**
+     * Returns the event string that the kernel logs when the transaction with the specified hash is
+     * rejected.
+     *
+     * @param transactionHash The hash of the transaction.
+     * @return the event string.
+     */
+    public static String rejectedEventString(byte[] transactionHash) {
+        return REJECTED_PREFIX + HexCodec.toHex(transactionHash) + REJECTED_SUFFIX;
+    }
+
+    /**
+     * Returns {@code true} only if the specified event string is a sealed or rejected event string
+     * for some transaction hash, and so can be found by {@code forEachTransactionEventString()}.
+     */
+    static boolean isTransactionEventString(String eventString) {
+        return (eventString.length() == SEALED_PREFIX.length() + HASH_LENGTH_IN_HEX + SEALED_SUFFIX.length()
+                && isTransactionEventAt(eventString, 0, SEALED_PREFIX, SEALED_SUFFIX))
+            || (eventString.length() == REJECTED_PREFIX.length() + HASH_LENGTH_IN_HEX + REJECTED_SUFFIX.length()
+                && isTransactionEventAt(eventString, 0, REJECTED_PREFIX, REJECTED_SUFFIX));
+    }
+
+    /**
+     * Invokes the consumer with every sealed or rejected event string that occurs in the specified
+     * line.
+     */
+    static void forEachTransactionEventString(String line, Consumer<String> consumer) {
+        forEachOccurrence(line, SEALED_PREFIX, SEALED_SUFFIX, consumer);
+        forEachOccurrence(line, REJECTED_PREFIX, REJECTED_SUFFIX, consumer);
+    }
+
+    private static void forEachOccurrence(String line, String prefix, String suffix, Consumer<String> consumer) {
+        int length = prefix.length() + HASH_LENGTH_IN_HEX + suffix.length();
+
+        int start = line.indexOf(prefix);
+        while ((start >= 0) && (start + length <= line.length())) {
+            if (isTransactionEventAt(line, start, prefix, suffix)) {
+                consumer.accept(line.substring(start, start + length));
+            }
+            start = line.indexOf(prefix, start + 1);
+        }
+    }
+
+    /**
+     * Returns {@code true} only if the string has the prefix at the specified offset, followed by a
+     * hash, followed by the suffix.
+     */
+    private static boolean isTransactionEventAt(String string, int offset, String prefix, String suffix) {
+        if (!string.startsWith(prefix, offset)) {
+            return false;
+        }
+
+        int hashStart = offset + prefix.length();
+        for (int i = hashStart; i < hashStart + HASH_LENGTH_IN_HEX; i++) {
+            char character = string.charAt(i);
+            if (!(((character >= '0') && (character <= '9')) || ((character >= 'a') && (character <= 'f')))) {
+                return false;
+            }
+        }
+
+        return string.startsWith(suffix, hashStart + HASH_LENGTH_IN_HEX);
+    }
+
+}
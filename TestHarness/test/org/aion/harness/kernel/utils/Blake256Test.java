@@ -0,0 +1,118 @@
+package org.aion.harness.kernel.utils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import org.apache.commons.codec.binary.Hex;
+import org.junit.Test;
+
+public class Blake256Test {
+
+    @Test
+    public void testKnownAnswers() throws Exception {
+        assertArrayEquals(Hex.decodeHex("0e5751c026e543b2e8ab2eb06099daa1d1e5df47778f7787faab45cdf12fe3a8"), Blake256.hash(new byte[0]));
+        assertArrayEquals(Hex.decodeHex("bddd813c634239723171ef3fee98579b94964e3bb1cb3e427262c8c068d52319"),
+            Blake256.hash("abc".getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    @Test
+    public void testSlicesAndBuffersMatchFreshDigest() {
+        Random random = new Random(17);
+
+        // Lengths on either side of the 128-byte block boundary exercise the cache buffer flushes.
+        for (int length : new int[] { 0, 1, 32, 127, 128, 129, 256, 1000 }) {
+            byte[] input = new byte[length + 10];
+            random.nextBytes(input);
+
+            Blake2b fresh = Blake2b.Digest.newInstance(32);
+            fresh.update(input, 5, length);
+            byte[] expected = fresh.digest();
+
+            byte[] output = new byte[Blake256.DIGEST_LENGTH + 3];
+            Blake256.hash(input, 5, length, output, 3);
+            assertArrayEquals(expected, Arrays.copyOfRange(output, 3, output.length));
+
+            ByteBuffer heap = ByteBuffer.wrap(input, 5, length);
+            ByteBuffer heapOutput = ByteBuffer.allocate(Blake256.DIGEST_LENGTH);
+            Blake256.hash(heap, heapOutput);
+            assertEquals(0, heap.remaining());
+            assertArrayEquals(expected, heapOutput.array());
+
+            ByteBuffer direct = ByteBuffer.allocateDirect(length);
+            direct.put(input, 5, length).flip();
+            ByteBuffer directOutput = ByteBuffer.allocateDirect(Blake256.DIGEST_LENGTH);
+            Blake256.hash(direct, directOutput);
+            assertEquals(0, direct.remaining());
+
+            byte[] directHash = new byte[Blake256.DIGEST_LENGTH];
+            directOutput.flip();
+            directOutput.get(directHash);
+            assertArrayEquals(expected, directHash);
+        }
+    }
+
+    @Test
+    public void testSteadyStateHashingDoesNotAllocate() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        byte[] input = new byte[300];
+        byte[] output = new byte[Blake256.DIGEST_LENGTH];
+
+        for (int i = 0; i < 20_000; i++) {
+            Blake256.hash(input, 0, input.length, output, 0);
+        }
+
+        // A fresh digest per hash would allocate several megabytes here, so a little slack for the
+        // JIT's own bookkeeping still catches any per-hash allocation.
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 100_000; i++) {
+            Blake256.hash(input, 0, input.length, output, 0);
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        assertTrue("allocated " + allocated + " bytes", allocated < 64 * 1024);
+    }
+
+    @Test
+    public void testRejectedSliceDoesNotCorruptLaterHashes() throws Exception {
+        byte[] input = new byte[200];
+        byte[] output = new byte[Blake256.DIGEST_LENGTH];
+
+        // A slice running past the end of the input would let the digest absorb its first blocks
+        // before failing.
+        try {
+            Blake256.hash(input, 10, input.length, output, 0);
+            fail("expected the out-of-bounds slice to be rejected");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            Blake256.hash(null, 0, 0, output, 0);
+            fail("expected the null input to be rejected");
+        } catch (NullPointerException e) {
+            // expected
+        }
+        try {
+            Blake256.hash(ByteBuffer.wrap(input), ByteBuffer.allocate(Blake256.DIGEST_LENGTH).asReadOnlyBuffer());
+            fail("expected the read-only output to be rejected");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+
+        assertArrayEquals(Hex.decodeHex("bddd813c634239723171ef3fee98579b94964e3bb1cb3e427262c8c068d52319"),
+            Blake256.hash("abc".getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOutputTooSmall() {
+        Blake256.hash(new byte[1], 0, 1, new byte[Blake256.DIGEST_LENGTH], 1);
+    }
+
+}
@@ -0,0 +1,193 @@
+package org.aion.harness.load;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.aion.harness.kernel.Address;
+import org.aion.harness.kernel.PrivateKey;
+import org.aion.harness.kernel.RawTransaction;
+import org.aion.harness.main.types.ReceiptHash;
+import org.aion.harness.main.util.TestHarnessHelper;
+import org.aion.harness.result.BulkResult;
+import org.aion.harness.result.FutureResult;
+import org.aion.harness.result.LogEventResult;
+import org.aion.harness.result.Result;
+import org.aion.harness.result.RpcResult;
+import org.aion.harness.util.TransactionLogLines;
+import org.aion.rlp.RLP;
+import org.aion.rlp.RLPList;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AccountFunderTest {
+    private static final BigInteger AMOUNT = BigInteger.valueOf(100);
+    private static final BigInteger TRANSFER_COST = BigInteger.valueOf(AccountFunder.TRANSFER_ENERGY_LIMIT * AccountFunder.TRANSFER_ENERGY_PRICE);
+
+    private static final ProcessedEventListener SEALS_EVERYTHING = (transaction, timeout, unit) -> {
+        FutureResult<LogEventResult> result = new FutureResult<>();
+        String sealed = TransactionLogLines.sealedEventString(transaction.getTransactionHash());
+        result.finish(LogEventResult.observedEvent(Collections.singletonList(sealed), Collections.singletonList(sealed),
+            System.nanoTime(), TimeUnit.NANOSECONDS));
+        return result;
+    };
+
+    private File keyFile;
+
+    @Before
+    public void setup() throws Exception {
+        this.keyFile = File.createTempFile("funded-accounts", ".txt");
+        Files.delete(this.keyFile.toPath());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(this.keyFile.toPath());
+    }
+
+    @Test
+    public void testAccountsAreFundedAsATree() throws Exception {
+        PrivateKey funder = PrivateKey.random();
+        List<PrivateKey> accounts = TestHarnessHelper.randomPrivateKeys(10);
+        FakeNode node = new FakeNode();
+
+        Result result = new AccountFunder(node, SEALS_EVERYTHING, 3).fundAccounts(funder, accounts, AMOUNT, 1, TimeUnit.MINUTES);
+        assertTrue(result.isSuccess());
+
+        // The funder funds 3 accounts, which fund the remaining 7 between them.
+        assertEquals(2, node.levels.size());
+        assertEquals(3, node.levels.get(0).size());
+        assertEquals(7, node.levels.get(1).size());
+
+        // Accounts 0 and 1 each fund three accounts, and account 2 funds the last one. Each is sent
+        // enough to cover its own amount and the amounts and costs of the transfers it makes.
+        assertEquals(fundingValue(4), node.received.get(accounts.get(0).getAddress()));
+        assertEquals(fundingValue(4), node.received.get(accounts.get(1).getAddress()));
+        assertEquals(fundingValue(2), node.received.get(accounts.get(2).getAddress()));
+        for (PrivateKey account : accounts.subList(3, 10)) {
+            assertEquals(AMOUNT, node.received.get(account.getAddress()));
+        }
+
+        // The first account funds accounts 3, 4 and 5 using consecutive nonces.
+        for (int i = 0; i < 3; i++) {
+            assertEquals(BigInteger.valueOf(i), nonceOf(node.levels.get(1).get(i)));
+        }
+    }
+
+    @Test
+    public void testFundingStopsAtAnUnsealedLevel() throws Exception {
+        FakeNode node = new FakeNode();
+        ProcessedEventListener rejectsEverything = (transaction, timeout, unit) -> {
+            FutureResult<LogEventResult> result = new FutureResult<>();
+            String rejected = TransactionLogLines.rejectedEventString(transaction.getTransactionHash());
+            result.finish(LogEventResult.observedEvent(Collections.singletonList(rejected), Collections.singletonList(rejected),
+                System.nanoTime(), TimeUnit.NANOSECONDS));
+            return result;
+        };
+
+        Result result = new AccountFunder(node, rejectsEverything, 2)
+            .fundAccounts(PrivateKey.random(), TestHarnessHelper.randomPrivateKeys(6), AMOUNT, 1, TimeUnit.MINUTES);
+
+        assertFalse(result.isSuccess());
+        assertEquals(1, node.levels.size());
+    }
+
+    @Test
+    public void testCachedAccountsAreReusedAndToppedUp() throws Exception {
+        PrivateKey funder = PrivateKey.random();
+        FakeNode node = new FakeNode();
+        AccountFunder accountFunder = new AccountFunder(node, SEALS_EVERYTHING, 3);
+
+        BulkResult<PrivateKey> first = accountFunder.fundCachedAccounts(this.keyFile, funder, 5, AMOUNT, 1, TimeUnit.MINUTES);
+        assertTrue(first.isSuccess());
+        assertEquals(5, first.getResults().size());
+        assertEquals(5, Files.readAllLines(this.keyFile.toPath()).size());
+        assertEquals(5, node.numberOfTransfers());
+
+        // Every cached account is still funded, so nothing is sent.
+        BulkResult<PrivateKey> second = accountFunder.fundCachedAccounts(this.keyFile, funder, 5, AMOUNT, 1, TimeUnit.MINUTES);
+        assertTrue(second.isSuccess());
+        assertEquals(first.getResults(), second.getResults());
+        assertEquals(5, node.numberOfTransfers());
+
+        // Two more accounts are created and funded, along with a cached account that was drained.
+        node.balances.put(first.getResults().get(2).getAddress(), BigInteger.ZERO);
+        BulkResult<PrivateKey> third = accountFunder.fundCachedAccounts(this.keyFile, funder, 7, AMOUNT, 1, TimeUnit.MINUTES);
+        assertTrue(third.isSuccess());
+        assertEquals(first.getResults(), third.getResults().subList(0, 5));
+        assertEquals(7, Files.readAllLines(this.keyFile.toPath()).size());
+        assertEquals(8, node.numberOfTransfers());
+    }
+
+    private static BigInteger fundingValue(int subtreeSize) {
+        return AMOUNT.multiply(BigInteger.valueOf(subtreeSize)).add(TRANSFER_COST.multiply(BigInteger.valueOf(subtreeSize - 1)));
+    }
+
+    private static BigInteger nonceOf(RawTransaction transaction) {
+        RLPList fields = (RLPList) RLP.decode2(transaction.getSignedTransactionBytes()).get(0);
+        return new BigInteger(1, fields.get(0).getRLPData());
+    }
+
+    /**
+     * A node that accepts every transfer, tracking what each account was sent.
+     */
+    private static final class FakeNode implements AccountFunder.FundingRpc {
+        private final List<List<RawTransaction>> levels = new ArrayList<>();
+        private final Map<Address, BigInteger> received = new HashMap<>();
+        private final Map<Address, BigInteger> balances = new HashMap<>();
+
+        @Override
+        public List<RpcResult<BigInteger>> getNonces(List<Address> addresses) {
+            List<RpcResult<BigInteger>> results = new ArrayList<>();
+            for (int i = 0; i < addresses.size(); i++) {
+                results.add(RpcResult.successful(BigInteger.ZERO, System.nanoTime(), TimeUnit.NANOSECONDS));
+            }
+            return results;
+        }
+
+        @Override
+        public List<RpcResult<BigInteger>> getBalances(List<Address> addresses) {
+            List<RpcResult<BigInteger>> results = new ArrayList<>();
+            for (Address address : addresses) {
+                results.add(RpcResult.successful(this.balances.getOrDefault(address, BigInteger.ZERO), System.nanoTime(), TimeUnit.NANOSECONDS));
+            }
+            return results;
+        }
+
+        @Override
+        public List<RpcResult<ReceiptHash>> sendTransactions(List<RawTransaction> transactions) {
+            this.levels.add(transactions);
+
+            List<RpcResult<ReceiptHash>> results = new ArrayList<>();
+            for (RawTransaction transaction : transactions) {
+                RLPList fields = (RLPList) RLP.decode2(transaction.getSignedTransactionBytes()).get(0);
+                Address destination = new Address(fields.get(1).getRLPData());
+                BigInteger value = new BigInteger(1, fields.get(2).getRLPData());
+
+                this.received.merge(destination, value, BigInteger::add);
+                this.balances.merge(destination, value, BigInteger::add);
+                results.add(RpcResult.successful(new ReceiptHash(new byte[32]), System.nanoTime(), TimeUnit.NANOSECONDS));
+            }
+            return results;
+        }
+
+        private int numberOfTransfers() {
+            int count = 0;
+            for (List<RawTransaction> level : this.levels) {
+                count += level.size();
+            }
+            return count;
+        }
+    }
+
+}
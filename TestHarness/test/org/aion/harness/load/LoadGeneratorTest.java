@@ -0,0 +1,131 @@
+package org.aion.harness.load;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+import java.security.spec.InvalidKeySpecException;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.aion.harness.kernel.BulkRawTransactionBuilder.TransactionType;
+import org.aion.harness.kernel.PrivateKey;
+import org.aion.harness.kernel.RawTransactionGenerator;
+import org.aion.harness.main.types.ReceiptHash;
+import org.aion.harness.result.FutureResult;
+import org.aion.harness.result.LogEventResult;
+import org.aion.harness.result.RpcResult;
+import org.aion.harness.util.TransactionLogLines;
+import org.junit.Test;
+
+public class LoadGeneratorTest {
+    private static final long SEAL_DELAY_IN_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+
+    @Test
+    public void testConstantProfileSchedule() {
+        LoadProfile profile = LoadProfile.constant(100, 1, TimeUnit.SECONDS);
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(10), profile.nextIntendedTime(0));
+        assertEquals(100, countIntendedTimes(profile));
+    }
+
+    @Test
+    public void testRampAndStepProfiles() {
+        LoadProfile ramp = LoadProfile.rampUp(10, 110, 1, 1, TimeUnit.SECONDS);
+        assertEquals(10, ramp.getRateAt(0), 0.001);
+        assertEquals(60, ramp.getRateAt(TimeUnit.MILLISECONDS.toNanos(500)), 0.001);
+        assertEquals(110, ramp.getRateAt(TimeUnit.MILLISECONDS.toNanos(1500)), 0.001);
+        assertEquals(0, ramp.getRateAt(TimeUnit.SECONDS.toNanos(2)), 0);
+
+        LoadProfile steps = LoadProfile.steps(10, 20, 3, 1, TimeUnit.SECONDS);
+        assertEquals(TimeUnit.SECONDS.toNanos(3), steps.getDuration(TimeUnit.NANOSECONDS));
+        assertEquals(10 + 30 + 50, countIntendedTimes(steps));
+    }
+
+    @Test
+    public void testLatencyIsMeasuredFromIntendedTime() throws Exception {
+        AtomicInteger numSent = new AtomicInteger(0);
+
+        // Every send stalls well past the next transaction's intended time, as an overloaded node might.
+        LoadGenerator.TransactionSender sender = transaction -> {
+            numSent.incrementAndGet();
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            return CompletableFuture.completedFuture(RpcResult.successful(new ReceiptHash(new byte[32]), System.nanoTime(), TimeUnit.NANOSECONDS));
+        };
+
+        // Every transaction is sealed a fixed delay after it is listened for.
+        ProcessedEventListener listener = (transaction, timeout, unit) -> {
+            FutureResult<LogEventResult> result = new FutureResult<>();
+            String sealed = TransactionLogLines.sealedEventString(transaction.getTransactionHash());
+            result.finish(LogEventResult.observedEvent(Collections.singletonList(sealed), Collections.singletonList(sealed),
+                System.nanoTime() + SEAL_DELAY_IN_NANOS, TimeUnit.NANOSECONDS));
+            return result;
+        };
+
+        LoadProfile profile = LoadProfile.constant(1000, 50, TimeUnit.MILLISECONDS);
+        LoadReport report = new LoadGenerator(sender, listener, profile).run(newGenerator(10_000).iterator(), 1, TimeUnit.MINUTES);
+
+        assertEquals(numSent.get(), report.getNumberOfTransactionsSent());
+        assertEquals(report.getNumberOfTransactionsSent(), report.getNumberOfTransactionsSealed());
+        assertEquals(0, report.getNumberOfTransactionsRejected());
+
+        // A closed-loop measurement would see only the 20ms seal delay. Measured from the intended
+        // times, the later transactions have also waited behind all the stalled sends before them.
+        long p50 = report.getSubmitToSealLatencyAtPercentile(50, TimeUnit.NANOSECONDS);
+        long max = report.getSubmitToSealLatencyAtPercentile(100, TimeUnit.NANOSECONDS);
+        assertTrue(p50 >= SEAL_DELAY_IN_NANOS);
+        assertTrue(max >= SEAL_DELAY_IN_NANOS + TimeUnit.MILLISECONDS.toNanos(40));
+    }
+
+    @Test
+    public void testFailedSendsAndRejectionsAreCounted() throws Exception {
+        AtomicInteger numSent = new AtomicInteger(0);
+
+        LoadGenerator.TransactionSender sender = transaction -> CompletableFuture.completedFuture((numSent.getAndIncrement() % 2 == 0)
+            ? RpcResult.successful(new ReceiptHash(new byte[32]), System.nanoTime(), TimeUnit.NANOSECONDS)
+            : RpcResult.unsuccessful("connection refused"));
+
+        ProcessedEventListener listener = (transaction, timeout, unit) -> {
+            FutureResult<LogEventResult> result = new FutureResult<>();
+            String rejected = TransactionLogLines.rejectedEventString(transaction.getTransactionHash());
+            result.finish(LogEventResult.observedEvent(Collections.singletonList(rejected), Collections.singletonList(rejected),
+                System.nanoTime(), TimeUnit.NANOSECONDS));
+            return result;
+        };
+
+        LoadReport report = new LoadGenerator(sender, listener, LoadProfile.constant(1000, 1, TimeUnit.SECONDS))
+            .run(newGenerator(10).iterator(), 1, TimeUnit.MINUTES);
+
+        assertEquals(10, report.getNumberOfTransactionsSent());
+        assertEquals(5, report.getNumberOfTransactionsFailedToSend());
+        assertEquals(5, report.getNumberOfTransactionsRejected());
+        assertEquals(0, report.getNumberOfTransactionsSealed());
+        assertEquals(0, report.getSustainedTransactionsPerSecond(), 0);
+    }
+
+    private static int countIntendedTimes(LoadProfile profile) {
+        int count = 0;
+        for (long time = 0; time >= 0; time = profile.nextIntendedTime(time)) {
+            count++;
+        }
+        return count;
+    }
+
+    private static RawTransactionGenerator newGenerator(int numTransactions) throws InvalidKeySpecException {
+        PrivateKey key = PrivateKey.random();
+        return new RawTransactionGenerator(numTransactions)
+            .useSameSender(key, BigInteger.ZERO)
+            .useDestinations(i -> null)
+            .useTransactionDatas(i -> new byte[0])
+            .useEnergyLimits(i -> 2_000_000)
+            .useEnergyPrices(i -> 10_000_000_000L)
+            .useTransferValues(i -> BigInteger.ZERO)
+            .useTransactionTypes(i -> TransactionType.FVM);
+    }
+
+}
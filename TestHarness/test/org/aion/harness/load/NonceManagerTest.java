@@ -0,0 +1,229 @@
+package org.aion.harness.load;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+import java.security.spec.InvalidKeySpecException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.aion.harness.kernel.Address;
+import org.aion.harness.kernel.BulkRawTransactionBuilder.TransactionType;
+import org.aion.harness.kernel.PrivateKey;
+import org.aion.harness.kernel.RawTransaction;
+import org.aion.harness.kernel.RawTransactionGenerator;
+import org.aion.harness.result.FutureResult;
+import org.aion.harness.result.LogEventResult;
+import org.aion.harness.result.RpcResult;
+import org.aion.harness.util.TransactionLogLines;
+import org.junit.Test;
+
+public class NonceManagerTest {
+    private static final ProcessedEventListener NO_LISTENER = (transaction, timeout, unit) -> {
+        throw new IllegalStateException("Not expected to listen.");
+    };
+
+    @Test(expected = IllegalStateException.class)
+    public void testNextBeforeSeeding() throws Exception {
+        NonceManager manager = new NonceManager(new FakeNonces(), NO_LISTENER, randomKeys(1));
+        manager.next();
+    }
+
+    @Test
+    public void testSeedingFailure() throws Exception {
+        NonceManager.NonceReader reader = addresses -> Collections.nCopies(addresses.size(), RpcResult.unsuccessful("node is down"));
+        NonceManager manager = new NonceManager(reader, NO_LISTENER, randomKeys(3));
+
+        assertFalse(manager.seedNonces().isSuccess());
+    }
+
+    @Test
+    public void testSendersAreHandedOutInRoundRobinFromTheirSeededNonces() throws Exception {
+        List<PrivateKey> keys = randomKeys(3);
+        FakeNonces nonces = new FakeNonces();
+        for (int i = 0; i < keys.size(); i++) {
+            nonces.set(keys.get(i), BigInteger.valueOf(10 * i));
+        }
+
+        NonceManager manager = new NonceManager(nonces, NO_LISTENER, keys);
+        assertTrue(manager.seedNonces().isSuccess());
+
+        for (int round = 0; round < 4; round++) {
+            for (int i = 0; i < keys.size(); i++) {
+                SenderNonce senderNonce = manager.next();
+                assertEquals(keys.get(i), senderNonce.getSenderKey());
+                assertEquals(BigInteger.valueOf((10 * i) + round), senderNonce.getNonce());
+            }
+        }
+    }
+
+    @Test
+    public void testConcurrentProducersNeverShareANonce() throws Exception {
+        List<PrivateKey> keys = randomKeys(8);
+        NonceManager manager = new NonceManager(new FakeNonces(), NO_LISTENER, keys);
+        assertTrue(manager.seedNonces().isSuccess());
+
+        int numProducers = 8;
+        int perProducer = 1_000;
+        ExecutorService executor = Executors.newFixedThreadPool(numProducers);
+        List<Future<List<SenderNonce>>> futures = new ArrayList<>();
+        for (int i = 0; i < numProducers; i++) {
+            futures.add(executor.submit(() -> {
+                List<SenderNonce> handedOut = new ArrayList<>();
+                for (int j = 0; j < perProducer; j++) {
+                    handedOut.add(manager.next());
+                }
+                return handedOut;
+            }));
+        }
+
+        Map<PrivateKey, Set<BigInteger>> noncesBySender = new HashMap<>();
+        for (Future<List<SenderNonce>> future : futures) {
+            for (SenderNonce senderNonce : future.get()) {
+                assertTrue(noncesBySender.computeIfAbsent(senderNonce.getSenderKey(), k -> new HashSet<>()).add(senderNonce.getNonce()));
+            }
+        }
+        executor.shutdown();
+
+        // Every sender was handed out equally often, and its nonces have no gaps.
+        for (PrivateKey key : keys) {
+            Set<BigInteger> handedOut = noncesBySender.get(key);
+            assertEquals((numProducers * perProducer) / keys.size(), handedOut.size());
+            assertEquals(BigInteger.valueOf(handedOut.size() - 1), Collections.max(handedOut));
+        }
+    }
+
+    @Test
+    public void testRejectedSenderIsReconciled() throws Exception {
+        List<PrivateKey> keys = randomKeys(1);
+        FakeNonces nonces = new FakeNonces();
+        NonceManager manager = new NonceManager(nonces, NO_LISTENER, keys);
+        assertTrue(manager.seedNonces().isSuccess());
+
+        manager.next();
+        SenderNonce rejected = manager.next();
+        assertEquals(BigInteger.TWO, manager.next().getNonce());
+
+        // The node rejected the second transaction, so the sender must fill the gap at nonce 1.
+        manager.reportRejected(rejected);
+
+        assertEquals(BigInteger.ONE, manager.next().getNonce());
+        assertEquals(BigInteger.TWO, manager.next().getNonce());
+    }
+
+    @Test
+    public void testRejectedSenderIsNotRewoundToTheLaggingNodeNonce() throws Exception {
+        List<PrivateKey> keys = randomKeys(1);
+        FakeNonces nonces = new FakeNonces();
+        NonceManager manager = new NonceManager(nonces, NO_LISTENER, keys);
+        assertTrue(manager.seedNonces().isSuccess());
+
+        List<SenderNonce> handedOut = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            handedOut.add(manager.next());
+        }
+
+        // Nonces 0 and 1 are still pending, so the node still reports 0. Only the gaps are refilled,
+        // and a later rejection never undoes a rewind that went further back.
+        manager.reportRejected(handedOut.get(3));
+        manager.reportRejected(handedOut.get(2));
+        manager.reportRejected(handedOut.get(4));
+
+        assertEquals(BigInteger.TWO, manager.next().getNonce());
+        assertEquals(BigInteger.valueOf(3), manager.next().getNonce());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectionFromAnotherManager() throws Exception {
+        List<PrivateKey> keys = randomKeys(2);
+        NonceManager manager = new NonceManager(new FakeNonces(), NO_LISTENER, keys);
+        NonceManager other = new NonceManager(new FakeNonces(), NO_LISTENER, keys.subList(0, 1));
+        assertTrue(manager.seedNonces().isSuccess());
+        assertTrue(other.seedNonces().isSuccess());
+
+        manager.next();
+        other.reportRejected(manager.next());
+    }
+
+    @Test
+    public void testWatchedRejectionIsReconciled() throws Exception {
+        PrivateKey key = PrivateKey.random();
+        FakeNonces nonces = new FakeNonces();
+
+        ProcessedEventListener listener = (transaction, timeout, unit) -> {
+            FutureResult<LogEventResult> result = new FutureResult<>();
+            String rejected = TransactionLogLines.rejectedEventString(transaction.getTransactionHash());
+            result.finish(LogEventResult.observedEvent(Collections.singletonList(rejected), Collections.singletonList(rejected),
+                System.nanoTime(), TimeUnit.NANOSECONDS));
+            return result;
+        };
+
+        NonceManager manager = new NonceManager(nonces, listener, Collections.singletonList(key));
+        assertTrue(manager.seedNonces().isSuccess());
+
+        SenderNonce senderNonce = manager.next();
+        RawTransaction transaction = newTransaction(key, senderNonce.getNonce());
+        manager.watchForRejection(transaction, senderNonce, 1, TimeUnit.MINUTES);
+
+        // Once the watcher has seen the rejection, the sender is rewound to the rejected nonce.
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        BigInteger next;
+        while (!(next = manager.next().getNonce()).equals(senderNonce.getNonce()) && (System.nanoTime() < deadline)) {
+            Thread.sleep(10);
+        }
+        assertEquals(senderNonce.getNonce(), next);
+    }
+
+    private static List<PrivateKey> randomKeys(int count) throws InvalidKeySpecException {
+        List<PrivateKey> keys = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            keys.add(PrivateKey.random());
+        }
+        return keys;
+    }
+
+    private static RawTransaction newTransaction(PrivateKey key, BigInteger nonce) {
+        return new RawTransactionGenerator(1)
+            .useSameSender(key, nonce)
+            .useDestinations(i -> null)
+            .useTransactionDatas(i -> new byte[0])
+            .useEnergyLimits(i -> 2_000_000)
+            .useEnergyPrices(i -> 10_000_000_000L)
+            .useTransferValues(i -> BigInteger.ZERO)
+            .useTransactionTypes(i -> TransactionType.FVM)
+            .iterator()
+            .next();
+    }
+
+    /**
+     * The nonces a node holds for each sender, which default to zero.
+     */
+    private static final class FakeNonces implements NonceManager.NonceReader {
+        private final Map<Address, BigInteger> nonces = new ConcurrentHashMap<>();
+
+        private void set(PrivateKey key, BigInteger nonce) {
+            this.nonces.put(key.getAddress(), nonce);
+        }
+
+        @Override
+        public List<RpcResult<BigInteger>> getNonces(List<Address> addresses) {
+            List<RpcResult<BigInteger>> results = new ArrayList<>();
+            for (Address address : addresses) {
+                results.add(RpcResult.successful(this.nonces.getOrDefault(address, BigInteger.ZERO), System.nanoTime(), TimeUnit.NANOSECONDS));
+            }
+            return results;
+        }
+    }
+
+}
@@ -0,0 +1,92 @@
+package org.aion.harness.unit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.aion.harness.main.AsyncRPC;
+import org.aion.harness.result.RpcResult;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AsyncRPCTest {
+    private static final int WINDOW = 3;
+
+    private HttpServer server;
+    private AtomicInteger inFlight = new AtomicInteger(0);
+    private AtomicInteger maxObservedInFlight = new AtomicInteger(0);
+
+    @Before
+    public void setup() throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.server.setExecutor(Executors.newCachedThreadPool());
+        this.server.createContext("/", exchange -> {
+            int current = this.inFlight.incrementAndGet();
+            this.maxObservedInFlight.accumulateAndGet(current, Math::max);
+
+            exchange.getRequestBody().readAllBytes();
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            byte[] body = "{\"jsonrpc\":\"2.0\",\"result\":\"42\",\"id\":1}".getBytes(StandardCharsets.UTF_8);
+            this.inFlight.decrementAndGet();
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        });
+        this.server.start();
+    }
+
+    @After
+    public void tearDown() {
+        this.server.stop(0);
+    }
+
+    @Test
+    public void testInFlightRequestsAreBoundedByWindow() throws Exception {
+        AsyncRPC rpc = new AsyncRPC("127.0.0.1", String.valueOf(this.server.getAddress().getPort()), WINDOW);
+
+        List<CompletableFuture<RpcResult<Long>>> futures = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            futures.add(rpc.blockNumber());
+            assertTrue(rpc.getNumberOfRequestsInFlight() <= WINDOW);
+        }
+
+        for (CompletableFuture<RpcResult<Long>> future : futures) {
+            RpcResult<Long> result = future.get(10, TimeUnit.SECONDS);
+            assertTrue(result.isSuccess());
+            assertEquals(Long.valueOf(42), result.getResult());
+        }
+
+        assertTrue(this.maxObservedInFlight.get() <= WINDOW);
+        assertTrue(rpc.shutdown(10, TimeUnit.SECONDS));
+        assertEquals(0, rpc.getNumberOfRequestsInFlight());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testSubmitAfterShutdown() throws InterruptedException {
+        AsyncRPC rpc = new AsyncRPC("127.0.0.1", String.valueOf(this.server.getAddress().getPort()), WINDOW);
+        rpc.shutdown(10, TimeUnit.SECONDS);
+        rpc.blockNumber();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEmptyWindow() {
+        new AsyncRPC("127.0.0.1", "8545", 0);
+    }
+}
@@ -0,0 +1,210 @@
+package org.aion.harness.unit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.aion.harness.main.RPC;
+import org.aion.harness.main.types.Block;
+import org.aion.harness.main.types.PackedBlock;
+import org.aion.harness.main.types.internal.BlockBuilder;
+import org.aion.harness.result.Result;
+import org.aion.harness.result.RpcResult;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BlockRangeTest {
+    private static final int BATCH_SIZE = 10;
+    private static final int PARALLELISM = 3;
+    private static final int HIGHEST_BLOCK = 500;
+
+    private HttpServer server;
+    private AtomicInteger requests = new AtomicInteger(0);
+    private AtomicInteger batchesInFlight = new AtomicInteger(0);
+    private AtomicInteger maxObservedBatchesInFlight = new AtomicInteger(0);
+
+    // Blocks the server drops from its first response that asks for them, as though lost in transit.
+    private Set<Long> blocksToDropOnce = ConcurrentHashMap.newKeySet();
+
+    @Before
+    public void setup() throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.server.setExecutor(Executors.newCachedThreadPool());
+        this.server.createContext("/", exchange -> {
+            this.requests.incrementAndGet();
+            int current = this.batchesInFlight.incrementAndGet();
+            this.maxObservedBatchesInFlight.accumulateAndGet(current, Math::max);
+
+            JsonArray requests = new JsonParser().parse(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8)).getAsJsonArray();
+            StringBuilder responses = new StringBuilder("[");
+            for (JsonElement element : requests) {
+                JsonObject request = element.getAsJsonObject();
+                long number = Long.decode(request.getAsJsonArray("params").get(0).getAsString());
+                if (this.blocksToDropOnce.remove(number)) {
+                    continue;
+                }
+
+                if (responses.length() > 1) {
+                    responses.append(',');
+                }
+                responses.append("{\"jsonrpc\":\"2.0\",\"id\":").append(request.get("id").getAsLong())
+                    .append(",\"result\":").append((number > HIGHEST_BLOCK) ? "null" : blockJson(number)).append('}');
+            }
+            byte[] body = responses.append(']').toString().getBytes(StandardCharsets.UTF_8);
+
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            this.batchesInFlight.decrementAndGet();
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        });
+        this.server.start();
+    }
+
+    @After
+    public void tearDown() {
+        this.server.stop(0);
+    }
+
+    @Test
+    public void testBlocksAreHandledInOrderWithBoundedParallelism() throws InterruptedException {
+        this.blocksToDropOnce.add(7L);
+        this.blocksToDropOnce.add(250L);
+
+        List<BigInteger> numbers = new ArrayList<>();
+        List<RpcResult<Block>> results = new ArrayList<>();
+        long numBlocks = newRpc().getBlockRange(BigInteger.valueOf(5), BigInteger.valueOf(HIGHEST_BLOCK), PARALLELISM, (number, result) -> {
+            numbers.add(number);
+            results.add(result);
+        });
+
+        assertEquals(HIGHEST_BLOCK - 4, numBlocks);
+        for (int i = 0; i < numBlocks; i++) {
+            assertEquals(BigInteger.valueOf(i + 5), numbers.get(i));
+            assertTrue(results.get(i).isSuccess());
+            assertEquals(BigInteger.valueOf(i + 5), results.get(i).getResult().getBlockNumber());
+        }
+        assertTrue(this.blocksToDropOnce.isEmpty());
+        assertTrue(this.maxObservedBatchesInFlight.get() <= PARALLELISM);
+    }
+
+    @Test
+    public void testPackedBlocksAreHandledInOrder() throws InterruptedException {
+        List<RpcResult<PackedBlock>> results = new ArrayList<>();
+        long numBlocks = newRpc().getPackedBlockRange(BigInteger.ZERO, BigInteger.valueOf(99), PARALLELISM, (number, result) -> results.add(result));
+
+        assertEquals(100, numBlocks);
+        for (int i = 0; i < numBlocks; i++) {
+            assertTrue(results.get(i).isSuccess());
+            assertEquals(i, results.get(i).getResult().getBlockNumber());
+        }
+    }
+
+    @Test
+    public void testMissingBlocksAreUnsuccessful() throws InterruptedException {
+        List<RpcResult<Block>> results = new ArrayList<>();
+        newRpc().getBlockRange(BigInteger.valueOf(HIGHEST_BLOCK), BigInteger.valueOf(HIGHEST_BLOCK + 1), PARALLELISM, (number, result) -> results.add(result));
+
+        assertEquals(2, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+    }
+
+    @Test
+    public void testBlocksAreWrittenToFileInOrder() throws Exception {
+        Path file = Files.createTempFile("blocks", ".jsonl");
+        try {
+            Result result = newRpc().writeBlockRange(BigInteger.ZERO, BigInteger.valueOf(99), PARALLELISM, file);
+            assertTrue(result.isSuccess());
+
+            List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            assertEquals(100, lines.size());
+            for (int i = 0; i < lines.size(); i++) {
+                Block block = new BlockBuilder().buildFromJsonString(lines.get(i));
+                assertEquals(BigInteger.valueOf(i), block.getBlockNumber());
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testWritingStopsAtMissingBlock() throws Exception {
+        Path file = Files.createTempFile("blocks", ".jsonl");
+        try {
+            Result result = newRpc().writeBlockRange(BigInteger.valueOf(HIGHEST_BLOCK - 49), BigInteger.valueOf(HIGHEST_BLOCK + 50), PARALLELISM, file);
+            assertFalse(result.isSuccess());
+            assertEquals(50, Files.readAllLines(file, StandardCharsets.UTF_8).size());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testCachedBlocksAreNotFetchedAgain() throws InterruptedException {
+        RPC rpc = new RPC("127.0.0.1", String.valueOf(this.server.getAddress().getPort()), PARALLELISM, BATCH_SIZE, 1_000_000);
+
+        List<BigInteger> numbers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            numbers.add(BigInteger.valueOf(i));
+        }
+        rpc.getBlocksByNumber(numbers);
+
+        numbers.add(BigInteger.valueOf(5));
+        List<RpcResult<Block>> results = rpc.getBlocksByNumber(numbers);
+
+        assertEquals(6, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(BigInteger.valueOf(i), results.get(i).getResult().getBlockNumber());
+        }
+        assertEquals(2, this.requests.get());
+        assertEquals(5, rpc.getCacheHitCount());
+        assertEquals(6, rpc.getCacheMissCount());
+
+        rpc.clearCache();
+        rpc.getBlocksByNumber(numbers);
+        assertEquals(3, this.requests.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBackwardsRange() throws InterruptedException {
+        newRpc().getBlockRange(BigInteger.TEN, BigInteger.ONE, PARALLELISM, (number, result) -> {});
+    }
+
+    private RPC newRpc() {
+        return new RPC("127.0.0.1", String.valueOf(this.server.getAddress().getPort()), PARALLELISM, BATCH_SIZE);
+    }
+
+    private static String blockJson(long number) {
+        return "{\"number\":\"0x" + Long.toHexString(number) + "\",\"difficulty\":\"0x2\",\"size\":\"0x200\",\"gasLimit\":\"0xe4e1c0\","
+            + "\"gasUsed\":\"0x0\",\"hash\":\"0x" + String.format("%08x", number) + "\",\"parentHash\":\"0x02\",\"logsBloom\":\"0x03\","
+            + "\"transactionsRoot\":\"0x04\",\"stateRoot\":\"0x05\",\"nonce\":\"0x06\",\"totalDifficulty\":\"0x20\","
+            + "\"transactions\":[{\"hash\":\"0x07\"}],\"extraData\":null,\"seal\":1.50}";
+    }
+
+}
@@ -0,0 +1,118 @@
+package org.aion.harness.unit;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+import java.security.spec.InvalidKeySpecException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.aion.harness.kernel.BulkRawTransactionBuilder;
+import org.aion.harness.kernel.BulkRawTransactionBuilder.TransactionType;
+import org.aion.harness.kernel.PrivateKey;
+import org.aion.harness.kernel.RawTransaction;
+import org.aion.harness.result.BulkResult;
+import org.aion.rlp.RLP;
+import org.aion.rlp.RLPList;
+import org.junit.Test;
+
+public class BulkRawTransactionBuilderTest {
+    private static final int NUM_TRANSACTIONS = 200;
+    private static final int TIMESTAMP_FIELD = 4;
+
+    @Test
+    public void testParallelBuildMatchesSequentialBuild() throws InvalidKeySpecException {
+        BulkRawTransactionBuilder builder = new BulkRawTransactionBuilder(NUM_TRANSACTIONS)
+            .useSameSender(PrivateKey.random(), BigInteger.valueOf(5))
+            .useSameDestination(null)
+            .useSameTransactionData(new byte[]{ 1, 2, 3 })
+            .useSameEnergyLimit(2_000_000)
+            .useSameEnergyPrice(10_000_000_000L)
+            .useSameTransferValue(BigInteger.ONE)
+            .useSameTransactionType(TransactionType.FVM);
+
+        BulkResult<RawTransaction> sequential = builder.build();
+        BulkResult<RawTransaction> parallel = builder.buildInParallel();
+
+        assertTrue(sequential.isSuccess());
+        assertTrue(parallel.isSuccess());
+        assertSameTransactions(sequential.getResults(), parallel.getResults());
+    }
+
+    @Test
+    public void testParallelBuildOnSuppliedExecutor() throws InvalidKeySpecException {
+        List<PrivateKey> keys = new ArrayList<>();
+        List<BigInteger> nonces = new ArrayList<>();
+        for (int i = 0; i < NUM_TRANSACTIONS; i++) {
+            keys.add(PrivateKey.random());
+            nonces.add(BigInteger.valueOf(i));
+        }
+
+        BulkRawTransactionBuilder builder = new BulkRawTransactionBuilder(NUM_TRANSACTIONS)
+            .useMultipleSenders(keys, nonces)
+            .useSameDestination(null)
+            .useSameTransactionData(new byte[0])
+            .useSameEnergyLimit(2_000_000)
+            .useSameEnergyPrice(10_000_000_000L)
+            .useSameTransferValue(BigInteger.ZERO)
+            .useSameTransactionType(TransactionType.AVM);
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            BulkResult<RawTransaction> parallel = builder.buildInParallel(executor, 3);
+            assertTrue(parallel.isSuccess());
+            assertSameTransactions(builder.build().getResults(), parallel.getResults());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testParallelBuildReportsLowestFailure() throws InvalidKeySpecException {
+        List<PrivateKey> keys = new ArrayList<>(Collections.nCopies(NUM_TRANSACTIONS, PrivateKey.random()));
+        keys.set(150, null);
+        keys.set(37, null);
+
+        BulkRawTransactionBuilder builder = new BulkRawTransactionBuilder(NUM_TRANSACTIONS)
+            .useMultipleSenders(keys, Collections.nCopies(NUM_TRANSACTIONS, BigInteger.ZERO))
+            .useSameDestination(null)
+            .useSameTransactionData(new byte[0])
+            .useSameEnergyLimit(2_000_000)
+            .useSameEnergyPrice(10_000_000_000L)
+            .useSameTransferValue(BigInteger.ZERO)
+            .useSameTransactionType(TransactionType.FVM);
+
+        BulkResult<RawTransaction> sequential = builder.build();
+        BulkResult<RawTransaction> parallel = builder.buildInParallel();
+
+        assertFalse(parallel.isSuccess());
+        assertTrue(parallel.getError().startsWith("Failed to create transaction #37 due to: "));
+        assertEquals(sequential.getError(), parallel.getError());
+        assertTrue(parallel.getResults().isEmpty());
+    }
+
+    /**
+     * Every signed transaction carries the time it was signed at, so two builds are compared by all
+     * of their fields other than the timestamp and the signature over it.
+     */
+    private static void assertSameTransactions(List<RawTransaction> expected, List<RawTransaction> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            RLPList expectedFields = (RLPList) RLP.decode2(expected.get(i).getSignedTransactionBytes()).get(0);
+            RLPList actualFields = (RLPList) RLP.decode2(actual.get(i).getSignedTransactionBytes()).get(0);
+
+            assertEquals(expectedFields.size(), actualFields.size());
+            for (int field = 0; field < expectedFields.size() - 1; field++) {
+                if (field != TIMESTAMP_FIELD) {
+                    assertArrayEquals(expectedFields.get(field).getRLPData(), actualFields.get(field).getRLPData());
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,149 @@
+package org.aion.harness.unit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.math.BigInteger;
+import org.aion.harness.kernel.Address;
+import org.aion.harness.main.tools.ChainObjectCache;
+import org.aion.harness.main.types.Block;
+import org.aion.harness.main.types.TransactionReceipt;
+import org.aion.harness.main.types.internal.BlockBuilder;
+import org.aion.harness.main.types.internal.TransactionReceiptBuilder;
+import org.junit.Test;
+
+public class ChainObjectCacheTest {
+
+    @Test
+    public void testBlockIsFoundByNumberAndByHash() {
+        ChainObjectCache cache = new ChainObjectCache(1_000_000);
+        Block block = block(5, 1);
+        cache.putBlock(block);
+
+        assertSame(block, cache.getBlockByNumber(BigInteger.valueOf(5)));
+        assertSame(block, cache.getBlockByHash(new byte[]{ 1 }));
+        assertNull(cache.getBlockByNumber(BigInteger.valueOf(6)));
+        assertNull(cache.getBlockByHash(new byte[]{ 2 }));
+
+        assertEquals(2, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    public void testBlockAndReceiptWithSameHashAreKeptApart() {
+        ChainObjectCache cache = new ChainObjectCache(1_000_000);
+        cache.putBlock(block(5, 1));
+
+        assertNull(cache.getTransactionReceipt(new byte[]{ 1 }));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvictedWhenFull() {
+        ChainObjectCache cache = new ChainObjectCache(1_000_000);
+        cache.putBlock(block(0, 0));
+        long blockSize = cache.getSizeInBytes();
+
+        cache = new ChainObjectCache(3 * blockSize);
+        cache.putBlock(block(1, 1));
+        cache.putBlock(block(2, 2));
+        cache.putBlock(block(3, 3));
+
+        // Touch block 1 so that block 2 becomes the least recently used.
+        cache.getBlockByNumber(BigInteger.ONE);
+        cache.putBlock(block(4, 4));
+
+        assertNull(cache.getBlockByNumber(BigInteger.valueOf(2)));
+        assertEquals(BigInteger.ONE, cache.getBlockByNumber(BigInteger.ONE).getBlockNumber());
+        assertEquals(BigInteger.valueOf(3), cache.getBlockByNumber(BigInteger.valueOf(3)).getBlockNumber());
+        assertEquals(BigInteger.valueOf(4), cache.getBlockByNumber(BigInteger.valueOf(4)).getBlockNumber());
+        assertEquals(3 * blockSize, cache.getSizeInBytes());
+    }
+
+    @Test
+    public void testObjectLargerThanCapacityIsNotCached() {
+        ChainObjectCache cache = new ChainObjectCache(10);
+        cache.putBlock(block(1, 1));
+
+        assertNull(cache.getBlockByNumber(BigInteger.ONE));
+        assertEquals(0, cache.getSizeInBytes());
+    }
+
+    @Test
+    public void testReorganizedBlockEvictsStaleBlockAndReceipts() {
+        ChainObjectCache cache = new ChainObjectCache(1_000_000);
+        cache.putBlock(block(7, 1));
+        cache.putTransactionReceipt(new byte[]{ 9 }, receipt(7, 1));
+        cache.putTransactionReceipt(new byte[]{ 10 }, receipt(8, 3));
+
+        // A different block at the same number means the chain has reorganized.
+        Block reorganized = block(7, 2);
+        cache.putBlock(reorganized);
+
+        assertSame(reorganized, cache.getBlockByNumber(BigInteger.valueOf(7)));
+        assertNull(cache.getBlockByHash(new byte[]{ 1 }));
+        assertNull(cache.getTransactionReceipt(new byte[]{ 9 }));
+        assertEquals(BigInteger.valueOf(8), cache.getTransactionReceipt(new byte[]{ 10 }).getBlockNumber());
+    }
+
+    @Test
+    public void testReceiptFromReorganizedBlockEvictsStaleBlock() {
+        ChainObjectCache cache = new ChainObjectCache(1_000_000);
+        cache.putBlock(block(7, 1));
+        cache.putTransactionReceipt(new byte[]{ 9 }, receipt(7, 2));
+
+        assertNull(cache.getBlockByNumber(BigInteger.valueOf(7)));
+    }
+
+    @Test
+    public void testClear() {
+        ChainObjectCache cache = new ChainObjectCache(1_000_000);
+        cache.putBlock(block(1, 1));
+        cache.putTransactionReceipt(new byte[]{ 9 }, receipt(1, 1));
+        cache.clear();
+
+        assertEquals(0, cache.getSizeInBytes());
+        assertNull(cache.getBlockByNumber(BigInteger.ONE));
+        assertNull(cache.getTransactionReceipt(new byte[]{ 9 }));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroCapacity() {
+        new ChainObjectCache(0);
+    }
+
+    private static Block block(long number, int hash) {
+        return new BlockBuilder()
+            .difficulty(1)
+            .blockSize(1)
+            .energyLimit(1)
+            .energyUsed(0)
+            .hash(new byte[]{ (byte) hash })
+            .parentHash(new byte[]{ 0 })
+            .bloomFilter(new byte[]{ 0 })
+            .receiptTrieRoot(new byte[]{ 0 })
+            .stateRoot(new byte[]{ 0 })
+            .nonce(new byte[]{ 0 })
+            .number(BigInteger.valueOf(number))
+            .totalDifficulty(BigInteger.ONE)
+            .build();
+    }
+
+    private static TransactionReceipt receipt(long blockNumber, int blockHash) {
+        return new TransactionReceiptBuilder()
+            .transactionEnergyPrice(1)
+            .transactionEnergyLimit(1)
+            .energyConsumedByTransaction(1)
+            .totalEnergyConsumedByBlock(1)
+            .indexOfTransactionInBlock(0)
+            .blockHash(new byte[]{ (byte) blockHash })
+            .bloomFilter(new byte[]{ 0 })
+            .transactionHash(new byte[]{ 0 })
+            .stateRootHash(new byte[]{ 0 })
+            .blockNumber(BigInteger.valueOf(blockNumber))
+            .transactionSender(new Address(new byte[Address.SIZE]))
+            .transactionDestination(new Address(new byte[Address.SIZE]))
+            .build();
+    }
+
+}
@@ -0,0 +1,81 @@
+package org.aion.harness.unit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import org.aion.harness.statistics.LatencyHistogram;
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testPercentilesAreWithinPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 100_000; i++) {
+            histogram.recordLatency(i, TimeUnit.MICROSECONDS);
+        }
+
+        assertEquals(100_000, histogram.getTotalCount());
+        assertWithinPrecision(50_000, histogram.getLatencyAtPercentile(50, TimeUnit.MICROSECONDS));
+        assertWithinPrecision(99_000, histogram.getLatencyAtPercentile(99, TimeUnit.MICROSECONDS));
+        assertWithinPrecision(99_900, histogram.getLatencyAtPercentile(99.9, TimeUnit.MICROSECONDS));
+        assertEquals(100_000, histogram.getLatencyAtPercentile(100, TimeUnit.MICROSECONDS));
+        assertEquals(1, histogram.getMinimumLatency(TimeUnit.MICROSECONDS));
+        assertEquals(50_000.5, histogram.getMeanLatency(TimeUnit.MICROSECONDS), 0.001);
+    }
+
+    @Test
+    public void testSmallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 0; i < 2048; i++) {
+            histogram.recordLatency(i, TimeUnit.NANOSECONDS);
+        }
+
+        assertEquals(1023, histogram.getLatencyAtPercentile(50, TimeUnit.NANOSECONDS));
+        assertEquals(2047, histogram.getLatencyAtPercentile(100, TimeUnit.NANOSECONDS));
+    }
+
+    @Test
+    public void testHugeValuesAreClamped() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordLatency(3, TimeUnit.DAYS);
+
+        assertEquals(LatencyHistogram.HIGHEST_TRACKABLE_VALUE, histogram.getMaximumLatency(TimeUnit.NANOSECONDS));
+        assertEquals(1, histogram.getLatencyAtPercentile(99.9, TimeUnit.HOURS));
+    }
+
+    @Test
+    public void testEmptyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getLatencyAtPercentile(99, TimeUnit.NANOSECONDS));
+        assertEquals(0, histogram.getMinimumLatency(TimeUnit.NANOSECONDS));
+        assertEquals(0, histogram.getMeanLatency(TimeUnit.NANOSECONDS), 0);
+    }
+
+    @Test
+    public void testMergedHistogramMatchesOneRecordedHistogram() {
+        LatencyHistogram evens = new LatencyHistogram();
+        LatencyHistogram odds = new LatencyHistogram();
+        LatencyHistogram all = new LatencyHistogram();
+        for (long i = 1; i <= 10_000; i++) {
+            ((i % 2 == 0) ? evens : odds).recordLatency(i, TimeUnit.MICROSECONDS);
+            all.recordLatency(i, TimeUnit.MICROSECONDS);
+        }
+
+        evens.merge(odds);
+
+        assertEquals(all.getTotalCount(), evens.getTotalCount());
+        assertEquals(all.getMinimumLatency(TimeUnit.NANOSECONDS), evens.getMinimumLatency(TimeUnit.NANOSECONDS));
+        assertEquals(all.getMaximumLatency(TimeUnit.NANOSECONDS), evens.getMaximumLatency(TimeUnit.NANOSECONDS));
+        assertEquals(all.getMeanLatency(TimeUnit.NANOSECONDS), evens.getMeanLatency(TimeUnit.NANOSECONDS), 0);
+        for (double percentile : new double[]{ 0, 50, 90, 99, 99.9, 100 }) {
+            assertEquals(all.getLatencyAtPercentile(percentile, TimeUnit.NANOSECONDS), evens.getLatencyAtPercentile(percentile, TimeUnit.NANOSECONDS));
+        }
+    }
+
+    private static void assertWithinPrecision(long expected, long actual) {
+        assertTrue("expected " + expected + " but was " + actual, Math.abs(expected - actual) <= expected / 1000);
+    }
+
+}
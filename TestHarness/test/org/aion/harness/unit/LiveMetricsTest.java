@@ -0,0 +1,90 @@
+package org.aion.harness.unit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.aion.harness.statistics.LiveMetrics;
+import org.junit.Test;
+
+public class LiveMetricsTest {
+
+    @Test
+    public void testConcurrentRecordingIsAllCounted() throws InterruptedException {
+        LiveMetrics metrics = new LiveMetrics();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int thread = 0; thread < 8; thread++) {
+            executor.submit(() -> {
+                for (int i = 1; i <= 10_000; i++) {
+                    metrics.recordRpcRequest(2, (i % 10 == 0) ? 1 : 0, i, TimeUnit.MICROSECONDS);
+                    metrics.recordEventObserved(i, TimeUnit.MILLISECONDS);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+
+        LiveMetrics.Snapshot snapshot = metrics.snapshot();
+        assertEquals(160_000, snapshot.getNumberOfRpcCalls());
+        assertEquals(8_000, snapshot.getNumberOfFailedRpcCalls());
+        assertEquals(80_000, snapshot.getNumberOfEventsObserved());
+        assertEquals(0, snapshot.getNumberOfEventsNotObserved());
+        assertEquals(10_000, snapshot.getRpcLatencyAtPercentile(100, TimeUnit.MICROSECONDS));
+        assertEquals(10_000, snapshot.getEventLatencyAtPercentile(100, TimeUnit.MILLISECONDS));
+        assertTrue(snapshot.getRpcCallsPerSecond() > 0);
+    }
+
+    @Test
+    public void testSnapshotIsNotAffectedByLaterRecording() {
+        LiveMetrics metrics = new LiveMetrics();
+        metrics.recordRpcRequest(1, 0, 5, TimeUnit.MILLISECONDS);
+        LiveMetrics.Snapshot first = metrics.snapshot();
+
+        metrics.recordRpcRequest(3, 0, 50, TimeUnit.MILLISECONDS);
+        LiveMetrics.Snapshot second = metrics.snapshot();
+
+        assertEquals(1, first.getNumberOfRpcCalls());
+        assertEquals(5, first.getRpcLatencyAtPercentile(100, TimeUnit.MILLISECONDS));
+        assertEquals(4, second.getNumberOfRpcCalls());
+        assertEquals(50, second.getRpcLatencyAtPercentile(100, TimeUnit.MILLISECONDS));
+        assertTrue(second.getRpcCallsPerSecondSince(first) > 0);
+    }
+
+    @Test
+    public void testLatencyObjectiveBreach() {
+        LiveMetrics metrics = new LiveMetrics();
+        for (int i = 0; i < 99; i++) {
+            metrics.recordEventObserved(10, TimeUnit.MILLISECONDS);
+        }
+        assertFalse(metrics.isEventLatencyAbove(99, 20, TimeUnit.MILLISECONDS));
+
+        metrics.recordEventObserved(1, TimeUnit.SECONDS);
+        metrics.recordEventObserved(1, TimeUnit.SECONDS);
+        assertTrue(metrics.isEventLatencyAbove(99, 20, TimeUnit.MILLISECONDS));
+        assertFalse(metrics.isRpcLatencyAbove(99, 20, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testResetDiscardsEverything() {
+        LiveMetrics metrics = new LiveMetrics();
+        metrics.recordRpcRequest(1, 1, 5, TimeUnit.MILLISECONDS);
+        metrics.recordEventNotObserved();
+
+        metrics.reset();
+
+        LiveMetrics.Snapshot snapshot = metrics.snapshot();
+        assertEquals(0, snapshot.getNumberOfRpcCalls());
+        assertEquals(0, snapshot.getNumberOfFailedRpcCalls());
+        assertEquals(0, snapshot.getNumberOfEventsNotObserved());
+        assertEquals(0, snapshot.getRpcLatencyAtPercentile(99, TimeUnit.NANOSECONDS));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMoreFailuresThanCalls() {
+        new LiveMetrics().recordRpcRequest(1, 2, 5, TimeUnit.MILLISECONDS);
+    }
+
+}
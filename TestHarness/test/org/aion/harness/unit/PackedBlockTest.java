@@ -0,0 +1,106 @@
+package org.aion.harness.unit;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.gson.stream.JsonReader;
+import java.io.StringReader;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import org.aion.harness.main.types.Block;
+import org.aion.harness.main.types.PackedBlock;
+import org.aion.harness.main.types.internal.BlockBuilder;
+import org.junit.Test;
+
+public class PackedBlockTest {
+
+    @Test
+    public void testPackedBlockHoldsSameFieldsAsBlock() {
+        Block block = block(BigInteger.valueOf(1234567));
+        PackedBlock packed = PackedBlock.from(block);
+
+        assertEquals(block.blockDifficulty(), packed.blockDifficulty());
+        assertEquals(block.blockSizeInBytes(), packed.blockSizeInBytes());
+        assertEquals(block.getBlockEnergyLimit(), packed.getBlockEnergyLimit());
+        assertEquals(block.getBlockEnergyUsed(), packed.getBlockEnergyUsed());
+        assertEquals(block.getBlockNumber().longValue(), packed.getBlockNumber());
+        assertEquals(block.getTotalDifficulty(), packed.getTotalDifficulty());
+        assertArrayEquals(block.getBlockHash(), toArray(packed.getBlockHash()));
+        assertArrayEquals(block.getParentBlockHash(), toArray(packed.getParentBlockHash()));
+        assertArrayEquals(block.getBloomFilter(), toArray(packed.getBloomFilter()));
+        assertArrayEquals(block.getTransactionReceiptsTrieRoot(), toArray(packed.getTransactionReceiptsTrieRoot()));
+        assertArrayEquals(block.getStateRoot(), toArray(packed.getStateRoot()));
+        assertArrayEquals(block.getBlockNonce(), toArray(packed.getBlockNonce()));
+        assertTrue(packed.hasBlockHash(block.getBlockHash()));
+        assertFalse(packed.hasBlockHash(block.getParentBlockHash()));
+
+        assertEquals(block, packed.toBlock());
+        assertEquals(block.toString().replace("Block {", "PackedBlock {"), packed.toString());
+    }
+
+    @Test
+    public void testPackedFromJsonEqualsPackedBlock() throws Exception {
+        String json = "{\"number\":\"0x1f4\",\"difficulty\":\"0x2\",\"size\":\"0x200\",\"gasLimit\":\"0xe4e1c0\","
+            + "\"gasUsed\":\"0x0\",\"hash\":\"0x0102\",\"parentHash\":\"0x02\",\"logsBloom\":\"0x03\","
+            + "\"transactionsRoot\":\"0x04\",\"stateRoot\":\"0x05\",\"nonce\":\"0x06\",\"totalDifficulty\":\"0xffffffffffffffffff\"}";
+
+        PackedBlock packed = new BlockBuilder().buildPackedFromJson(new JsonReader(new StringReader(json)));
+        Block block = new BlockBuilder().buildFromJsonString(json);
+
+        assertEquals(PackedBlock.from(block), packed);
+        assertEquals(PackedBlock.from(block).hashCode(), packed.hashCode());
+        assertEquals(500, packed.getBlockNumber());
+        assertEquals(new BigInteger("ffffffffffffffffff", 16), packed.getTotalDifficulty());
+    }
+
+    @Test
+    public void testDifferentBlocksAreNotEqual() {
+        assertNotEquals(PackedBlock.from(block(BigInteger.ONE)), PackedBlock.from(block(BigInteger.TWO)));
+    }
+
+    @Test(expected = ReadOnlyBufferException.class)
+    public void testViewsAreReadOnly() {
+        PackedBlock.from(block(BigInteger.ONE)).getBlockHash().put(0, (byte) 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBlockNumberTooLargeToPack() {
+        PackedBlock.from(block(BigInteger.ONE.shiftLeft(64)));
+    }
+
+    private static Block block(BigInteger number) {
+        return new BlockBuilder()
+            .difficulty(2)
+            .blockSize(512)
+            .energyLimit(15_000_000)
+            .energyUsed(21_000)
+            .hash(filled(32, 1))
+            .parentHash(filled(32, 2))
+            .bloomFilter(filled(256, 3))
+            .receiptTrieRoot(filled(32, 4))
+            .stateRoot(filled(32, 5))
+            .nonce(filled(32, 6))
+            .number(number)
+            .totalDifficulty(BigInteger.valueOf(1_000_000))
+            .build();
+    }
+
+    private static byte[] filled(int length, int value) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) (value + i);
+        }
+        return bytes;
+    }
+
+    private static byte[] toArray(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+}
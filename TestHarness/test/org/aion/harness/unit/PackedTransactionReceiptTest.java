@@ -0,0 +1,90 @@
+package org.aion.harness.unit;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import org.aion.harness.kernel.Address;
+import org.aion.harness.main.types.PackedTransactionReceipt;
+import org.aion.harness.main.types.TransactionReceipt;
+import org.aion.harness.main.types.internal.TransactionReceiptBuilder;
+import org.junit.Test;
+
+public class PackedTransactionReceiptTest {
+    private static final Address SENDER = address(1);
+    private static final Address DESTINATION = address(2);
+
+    @Test
+    public void testPackedReceiptHoldsSameFieldsAsReceipt() {
+        TransactionReceipt receipt = builder().transactionDestination(DESTINATION).build();
+        PackedTransactionReceipt packed = PackedTransactionReceipt.from(receipt);
+
+        assertEquals(receipt.getTransactionEnergyPrice(), packed.getTransactionEnergyPrice());
+        assertEquals(receipt.getTransactionEnergyLimit(), packed.getTransactionEnergyLimit());
+        assertEquals(receipt.getTransactionEnergyConsumed(), packed.getTransactionEnergyConsumed());
+        assertEquals(receipt.getCumulativeEnergyConsumed(), packed.getCumulativeEnergyConsumed());
+        assertEquals(receipt.getTransactionIndex(), packed.getTransactionIndex());
+        assertEquals(receipt.getStatus(), packed.getStatus());
+        assertEquals(receipt.getBlockNumber().longValue(), packed.getBlockNumber());
+        assertArrayEquals(receipt.getBlockHash(), toArray(packed.getBlockHash()));
+        assertArrayEquals(receipt.getBloomFilter(), toArray(packed.getBloomFilter()));
+        assertArrayEquals(receipt.getTransactionHash(), toArray(packed.getTransactionHash()));
+        assertArrayEquals(receipt.getStateRootHash(), toArray(packed.getStateRootHash()));
+        assertEquals(SENDER, packed.getTransactionSender());
+        assertEquals(DESTINATION, packed.getTransactionDestination().get());
+        assertFalse(packed.getAddressOfDeployedContract().isPresent());
+        assertTrue(packed.hasTransactionHash(receipt.getTransactionHash()));
+
+        TransactionReceipt unpacked = packed.toTransactionReceipt();
+        assertEquals(receipt, unpacked);
+        assertEquals(receipt.toString(), unpacked.toString());
+        assertEquals(PackedTransactionReceipt.from(unpacked), packed);
+    }
+
+    @Test
+    public void testContractCreationReceipt() {
+        PackedTransactionReceipt packed = builder().newlyDeployedContractAddress(DESTINATION).buildPacked();
+
+        assertEquals(DESTINATION, packed.getAddressOfDeployedContract().get());
+        assertFalse(packed.getTransactionDestination().isPresent());
+        assertEquals(builder().newlyDeployedContractAddress(DESTINATION).build().toString(), packed.toTransactionReceipt().toString());
+    }
+
+    private static TransactionReceiptBuilder builder() {
+        return new TransactionReceiptBuilder()
+            .transactionEnergyPrice(10_000_000_000L)
+            .transactionEnergyLimit(2_000_000)
+            .energyConsumedByTransaction(21_000)
+            .totalEnergyConsumedByBlock(42_000)
+            .indexOfTransactionInBlock(1)
+            .blockHash(filled(32, 3))
+            .bloomFilter(filled(256, 4))
+            .transactionHash(filled(32, 5))
+            .stateRootHash(filled(32, 6))
+            .blockNumber(BigInteger.valueOf(77))
+            .transactionSender(SENDER)
+            .status(1);
+    }
+
+    private static Address address(int value) {
+        return new Address(filled(Address.SIZE, value));
+    }
+
+    private static byte[] filled(int length, int value) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) (value + i);
+        }
+        return bytes;
+    }
+
+    private static byte[] toArray(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+}
@@ -1,5 +1,6 @@
 package org.aion.harness.unit;
 
+import org.aion.harness.kernel.Address;
 import org.aion.harness.kernel.PrivateKey;
 import org.apache.commons.codec.DecoderException;
 import org.apache.commons.codec.binary.Hex;
@@ -7,7 +8,10 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import java.security.spec.InvalidKeySpecException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
 
 public class PrivateKeyTest {
     private String testingPrivateKey = "32ee00c327f522f0c8d300921148a6c42f40a3ce45c1f56baa7bfa752200d9e5";
@@ -53,4 +57,38 @@ public class PrivateKeyTest {
         Assert.assertFalse(Arrays.equals(retrievedPrivateKey, privateKey.getPrivateKeyBytes()));
         Assert.assertArrayEquals(Hex.decodeHex(testingPrivateKey), privateKey.getPrivateKeyBytes());
     }
+
+    @Test
+    public void testDerivedAddress() throws DecoderException, InvalidKeySpecException {
+        String preminedPrivateKey = "223f19377d95582055bd8972cf3ffd635d2712a7171e4888091a066b9f4f63d5";
+        String preminedAddress = "a0d6dec327f522f9c8d342921148a6c42f40a3ce45c1f56baa7bfa752200d9e5";
+
+        PrivateKey privateKey = PrivateKey.fromBytes(Hex.decodeHex(preminedPrivateKey));
+        Assert.assertEquals(new Address(Hex.decodeHex(preminedAddress)), privateKey.getAddress());
+    }
+
+    @Test
+    public void testBulkKeysMatchIndividualKeys() throws InvalidKeySpecException {
+        List<byte[]> privateKeyBytes = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            privateKeyBytes.add(PrivateKey.random().getPrivateKeyBytes());
+        }
+
+        List<PrivateKey> privateKeys = PrivateKey.fromBytes(privateKeyBytes);
+
+        Assert.assertEquals(privateKeyBytes.size(), privateKeys.size());
+        for (int i = 0; i < privateKeyBytes.size(); i++) {
+            PrivateKey expected = PrivateKey.fromBytes(privateKeyBytes.get(i));
+            Assert.assertEquals(expected, privateKeys.get(i));
+            Assert.assertEquals(expected.getAddress(), privateKeys.get(i).getAddress());
+        }
+    }
+
+    @Test
+    public void testBulkRandomKeysAreDistinct() {
+        List<PrivateKey> privateKeys = PrivateKey.random(10_000);
+
+        Assert.assertEquals(10_000, privateKeys.size());
+        Assert.assertEquals(10_000, new HashSet<>(privateKeys).size());
+    }
 }
@@ -0,0 +1,156 @@
+package org.aion.harness.unit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.spec.InvalidKeySpecException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.aion.harness.kernel.BulkRawTransactionBuilder.TransactionType;
+import org.aion.harness.kernel.PrivateKey;
+import org.aion.harness.kernel.RawTransaction;
+import org.aion.harness.kernel.RawTransactionGenerator;
+import org.aion.harness.main.RPC;
+import org.aion.rlp.RLP;
+import org.aion.rlp.RLPList;
+import org.junit.Test;
+
+public class RawTransactionGeneratorTest {
+    private static final int BATCH_SIZE = 10;
+    private static final String RECEIPT_HASH = "abababababababababababababababababababababababababababababababab";
+
+    @Test
+    public void testTransactionsAreBuiltOnDemand() throws InvalidKeySpecException {
+        AtomicInteger numBuilt = new AtomicInteger(0);
+        RawTransactionGenerator generator = newGenerator(1_000_000, numBuilt);
+
+        Iterator<RawTransaction> transactions = generator.iterator();
+        assertEquals(0, numBuilt.get());
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(BigInteger.valueOf(7 + i), nonceOf(transactions.next()));
+        }
+        assertEquals(3, numBuilt.get());
+    }
+
+    @Test
+    public void testParallelStreamKeepsOrder() throws InvalidKeySpecException {
+        List<RawTransaction> transactions = newGenerator(300, new AtomicInteger(0)).stream().parallel().collect(Collectors.toList());
+
+        assertEquals(300, transactions.size());
+        for (int i = 0; i < transactions.size(); i++) {
+            assertEquals(BigInteger.valueOf(7 + i), nonceOf(transactions.get(i)));
+        }
+    }
+
+    @Test
+    public void testFailureNamesTransaction() throws InvalidKeySpecException {
+        PrivateKey key = PrivateKey.random();
+        RawTransactionGenerator generator = newGenerator(10, new AtomicInteger(0))
+            .useSenders(i -> (i == 4) ? null : key, BigInteger::valueOf);
+
+        Iterator<RawTransaction> transactions = generator.iterator();
+        for (int i = 0; i < 4; i++) {
+            transactions.next();
+        }
+
+        try {
+            transactions.next();
+            fail("Expected transaction #4 to fail.");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage().startsWith("Failed to create transaction #4 due to: "));
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testUnspecifiedPartIsRejected() {
+        new RawTransactionGenerator(1).iterator();
+    }
+
+    @Test
+    public void testRpcSendsGeneratedTransactionsInBatches() throws Exception {
+        HttpServer server = startEchoingServer();
+        try {
+            RPC rpc = new RPC("127.0.0.1", String.valueOf(server.getAddress().getPort()), 1, BATCH_SIZE);
+
+            int numTransactions = 95;
+            AtomicInteger numBuilt = new AtomicInteger(0);
+            AtomicInteger numHandled = new AtomicInteger(0);
+
+            long numSent = rpc.sendTransactions(newGenerator(numTransactions, numBuilt).iterator(), (transaction, result) -> {
+                assertTrue(result.isSuccess());
+                assertEquals(BigInteger.valueOf(7 + numHandled.getAndIncrement()), nonceOf(transaction));
+
+                // No more than one batch is ever built ahead of the transactions already handled.
+                assertTrue(numBuilt.get() - numHandled.get() < BATCH_SIZE);
+            });
+
+            assertEquals(numTransactions, numSent);
+            assertEquals(numTransactions, numHandled.get());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    private static RawTransactionGenerator newGenerator(int numTransactions, AtomicInteger numBuilt) throws InvalidKeySpecException {
+        PrivateKey key = PrivateKey.random();
+        return new RawTransactionGenerator(numTransactions)
+            .useSenders(i -> key, i -> {
+                numBuilt.incrementAndGet();
+                return BigInteger.valueOf(7 + i);
+            })
+            .useDestinations(i -> null)
+            .useTransactionDatas(i -> new byte[]{ (byte) i })
+            .useEnergyLimits(i -> 2_000_000)
+            .useEnergyPrices(i -> 10_000_000_000L)
+            .useTransferValues(i -> BigInteger.ZERO)
+            .useTransactionTypes(i -> TransactionType.FVM);
+    }
+
+    private static BigInteger nonceOf(RawTransaction transaction) {
+        RLPList fields = (RLPList) RLP.decode2(transaction.getSignedTransactionBytes()).get(0);
+        byte[] nonce = fields.get(0).getRLPData();
+        return (nonce == null) ? BigInteger.ZERO : new BigInteger(1, nonce);
+    }
+
+    /**
+     * Starts a server that answers every call in a batch with a receipt hash.
+     */
+    private static HttpServer startEchoingServer() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            String request = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+
+            JsonArray responses = new JsonArray();
+            for (JsonElement call : new JsonParser().parse(request).getAsJsonArray()) {
+                JsonObject response = new JsonObject();
+                response.addProperty("jsonrpc", "2.0");
+                response.addProperty("result", RECEIPT_HASH);
+                response.add("id", call.getAsJsonObject().get("id"));
+                responses.add(response);
+            }
+
+            byte[] body = responses.toString().getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        });
+        server.start();
+        return server;
+    }
+
+}
@@ -0,0 +1,383 @@
+package org.aion.harness.unit;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.aion.harness.main.tools.InternalRpcResult;
+import org.aion.harness.main.tools.RpcCaller;
+import org.aion.harness.main.tools.RpcMethod;
+import org.aion.harness.main.tools.RpcPayload;
+import org.aion.harness.main.tools.RpcPayloadBuilder;
+import org.aion.harness.main.tools.RpcResultDecoder;
+import org.aion.harness.main.types.Block;
+import org.aion.harness.main.types.TransactionReceipt;
+import org.aion.harness.main.types.internal.BlockBuilder;
+import org.aion.harness.main.types.internal.TransactionReceiptBuilder;
+import org.aion.harness.statistics.LiveMetrics;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RpcCallerTest {
+    private static final String RECEIPT_JSON = "{"
+        + "\"blockHash\":\"0x4e4e\",\"nrgPrice\":\"0x2540be400\",\"logsBloom\":\"0x00\",\"nrgUsed\":\"0x5208\","
+        + "\"contractAddress\":null,\"transactionIndex\":\"0x0\",\"transactionHash\":\"0x9f9f\",\"gasLimit\":\"0x1e8480\","
+        + "\"blockNumber\":\"0x400\",\"root\":\"c1c1\",\"cumulativeGasUsed\":\"0x5208\","
+        + "\"from\":\"0xa0d6dec327f522f9c8d342921148a6c42f40a3ce45c1f56baa7bfa752200d9e5\","
+        + "\"to\":\"0xa0d6dec327f522f9c8d342921148a6c42f40a3ce45c1f56baa7bfa752200d9e5\","
+        + "\"logs\":[{\"address\":\"0x00\",\"topics\":[\"0x01\"]}],\"status\":\"0x1\""
+        + "}";
+
+    private static final String BLOCK_JSON = "{"
+        + "\"number\":\"0x10\",\"difficulty\":\"0x2\",\"size\":\"0x200\",\"gasLimit\":\"0xe4e1c0\","
+        + "\"gasUsed\":\"0x0\",\"hash\":\"0x01\",\"parentHash\":\"0x02\",\"logsBloom\":\"0x03\","
+        + "\"transactionsRoot\":\"0x04\",\"stateRoot\":\"0x05\",\"nonce\":\"0x06\",\"totalDifficulty\":\"0x20\","
+        + "\"transactions\":[{\"hash\":\"0x07\"}],\"extraData\":null"
+        + "}";
+
+    private HttpServer server;
+    private AtomicReference<String> response = new AtomicReference<>();
+
+    @Before
+    public void setup() throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.server.createContext("/", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            byte[] body = this.response.get().getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        });
+        this.server.start();
+    }
+
+    @After
+    public void tearDown() {
+        this.server.stop(0);
+    }
+
+    @Test
+    public void testSuccessfulCallsOverSameCaller() throws InterruptedException {
+        RpcCaller caller = new RpcCaller("127.0.0.1", port(), 1);
+
+        for (int i = 0; i < 10; i++) {
+            this.response.set("{\"jsonrpc\":\"2.0\",\"result\":\"0x" + i + "\",\"id\":1}");
+
+            InternalRpcResult<BigInteger> result = caller.call(new RpcPayload("{}"), RpcResultDecoder.QUANTITY, false);
+            assertTrue(result.success);
+            assertEquals(BigInteger.valueOf(i), result.result);
+            assertTrue(result.getTimeOfCall(java.util.concurrent.TimeUnit.NANOSECONDS) >= 0);
+        }
+    }
+
+    @Test
+    public void testCallsAreRecordedInLiveMetrics() throws InterruptedException {
+        RpcCaller caller = new RpcCaller("127.0.0.1", port(), 1);
+        LiveMetrics.Snapshot before = LiveMetrics.global().snapshot();
+
+        this.response.set("{\"jsonrpc\":\"2.0\",\"result\":\"0x1\",\"id\":1}");
+        assertTrue(caller.call(new RpcPayload("{}"), RpcResultDecoder.QUANTITY, false).success);
+        this.response.set("{\"jsonrpc\":\"2.0\",\"error\":{\"code\":-32000,\"message\":\"nope\"},\"id\":1}");
+        assertFalse(caller.call(new RpcPayload("{}"), RpcResultDecoder.QUANTITY, false).success);
+
+        LiveMetrics.Snapshot after = LiveMetrics.global().snapshot();
+        assertEquals(2, after.getNumberOfRpcCalls() - before.getNumberOfRpcCalls());
+        assertEquals(1, after.getNumberOfFailedRpcCalls() - before.getNumberOfFailedRpcCalls());
+    }
+
+    @Test
+    public void testErrorDataIsReported() throws InterruptedException {
+        this.response.set("{\"jsonrpc\":\"2.0\",\"error\":{\"code\":-32000,\"message\":\"oops\",\"data\":\"bad nonce\"},\"id\":1}");
+
+        InternalRpcResult<BigInteger> result = new RpcCaller("127.0.0.1", port()).call(new RpcPayload("{}"), RpcResultDecoder.QUANTITY, false);
+        assertFalse(result.success);
+        assertEquals("bad nonce", result.error);
+    }
+
+    @Test
+    public void testErrorMessageIsReportedWhenNoData() throws InterruptedException {
+        this.response.set("{\"jsonrpc\":\"2.0\",\"error\":{\"code\":-32000,\"message\":\"oops\"},\"id\":1}");
+
+        InternalRpcResult<BigInteger> result = new RpcCaller("127.0.0.1", port()).call(new RpcPayload("{}"), RpcResultDecoder.QUANTITY, false);
+        assertFalse(result.success);
+        assertEquals("oops", result.error);
+    }
+
+    @Test
+    public void testConnectionRefused() throws InterruptedException {
+        String port = port();
+        this.server.stop(0);
+
+        InternalRpcResult<BigInteger> result = new RpcCaller("127.0.0.1", port).call(new RpcPayload("{}"), RpcResultDecoder.QUANTITY, false);
+        assertFalse(result.success);
+        assertEquals("Failed to connect to the host, check your IP and port are correct: 127.0.0.1:" + port, result.error);
+    }
+
+    @Test
+    public void testBatchResponsesAreMatchedById() throws InterruptedException {
+        RpcPayload first = new RpcPayloadBuilder().method(RpcMethod.BLOCK_NUMBER).build();
+        RpcPayload second = new RpcPayloadBuilder().method(RpcMethod.BLOCK_NUMBER).build();
+        RpcPayload third = new RpcPayloadBuilder().method(RpcMethod.BLOCK_NUMBER).build();
+        assertNotEquals(first.id, second.id);
+
+        // Out of order, with an error for the first payload and no response at all for the third.
+        this.response.set("["
+            + "{\"jsonrpc\":\"2.0\",\"result\":\"0x2\",\"id\":" + second.id + "},"
+            + "{\"jsonrpc\":\"2.0\",\"error\":{\"code\":-32000,\"message\":\"oops\"},\"id\":" + first.id + "}"
+            + "]");
+
+        List<InternalRpcResult<BigInteger>> results = new RpcCaller("127.0.0.1", port()).callBatch(Arrays.asList(first, second, third), RpcResultDecoder.QUANTITY, false);
+        assertEquals(3, results.size());
+
+        assertFalse(results.get(0).success);
+        assertEquals("oops", results.get(0).error);
+
+        assertTrue(results.get(1).success);
+        assertEquals(BigInteger.TWO, results.get(1).result);
+
+        assertFalse(results.get(2).success);
+    }
+
+    @Test
+    public void testBatchRejectedAsAWhole() throws InterruptedException {
+        this.response.set("{\"jsonrpc\":\"2.0\",\"error\":{\"code\":-32600,\"message\":\"Invalid Request\"},\"id\":null}");
+
+        List<RpcPayload> payloads = Arrays.asList(
+            new RpcPayloadBuilder().method(RpcMethod.BLOCK_NUMBER).build(),
+            new RpcPayloadBuilder().method(RpcMethod.BLOCK_NUMBER).build());
+
+        for (InternalRpcResult<BigInteger> result : new RpcCaller("127.0.0.1", port()).callBatch(payloads, RpcResultDecoder.QUANTITY, false)) {
+            assertFalse(result.success);
+            assertEquals("Invalid Request", result.error);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBatchWithUnknownId() throws InterruptedException {
+        new RpcCaller("127.0.0.1", port()).callBatch(Collections.singletonList(new RpcPayload("{}")), RpcResultDecoder.QUANTITY, false);
+    }
+
+    @Test
+    public void testBytesAreEncodedIntoThePayload() {
+        byte[] params = new byte[]{ 0x0a, (byte) 0xbc };
+        RpcPayload fromBytes = new RpcPayloadBuilder().method(RpcMethod.GET_BALANCE).params(params).useLatestBlock().build();
+        RpcPayload fromString = new RpcPayloadBuilder().method(RpcMethod.GET_BALANCE).params("0abc").useLatestBlock().build();
+
+        assertEquals(fromString.payload.replace("\"id\":" + fromString.id, "\"id\":" + fromBytes.id), fromBytes.payload);
+        assertTrue(fromBytes.payload.contains("\"params\":[\"0x0abc\",\"latest\"]"));
+    }
+
+    @Test
+    public void testNullResultIsSuccessful() throws InterruptedException {
+        this.response.set("{\"jsonrpc\":\"2.0\",\"result\":null,\"id\":1}");
+
+        InternalRpcResult<byte[]> result = new RpcCaller("127.0.0.1", port()).call(new RpcPayload("{}"), RpcResultDecoder.DATA, false);
+        assertTrue(result.success);
+        assertNull(result.result);
+    }
+
+    @Test
+    public void testUndecodableResultIsReported() throws InterruptedException {
+        this.response.set("{\"jsonrpc\":\"2.0\",\"result\":\"0xnothex\",\"id\":1}");
+
+        InternalRpcResult<byte[]> result = new RpcCaller("127.0.0.1", port()).call(new RpcPayload("{}"), RpcResultDecoder.DATA, false);
+        assertFalse(result.success);
+    }
+
+    @Test
+    public void testResultThatBreaksTheDecoderOnlyFailsItsOwnCall() throws InterruptedException {
+        RpcPayload malformedNumber = new RpcPayloadBuilder().method(RpcMethod.GET_BLOCK_BY_NUMBER).params("1").build();
+        RpcPayload unexpectedToken = new RpcPayloadBuilder().method(RpcMethod.GET_BLOCK_BY_NUMBER).params("2").build();
+        RpcPayload valid = new RpcPayloadBuilder().method(RpcMethod.GET_BLOCK_BY_NUMBER).params("3").build();
+
+        // The decoder gives up inside the first block, and before even entering the second one. The
+        // ids follow the results, so they can only be matched up if the rest of each result is skipped.
+        this.response.set("["
+            + "{\"jsonrpc\":\"2.0\",\"result\":{\"number\":\"0xzz\",\"transactions\":[{\"hash\":\"0x07\"}],\"hash\":\"0x01\"},\"id\":" + malformedNumber.id + "},"
+            + "{\"jsonrpc\":\"2.0\",\"result\":\"0x10\",\"id\":" + unexpectedToken.id + "},"
+            + "{\"jsonrpc\":\"2.0\",\"result\":" + BLOCK_JSON + ",\"id\":" + valid.id + "}"
+            + "]");
+
+        List<InternalRpcResult<Block>> results = new RpcCaller("127.0.0.1", port())
+            .callBatch(Arrays.asList(malformedNumber, unexpectedToken, valid), reader -> new BlockBuilder().buildFromJson(reader), false);
+
+        assertFalse(results.get(0).success);
+        assertFalse(results.get(1).success);
+        assertTrue(results.get(2).success);
+        assertEquals(BigInteger.valueOf(16), results.get(2).result.getBlockNumber());
+    }
+
+    @Test
+    public void testMalformedResponse() throws InterruptedException {
+        this.response.set("{\"jsonrpc\":\"2.0\",\"result\":");
+
+        InternalRpcResult<BigInteger> result = new RpcCaller("127.0.0.1", port()).call(new RpcPayload("{}"), RpcResultDecoder.QUANTITY, false);
+        assertFalse(result.success);
+        assertEquals("The server replied with data that curl was unable to parse.", result.error);
+    }
+
+    @Test
+    public void testBlocksAndReceiptsAreDecodedFromABatch() throws InterruptedException {
+        RpcPayload first = new RpcPayloadBuilder().method(RpcMethod.GET_TRANSACTION_RECEIPT).params("00").build();
+        RpcPayload second = new RpcPayloadBuilder().method(RpcMethod.GET_TRANSACTION_RECEIPT).params("01").build();
+
+        // Unknown attributes, including nested ones, are skipped over, and the id may come first.
+        this.response.set("["
+            + "{\"id\":" + second.id + ",\"jsonrpc\":\"2.0\",\"result\":null},"
+            + "{\"jsonrpc\":\"2.0\",\"result\":" + RECEIPT_JSON + ",\"id\":" + first.id + "}"
+            + "]");
+
+        List<InternalRpcResult<TransactionReceipt>> results = new RpcCaller("127.0.0.1", port())
+            .callBatch(Arrays.asList(first, second), reader -> new TransactionReceiptBuilder().buildFromJson(reader), false);
+
+        TransactionReceipt receipt = results.get(0).result;
+        assertEquals(BigInteger.valueOf(1024), receipt.getBlockNumber());
+        assertEquals(21_000, receipt.getTransactionEnergyConsumed());
+        assertEquals(0, receipt.getTransactionIndex());
+        assertFalse(receipt.getAddressOfDeployedContract().isPresent());
+
+        assertTrue(results.get(1).success);
+        assertNull(results.get(1).result);
+    }
+
+    @Test
+    public void testBlockIsDecoded() throws InterruptedException {
+        this.response.set("{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":" + BLOCK_JSON + "}");
+
+        InternalRpcResult<Block> result = new RpcCaller("127.0.0.1", port())
+            .call(new RpcPayload("{}"), reader -> new BlockBuilder().buildFromJson(reader), false);
+
+        assertTrue(result.success);
+        assertEquals(BigInteger.valueOf(16), result.result.getBlockNumber());
+        assertEquals(0x200, result.result.blockSizeInBytes());
+        assertArrayEquals(new byte[]{ 0x01 }, result.result.getBlockHash());
+        assertEquals(BigInteger.valueOf(32), result.result.getTotalDifficulty());
+    }
+
+    @Test
+    public void testSendIsNotResentAfterServerDropsPooledConnection() throws Exception {
+        try (ServerSocket dropper = new ServerSocket(0, 50, InetAddress.getByName("127.0.0.1"))) {
+            AtomicInteger requests = startAnswerOnceThenDropServer(dropper);
+            RpcCaller caller = new RpcCaller("127.0.0.1", String.valueOf(dropper.getLocalPort()), 1);
+
+            assertTrue(caller.call(sendRawTransaction(), RpcResultDecoder.QUANTITY, false).success);
+
+            // The second request reaches the server over the pooled connection before it is dropped,
+            // so the server may have acted on it and sending it again could send the transaction twice.
+            assertFalse(caller.call(sendRawTransaction(), RpcResultDecoder.QUANTITY, false).success);
+            assertEquals(2, requests.get());
+
+            // The same goes for a batch containing a send, even if the rest of it is idempotent.
+            assertTrue(caller.call(getNonce(), RpcResultDecoder.QUANTITY, false).success);
+            assertFalse(caller.callBatch(Arrays.asList(getNonce(), sendRawTransaction()), RpcResultDecoder.QUANTITY, false).get(0).success);
+            assertEquals(4, requests.get());
+        }
+    }
+
+    @Test
+    public void testIdempotentCallIsResentAfterServerDropsPooledConnection() throws Exception {
+        try (ServerSocket dropper = new ServerSocket(0, 50, InetAddress.getByName("127.0.0.1"))) {
+            AtomicInteger requests = startAnswerOnceThenDropServer(dropper);
+            RpcCaller caller = new RpcCaller("127.0.0.1", String.valueOf(dropper.getLocalPort()), 1);
+
+            assertTrue(caller.call(getNonce(), RpcResultDecoder.QUANTITY, false).success);
+            assertTrue(caller.call(getNonce(), RpcResultDecoder.QUANTITY, false).success);
+            assertEquals(3, requests.get());
+        }
+    }
+
+    private static RpcPayload sendRawTransaction() {
+        return new RpcPayloadBuilder().method(RpcMethod.SEND_RAW_TRANSACTION).params("00").build();
+    }
+
+    private static RpcPayload getNonce() {
+        return new RpcPayloadBuilder().method(RpcMethod.GET_NONCE).params("00").build();
+    }
+
+    /**
+     * Starts a server that answers the first request on each connection, keeping the connection
+     * alive, and then reads the next request on it in full before closing the connection without
+     * answering. Returns the number of requests the server has read so far.
+     */
+    private static AtomicInteger startAnswerOnceThenDropServer(ServerSocket server) {
+        AtomicInteger requests = new AtomicInteger(0);
+        Thread thread = new Thread(() -> {
+            try {
+                while (true) {
+                    try (Socket socket = server.accept()) {
+                        InputStream input = socket.getInputStream();
+                        readRequest(input);
+                        requests.incrementAndGet();
+
+                        byte[] response = "{\"jsonrpc\":\"2.0\",\"result\":\"0x1\",\"id\":1}".getBytes(StandardCharsets.UTF_8);
+                        OutputStream output = socket.getOutputStream();
+                        output.write(("HTTP/1.1 200 OK\r\nContent-Length: " + response.length + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+                        output.write(response);
+                        output.flush();
+
+                        readRequest(input);
+                        requests.incrementAndGet();
+                    }
+                }
+            } catch (IOException e) {
+                // The server socket was closed, the test is over.
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+        return requests;
+    }
+
+    private static void readRequest(InputStream input) throws IOException {
+        int contentLength = 0;
+        String line = readLine(input);
+        while (!line.isEmpty()) {
+            if (line.toLowerCase().startsWith("content-length:")) {
+                contentLength = Integer.parseInt(line.substring("content-length:".length()).trim());
+            }
+            line = readLine(input);
+        }
+        input.readNBytes(contentLength);
+    }
+
+    private static String readLine(InputStream input) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int current = input.read();
+        while (current != '\n') {
+            if (current < 0) {
+                throw new EOFException();
+            }
+            if (current != '\r') {
+                line.append((char) current);
+            }
+            current = input.read();
+        }
+        return line.toString();
+    }
+
+    private String port() {
+        return String.valueOf(this.server.getAddress().getPort());
+    }
+
+}
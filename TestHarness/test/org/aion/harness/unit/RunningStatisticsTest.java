@@ -0,0 +1,73 @@
+package org.aion.harness.unit;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+import org.aion.harness.statistics.RunningStatistics;
+import org.junit.Test;
+
+public class RunningStatisticsTest {
+
+    @Test
+    public void testStatisticsMatchTwoPassComputation() {
+        Random random = new Random(17);
+        long[] values = new long[10_000];
+        RunningStatistics statistics = new RunningStatistics();
+        for (int i = 0; i < values.length; i++) {
+            // Large values that are close together, like nanosecond timestamps.
+            values[i] = 1_000_000_000_000L + random.nextInt(1_000_000);
+            statistics.record(values[i]);
+        }
+
+        long sum = 0;
+        long minimum = Long.MAX_VALUE;
+        long maximum = Long.MIN_VALUE;
+        for (long value : values) {
+            sum += value;
+            minimum = Math.min(minimum, value);
+            maximum = Math.max(maximum, value);
+        }
+        double mean = (double) sum / values.length;
+        double squares = 0;
+        for (long value : values) {
+            squares += (value - mean) * (value - mean);
+        }
+
+        assertEquals(values.length, statistics.getCount());
+        assertEquals(minimum, statistics.getMinimum(), 0);
+        assertEquals(maximum, statistics.getMaximum(), 0);
+        assertEquals(mean, statistics.getMean(), 1e-3);
+        assertEquals(Math.sqrt(squares / values.length), statistics.getStandardDeviation(), 1e-3);
+    }
+
+    @Test
+    public void testMergedStatisticsMatchOneRecordedStatistics() {
+        RunningStatistics first = new RunningStatistics();
+        RunningStatistics second = new RunningStatistics();
+        RunningStatistics all = new RunningStatistics();
+        for (int i = 1; i <= 1_000; i++) {
+            ((i < 300) ? first : second).record(i * i);
+            all.record(i * i);
+        }
+
+        first.merge(second);
+        first.merge(new RunningStatistics());
+
+        assertEquals(all.getCount(), first.getCount());
+        assertEquals(all.getMinimum(), first.getMinimum(), 0);
+        assertEquals(all.getMaximum(), first.getMaximum(), 0);
+        assertEquals(all.getMean(), first.getMean(), 1e-6);
+        assertEquals(all.getVariance(), first.getVariance(), all.getVariance() * 1e-12);
+    }
+
+    @Test
+    public void testEmptyStatistics() {
+        RunningStatistics statistics = new RunningStatistics();
+        assertEquals(0, statistics.getCount());
+        assertEquals(0, statistics.getMinimum(), 0);
+        assertEquals(0, statistics.getMaximum(), 0);
+        assertEquals(0, statistics.getMean(), 0);
+        assertEquals(0, statistics.getStandardDeviation(), 0);
+    }
+
+}
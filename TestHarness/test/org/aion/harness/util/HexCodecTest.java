@@ -0,0 +1,68 @@
+package org.aion.harness.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import org.apache.commons.codec.DecoderException;
+import org.apache.commons.codec.binary.Hex;
+import org.junit.Test;
+
+public class HexCodecTest {
+
+    @Test
+    public void testEncodingMatchesCommonsCodec() {
+        Random random = new Random(17);
+        for (int length = 0; length < 100; length++) {
+            byte[] bytes = new byte[length];
+            random.nextBytes(bytes);
+
+            assertEquals(Hex.encodeHexString(bytes), HexCodec.toHex(bytes));
+        }
+    }
+
+    @Test
+    public void testEncodingARange() {
+        byte[] bytes = new byte[]{ 0x00, 0x7f, (byte) 0x80, (byte) 0xff };
+        byte[] out = "0x....!".getBytes(StandardCharsets.US_ASCII);
+        HexCodec.encode(bytes, 1, 2, out, 2);
+        assertEquals("0x7f80!", new String(out, StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void testDecodingIgnoresPrefixAndCase() throws DecoderException {
+        byte[] expected = new byte[]{ (byte) 0xab, (byte) 0xcd, 0x01 };
+        assertArrayEquals(expected, HexCodec.decode("abcd01"));
+        assertArrayEquals(expected, HexCodec.decode("0xABcD01"));
+        assertArrayEquals(new byte[0], HexCodec.decode("0x"));
+    }
+
+    @Test
+    public void testDecodingARange() throws DecoderException {
+        String line = "tx abcd01 is rejected";
+        assertArrayEquals(new byte[]{ (byte) 0xab, (byte) 0xcd, 0x01 }, HexCodec.decode(line, 3, 9));
+    }
+
+    @Test(expected = DecoderException.class)
+    public void testOddNumberOfDigits() throws DecoderException {
+        HexCodec.decode("0xabc");
+    }
+
+    @Test(expected = DecoderException.class)
+    public void testIllegalCharacter() throws DecoderException {
+        HexCodec.decode("ab\u00e9d");
+    }
+
+    @Test
+    public void testDecodingQuantities() {
+        assertEquals(0x2540be400L, HexCodec.decodeLong("0x2540be400"));
+        assertEquals(21_000, HexCodec.decodeInt("5208"));
+        assertEquals(BigInteger.valueOf(1024), HexCodec.decodeBigInteger("0x400"));
+
+        String large = "0xffffffffffffffffffffffffffffffffffffffff";
+        assertEquals(BigInteger.ONE.shiftLeft(160).subtract(BigInteger.ONE), HexCodec.decodeBigInteger(large));
+    }
+
+}
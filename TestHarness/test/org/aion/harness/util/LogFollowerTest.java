@@ -0,0 +1,104 @@
+package org.aion.harness.util;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.aion.harness.main.event.Event;
+import org.aion.harness.result.FutureResult;
+import org.aion.harness.result.LogEventResult;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LogFollowerTest {
+    private File log;
+    private LogListener listener;
+    private LogFollower follower;
+    private ExecutorService executor;
+
+    @Before
+    public void setup() throws IOException {
+        this.log = File.createTempFile("log-follower", ".txt");
+        this.listener = new LogListener();
+        assertTrue(this.listener.startListening().isSuccess());
+        this.executor = Executors.newSingleThreadExecutor();
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        if (this.follower != null) {
+            this.follower.stop();
+        }
+        this.listener.stopListening();
+        this.executor.shutdownNow();
+        this.executor.awaitTermination(10, TimeUnit.SECONDS);
+        this.log.delete();
+    }
+
+    @Test
+    public void testNewLinesAreFollowed() throws Exception {
+        append("12:00:00 INFO old marker-a\n");
+        startFollowing();
+
+        FutureResult<LogEventResult> old = this.listener.submitEventToBeListenedFor(new Event("marker-a"), 500, TimeUnit.MILLISECONDS);
+        FutureResult<LogEventResult> split = this.listener.submitEventToBeListenedFor(new Event("marker-b"), 1, TimeUnit.MINUTES);
+
+        // A line written in pieces is only handed over once it is complete.
+        append("12:00:01 INFO partial marker-");
+        append("b\r\n");
+
+        assertTrue(split.get(10, TimeUnit.SECONDS).eventWasObserved());
+
+        // The follower starts at the end of the file, so lines already written are never seen.
+        assertTrue(old.get(10, TimeUnit.SECONDS).eventExpired());
+    }
+
+    @Test
+    public void testManyLinesAcrossReads() throws Exception {
+        startFollowing();
+
+        int numLines = 20_000;
+        FutureResult<LogEventResult> last = this.listener.submitEventToBeListenedFor(new Event("<line " + (numLines - 1) + ">"), 1, TimeUnit.MINUTES);
+
+        StringBuilder lines = new StringBuilder();
+        for (int i = 0; i < numLines; i++) {
+            lines.append("12:00:02 INFO a line long enough to span more than one buffer <line ").append(i).append(">\n");
+        }
+        append(lines.toString());
+
+        assertTrue(last.get(10, TimeUnit.SECONDS).eventWasObserved());
+    }
+
+    @Test
+    public void testMissingFileKillsListener() throws Exception {
+        Files.delete(this.log.toPath());
+        startFollowing();
+
+        this.executor.shutdown();
+        assertTrue(this.executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertFalse(this.listener.isAlive());
+    }
+
+    private void startFollowing() throws InterruptedException {
+        this.follower = new LogFollower(this.log, this.listener);
+        this.executor.execute(this.follower);
+
+        // Give the follower a moment to open the file and seek to its end.
+        Thread.sleep(200);
+    }
+
+    private void append(String text) throws IOException {
+        try (FileOutputStream stream = new FileOutputStream(this.log, true)) {
+            stream.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+}
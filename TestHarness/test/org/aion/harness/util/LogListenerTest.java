@@ -0,0 +1,244 @@
+package org.aion.harness.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.aion.harness.main.event.AndEvent;
+import org.aion.harness.main.event.Event;
+import org.aion.harness.main.event.IEvent;
+import org.aion.harness.main.event.OrEvent;
+import org.aion.harness.result.FutureResult;
+import org.aion.harness.result.LogEventResult;
+import org.aion.harness.statistics.LiveMetrics;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LogListenerTest {
+    private static final int NUM_THREADS = 8;
+    private static final int EVENTS_PER_THREAD = 250;
+
+    private LogListener listener;
+
+    @Before
+    public void setup() {
+        this.listener = new LogListener();
+        assertTrue(this.listener.startListening().isSuccess());
+    }
+
+    @After
+    public void tearDown() {
+        this.listener.stopListening();
+    }
+
+    @Test
+    public void testConcurrentSubmissionsAreAllObserved() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(NUM_THREADS);
+
+        List<Future<List<FutureResult<LogEventResult>>>> submitters = new ArrayList<>();
+        for (int thread = 0; thread < NUM_THREADS; thread++) {
+            int threadNumber = thread;
+            submitters.add(executor.submit(() -> {
+                List<FutureResult<LogEventResult>> results = new ArrayList<>();
+                for (int i = 0; i < EVENTS_PER_THREAD; i++) {
+                    results.add(this.listener.submitEventToBeListenedFor(new Event("<" + threadNumber + ":" + i + ">"), 1, TimeUnit.MINUTES));
+                }
+                return results;
+            }));
+        }
+
+        List<FutureResult<LogEventResult>> results = new ArrayList<>();
+        for (Future<List<FutureResult<LogEventResult>>> submitter : submitters) {
+            results.addAll(submitter.get());
+        }
+        executor.shutdown();
+
+        for (int thread = 0; thread < NUM_THREADS; thread++) {
+            for (int i = 0; i < EVENTS_PER_THREAD; i++) {
+                this.listener.handle("INFO line <" + thread + ":" + i + "> done");
+            }
+        }
+
+        for (FutureResult<LogEventResult> result : results) {
+            assertTrue(result.get(10, TimeUnit.SECONDS).eventWasObserved());
+        }
+        assertEquals(0, this.listener.numberOfPendingEventRequests());
+    }
+
+    @Test
+    public void testStopListeningMarksPendingRequestsUnobserved() throws Exception {
+        FutureResult<LogEventResult> result = this.listener.submitEventToBeListenedFor(new Event("never"), 1, TimeUnit.MINUTES);
+        assertEquals(1, this.listener.numberOfPendingEventRequests());
+
+        this.listener.stopListening();
+
+        assertTrue(result.get(10, TimeUnit.SECONDS).eventWasUnobserved());
+        assertEquals(0, this.listener.numberOfPendingEventRequests());
+    }
+
+    @Test
+    public void testSubmissionWhileNotListeningIsRejected() throws Exception {
+        this.listener.stopListening();
+
+        FutureResult<LogEventResult> result = this.listener.submitEventToBeListenedFor(new Event("never"), 1, TimeUnit.MINUTES);
+
+        assertTrue(result.get(10, TimeUnit.SECONDS).eventWasRejected());
+        assertEquals(0, this.listener.numberOfPendingEventRequests());
+    }
+
+    @Test
+    public void testOutcomesAreRecordedInLiveMetrics() throws Exception {
+        LiveMetrics.Snapshot before = LiveMetrics.global().snapshot();
+
+        FutureResult<LogEventResult> observed = this.listener.submitEventToBeListenedFor(new Event("seen"), 1, TimeUnit.MINUTES);
+        FutureResult<LogEventResult> unobserved = this.listener.submitEventToBeListenedFor(new Event("unseen"), 1, TimeUnit.MINUTES);
+        this.listener.handle("the seen line");
+        assertTrue(observed.get(10, TimeUnit.SECONDS).eventWasObserved());
+        this.listener.stopListening();
+        assertTrue(unobserved.get(10, TimeUnit.SECONDS).eventWasUnobserved());
+
+        LiveMetrics.Snapshot after = LiveMetrics.global().snapshot();
+        assertEquals(1, after.getNumberOfEventsObserved() - before.getNumberOfEventsObserved());
+        assertEquals(1, after.getNumberOfEventsNotObserved() - before.getNumberOfEventsNotObserved());
+    }
+
+    @Test
+    public void testCapacityIsPerListener() throws Exception {
+        LogListener full = new LogListener(1);
+        LogListener other = new LogListener(1);
+        assertTrue(full.startListening().isSuccess());
+        assertTrue(other.startListening().isSuccess());
+
+        FutureResult<LogEventResult> pending = full.submitEventToBeListenedFor(new Event("first"), 1, TimeUnit.MINUTES);
+        assertEquals(1, full.numberOfPendingEventRequests());
+
+        // The full listener has no room left, so this submission times out waiting for a permit.
+        FutureResult<LogEventResult> expired = full.submitEventToBeListenedFor(new Event("second"), 10, TimeUnit.MILLISECONDS);
+        assertTrue(expired.get(10, TimeUnit.SECONDS).eventExpired());
+
+        // But the other listener is unaffected.
+        FutureResult<LogEventResult> result = other.submitEventToBeListenedFor(new Event("second"), 1, TimeUnit.MINUTES);
+        other.handle("the second line");
+        assertTrue(result.get(10, TimeUnit.SECONDS).eventWasObserved());
+
+        full.stopListening();
+        other.stopListening();
+        assertTrue(pending.get(10, TimeUnit.SECONDS).eventWasUnobserved());
+    }
+
+    @Test
+    public void testRequestsExpireWithoutNewLines() throws Exception {
+        long submittedAt = System.nanoTime();
+        FutureResult<LogEventResult> result = this.listener.submitEventToBeListenedFor(new Event("never"), 200, TimeUnit.MILLISECONDS);
+
+        // No lines ever arrive, yet the request must still expire and give back its permit.
+        assertTrue(result.get(10, TimeUnit.SECONDS).eventExpired());
+        assertTrue(System.nanoTime() - submittedAt >= TimeUnit.MILLISECONDS.toNanos(200));
+        assertEquals(0, this.listener.numberOfPendingEventRequests());
+    }
+
+    @Test
+    public void testFinalizedRequestsAreNotHeldUntilTheirDeadline() throws Exception {
+        int scheduledBefore = EventRequestExpiryService.singleton().numberOfScheduledExpiries();
+
+        List<FutureResult<LogEventResult>> results = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            results.add(this.listener.submitEventToBeListenedFor(new Event("<soak:" + i + ">"), 1, TimeUnit.HOURS));
+        }
+        assertTrue(EventRequestExpiryService.singleton().numberOfScheduledExpiries() >= scheduledBefore + 1_000);
+
+        for (int i = 0; i < 1_000; i++) {
+            this.listener.handle("line <soak:" + i + ">");
+        }
+        for (FutureResult<LogEventResult> result : results) {
+            assertTrue(result.get(10, TimeUnit.SECONDS).eventWasObserved());
+        }
+
+        // None of the observed requests may linger in the service until their deadline an hour away.
+        assertTrue(EventRequestExpiryService.singleton().numberOfScheduledExpiries() <= scheduledBefore);
+    }
+
+    @Test
+    public void testEventsWithoutEventStringsAreTestedAgainstEveryLine() throws Exception {
+        FutureResult<LogEventResult> custom = this.listener.submitEventToBeListenedFor(new LineLengthEvent(12), 1, TimeUnit.MINUTES);
+        FutureResult<LogEventResult> either = this.listener.submitEventToBeListenedFor(
+            Event.or(new Event("never"), new LineLengthEvent(12)), 1, TimeUnit.MINUTES);
+
+        this.listener.handle("short");
+        this.listener.handle("twelve chars");
+
+        assertTrue(custom.get(10, TimeUnit.SECONDS).eventWasObserved());
+        assertTrue(either.get(10, TimeUnit.SECONDS).eventWasObserved());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroCapacity() {
+        new LogListener(0);
+    }
+
+    /**
+     * An event defined outside of the harness, which is satisfied by any line of a given length and
+     * so has no event strings to narrow down the lines it could be satisfied by.
+     */
+    private static final class LineLengthEvent implements IEvent {
+        private final int length;
+        private String observedLine = null;
+        private long observedAtInNanos = -1;
+
+        private LineLengthEvent(int length) {
+            this.length = length;
+        }
+
+        @Override
+        public String eventStatement() {
+            return "(line of length " + this.length + ")";
+        }
+
+        @Override
+        public IEvent and(IEvent event) {
+            return new AndEvent(this, event);
+        }
+
+        @Override
+        public IEvent or(IEvent event) {
+            return new OrEvent(this, event);
+        }
+
+        @Override
+        public synchronized boolean isSatisfiedBy(String line, long observedAt, TimeUnit unit) {
+            if ((this.observedLine == null) && (line.length() == this.length)) {
+                this.observedLine = line;
+                this.observedAtInNanos = unit.toNanos(observedAt);
+            }
+            return this.observedLine != null;
+        }
+
+        @Override
+        public synchronized boolean hasBeenObserved() {
+            return this.observedLine != null;
+        }
+
+        @Override
+        public synchronized List<String> getAllObservedEvents() {
+            return (this.observedLine == null) ? Collections.emptyList() : Collections.singletonList(eventStatement());
+        }
+
+        @Override
+        public synchronized List<String> getAllObservedLogs() {
+            return (this.observedLine == null) ? Collections.emptyList() : Collections.singletonList(this.observedLine);
+        }
+
+        @Override
+        public synchronized long observedAt(TimeUnit unit) {
+            return (this.observedLine == null) ? -1 : unit.convert(this.observedAtInNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+}
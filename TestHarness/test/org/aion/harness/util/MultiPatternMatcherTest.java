@@ -0,0 +1,123 @@
+package org.aion.harness.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.aion.harness.main.event.Event;
+import org.aion.harness.main.event.IEvent;
+import org.junit.Test;
+
+public class MultiPatternMatcherTest {
+
+    @Test
+    public void testOverlappingPatterns() {
+        MultiPatternMatcher matcher = new MultiPatternMatcher(Arrays.asList("he", "she", "his", "hers", "hers"));
+
+        List<String> matches = new ArrayList<>();
+        matcher.forEachMatch("ushers", matches::add);
+
+        assertEquals(2 + 1, matches.size());
+        assertEquals(new HashSet<>(Arrays.asList("she", "he", "hers")), new HashSet<>(matches));
+        assertEquals(4, matcher.numberOfPatterns());
+    }
+
+    @Test
+    public void testAgreesWithContains() {
+        Random random = new Random(42);
+
+        List<String> patterns = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            patterns.add(randomString(random, 1 + random.nextInt(4)));
+        }
+        MultiPatternMatcher matcher = new MultiPatternMatcher(patterns);
+
+        for (int i = 0; i < 200; i++) {
+            String text = randomString(random, random.nextInt(40));
+
+            Set<String> matched = new HashSet<>();
+            matcher.forEachMatch(text, matched::add);
+
+            Set<String> expected = new HashSet<>();
+            for (String pattern : patterns) {
+                if (text.contains(pattern)) {
+                    expected.add(pattern);
+                }
+            }
+
+            assertEquals(expected, matched);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEmptyPattern() {
+        new MultiPatternMatcher(Arrays.asList("a", ""));
+    }
+
+    @Test
+    public void testIndexOnlyReturnsAffectedRequests() {
+        EventRequestIndex index = new EventRequestIndex();
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(1);
+
+        EventRequest first = new EventRequest(new Event("alpha"), deadline, TimeUnit.NANOSECONDS);
+        EventRequest second = new EventRequest(Event.and("beta", "gamma"), deadline, TimeUnit.NANOSECONDS);
+        EventRequest third = new EventRequest(new Event(""), deadline, TimeUnit.NANOSECONDS);
+
+        index.add(first);
+        index.add(second);
+        index.add(third);
+
+        assertEquals(new HashSet<>(Arrays.asList(first, third)), index.candidatesFor("alpha"));
+        assertEquals(new HashSet<>(Arrays.asList(second, third)), index.candidatesFor("a gamma ray"));
+        assertEquals(new HashSet<>(Arrays.asList(third)), index.candidatesFor("delta"));
+
+        assertTrue(index.remove(second));
+        assertEquals(new HashSet<>(Arrays.asList(third)), index.candidatesFor("beta"));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    public void testIndexAgreesWithBruteForceAcrossRecompilations() {
+        Random random = new Random(7);
+        EventRequestIndex index = new EventRequestIndex();
+        List<EventRequest> live = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(1);
+
+        for (int round = 0; round < 2_000; round++) {
+            if (live.isEmpty() || random.nextInt(3) > 0) {
+                IEvent event = new Event(randomString(random, 1 + random.nextInt(3)));
+                EventRequest request = new EventRequest(event, deadline, TimeUnit.NANOSECONDS);
+                index.add(request);
+                live.add(request);
+            } else {
+                EventRequest request = live.remove(random.nextInt(live.size()));
+                assertTrue(index.remove(request));
+            }
+
+            String line = randomString(random, random.nextInt(20));
+            Set<EventRequest> expected = new HashSet<>();
+            for (EventRequest request : live) {
+                if (line.contains(request.getAllEventStrings().get(0))) {
+                    expected.add(request);
+                }
+            }
+
+            assertEquals(expected, index.candidatesFor(line));
+        }
+    }
+
+    private static String randomString(Random random, int length) {
+        char[] characters = new char[length];
+        for (int i = 0; i < length; i++) {
+            characters[i] = (char) ('a' + random.nextInt(4));
+        }
+        return new String(characters);
+    }
+
+}
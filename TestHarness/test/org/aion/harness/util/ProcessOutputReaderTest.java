@@ -0,0 +1,98 @@
+package org.aion.harness.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import org.aion.harness.main.event.Event;
+import org.aion.harness.result.FutureResult;
+import org.aion.harness.result.LogEventResult;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ProcessOutputReaderTest {
+    private File teeLog;
+    private LogListener listener;
+    private PipedOutputStream node;
+    private ProcessOutputReader reader;
+    private Thread readerThread;
+
+    @Before
+    public void setup() throws IOException {
+        this.teeLog = File.createTempFile("process-output", ".txt");
+        this.listener = new LogListener();
+        assertTrue(this.listener.startListening().isSuccess());
+
+        this.node = new PipedOutputStream();
+        this.reader = new ProcessOutputReader(new PipedInputStream(this.node, 64 * 1024), this.teeLog, this.listener);
+        this.readerThread = new Thread(this.reader);
+        this.readerThread.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        this.listener.stopListening();
+        this.node.close();
+        this.readerThread.join(TimeUnit.SECONDS.toMillis(10));
+        this.teeLog.delete();
+    }
+
+    @Test
+    public void testLinesAreDispatchedAndTeed() throws Exception {
+        FutureResult<LogEventResult> result = this.listener.submitEventToBeListenedFor(new Event("marker"), 1, TimeUnit.MINUTES);
+
+        // The event is observed while the node is still running, long before its output is closed.
+        write("12:00:00 INFO first line\n12:00:01 INFO the mar");
+        write("ker line\r\n");
+        assertTrue(result.get(10, TimeUnit.SECONDS).eventWasObserved());
+
+        write("12:00:02 INFO last line, without a newline");
+        this.node.close();
+        this.readerThread.join(TimeUnit.SECONDS.toMillis(10));
+
+        byte[] expected = "12:00:00 INFO first line\n12:00:01 INFO the marker line\r\n12:00:02 INFO last line, without a newline".getBytes(StandardCharsets.UTF_8);
+        awaitTeeLogLength(expected.length);
+        assertArrayEquals(expected, Files.readAllBytes(this.teeLog.toPath()));
+    }
+
+    @Test
+    public void testOutputIsStillTeedAfterStopping() throws Exception {
+        this.reader.stop();
+
+        // Far more output than the pipe can buffer, so the node would block if it were not drained.
+        StringBuilder output = new StringBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            output.append("12:00:03 INFO line ").append(i).append('\n');
+        }
+        write(output.toString());
+        this.node.close();
+        this.readerThread.join(TimeUnit.SECONDS.toMillis(10));
+
+        byte[] expected = output.toString().getBytes(StandardCharsets.UTF_8);
+        awaitTeeLogLength(expected.length);
+        assertArrayEquals(expected, Files.readAllBytes(this.teeLog.toPath()));
+    }
+
+    private void write(String text) throws IOException {
+        this.node.write(text.getBytes(StandardCharsets.UTF_8));
+        this.node.flush();
+    }
+
+    /**
+     * The log file is written asynchronously, so wait for it to catch up.
+     */
+    private void awaitTeeLogLength(long length) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while ((this.teeLog.length() < length) && (System.nanoTime() < deadline)) {
+            Thread.sleep(10);
+        }
+    }
+
+}
@@ -0,0 +1,70 @@
+package org.aion.harness.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.aion.harness.main.event.Event;
+import org.junit.Test;
+
+public class TransactionLogLinesTest {
+    private static final byte[] HASH = new byte[32];
+    private static final byte[] OTHER_HASH = new byte[32];
+
+    static {
+        Arrays.fill(HASH, (byte) 0xab);
+        Arrays.fill(OTHER_HASH, (byte) 0x12);
+    }
+
+    @Test
+    public void testEventStringsAreRecognized() {
+        assertTrue(TransactionLogLines.isTransactionEventString(TransactionLogLines.sealedEventString(HASH)));
+        assertTrue(TransactionLogLines.isTransactionEventString(TransactionLogLines.rejectedEventString(HASH)));
+        assertFalse(TransactionLogLines.isTransactionEventString("Transaction: abcd was sealed into block"));
+        assertFalse(TransactionLogLines.isTransactionEventString("sealer starting"));
+    }
+
+    @Test
+    public void testEventStringsAreParsedFromLines() {
+        String sealed = TransactionLogLines.sealedEventString(HASH);
+        String rejected = TransactionLogLines.rejectedEventString(OTHER_HASH);
+
+        assertEquals(Collections.singletonList(sealed), parse("12:00:01 INFO  CONS [sealer]: " + sealed + " #42"));
+        assertEquals(Collections.singletonList(rejected), parse("12:00:02 WARN  TX: " + rejected));
+        assertEquals(Collections.emptyList(), parse("12:00:03 INFO  tx pool size: 10 Transaction: 1234"));
+    }
+
+    @Test
+    public void testIndexFindsTransactionRequests() {
+        EventRequestIndex index = new EventRequestIndex();
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(1);
+
+        String sealed = TransactionLogLines.sealedEventString(HASH);
+        EventRequest processed = new EventRequest(
+            Event.or(sealed, TransactionLogLines.rejectedEventString(HASH)), deadline, TimeUnit.NANOSECONDS);
+        EventRequest other = new EventRequest(
+            new Event(TransactionLogLines.sealedEventString(OTHER_HASH)), deadline, TimeUnit.NANOSECONDS);
+
+        index.add(processed);
+        index.add(other);
+
+        assertEquals(new HashSet<>(Collections.singletonList(processed)), index.candidatesFor("INFO " + sealed + " 7"));
+        assertTrue(index.candidatesFor("INFO nothing to see here").isEmpty());
+
+        assertTrue(index.remove(processed));
+        assertTrue(index.candidatesFor("INFO " + sealed + " 7").isEmpty());
+    }
+
+    private static List<String> parse(String line) {
+        List<String> eventStrings = new ArrayList<>();
+        TransactionLogLines.forEachTransactionEventString(line, eventStrings::add);
+        return eventStrings;
+    }
+
+}